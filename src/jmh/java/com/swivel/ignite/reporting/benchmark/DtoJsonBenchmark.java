@@ -0,0 +1,52 @@
+package com.swivel.ignite.reporting.benchmark;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.swivel.ignite.reporting.dto.DtoLogMessage;
+import com.swivel.ignite.reporting.dto.response.StudentsIdListResponseDto;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks the json conversion of {@link com.swivel.ignite.reporting.dto.BaseDto}s: the shared object writer
+ * against an object mapper per conversion, and the truncated log json of a downstream payload
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DtoJsonBenchmark {
+
+    @Param({"100", "1000", "10000"})
+    private int studentCount;
+    private StudentsIdListResponseDto dto;
+
+    @Setup
+    public void setUp() {
+        List<String> studentIds = new ArrayList<>();
+        for (int i = 0; i < studentCount; i++) {
+            studentIds.add("sid-" + i);
+        }
+        dto = new StudentsIdListResponseDto(studentIds);
+    }
+
+    @Benchmark
+    public String toJson() {
+        return dto.toJson();
+    }
+
+    @Benchmark
+    public String toJsonWithNewObjectMapper() throws JsonProcessingException {
+        return new ObjectMapper().writeValueAsString(dto);
+    }
+
+    @Benchmark
+    public String toLogJson() {
+        return DtoLogMessage.of(dto).toString();
+    }
+}
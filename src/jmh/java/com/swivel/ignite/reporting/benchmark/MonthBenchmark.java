@@ -0,0 +1,42 @@
+package com.swivel.ignite.reporting.benchmark;
+
+import com.swivel.ignite.reporting.enums.Month;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks the month lookups done for every report request and rebuilt report month
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MonthBenchmark {
+
+    private String firstMonth = Month.JANUARY.getMonthString();
+    private String lastMonth = Month.DECEMBER.getMonthString();
+    private String invalidMonth = "INVALID_MONTH";
+
+    @Benchmark
+    public boolean isMonthValidFirst() {
+        return Month.isMonthValid(firstMonth);
+    }
+
+    @Benchmark
+    public boolean isMonthValidLast() {
+        return Month.isMonthValid(lastMonth);
+    }
+
+    @Benchmark
+    public boolean isMonthValidInvalid() {
+        return Month.isMonthValid(invalidMonth);
+    }
+
+    @Benchmark
+    public int getMonthIntLast() {
+        return Month.getMonthInt(lastMonth);
+    }
+}
@@ -0,0 +1,156 @@
+package com.swivel.ignite.reporting.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.swivel.ignite.reporting.dto.response.StudentResponseDto;
+import com.swivel.ignite.reporting.dto.response.StudentsIdListResponseDto;
+import com.swivel.ignite.reporting.dto.response.TuitionListResponseDto;
+import com.swivel.ignite.reporting.dto.response.TuitionResponseDto;
+import com.swivel.ignite.reporting.entity.Report;
+import com.swivel.ignite.reporting.enums.Month;
+import com.swivel.ignite.reporting.enums.ReportStorageFormat;
+import com.swivel.ignite.reporting.repository.ReportGenerationRepository;
+import com.swivel.ignite.reporting.repository.ReportRepository;
+import com.swivel.ignite.reporting.repository.TuitionStudentDictionaryRepository;
+import com.swivel.ignite.reporting.service.*;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks the full rebuild of the report of one tuition by {@link ReportService}: fetching the paid students
+ * of each month and the joined months of the students from stubbed microservices, classifying the students into
+ * the paid and unpaid reports of each month, and handing the reports to a writer which only counts them.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ReportRebuildBenchmark {
+
+    private static final String TOKEN = "Bearer benchmark";
+    private static final String TUITION_ID = "tid-benchmark";
+    private static final long STUDENT_ENROLLMENT_CACHE_TTL = TimeUnit.DAYS.toMillis(1);
+    @Param({"100", "1000", "10000"})
+    private int studentCount;
+    private ReportService reportService;
+    private CountingReportBatchWriter reportBatchWriter;
+
+    @Setup
+    public void setUp() {
+        TuitionResponseDto tuition = new TuitionResponseDto();
+        tuition.setTuitionId(TUITION_ID);
+        Map<String, StudentResponseDto> students = new HashMap<>();
+        Calendar joinedOn = Calendar.getInstance();
+        for (int i = 0; i < studentCount; i++) {
+            String studentId = "sid-" + i;
+            tuition.getStudentIds().add(studentId);
+            joinedOn.set(Calendar.MONTH, i % Month.values().length);
+            students.put(studentId, new StudentResponseDto(studentId, TUITION_ID, joinedOn.getTime()));
+        }
+        TuitionListResponseDto tuitionList = new TuitionListResponseDto();
+        tuitionList.getTuitionList().add(tuition);
+        reportBatchWriter = new CountingReportBatchWriter();
+        ReportingMetrics reportingMetrics = new ReportingMetrics(new SimpleMeterRegistry());
+        reportService = new ReportService(Stubs.of(ReportRepository.class),
+                Stubs.of(ReportGenerationRepository.class), new StubStudentService(students),
+                new StubTuitionService(tuitionList), new StubPaymentService(tuition.getStudentIds()),
+                new ReportFingerprintRegistry(), Stubs.of(ReportRebuildPrefetcher.class), reportBatchWriter,
+                new ReportBitmapCodec(Stubs.of(TuitionStudentDictionaryRepository.class)),
+                new TransactionTemplate(Stubs.of(PlatformTransactionManager.class)),
+                reportingMetrics, new ReportSnapshotStatus(reportingMetrics),
+                new StudentEnrollmentCache(new ObjectMapper(), reportingMetrics, studentCount,
+                        STUDENT_ENROLLMENT_CACHE_TTL, ""), false, 50);
+    }
+
+    @Benchmark
+    public long rebuildReport() throws IOException {
+        reportService.updateReport(TOKEN);
+        return reportBatchWriter.reportCount;
+    }
+
+    /**
+     * Report writer which only counts the written reports
+     */
+    private static class CountingReportBatchWriter extends ReportBatchWriter {
+
+        private long reportCount;
+
+        private CountingReportBatchWriter() {
+            super(null, null, ReportStorageFormat.COLLECTION);
+        }
+
+        @Override
+        public void write(Collection<Report> reports) {
+            reportCount += reports.size();
+        }
+    }
+
+    /**
+     * Student service answering with the given students
+     */
+    private static class StubStudentService extends StudentService {
+
+        private final Map<String, StudentResponseDto> students;
+
+        private StubStudentService(Map<String, StudentResponseDto> students) {
+            super("", "", "", 1, 0, null, null);
+            this.students = students;
+        }
+
+        @Override
+        public Map<String, StudentResponseDto> getStudentInfos(Collection<String> studentIds, String token) {
+            return students;
+        }
+    }
+
+    /**
+     * Tuition service answering with the given tuition list
+     */
+    private static class StubTuitionService extends TuitionService {
+
+        private final TuitionListResponseDto tuitionList;
+
+        private StubTuitionService(TuitionListResponseDto tuitionList) {
+            super("", "", null);
+            this.tuitionList = tuitionList;
+        }
+
+        @Override
+        public TuitionListResponseDto getTuitionList(String token) {
+            return tuitionList;
+        }
+    }
+
+    /**
+     * Payment service answering that about two thirds of the students paid, a different two thirds each month
+     */
+    private static class StubPaymentService extends PaymentService {
+
+        private final Map<String, StudentsIdListResponseDto> paidStudentsByMonth = new HashMap<>();
+
+        private StubPaymentService(Set<String> studentIds) {
+            super("", "", "", null, Runnable::run);
+            for (Month m : Month.values()) {
+                List<String> paidStudentIds = new ArrayList<>();
+                int i = 0;
+                for (String studentId : studentIds) {
+                    if ((i++ + m.getMonthInt()) % 3 != 0)
+                        paidStudentIds.add(studentId);
+                }
+                paidStudentsByMonth.put(m.getMonthString(), new StudentsIdListResponseDto(paidStudentIds));
+            }
+        }
+
+        @Override
+        public StudentsIdListResponseDto getPaidStudents(String tuitionId, String month, String token) {
+            return paidStudentsByMonth.get(month);
+        }
+    }
+}
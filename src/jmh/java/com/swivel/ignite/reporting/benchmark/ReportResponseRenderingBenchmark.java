@@ -0,0 +1,70 @@
+package com.swivel.ignite.reporting.benchmark;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.swivel.ignite.reporting.dto.response.ReportResponseDto;
+import com.swivel.ignite.reporting.dto.response.ReportYearResponseDto;
+import com.swivel.ignite.reporting.dto.response.ResponseDto;
+import com.swivel.ignite.reporting.entity.Report;
+import com.swivel.ignite.reporting.enums.Month;
+import com.swivel.ignite.reporting.enums.ResponseStatusType;
+import com.swivel.ignite.reporting.enums.SuccessResponseStatusType;
+import com.swivel.ignite.reporting.wrapper.SuccessResponseWrapper;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks the rendering of the report responses, i.e. the serialization of the success response envelope of
+ * a month report and of a year report, as done once per entity tag by the response cache
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ReportResponseRenderingBenchmark {
+
+    private static final String TUITION_ID = "tid-benchmark";
+    @Param({"100", "1000", "10000"})
+    private int studentCount;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private ReportResponseDto reportResponseDto;
+    private ReportYearResponseDto reportYearResponseDto;
+
+    @Setup
+    public void setUp() {
+        List<Report> reports = new ArrayList<>();
+        for (Month m : Month.values()) {
+            Report paidReport = new Report(TUITION_ID, m.getMonthString(), true, 1);
+            Report unpaidReport = new Report(TUITION_ID, m.getMonthString(), false, 1);
+            for (int i = 0; i < studentCount; i++) {
+                Report report = (i + m.getMonthInt()) % 3 != 0 ? paidReport : unpaidReport;
+                report.addStudentId("sid-" + i);
+            }
+            reports.add(paidReport);
+            reports.add(unpaidReport);
+        }
+        reportResponseDto = new ReportResponseDto(reports.get(0), reports.get(1));
+        reportYearResponseDto = new ReportYearResponseDto(TUITION_ID, reports);
+    }
+
+    @Benchmark
+    public byte[] renderMonthReport() throws JsonProcessingException {
+        return render(SuccessResponseStatusType.READ_REPORT, reportResponseDto);
+    }
+
+    @Benchmark
+    public byte[] renderYearReport() throws JsonProcessingException {
+        return render(SuccessResponseStatusType.READ_REPORT_YEAR, reportYearResponseDto);
+    }
+
+    private byte[] render(SuccessResponseStatusType status, ResponseDto data)
+            throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(new SuccessResponseWrapper(ResponseStatusType.SUCCESS,
+                status.getMessage(), data, SuccessResponseWrapper.SUCCESS_DISPLAY_MESSAGE, status.getCode()));
+    }
+}
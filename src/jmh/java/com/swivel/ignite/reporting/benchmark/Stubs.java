@@ -0,0 +1,43 @@
+package com.swivel.ignite.reporting.benchmark;
+
+import java.lang.reflect.Proxy;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Stubs of the repositories and transaction manager used by the benchmarked services, answering every call
+ * with an empty value, so the benchmarks measure the service code without a database or mocking framework
+ */
+final class Stubs {
+
+    private Stubs() {
+    }
+
+    /**
+     * This method creates a stub of an interface whose methods return zero, false, empty or null
+     *
+     * @param type interface
+     * @param <T>  interface type
+     * @return stub
+     */
+    static <T> T of(Class<T> type) {
+        Object stub = Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type},
+                (proxy, method, args) -> getEmptyValue(method.getReturnType()));
+        return type.cast(stub);
+    }
+
+    private static Object getEmptyValue(Class<?> type) {
+        if (type == boolean.class)
+            return false;
+        if (type == long.class)
+            return 0L;
+        if (type == int.class)
+            return 0;
+        if (type == Optional.class)
+            return Optional.empty();
+        if (type == List.class || type == Iterable.class)
+            return Collections.emptyList();
+        return null;
+    }
+}
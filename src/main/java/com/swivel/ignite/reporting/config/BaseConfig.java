@@ -1,17 +1,149 @@
 package com.swivel.ignite.reporting.config;
 
+import com.swivel.ignite.reporting.service.ReportingMetrics;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.http.client.config.RequestConfig;
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.apache.http.impl.client.DefaultConnectionKeepAliveStrategy;
+import org.apache.http.impl.client.HttpClients;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.web.client.RestTemplate;
 
+import javax.annotation.PreDestroy;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.ToDoubleFunction;
+
 /**
  * Base component configurations
  */
+@Slf4j
 @Configuration
 public class BaseConfig {
 
+    private static final String STUDENT = "student";
+    private static final String TUITION = "tuition";
+    private static final String PAYMENT = "payment";
+    private static final String DOWNSTREAM_TAG = "downstream";
+    private final Environment environment;
+    private final List<CloseableHttpClient> httpClients = new ArrayList<>();
+
+    @Autowired
+    public BaseConfig(Environment environment) {
+        this.environment = environment;
+    }
+
+    @Bean
+    public RestTemplate studentRestTemplate(MeterRegistry meterRegistry, ReportingMetrics reportingMetrics,
+                                            DownstreamResilienceRegistry downstreamResilienceRegistry) {
+        return createRestTemplate(STUDENT, meterRegistry, reportingMetrics, downstreamResilienceRegistry);
+    }
+
+    @Bean
+    public RestTemplate tuitionRestTemplate(MeterRegistry meterRegistry, ReportingMetrics reportingMetrics,
+                                            DownstreamResilienceRegistry downstreamResilienceRegistry) {
+        return createRestTemplate(TUITION, meterRegistry, reportingMetrics, downstreamResilienceRegistry);
+    }
+
     @Bean
-    public RestTemplate restTemplate() {
-        return new RestTemplate();
+    public RestTemplate paymentRestTemplate(MeterRegistry meterRegistry, ReportingMetrics reportingMetrics,
+                                            DownstreamResilienceRegistry downstreamResilienceRegistry) {
+        return createRestTemplate(PAYMENT, meterRegistry, reportingMetrics, downstreamResilienceRegistry);
+    }
+
+    /**
+     * This method closes the pooled http clients of the rest templates
+     */
+    @PreDestroy
+    public void closeHttpClients() {
+        for (CloseableHttpClient httpClient : httpClients) {
+            try {
+                httpClient.close();
+            } catch (IOException e) {
+                log.error("Failed to close http client", e);
+            }
+        }
+    }
+
+    /**
+     * This method creates a rest template backed by a pooled http client, configured with the
+     * {@code <downstream>.http.*} properties of the downstream microservice. The latency and outcome of the
+     * calls are recorded per downstream, and the calls go through the resilience policies of the downstream.
+     *
+     * @param downstream                   downstream microservice
+     * @param meterRegistry                meter registry for the pool utilization metrics
+     * @param reportingMetrics             reporting metrics for the call metrics
+     * @param downstreamResilienceRegistry resilience policies of the downstream microservices
+     * @return rest template
+     */
+    private RestTemplate createRestTemplate(String downstream, MeterRegistry meterRegistry,
+                                            ReportingMetrics reportingMetrics,
+                                            DownstreamResilienceRegistry downstreamResilienceRegistry) {
+        int maxConnections = getHttpProperty(downstream, "maxConnections");
+        long keepAlive = getHttpProperty(downstream, "keepAlive");
+        PoolingHttpClientConnectionManager connectionManager = new PoolingHttpClientConnectionManager();
+        connectionManager.setMaxTotal(maxConnections);
+        connectionManager.setDefaultMaxPerRoute(maxConnections);
+        RequestConfig requestConfig = RequestConfig.custom()
+                .setConnectTimeout(getHttpProperty(downstream, "connectTimeout"))
+                .setSocketTimeout(getHttpProperty(downstream, "readTimeout"))
+                .setConnectionRequestTimeout(getHttpProperty(downstream, "connectionRequestTimeout"))
+                .build();
+        CloseableHttpClient httpClient = HttpClients.custom()
+                .setConnectionManager(connectionManager)
+                .setDefaultRequestConfig(requestConfig)
+                .setKeepAliveStrategy((response, context) -> {
+                    long serverKeepAlive = DefaultConnectionKeepAliveStrategy.INSTANCE
+                            .getKeepAliveDuration(response, context);
+                    return serverKeepAlive > 0 ? Math.min(serverKeepAlive, keepAlive) : keepAlive;
+                })
+                .evictExpiredConnections()
+                .evictIdleConnections(getHttpProperty(downstream, "idleTimeout"), TimeUnit.MILLISECONDS)
+                .build();
+        httpClients.add(httpClient);
+        registerPoolMetrics(downstream, connectionManager, meterRegistry);
+        log.debug("Created pooled rest template for {} service. maxConnections: {}", downstream, maxConnections);
+        RestTemplate restTemplate = new RestTemplate(new HttpComponentsClientHttpRequestFactory(httpClient));
+        restTemplate.getInterceptors().add(new DownstreamMetricsInterceptor(downstream, reportingMetrics));
+        restTemplate.getInterceptors().add(downstreamResilienceRegistry.getInterceptor(downstream));
+        return restTemplate;
+    }
+
+    /**
+     * This method registers the utilization metrics of a connection pool
+     *
+     * @param downstream        downstream microservice
+     * @param connectionManager connection manager
+     * @param meterRegistry     meter registry
+     */
+    private void registerPoolMetrics(String downstream, PoolingHttpClientConnectionManager connectionManager,
+                                     MeterRegistry meterRegistry) {
+        registerPoolGauge("http.client.pool.leased", downstream, connectionManager,
+                cm -> cm.getTotalStats().getLeased(), meterRegistry);
+        registerPoolGauge("http.client.pool.available", downstream, connectionManager,
+                cm -> cm.getTotalStats().getAvailable(), meterRegistry);
+        registerPoolGauge("http.client.pool.pending", downstream, connectionManager,
+                cm -> cm.getTotalStats().getPending(), meterRegistry);
+        registerPoolGauge("http.client.pool.max", downstream, connectionManager,
+                cm -> cm.getTotalStats().getMax(), meterRegistry);
+    }
+
+    private void registerPoolGauge(String name, String downstream, PoolingHttpClientConnectionManager connectionManager,
+                                   ToDoubleFunction<PoolingHttpClientConnectionManager> value,
+                                   MeterRegistry meterRegistry) {
+        Gauge.builder(name, connectionManager, value).tag(DOWNSTREAM_TAG, downstream).register(meterRegistry);
+    }
+
+    private int getHttpProperty(String downstream, String property) {
+        return environment.getRequiredProperty(downstream + ".http." + property, Integer.class);
     }
 }
@@ -0,0 +1,69 @@
+package com.swivel.ignite.reporting.config;
+
+import com.swivel.ignite.reporting.service.ReportingMetrics;
+import org.springframework.http.HttpRequest;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.web.reactive.function.client.ExchangeFilterFunction;
+import reactor.core.publisher.Mono;
+
+import java.io.IOException;
+
+/**
+ * Records the latency and outcome of the calls to a downstream microservice, for both the rest template and the
+ * reactive web client of the downstream
+ */
+public class DownstreamMetricsInterceptor implements ClientHttpRequestInterceptor {
+
+    private static final String OUTCOME_CLIENT_ERROR = "client_error";
+    private static final String OUTCOME_SERVER_ERROR = "server_error";
+    private static final String OUTCOME_IO_ERROR = "io_error";
+    private final String downstream;
+    private final ReportingMetrics reportingMetrics;
+
+    public DownstreamMetricsInterceptor(String downstream, ReportingMetrics reportingMetrics) {
+        this.downstream = downstream;
+        this.reportingMetrics = reportingMetrics;
+    }
+
+    @Override
+    public ClientHttpResponse intercept(HttpRequest request, byte[] body, ClientHttpRequestExecution execution)
+            throws IOException {
+        long startTime = System.nanoTime();
+        try {
+            ClientHttpResponse response = execution.execute(request, body);
+            record(getOutcome(response.getRawStatusCode()), startTime);
+            return response;
+        } catch (IOException e) {
+            record(OUTCOME_IO_ERROR, startTime);
+            throw e;
+        }
+    }
+
+    /**
+     * This method creates a web client filter recording the calls the same way as this interceptor
+     *
+     * @return exchange filter function
+     */
+    public ExchangeFilterFunction toExchangeFilterFunction() {
+        return (request, next) -> Mono.fromSupplier(System::nanoTime)
+                .flatMap(startTime -> next.exchange(request)
+                        .doOnNext(response -> record(getOutcome(response.rawStatusCode()), startTime))
+                        .doOnError(e -> record(OUTCOME_IO_ERROR, startTime)));
+    }
+
+    private void record(String outcome, long startTime) {
+        reportingMetrics.recordDownstreamRequest(downstream, outcome, System.nanoTime() - startTime);
+    }
+
+    private String getOutcome(int statusCode) {
+        HttpStatus.Series series = HttpStatus.Series.resolve(statusCode);
+        if (series == HttpStatus.Series.CLIENT_ERROR)
+            return OUTCOME_CLIENT_ERROR;
+        if (series == HttpStatus.Series.SERVER_ERROR)
+            return OUTCOME_SERVER_ERROR;
+        return ReportingMetrics.OUTCOME_SUCCESS;
+    }
+}
@@ -0,0 +1,136 @@
+package com.swivel.ignite.reporting.config;
+
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.retry.Retry;
+import io.vavr.CheckedFunction0;
+import org.springframework.http.HttpRequest;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.ExchangeFilterFunction;
+import org.springframework.web.reactive.function.client.ExchangeFunction;
+import reactor.core.publisher.Mono;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Applies the resilience policies of a downstream microservice to its calls: a circuit breaker failing calls
+ * fast while the downstream is unhealthy, a bulkhead limiting the concurrent calls, and retries of the calls
+ * failed with an io error or a server error, after a jittered exponential backoff.
+ * The rest template calls go through all policies. The reactive web client calls go through the circuit
+ * breaker and the retries, their concurrency is bounded by the caller (see {@code <downstream>.reactive}).
+ * A server error is returned to the caller as is once the retries are exhausted, and a call rejected by the
+ * circuit breaker or the bulkhead fails with an io error.
+ */
+public class DownstreamResilienceInterceptor implements ClientHttpRequestInterceptor {
+
+    private final String downstream;
+    private final CircuitBreaker circuitBreaker;
+    private final Bulkhead bulkhead;
+    private final Retry retry;
+    private final reactor.util.retry.Retry reactiveRetry;
+
+    public DownstreamResilienceInterceptor(String downstream, CircuitBreaker circuitBreaker, Bulkhead bulkhead,
+                                           Retry retry, reactor.util.retry.Retry reactiveRetry) {
+        this.downstream = downstream;
+        this.circuitBreaker = circuitBreaker;
+        this.bulkhead = bulkhead;
+        this.retry = retry;
+        this.reactiveRetry = reactiveRetry;
+    }
+
+    @Override
+    public ClientHttpResponse intercept(HttpRequest request, byte[] body, ClientHttpRequestExecution execution)
+            throws IOException {
+        ServerErrorResponseHolder serverErrorResponse = new ServerErrorResponseHolder();
+        CheckedFunction0<ClientHttpResponse> call = Retry.decorateCheckedSupplier(retry,
+                CircuitBreaker.decorateCheckedSupplier(circuitBreaker,
+                        Bulkhead.decorateCheckedSupplier(bulkhead, () -> {
+                            serverErrorResponse.close();
+                            ClientHttpResponse response = execution.execute(request, body);
+                            if (isServerError(response.getRawStatusCode())) {
+                                serverErrorResponse.response = response;
+                                throw new DownstreamServerErrorException(downstream, response.getRawStatusCode());
+                            }
+                            return response;
+                        })));
+        try {
+            return call.apply();
+        } catch (DownstreamServerErrorException e) {
+            return serverErrorResponse.response;
+        } catch (CallNotPermittedException | BulkheadFullException e) {
+            throw new IOException("Call to " + downstream + " service was rejected: " + e.getMessage(), e);
+        } catch (IOException | RuntimeException | Error e) {
+            throw e;
+        } catch (Throwable e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * This method creates a web client filter applying the circuit breaker and the retries of the downstream
+     *
+     * @return exchange filter function
+     */
+    public ExchangeFilterFunction toExchangeFilterFunction() {
+        return (request, next) -> Mono.defer(() -> exchange(request, next)).retryWhen(reactiveRetry);
+    }
+
+    private Mono<ClientResponse> exchange(ClientRequest request, ExchangeFunction next) {
+        if (!circuitBreaker.tryAcquirePermission())
+            return Mono.error(CallNotPermittedException.createCallNotPermittedException(circuitBreaker));
+        long startTime = System.nanoTime();
+        return next.exchange(request)
+                .flatMap(response -> {
+                    if (isServerError(response.rawStatusCode())) {
+                        DownstreamServerErrorException error = new DownstreamServerErrorException(downstream,
+                                response.rawStatusCode());
+                        circuitBreaker.onError(System.nanoTime() - startTime, TimeUnit.NANOSECONDS, error);
+                        return response.releaseBody().then(Mono.<ClientResponse>error(error));
+                    }
+                    circuitBreaker.onSuccess(System.nanoTime() - startTime, TimeUnit.NANOSECONDS);
+                    return Mono.just(response);
+                })
+                .doOnError(e -> {
+                    if (!(e instanceof DownstreamServerErrorException))
+                        circuitBreaker.onError(System.nanoTime() - startTime, TimeUnit.NANOSECONDS, e);
+                })
+                .doOnCancel(circuitBreaker::releasePermission);
+    }
+
+    private boolean isServerError(int statusCode) {
+        return HttpStatus.Series.resolve(statusCode) == HttpStatus.Series.SERVER_ERROR;
+    }
+
+    /**
+     * Server error response of the last failed attempt of a call, closed when the call is attempted again
+     */
+    private static class ServerErrorResponseHolder {
+
+        private ClientHttpResponse response;
+
+        private void close() {
+            if (response != null) {
+                response.close();
+                response = null;
+            }
+        }
+    }
+
+    /**
+     * Server error of a downstream call, recorded as a failure by the circuit breaker and retried
+     */
+    static class DownstreamServerErrorException extends IOException {
+
+        DownstreamServerErrorException(String downstream, int statusCode) {
+            super("Server error from " + downstream + " service. statusCode: " + statusCode);
+        }
+    }
+}
@@ -0,0 +1,113 @@
+package com.swivel.ignite.reporting.config;
+
+import io.github.resilience4j.bulkhead.BulkheadConfig;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerConfig;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.github.resilience4j.core.IntervalFunction;
+import io.github.resilience4j.micrometer.tagged.TaggedBulkheadMetrics;
+import io.github.resilience4j.micrometer.tagged.TaggedCircuitBreakerMetrics;
+import io.github.resilience4j.micrometer.tagged.TaggedRetryMetrics;
+import io.github.resilience4j.retry.RetryConfig;
+import io.github.resilience4j.retry.RetryRegistry;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Resilience policies of the downstream microservices, configured with the {@code <downstream>.resilience.*}
+ * properties of each downstream. The rest template and the reactive web client of a downstream share its
+ * policies, so they see the same health of the downstream. The state of the circuit breakers, the bulkheads
+ * and the retries are published as metrics.
+ */
+@Slf4j
+@Component
+public class DownstreamResilienceRegistry {
+
+    private static final double JITTER = 0.5;
+    private final Environment environment;
+    private final CircuitBreakerRegistry circuitBreakerRegistry = CircuitBreakerRegistry.ofDefaults();
+    private final BulkheadRegistry bulkheadRegistry = BulkheadRegistry.ofDefaults();
+    private final RetryRegistry retryRegistry = RetryRegistry.ofDefaults();
+    private final Map<String, DownstreamResilienceInterceptor> interceptors = new ConcurrentHashMap<>();
+
+    @Autowired
+    public DownstreamResilienceRegistry(Environment environment, MeterRegistry meterRegistry) {
+        this.environment = environment;
+        TaggedCircuitBreakerMetrics.ofCircuitBreakerRegistry(circuitBreakerRegistry).bindTo(meterRegistry);
+        TaggedBulkheadMetrics.ofBulkheadRegistry(bulkheadRegistry).bindTo(meterRegistry);
+        TaggedRetryMetrics.ofRetryRegistry(retryRegistry).bindTo(meterRegistry);
+    }
+
+    /**
+     * This method is used to get the interceptor applying the resilience policies of a downstream microservice
+     *
+     * @param downstream downstream microservice
+     * @return resilience interceptor
+     */
+    public DownstreamResilienceInterceptor getInterceptor(String downstream) {
+        return interceptors.computeIfAbsent(downstream, this::createInterceptor);
+    }
+
+    private DownstreamResilienceInterceptor createInterceptor(String downstream) {
+        CircuitBreakerConfig circuitBreakerConfig = CircuitBreakerConfig.custom()
+                .failureRateThreshold(getProperty(downstream, "failureRateThreshold"))
+                .slidingWindowSize(getProperty(downstream, "slidingWindowSize"))
+                .minimumNumberOfCalls(getProperty(downstream, "minimumNumberOfCalls"))
+                .waitDurationInOpenState(Duration.ofMillis(getProperty(downstream, "waitDurationInOpenState")))
+                .build();
+        BulkheadConfig bulkheadConfig = BulkheadConfig.custom()
+                .maxConcurrentCalls(getProperty(downstream, "maxConcurrentCalls"))
+                .maxWaitDuration(Duration.ofMillis(getProperty(downstream, "maxWaitDuration")))
+                .build();
+        int maxAttempts = getProperty(downstream, "maxAttempts");
+        long initialBackoff = getProperty(downstream, "initialBackoff");
+        long maxBackoff = getProperty(downstream, "maxBackoff");
+        RetryConfig retryConfig = RetryConfig.custom()
+                .maxAttempts(maxAttempts)
+                .intervalFunction(getJitteredBackoff(initialBackoff, maxBackoff))
+                .retryExceptions(IOException.class)
+                .build();
+        reactor.util.retry.Retry reactiveRetry = reactor.util.retry.Retry
+                .backoff(maxAttempts - 1L, Duration.ofMillis(initialBackoff))
+                .maxBackoff(Duration.ofMillis(maxBackoff))
+                .jitter(JITTER)
+                .filter(e -> !(e instanceof CallNotPermittedException))
+                .onRetryExhaustedThrow((spec, signal) -> signal.failure());
+        log.debug("Created resilience policies for {} service. maxConcurrentCalls: {}, maxAttempts: {}",
+                downstream, bulkheadConfig.getMaxConcurrentCalls(), maxAttempts);
+        return new DownstreamResilienceInterceptor(downstream,
+                circuitBreakerRegistry.circuitBreaker(downstream, circuitBreakerConfig),
+                bulkheadRegistry.bulkhead(downstream, bulkheadConfig),
+                retryRegistry.retry(downstream, retryConfig), reactiveRetry);
+    }
+
+    /**
+     * This method creates an exponential backoff capped at the max backoff, with a random jitter of half of
+     * the backoff, so the retries of concurrent callers do not hit a recovering downstream at once
+     *
+     * @param initialBackoff backoff before the first retry in milliseconds
+     * @param maxBackoff     max backoff in milliseconds
+     * @return interval function
+     */
+    static IntervalFunction getJitteredBackoff(long initialBackoff, long maxBackoff) {
+        return attempt -> {
+            long backoff = Math.min(maxBackoff, initialBackoff << Math.min(attempt - 1, 20));
+            long jitter = (long) (backoff * JITTER);
+            return backoff - jitter + ThreadLocalRandom.current().nextLong(jitter + 1);
+        };
+    }
+
+    private int getProperty(String downstream, String property) {
+        return environment.getRequiredProperty(downstream + ".resilience." + property, Integer.class);
+    }
+}
@@ -0,0 +1,93 @@
+package com.swivel.ignite.reporting.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+/**
+ * Executor configurations
+ */
+@Configuration
+public class ExecutorConfig {
+
+    /**
+     * This method creates the executor of parallel student lookups. The pool size bounds the number of
+     * concurrent single calls to student microservice.
+     *
+     * @param maxParallelCalls max parallel calls to student microservice
+     * @return student lookup executor
+     */
+    @Bean
+    public ThreadPoolTaskExecutor studentLookupExecutor(@Value("${student.maxParallelCalls}") int maxParallelCalls) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(maxParallelCalls);
+        executor.setMaxPoolSize(maxParallelCalls);
+        executor.setThreadNamePrefix("student-lookup-");
+        return executor;
+    }
+
+    /**
+     * This method creates the executor the tuitions of a parallel report rebuild are fetched on
+     *
+     * @param parallelism number of tuitions fetched concurrently
+     * @return report rebuild executor
+     */
+    @Bean
+    public ThreadPoolTaskExecutor reportRebuildExecutor(@Value("${report.rebuild.parallelism}") int parallelism) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(parallelism);
+        executor.setMaxPoolSize(parallelism);
+        executor.setThreadNamePrefix("report-rebuild-");
+        return executor;
+    }
+
+    /**
+     * This method creates the executor of parallel paid student lookups. The pool size bounds the number of
+     * concurrent calls to payment microservice.
+     *
+     * @param maxParallelCalls max parallel calls to payment microservice
+     * @return payment lookup executor
+     */
+    @Bean
+    public ThreadPoolTaskExecutor paymentLookupExecutor(@Value("${payment.maxParallelCalls}") int maxParallelCalls) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(maxParallelCalls);
+        executor.setMaxPoolSize(maxParallelCalls);
+        executor.setThreadNamePrefix("payment-lookup-");
+        return executor;
+    }
+
+    /**
+     * This method creates the executor streaming report exports are written on. The pool size bounds the
+     * number of concurrent exports, each of which holds a database connection while it runs.
+     *
+     * @param maxConcurrentExports max concurrent report exports
+     * @return report export executor
+     */
+    @Bean
+    public ThreadPoolTaskExecutor reportExportExecutor(
+            @Value("${report.export.maxConcurrentExports}") int maxConcurrentExports) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(maxConcurrentExports);
+        executor.setMaxPoolSize(maxConcurrentExports);
+        executor.setThreadNamePrefix("report-export-");
+        return executor;
+    }
+
+    /**
+     * This method creates the executor CSV export jobs are run on. Jobs beyond the pool size wait in the queue.
+     *
+     * @param maxConcurrentJobs max concurrent CSV export jobs
+     * @return report CSV export executor
+     */
+    @Bean
+    public ThreadPoolTaskExecutor reportCsvExportExecutor(
+            @Value("${report.csvExport.maxConcurrentJobs}") int maxConcurrentJobs) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(maxConcurrentJobs);
+        executor.setMaxPoolSize(maxConcurrentJobs);
+        executor.setThreadNamePrefix("report-csv-export-");
+        return executor;
+    }
+}
@@ -17,6 +17,10 @@ import org.springframework.security.oauth2.config.annotation.web.configurers.Res
 public class ResourceServerConfig extends ResourceServerConfigurerAdapter {
 
     private static final String REPORT_ENDPOINT = "/api/v1/report/**";
+    private static final String REPORT_EXPORT_ENDPOINT = "/api/v1/report/export/**";
+    private static final String REPORT_REFRESH_ENDPOINT = "/api/v1/report/refresh";
+    private static final String REPORT_CACHE_ENDPOINT = "/api/v1/report/cache/**";
+    private static final String ACTUATOR_ENDPOINT = "/actuator/**";
     private final String resourceId;
 
     @Autowired
@@ -45,7 +49,12 @@ public class ResourceServerConfig extends ResourceServerConfigurerAdapter {
     @Override
     public void configure(HttpSecurity http) throws Exception {
         http.authorizeRequests()
+                .antMatchers(REPORT_EXPORT_ENDPOINT).access("hasAnyAuthority('ADMIN')")
+                .antMatchers(HttpMethod.POST, REPORT_REFRESH_ENDPOINT).access("hasAnyAuthority('ADMIN')")
+                .antMatchers(HttpMethod.DELETE, REPORT_CACHE_ENDPOINT).access("hasAnyAuthority('ADMIN')")
                 .antMatchers(HttpMethod.GET, REPORT_ENDPOINT).access("hasAnyAuthority('ADMIN', 'STUDENT')")
+                .antMatchers("/actuator/health", "/actuator/prometheus").permitAll()
+                .antMatchers(ACTUATOR_ENDPOINT).access("hasAnyAuthority('ADMIN')")
                 .antMatchers("/v2/api-docs", "/configuration/ui", "/swagger-resources/**",
                         "/configuration/**", "/swagger-ui.html", "/webjars/**").permitAll()
                 .anyRequest().authenticated().and().cors();
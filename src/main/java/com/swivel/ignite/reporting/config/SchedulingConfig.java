@@ -0,0 +1,12 @@
+package com.swivel.ignite.reporting.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Scheduling configurations
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
@@ -0,0 +1,96 @@
+package com.swivel.ignite.reporting.config;
+
+import com.swivel.ignite.reporting.service.ReportingMetrics;
+import io.netty.channel.ChannelOption;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+import javax.annotation.PreDestroy;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Reactive web client configurations, used when report.rebuild.client is reactive
+ */
+@Slf4j
+@Configuration
+@ConditionalOnProperty(name = "report.rebuild.client", havingValue = "reactive")
+public class WebClientConfig {
+
+    private static final String STUDENT = "student";
+    private static final String PAYMENT = "payment";
+    private final Environment environment;
+    private final List<ConnectionProvider> connectionProviders = new ArrayList<>();
+
+    @Autowired
+    public WebClientConfig(Environment environment) {
+        this.environment = environment;
+    }
+
+    @Bean
+    public WebClient studentWebClient(WebClient.Builder webClientBuilder, ReportingMetrics reportingMetrics,
+                                      DownstreamResilienceRegistry downstreamResilienceRegistry) {
+        return createWebClient(STUDENT, webClientBuilder, reportingMetrics, downstreamResilienceRegistry);
+    }
+
+    @Bean
+    public WebClient paymentWebClient(WebClient.Builder webClientBuilder, ReportingMetrics reportingMetrics,
+                                      DownstreamResilienceRegistry downstreamResilienceRegistry) {
+        return createWebClient(PAYMENT, webClientBuilder, reportingMetrics, downstreamResilienceRegistry);
+    }
+
+    /**
+     * This method disposes the connection pools of the web clients
+     */
+    @PreDestroy
+    public void disposeConnectionProviders() {
+        connectionProviders.forEach(ConnectionProvider::dispose);
+    }
+
+    /**
+     * This method creates a web client on a reactor netty connection pool, configured with the
+     * {@code <downstream>.reactive.*} and {@code <downstream>.http.*} properties of the downstream microservice.
+     * Requests waiting for a connection are not limited by the pool, the in-flight calls are bounded by the
+     * concurrency of the caller instead. The latency and outcome of the calls are recorded per downstream, and
+     * the calls go through the circuit breaker and the retries of the downstream.
+     *
+     * @param downstream                   downstream microservice
+     * @param webClientBuilder             web client builder
+     * @param reportingMetrics             reporting metrics
+     * @param downstreamResilienceRegistry resilience policies of the downstream microservices
+     * @return web client
+     */
+    private WebClient createWebClient(String downstream, WebClient.Builder webClientBuilder,
+                                      ReportingMetrics reportingMetrics,
+                                      DownstreamResilienceRegistry downstreamResilienceRegistry) {
+        int maxConnections = getProperty(downstream + ".reactive.maxConnections");
+        ConnectionProvider connectionProvider = ConnectionProvider.builder(downstream + "-web-client")
+                .maxConnections(maxConnections)
+                .pendingAcquireMaxCount(-1)
+                .pendingAcquireTimeout(Duration.ofMillis(getProperty(downstream + ".reactive.pendingAcquireTimeout")))
+                .maxIdleTime(Duration.ofMillis(getProperty(downstream + ".http.idleTimeout")))
+                .build();
+        connectionProviders.add(connectionProvider);
+        HttpClient httpClient = HttpClient.create(connectionProvider)
+                .tcpConfiguration(tcpClient -> tcpClient.option(ChannelOption.CONNECT_TIMEOUT_MILLIS,
+                        getProperty(downstream + ".http.connectTimeout")));
+        log.debug("Created reactive web client for {} service. maxConnections: {}", downstream, maxConnections);
+        return webClientBuilder.clone().clientConnector(new ReactorClientHttpConnector(httpClient))
+                .filter(new DownstreamMetricsInterceptor(downstream, reportingMetrics).toExchangeFilterFunction())
+                .filter(downstreamResilienceRegistry.getInterceptor(downstream).toExchangeFilterFunction())
+                .build();
+    }
+
+    private int getProperty(String property) {
+        return environment.getRequiredProperty(property, Integer.class);
+    }
+}
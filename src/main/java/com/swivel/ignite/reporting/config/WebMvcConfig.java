@@ -0,0 +1,38 @@
+package com.swivel.ignite.reporting.config;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.web.servlet.config.annotation.AsyncSupportConfigurer;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * Web MVC configurations
+ */
+@Configuration
+public class WebMvcConfig implements WebMvcConfigurer {
+
+    private final ThreadPoolTaskExecutor reportExportExecutor;
+    private final long exportTimeout;
+
+    @Autowired
+    public WebMvcConfig(@Qualifier("reportExportExecutor") ThreadPoolTaskExecutor reportExportExecutor,
+                        @Value("${report.export.timeout}") long exportTimeout) {
+        this.reportExportExecutor = reportExportExecutor;
+        this.exportTimeout = exportTimeout;
+    }
+
+    /**
+     * This method configures the executor and timeout of streaming responses, which are only used by the
+     * report export
+     *
+     * @param configurer async support configurer
+     */
+    @Override
+    public void configureAsyncSupport(AsyncSupportConfigurer configurer) {
+        configurer.setTaskExecutor(reportExportExecutor);
+        configurer.setDefaultTimeout(exportTimeout);
+    }
+}
@@ -9,7 +9,10 @@ import com.swivel.ignite.reporting.wrapper.ErrorResponseWrapper;
 import com.swivel.ignite.reporting.wrapper.ResponseWrapper;
 import com.swivel.ignite.reporting.wrapper.RestErrorResponseWrapper;
 import com.swivel.ignite.reporting.wrapper.SuccessResponseWrapper;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 
 /**
@@ -19,7 +22,8 @@ public class Controller {
 
     protected static final String AUTH_HEADER = "Authorization";
     private static final String ERROR_MESSAGE = "Oops!! Something went wrong. Please try again.";
-    private static final String SUCCESS_MESSAGE = "Successfully returned the data.";
+    private static final String WEAK_ETAG_PREFIX = "W/";
+    private static final String STALE_WARNING = "110 - \"Response is Stale\"";
 
     /**
      * This method creates an empty data response for bad request scenarios
@@ -67,7 +71,89 @@ public class Controller {
      */
     protected ResponseEntity<ResponseWrapper> getSuccessResponse(SuccessResponseStatusType status, ResponseDto data) {
         ResponseWrapper responseWrapper = new SuccessResponseWrapper(ResponseStatusType.SUCCESS, status.getMessage(),
-                data, SUCCESS_MESSAGE, status.getCode());
+                data, SuccessResponseWrapper.SUCCESS_DISPLAY_MESSAGE, status.getCode());
         return new ResponseEntity<>(responseWrapper, HttpStatus.OK);
     }
+
+    /**
+     * This method creates data response for success scenarios, with a stale warning if the data is stale
+     *
+     * @param status  success status
+     * @param data    response data
+     * @param isStale true if the data is stale
+     * @return success response
+     */
+    protected ResponseEntity<ResponseWrapper> getSuccessResponse(SuccessResponseStatusType status, ResponseDto data,
+                                                                 boolean isStale) {
+        ResponseWrapper responseWrapper = new SuccessResponseWrapper(ResponseStatusType.SUCCESS, status.getMessage(),
+                data, SuccessResponseWrapper.SUCCESS_DISPLAY_MESSAGE, status.getCode());
+        return ResponseEntity.ok().headers(getStaleHeaders(isStale)).body(responseWrapper);
+    }
+
+    /**
+     * This method creates a response of an already serialized success response, tagged with an entity tag and
+     * cache control, and with a stale warning if the data is stale
+     *
+     * @param body         serialized success response
+     * @param eTag         entity tag of the data/ null
+     * @param cacheControl cache control
+     * @param isStale      true if the data is stale
+     * @return success response
+     */
+    protected ResponseEntity<byte[]> getSerializedSuccessResponse(byte[] body, String eTag,
+                                                                  CacheControl cacheControl, boolean isStale) {
+        ResponseEntity.BodyBuilder responseBuilder = ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON)
+                .cacheControl(cacheControl).headers(getStaleHeaders(isStale));
+        if (eTag != null)
+            responseBuilder.eTag(eTag);
+        return responseBuilder.body(body);
+    }
+
+    /**
+     * This method creates an empty response for a client whose copy of the data is current, with a stale
+     * warning if the data is stale
+     *
+     * @param eTag         entity tag of the data
+     * @param cacheControl cache control
+     * @param isStale      true if the data is stale
+     * @return not modified response
+     */
+    protected ResponseEntity<ResponseWrapper> getNotModifiedResponse(String eTag, CacheControl cacheControl,
+                                                                     boolean isStale) {
+        return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(eTag).cacheControl(cacheControl)
+                .headers(getStaleHeaders(isStale)).build();
+    }
+
+    /**
+     * This method creates the headers warning that the data of a response is stale
+     *
+     * @param isStale true if the data is stale
+     * @return warning headers/ empty headers
+     */
+    private HttpHeaders getStaleHeaders(boolean isStale) {
+        HttpHeaders headers = new HttpHeaders();
+        if (isStale)
+            headers.set(HttpHeaders.WARNING, STALE_WARNING);
+        return headers;
+    }
+
+    /**
+     * This method checks if an If-None-Match header matches an entity tag
+     *
+     * @param ifNoneMatch If-None-Match header/ null
+     * @param eTag        entity tag/ null
+     * @return true if the client's copy is current
+     */
+    protected boolean isNotModified(String ifNoneMatch, String eTag) {
+        if (ifNoneMatch == null || eTag == null)
+            return false;
+        for (String clientETag : ifNoneMatch.split(",")) {
+            String trimmedETag = clientETag.trim();
+            if (trimmedETag.startsWith(WEAK_ETAG_PREFIX))
+                trimmedETag = trimmedETag.substring(WEAK_ETAG_PREFIX.length());
+            if (trimmedETag.equals(eTag) || trimmedETag.equals("*"))
+                return true;
+        }
+        return false;
+    }
 }
@@ -1,23 +1,34 @@
 package com.swivel.ignite.reporting.controller;
 
-import com.swivel.ignite.reporting.dto.response.ReportResponseDto;
-import com.swivel.ignite.reporting.entity.Report;
+import com.swivel.ignite.reporting.dto.response.ReportYearResponseDto;
 import com.swivel.ignite.reporting.enums.ErrorResponseStatusType;
 import com.swivel.ignite.reporting.enums.Month;
 import com.swivel.ignite.reporting.enums.SuccessResponseStatusType;
+import com.swivel.ignite.reporting.dto.response.ReportSnapshotResponseDto;
+import com.swivel.ignite.reporting.service.ReportExportService;
+import com.swivel.ignite.reporting.service.ReportMaterializationService;
+import com.swivel.ignite.reporting.service.ReportResponseCache;
 import com.swivel.ignite.reporting.service.ReportService;
+import com.swivel.ignite.reporting.service.ReportSnapshotStatus;
+import com.swivel.ignite.reporting.service.SerializedReportResponse;
 import com.swivel.ignite.reporting.wrapper.ResponseWrapper;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
-import javax.servlet.http.HttpServletRequest;
-import java.io.IOException;
+import java.util.concurrent.TimeUnit;
 
 /**
  * Report Controller
@@ -27,34 +38,134 @@ import java.io.IOException;
 @Slf4j
 public class ReportController extends Controller {
 
+    private static final String NDJSON_MEDIA_TYPE = "application/x-ndjson";
     private final ReportService reportService;
+    private final ReportExportService reportExportService;
+    private final ReportResponseCache reportResponseCache;
+    private final ReportSnapshotStatus reportSnapshotStatus;
+    private final ReportMaterializationService reportMaterializationService;
+    private final CacheControl reportCacheControl;
 
     @Autowired
-    public ReportController(ReportService reportService) {
+    public ReportController(ReportService reportService, ReportExportService reportExportService,
+                            ReportResponseCache reportResponseCache, ReportSnapshotStatus reportSnapshotStatus,
+                            ReportMaterializationService reportMaterializationService,
+                            @Value("${report.materialization.fixedDelay}") long materializationFixedDelay) {
         this.reportService = reportService;
+        this.reportExportService = reportExportService;
+        this.reportResponseCache = reportResponseCache;
+        this.reportSnapshotStatus = reportSnapshotStatus;
+        this.reportMaterializationService = reportMaterializationService;
+        this.reportCacheControl = CacheControl.maxAge(materializationFixedDelay, TimeUnit.MILLISECONDS)
+                .mustRevalidate();
     }
 
     /**
-     * This method is used to get report by tuition id and month
+     * This method is used to get report by tuition id and month.
+     * Reports are materialized in the background, hence this only reads the current report snapshot.
+     * The response is tagged with the generation and versions of the reports, and a client whose copy is
+     * current gets a not modified response without the student ids being read. Responses may be cached for
+     * the materialization interval.
+     * The response is serialized once per entity tag and then written as is (see {@link ReportResponseCache}).
+     * Reports kept from a previous snapshot, since their data could not be fetched, are served with a stale
+     * warning (see {@link ReportSnapshotStatus}).
      *
-     * @param tuitionId tuition id
-     * @param month     month
-     * @return success(report)/ error response
+     * @param tuitionId   tuition id
+     * @param month       month
+     * @param ifNoneMatch entity tags of the client's copy
+     * @return success(report)/ not modified/ error response
      */
     @GetMapping(path = "/get/{tuitionId}/{month}", produces = MediaType.APPLICATION_JSON_VALUE)
-    public ResponseEntity<ResponseWrapper> getReportByTuitionIdMonth(@PathVariable(name = "tuitionId") String tuitionId,
-                                                                     @PathVariable(name = "month") String month,
-                                                                     HttpServletRequest request) throws IOException {
-        String token = request.getHeader(AUTH_HEADER);
+    public ResponseEntity<?> getReportByTuitionIdMonth(@PathVariable(name = "tuitionId") String tuitionId,
+                                                       @PathVariable(name = "month") String month,
+                                                       @RequestHeader(name = HttpHeaders.IF_NONE_MATCH,
+                                                               required = false) String ifNoneMatch) {
         if (!Month.isMonthValid(month)) {
             log.error("Month is invalid for getting a report by tuitionId and month");
             return getBadRequestResponse(ErrorResponseStatusType.INVALID_MONTH);
         }
-        reportService.updateReport(token);
-        Report paidReport = reportService.getByTuitionIdMonthPaid(tuitionId, month, true);
-        Report unpaidReport = reportService.getByTuitionIdMonthPaid(tuitionId, month, false);
-        ReportResponseDto responseDto = new ReportResponseDto(paidReport, unpaidReport);
+        String currentETag = reportService.getReportETag(tuitionId, month);
+        if (isNotModified(ifNoneMatch, currentETag)) {
+            log.debug("Report not modified for tuition id: {}, month: {}", tuitionId, month);
+            return getNotModifiedResponse(currentETag, reportCacheControl, reportSnapshotStatus.isStale(tuitionId));
+        }
+        SerializedReportResponse response = reportResponseCache.getReportResponse(tuitionId, month, currentETag);
         log.debug("Successfully returned report by tuition id: {}, month: {}", tuitionId, month);
-        return getSuccessResponse(SuccessResponseStatusType.READ_REPORT, responseDto);
+        return getSerializedSuccessResponse(response.getBody(), response.getETag(), reportCacheControl,
+                reportSnapshotStatus.isStale(tuitionId));
+    }
+
+    /**
+     * This method is used to get the report of all months of a tuition in one response, as a student × month
+     * paid/ unpaid matrix.
+     * Reports are materialized in the background, hence this only reads the current report snapshot, and stale
+     * reports are served with a stale warning.
+     *
+     * @param tuitionId tuition id
+     * @return success(report year)/ error response
+     */
+    @GetMapping(path = "/get/year/{tuitionId}", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<ResponseWrapper> getReportYearByTuitionId(@PathVariable(name = "tuitionId") String tuitionId) {
+        ReportYearResponseDto responseDto = reportService.getYearByTuitionId(tuitionId);
+        log.debug("Successfully returned report year by tuition id: {}", tuitionId);
+        return getSuccessResponse(SuccessResponseStatusType.READ_REPORT_YEAR, responseDto,
+                reportSnapshotStatus.isStale(tuitionId));
+    }
+
+    /**
+     * This method is used to refresh the report snapshot on demand.
+     * Concurrent refreshes join the one rebuild in flight and all receive its result, and a refresh is skipped
+     * when the snapshot is still fresh (see {@link ReportMaterializationService}).
+     *
+     * @return success(report snapshot)/ error response
+     */
+    @PostMapping(path = "/refresh", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<ResponseWrapper> refreshReport() {
+        ReportSnapshotResponseDto responseDto = reportMaterializationService.refreshReport();
+        log.debug("Successfully refreshed report. snapshot version: {}", responseDto.getSnapshotVersion());
+        return getSuccessResponse(SuccessResponseStatusType.REFRESHED_REPORT, responseDto);
+    }
+
+    /**
+     * This method is used to invalidate the cached enrollment of a student, e.g. after the student's tuition
+     * joined date was corrected, so the next rebuild rewrites the report of the student's tuition
+     * (see {@link ReportService#invalidateStudentEnrollment(String)}).
+     *
+     * @param studentId student id
+     * @return success/ error response
+     */
+    @DeleteMapping(path = "/cache/student/{studentId}", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<ResponseWrapper> invalidateStudentEnrollment(@PathVariable(name = "studentId")
+                                                                               String studentId) {
+        reportService.invalidateStudentEnrollment(studentId);
+        log.debug("Successfully invalidated cached enrollment of student id: {}", studentId);
+        return getSuccessResponse(SuccessResponseStatusType.INVALIDATED_STUDENT_ENROLLMENT_CACHE, null);
+    }
+
+    /**
+     * This method is used to invalidate all cached student enrollments, so the next rebuild is a full rebuild
+     * fetching every student from student microservice
+     *
+     * @return success/ error response
+     */
+    @DeleteMapping(path = "/cache/student", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<ResponseWrapper> invalidateStudentEnrollments() {
+        reportService.invalidateStudentEnrollments();
+        log.debug("Successfully invalidated all cached student enrollments");
+        return getSuccessResponse(SuccessResponseStatusType.INVALIDATED_STUDENT_ENROLLMENT_CACHE, null);
+    }
+
+    /**
+     * This method is used to export all reports as newline delimited JSON, one report per line.
+     * The reports are streamed while they are read, hence the response starts before the export is complete.
+     *
+     * @return streamed reports
+     */
+    @GetMapping(path = "/export", produces = NDJSON_MEDIA_TYPE)
+    public ResponseEntity<StreamingResponseBody> exportReports() {
+        log.debug("Streaming report export");
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(NDJSON_MEDIA_TYPE))
+                .body(reportExportService::exportReports);
     }
 }
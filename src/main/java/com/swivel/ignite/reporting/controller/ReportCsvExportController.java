@@ -0,0 +1,144 @@
+package com.swivel.ignite.reporting.controller;
+
+import com.swivel.ignite.reporting.dto.response.ReportExportJobResponseDto;
+import com.swivel.ignite.reporting.enums.SuccessResponseStatusType;
+import com.swivel.ignite.reporting.service.ReportCsvExportService;
+import com.swivel.ignite.reporting.service.ReportExportJob;
+import com.swivel.ignite.reporting.wrapper.ResponseWrapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpRange;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Report CSV Export Controller
+ */
+@RestController
+@RequestMapping("api/v1/report/export/csv")
+@Slf4j
+public class ReportCsvExportController extends Controller {
+
+    private static final String GZIP_CONTENT_TYPE = "application/gzip";
+    private static final String BYTES_RANGE_UNIT = "bytes";
+    private static final String SENDFILE_SUPPORT_ATTRIBUTE = "org.apache.tomcat.sendfile.support";
+    private static final String SENDFILE_FILENAME_ATTRIBUTE = "org.apache.tomcat.sendfile.filename";
+    private static final String SENDFILE_START_ATTRIBUTE = "org.apache.tomcat.sendfile.start";
+    private static final String SENDFILE_END_ATTRIBUTE = "org.apache.tomcat.sendfile.end";
+    private final ReportCsvExportService reportCsvExportService;
+
+    @Autowired
+    public ReportCsvExportController(ReportCsvExportService reportCsvExportService) {
+        this.reportCsvExportService = reportCsvExportService;
+    }
+
+    /**
+     * This method is used to start a CSV export of all reports in the background
+     *
+     * @return success(export job)/ error response
+     */
+    @PostMapping(produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<ResponseWrapper> createExportJob() {
+        ReportExportJob job = reportCsvExportService.createExportJob();
+        log.debug("Successfully created report csv export job. jobId: {}", job.getJobId());
+        return getSuccessResponse(SuccessResponseStatusType.CREATED_REPORT_EXPORT, new ReportExportJobResponseDto(job));
+    }
+
+    /**
+     * This method is used to get the status of a CSV export job
+     *
+     * @param jobId job id
+     * @return success(export job)/ error response
+     */
+    @GetMapping(path = "/{jobId}", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<ResponseWrapper> getExportJob(@PathVariable(name = "jobId") String jobId) {
+        ReportExportJob job = reportCsvExportService.getExportJob(jobId);
+        return getSuccessResponse(SuccessResponseStatusType.READ_REPORT_EXPORT, new ReportExportJobResponseDto(job));
+    }
+
+    /**
+     * This method is used to download the gzip compressed CSV file of a completed export job.
+     * A single byte range is served as partial content, so an interrupted download can be resumed. The file is
+     * handed to the container's sendfile support when available, and transferred from its file channel
+     * otherwise.
+     *
+     * @param jobId    job id
+     * @param request  http request
+     * @param response http response
+     * @throws IOException
+     */
+    @GetMapping(path = "/{jobId}/download")
+    public void downloadExport(@PathVariable(name = "jobId") String jobId, HttpServletRequest request,
+                               HttpServletResponse response) throws IOException {
+        Path file = reportCsvExportService.getExportFile(jobId);
+        long fileSize = Files.size(file);
+        response.setContentType(GZIP_CONTENT_TYPE);
+        response.setHeader(HttpHeaders.ACCEPT_RANGES, BYTES_RANGE_UNIT);
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.builder("attachment")
+                .filename(file.getFileName().toString()).build().toString());
+        long start = 0;
+        long end = fileSize - 1;
+        List<HttpRange> ranges = getRanges(request.getHeader(HttpHeaders.RANGE));
+        if (ranges.size() == 1) {
+            HttpRange range = ranges.get(0);
+            start = range.getRangeStart(fileSize);
+            if (start >= fileSize) {
+                response.setHeader(HttpHeaders.CONTENT_RANGE, BYTES_RANGE_UNIT + " */" + fileSize);
+                response.sendError(HttpServletResponse.SC_REQUESTED_RANGE_NOT_SATISFIABLE);
+                return;
+            }
+            end = range.getRangeEnd(fileSize);
+            response.setStatus(HttpServletResponse.SC_PARTIAL_CONTENT);
+            response.setHeader(HttpHeaders.CONTENT_RANGE, BYTES_RANGE_UNIT + " " + start + "-" + end + "/" +
+                    fileSize);
+        }
+        response.setContentLengthLong(end - start + 1);
+        log.debug("Downloading report csv export. jobId: {}, range: {}-{}/{}", jobId, start, end, fileSize);
+        if (Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORT_ATTRIBUTE))) {
+            request.setAttribute(SENDFILE_FILENAME_ATTRIBUTE, file.toAbsolutePath().toString());
+            request.setAttribute(SENDFILE_START_ATTRIBUTE, start);
+            request.setAttribute(SENDFILE_END_ATTRIBUTE, end + 1);
+            return;
+        }
+        try (FileChannel fileChannel = FileChannel.open(file, StandardOpenOption.READ)) {
+            WritableByteChannel target = Channels.newChannel(response.getOutputStream());
+            long position = start;
+            while (position <= end) {
+                position += fileChannel.transferTo(position, end + 1 - position, target);
+            }
+        }
+    }
+
+    /**
+     * This method is used to parse the range header of a download. Multiple or malformed ranges are ignored,
+     * and the whole file is served.
+     *
+     * @param rangeHeader range header/ null
+     * @return ranges
+     */
+    private List<HttpRange> getRanges(String rangeHeader) {
+        if (rangeHeader == null)
+            return Collections.emptyList();
+        try {
+            return HttpRange.parseRanges(rangeHeader);
+        } catch (IllegalArgumentException e) {
+            log.debug("Ignoring invalid range header of report csv export download: {}", rangeHeader);
+            return Collections.emptyList();
+        }
+    }
+}
@@ -1,9 +1,5 @@
 package com.swivel.ignite.reporting.dto;
 
-import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.databind.ObjectMapper;
-import com.swivel.ignite.reporting.exception.ReportingServiceException;
-
 import java.io.Serializable;
 
 /**
@@ -17,11 +13,7 @@ public interface BaseDto extends Serializable {
      * @return json string
      */
     default String toJson() {
-        try {
-            return new ObjectMapper().writeValueAsString(this);
-        } catch (JsonProcessingException e) {
-            throw new ReportingServiceException("Object to json conversion was failed.", e);
-        }
+        return DtoJsonWriter.toJson(this);
     }
 
     /**
@@ -31,4 +23,16 @@ public interface BaseDto extends Serializable {
      * @return json string
      */
     String toLogJson();
+
+    /**
+     * This method converts object to json string for logging purpose, serialized only up to the given length.
+     * The log json of a DTO is its json, hence a DTO which obfuscates PII data in toLogJson needs to override
+     * this method as well.
+     *
+     * @param maxLength max length of the json
+     * @return json string
+     */
+    default String toLogJson(int maxLength) {
+        return DtoJsonWriter.toJson(this, maxLength);
+    }
 }
@@ -0,0 +1,98 @@
+package com.swivel.ignite.reporting.dto;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.swivel.ignite.reporting.exception.ReportingServiceException;
+
+import java.io.IOException;
+import java.io.Writer;
+
+/**
+ * DTO JSON writer
+ * Converts DTOs to json with one shared, thread safe object writer, instead of a new object mapper per
+ * conversion.
+ */
+public final class DtoJsonWriter {
+
+    public static final String TRUNCATED_SUFFIX = "...(truncated)";
+    private static final ObjectWriter OBJECT_WRITER = new ObjectMapper().writer();
+
+    private DtoJsonWriter() {
+    }
+
+    /**
+     * This method converts an object to json string
+     *
+     * @param value object
+     * @return json string
+     */
+    public static String toJson(Object value) {
+        try {
+            return OBJECT_WRITER.writeValueAsString(value);
+        } catch (JsonProcessingException e) {
+            throw new ReportingServiceException("Object to json conversion was failed.", e);
+        }
+    }
+
+    /**
+     * This method converts an object to json string of at most the given length. Serialization stops once the
+     * length is reached, so a large object is never serialized in full.
+     *
+     * @param value     object
+     * @param maxLength max length of the json, without the truncated suffix
+     * @return json string, ending with the truncated suffix if truncated
+     */
+    public static String toJson(Object value, int maxLength) {
+        BoundedWriter writer = new BoundedWriter(maxLength);
+        try {
+            OBJECT_WRITER.writeValue(writer, value);
+        } catch (IOException e) {
+            if (!writer.isTruncated())
+                throw new ReportingServiceException("Object to json conversion was failed.", e);
+        }
+        return writer.isTruncated() ? writer.builder + TRUNCATED_SUFFIX : writer.builder.toString();
+    }
+
+    /**
+     * Writer which keeps the first characters written to it, and fails the write once its capacity is reached
+     */
+    private static class BoundedWriter extends Writer {
+
+        private final StringBuilder builder;
+        private final int capacity;
+        private boolean isTruncated;
+
+        private BoundedWriter(int capacity) {
+            this.builder = new StringBuilder(Math.min(capacity, 256));
+            this.capacity = capacity;
+        }
+
+        @Override
+        public void write(char[] chars, int offset, int length) throws IOException {
+            if (isTruncated)
+                throw new IOException("Json length limit reached");
+            int remaining = capacity - builder.length();
+            if (length > remaining) {
+                builder.append(chars, offset, remaining);
+                isTruncated = true;
+                throw new IOException("Json length limit reached");
+            }
+            builder.append(chars, offset, length);
+        }
+
+        @Override
+        public void flush() {
+            // nothing is buffered
+        }
+
+        @Override
+        public void close() {
+            // nothing to release
+        }
+
+        private boolean isTruncated() {
+            return isTruncated;
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package com.swivel.ignite.reporting.dto;
+
+/**
+ * DTO log message
+ * Passed as a log argument, the DTO is only converted to log json when the message is formatted, i.e. when the
+ * log level is enabled. The log json is truncated, so a large downstream payload does not produce megabytes of
+ * log output.
+ */
+public final class DtoLogMessage {
+
+    public static final int MAX_LOG_JSON_LENGTH = 2048;
+    private final BaseDto dto;
+
+    private DtoLogMessage(BaseDto dto) {
+        this.dto = dto;
+    }
+
+    /**
+     * This method creates a log message of a DTO
+     *
+     * @param dto DTO/ null
+     * @return log message
+     */
+    public static DtoLogMessage of(BaseDto dto) {
+        return new DtoLogMessage(dto);
+    }
+
+    @Override
+    public String toString() {
+        return dto == null ? "null" : dto.toLogJson(MAX_LOG_JSON_LENGTH);
+    }
+}
@@ -0,0 +1,30 @@
+package com.swivel.ignite.reporting.dto.request;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.List;
+
+/**
+ * DTO for student id list request
+ */
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+public class StudentsIdListRequestDto extends RequestDto {
+
+    private List<String> studentIds;
+
+    @Override
+    public String toLogJson() {
+        return toJson();
+    }
+
+    @Override
+    public boolean isRequiredAvailable() {
+        return studentIds != null && !studentIds.isEmpty();
+    }
+}
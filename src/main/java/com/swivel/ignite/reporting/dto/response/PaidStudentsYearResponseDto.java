@@ -0,0 +1,24 @@
+package com.swivel.ignite.reporting.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Paid Students of a Year DTO for response
+ * Paid student ids of a tuition by month string, a month without payments may be left out.
+ */
+@Setter
+@Getter
+@AllArgsConstructor
+@NoArgsConstructor
+public class PaidStudentsYearResponseDto extends ResponseDto {
+
+    private String tuitionId;
+    private Map<String, List<String>> studentIdsByMonth = new HashMap<>();
+}
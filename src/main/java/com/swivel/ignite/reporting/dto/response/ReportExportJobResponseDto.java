@@ -0,0 +1,28 @@
+package com.swivel.ignite.reporting.dto.response;
+
+import com.swivel.ignite.reporting.enums.ReportExportJobStatus;
+import com.swivel.ignite.reporting.service.ReportExportJob;
+import lombok.Getter;
+
+import java.util.Date;
+
+/**
+ * Report export job DTO for response
+ */
+@Getter
+public class ReportExportJobResponseDto extends ResponseDto {
+
+    private final String jobId;
+    private final ReportExportJobStatus status;
+    private final Date createdOn;
+    private final Date completedOn;
+    private final long fileSize;
+
+    public ReportExportJobResponseDto(ReportExportJob job) {
+        this.jobId = job.getJobId();
+        this.status = job.getStatus();
+        this.createdOn = job.getCreatedOn();
+        this.completedOn = job.getCompletedOn();
+        this.fileSize = job.getFileSize();
+    }
+}
@@ -0,0 +1,20 @@
+package com.swivel.ignite.reporting.dto.response;
+
+import lombok.Getter;
+
+import java.util.Date;
+
+/**
+ * Report snapshot DTO for response
+ */
+@Getter
+public class ReportSnapshotResponseDto extends ResponseDto {
+
+    private final long snapshotVersion;
+    private final Date materializedOn;
+
+    public ReportSnapshotResponseDto(long snapshotVersion, Date materializedOn) {
+        this.snapshotVersion = snapshotVersion;
+        this.materializedOn = materializedOn;
+    }
+}
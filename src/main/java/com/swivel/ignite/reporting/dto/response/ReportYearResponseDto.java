@@ -0,0 +1,55 @@
+package com.swivel.ignite.reporting.dto.response;
+
+import com.swivel.ignite.reporting.entity.Report;
+import com.swivel.ignite.reporting.enums.Month;
+import lombok.Getter;
+
+import java.util.*;
+
+/**
+ * Report DTO of a whole year of a tuition for response
+ * The paid and unpaid reports of all months are encoded as a student × month matrix: paymentStatuses holds
+ * one row per student of studentIds, with one character per month of months. P is paid, U is unpaid, and
+ * - is neither, for a student who had not joined the tuition yet in that month.
+ */
+@Getter
+public class ReportYearResponseDto extends ResponseDto {
+
+    private static final char PAID = 'P';
+    private static final char UNPAID = 'U';
+    private static final char NOT_LISTED = '-';
+    private final String tuitionId;
+    private final List<String> months = new ArrayList<>();
+    private final List<String> studentIds;
+    private final List<String> paymentStatuses = new ArrayList<>();
+
+    public ReportYearResponseDto(String tuitionId, Collection<Report> reports) {
+        this.tuitionId = tuitionId;
+        Set<String> sortedStudentIds = new TreeSet<>();
+        for (Report report : reports) {
+            sortedStudentIds.addAll(report.getStudentId());
+        }
+        this.studentIds = new ArrayList<>(sortedStudentIds);
+        Map<String, Integer> ordinals = new HashMap<>();
+        char[][] statuses = new char[studentIds.size()][Month.values().length];
+        for (int i = 0; i < studentIds.size(); i++) {
+            ordinals.put(studentIds.get(i), i);
+            Arrays.fill(statuses[i], NOT_LISTED);
+        }
+        for (Month m : Month.values()) {
+            months.add(m.getMonthString());
+        }
+        for (Report report : reports) {
+            int month = Month.getMonthInt(report.getMonth());
+            char status = report.isPaid() ? PAID : UNPAID;
+            for (String studentId : report.getStudentId()) {
+                char[] studentStatuses = statuses[ordinals.get(studentId)];
+                if (studentStatuses[month] != PAID)
+                    studentStatuses[month] = status;
+            }
+        }
+        for (char[] studentStatuses : statuses) {
+            paymentStatuses.add(new String(studentStatuses));
+        }
+    }
+}
@@ -0,0 +1,15 @@
+package com.swivel.ignite.reporting.dto.response;
+
+import lombok.Getter;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Student List DTO for response
+ */
+@Getter
+public class StudentListResponseDto extends ResponseDto {
+
+    private final List<StudentResponseDto> studentList = new ArrayList<>();
+}
@@ -1,8 +1,11 @@
 package com.swivel.ignite.reporting.entity;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
+import org.springframework.data.domain.Persistable;
 
 import javax.persistence.*;
 import java.io.Serializable;
@@ -12,13 +15,20 @@ import java.util.UUID;
 
 /**
  * Report entity
+ * Reports have assigned ids, so the entity tells spring data whether it is new. This lets a new report be
+ * inserted with a batched persist, instead of the select of a merge.
+ * The student ids are stored either as the element collection, or as a bitmap of the ordinals of the tuition
+ * student dictionary (see {@link TuitionStudentDictionary}), depending on report.storage.format.
+ * Each report belongs to a generation written by one full rebuild, and readers only see the active generation
+ * (see {@link ReportGeneration}). The version is incremented whenever the students of a report are rewritten
+ * within its generation, so generation and version together identify the content of a report.
  */
 @Entity
 @Table(name = "report")
 @NoArgsConstructor
 @Getter
 @Setter
-public class Report implements Serializable {
+public class Report implements Serializable, Persistable<String> {
 
     @Transient
     private static final String REPORT_ID_PREFIX = "rid-";
@@ -31,14 +41,31 @@ public class Report implements Serializable {
     private String month;
     @Column(nullable = false)
     private boolean isPaid;
+    @JsonIgnore
+    @Column(nullable = false)
+    private long generation;
+    @Version
+    @JsonIgnore
+    @Column(nullable = false)
+    private long version;
     @ElementCollection
+    @CollectionTable(name = "report_student_id", joinColumns = @JoinColumn(name = "report_id"))
+    @Column(name = "student_id")
     private Set<String> studentId = new HashSet<>();
+    @Lob
+    @JsonIgnore
+    private byte[] studentBitmap;
+    @Transient
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private boolean persisted;
 
-    public Report(String tuitionId, String month, boolean isPaid) {
+    public Report(String tuitionId, String month, boolean isPaid, long generation) {
         this.id = REPORT_ID_PREFIX + UUID.randomUUID();
         this.tuitionId = tuitionId;
         this.month = month;
         this.isPaid = isPaid;
+        this.generation = generation;
     }
 
     public void addStudentId(String studentId) {
@@ -48,4 +75,42 @@ public class Report implements Serializable {
     public void removeStudentId(String studentId) {
         this.studentId.remove(studentId);
     }
+
+    /**
+     * This method replaces the student ids of the report, keeping the ones it already has
+     *
+     * @param studentIds student ids
+     */
+    public void replaceStudentIds(Set<String> studentIds) {
+        this.studentId.retainAll(studentIds);
+        this.studentId.addAll(studentIds);
+    }
+
+    /**
+     * This method returns a copy of the report with the given student ids, which is not attached to the
+     * persistence context. Used to hand out the decoded student ids of a bitmap stored report.
+     *
+     * @param studentIds student ids
+     * @return report copy
+     */
+    public Report detachedCopy(Set<String> studentIds) {
+        Report copy = new Report(tuitionId, month, isPaid, generation);
+        copy.id = this.id;
+        copy.version = this.version;
+        copy.studentId = studentIds;
+        copy.persisted = true;
+        return copy;
+    }
+
+    @Override
+    @JsonIgnore
+    public boolean isNew() {
+        return !persisted;
+    }
+
+    @PostLoad
+    @PostPersist
+    void markPersisted() {
+        this.persisted = true;
+    }
 }
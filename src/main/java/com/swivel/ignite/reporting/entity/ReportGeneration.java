@@ -0,0 +1,41 @@
+package com.swivel.ignite.reporting.entity;
+
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import javax.persistence.*;
+import java.io.Serializable;
+import java.util.Date;
+
+/**
+ * Report generation entity
+ * Single row pointer to the report generation readers see. A full rebuild writes a new generation next to
+ * the active one, and activates it by updating this row. The row also holds the latest generation allocated to
+ * a rebuild, so concurrent rebuilds write distinct generations.
+ */
+@Entity
+@Table(name = "report_generation")
+@NoArgsConstructor
+@Getter
+@Setter
+public class ReportGeneration implements Serializable {
+
+    public static final String ACTIVE_ID = "active";
+
+    @Id
+    private String id;
+    @Column(nullable = false)
+    private long activeGeneration;
+    @Column(nullable = false)
+    private long lastAllocatedGeneration;
+    @Temporal(TemporalType.TIMESTAMP)
+    private Date activatedOn;
+
+    public ReportGeneration(long activeGeneration, Date activatedOn) {
+        this.id = ACTIVE_ID;
+        this.activeGeneration = activeGeneration;
+        this.lastAllocatedGeneration = activeGeneration;
+        this.activatedOn = activatedOn;
+    }
+}
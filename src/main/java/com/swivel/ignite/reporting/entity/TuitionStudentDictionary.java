@@ -0,0 +1,120 @@
+package com.swivel.ignite.reporting.entity;
+
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import javax.persistence.*;
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Tuition student dictionary entity
+ * Maps the student ids of a tuition to dense ordinals, which the bitmap stored reports of the tuition are
+ * encoded with. The dictionary is append only: a student keeps its ordinal for good, so that the bitmaps of
+ * every report generation stay decodable.
+ */
+@Entity
+@Table(name = "tuition_student_dictionary")
+@NoArgsConstructor
+public class TuitionStudentDictionary implements Serializable {
+
+    @Transient
+    private static final String SEPARATOR = ",";
+
+    @Id
+    @Getter
+    private String tuitionId;
+    @Lob
+    @Column(nullable = false)
+    private String studentIds = "";
+    @Transient
+    private final List<String> studentIdList = new ArrayList<>();
+    @Transient
+    private final Map<String, Integer> ordinals = new HashMap<>();
+    @Transient
+    private int writtenSize;
+
+    public TuitionStudentDictionary(String tuitionId) {
+        this.tuitionId = tuitionId;
+    }
+
+    /**
+     * This method returns the ordinal of a student, appending the student if it is not in the dictionary
+     *
+     * @param studentId student id
+     * @return ordinal
+     */
+    public int getOrAddOrdinal(String studentId) {
+        Integer ordinal = ordinals.get(studentId);
+        if (ordinal == null) {
+            ordinal = studentIdList.size();
+            studentIdList.add(studentId);
+            ordinals.put(studentId, ordinal);
+        }
+        return ordinal;
+    }
+
+    /**
+     * This method writes the appended student ids into the persisted column. Called once after a batch of
+     * appends, instead of on every append.
+     *
+     * @return true if the dictionary changed since it was loaded or last written
+     */
+    public boolean updateStudentIds() {
+        if (writtenSize == studentIdList.size())
+            return false;
+        studentIds = String.join(SEPARATOR, studentIdList);
+        writtenSize = studentIdList.size();
+        return true;
+    }
+
+    /**
+     * This method returns the student id of an ordinal
+     *
+     * @param ordinal ordinal
+     * @return student id
+     */
+    public String getStudentId(int ordinal) {
+        return studentIdList.get(ordinal);
+    }
+
+    /**
+     * This method returns the number of students in the dictionary
+     *
+     * @return size
+     */
+    public int size() {
+        return studentIdList.size();
+    }
+
+    /**
+     * This method returns the student ids in ordinal order
+     *
+     * @return student ids
+     */
+    public List<String> getStudentIdList() {
+        return Collections.unmodifiableList(studentIdList);
+    }
+
+    @PostLoad
+    void parseStudentIds() {
+        studentIdList.clear();
+        ordinals.clear();
+        if (studentIds.isEmpty())
+            return;
+        for (String studentId : studentIds.split(SEPARATOR)) {
+            ordinals.put(studentId, studentIdList.size());
+            studentIdList.add(studentId);
+        }
+        writtenSize = studentIdList.size();
+    }
+
+    @PrePersist
+    void writeStudentIds() {
+        updateStudentIds();
+    }
+}
@@ -9,10 +9,12 @@ import lombok.Getter;
 public enum ErrorResponseStatusType {
 
     REPORT_NOT_FOUND(404, "Report not found"),
+    REPORT_EXPORT_NOT_FOUND(404, "Report export not found"),
     INVALID_MONTH(400, "Invalid Month"),
     INTERNAL_SERVER_ERROR(500, "Internal Server Error"),
     STUDENT_INTERNAL_SERVER_ERROR(500, "Student Service - Internal Server Error"),
-    TUITION_INTERNAL_SERVER_ERROR(500, "Tuition Service - Internal Server Error");
+    TUITION_INTERNAL_SERVER_ERROR(500, "Tuition Service - Internal Server Error"),
+    PAYMENT_INTERNAL_SERVER_ERROR(500, "Payment Service - Internal Server Error");
 
     private final int code;
     private final String message;
@@ -0,0 +1,24 @@
+package com.swivel.ignite.reporting.enums;
+
+/**
+ * Enum values for the status of a report export job
+ */
+public enum ReportExportJobStatus {
+
+    /**
+     * Waiting for a free export thread
+     */
+    PENDING,
+    /**
+     * Writing the export file
+     */
+    RUNNING,
+    /**
+     * Export file is ready for download
+     */
+    COMPLETED,
+    /**
+     * Export file could not be written
+     */
+    FAILED
+}
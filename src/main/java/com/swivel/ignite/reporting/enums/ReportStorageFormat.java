@@ -0,0 +1,16 @@
+package com.swivel.ignite.reporting.enums;
+
+/**
+ * Enum values for the storage format of the student ids of a report
+ */
+public enum ReportStorageFormat {
+
+    /**
+     * One row per student id in the report_student_id table
+     */
+    COLLECTION,
+    /**
+     * One compressed bitmap of student ordinals per report, see TuitionStudentDictionary
+     */
+    BITMAP
+}
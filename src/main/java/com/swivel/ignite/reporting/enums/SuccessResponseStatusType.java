@@ -8,7 +8,12 @@ import lombok.Getter;
 @Getter
 public enum SuccessResponseStatusType {
 
-    READ_REPORT(200, "Successfully read the report");
+    READ_REPORT(200, "Successfully read the report"),
+    READ_REPORT_YEAR(200, "Successfully read the report of the year"),
+    REFRESHED_REPORT(200, "Successfully refreshed the report"),
+    INVALIDATED_STUDENT_ENROLLMENT_CACHE(200, "Successfully invalidated the student enrollment cache"),
+    CREATED_REPORT_EXPORT(200, "Successfully created the report export job"),
+    READ_REPORT_EXPORT(200, "Successfully read the report export job");
 
     private final int code;
     private final String message;
@@ -48,6 +48,22 @@ public class CustomizedExceptionHandling extends ResponseEntityExceptionHandler
         return new ResponseEntity<>(responseWrapper, HttpStatus.BAD_REQUEST);
     }
 
+    /**
+     * This method returns an error response for report export not found exceptions
+     *
+     * @param exception exception
+     * @return error response
+     */
+    @ExceptionHandler(ReportExportNotFoundException.class)
+    public ResponseEntity<ResponseWrapper> handleReportExportNotFoundException(
+            ReportExportNotFoundException exception) {
+        ResponseWrapper responseWrapper = new ErrorResponseWrapper(ResponseStatusType.ERROR, ErrorResponseStatusType
+                .REPORT_EXPORT_NOT_FOUND.getMessage(), null, ERROR_MESSAGE, ErrorResponseStatusType
+                .REPORT_EXPORT_NOT_FOUND.getCode());
+        log.error(exception.getMessage());
+        return new ResponseEntity<>(responseWrapper, HttpStatus.NOT_FOUND);
+    }
+
     /**
      * This method returns an error response for student microservice call exceptions
      *
@@ -79,4 +95,20 @@ public class CustomizedExceptionHandling extends ResponseEntityExceptionHandler
         log.error(exception.getMessage());
         return new ResponseEntity<>(responseWrapper, HttpStatus.INTERNAL_SERVER_ERROR);
     }
+
+    /**
+     * This method returns an error response for payment microservice call exceptions
+     *
+     * @param exception exception
+     * @return error response
+     */
+    @ExceptionHandler(PaymentServiceHttpClientErrorException.class)
+    public ResponseEntity<ResponseWrapper> handlePaymentServiceHttpClientErrorException(
+            PaymentServiceHttpClientErrorException exception) {
+        ResponseWrapper responseWrapper = new RestErrorResponseWrapper(ResponseStatusType.ERROR,
+                ErrorResponseStatusType.PAYMENT_INTERNAL_SERVER_ERROR.getMessage(), exception.responseBody,
+                ERROR_MESSAGE, ErrorResponseStatusType.PAYMENT_INTERNAL_SERVER_ERROR.getCode());
+        log.error(exception.getMessage());
+        return new ResponseEntity<>(responseWrapper, HttpStatus.INTERNAL_SERVER_ERROR);
+    }
 }
@@ -0,0 +1,26 @@
+package com.swivel.ignite.reporting.exception;
+
+/**
+ * ReportExportNotFoundException
+ */
+public class ReportExportNotFoundException extends RuntimeException {
+
+    /**
+     * ReportExportNotFoundException with error message.
+     *
+     * @param errorMessage error message
+     */
+    public ReportExportNotFoundException(String errorMessage) {
+        super(errorMessage);
+    }
+
+    /**
+     * ReportExportNotFoundException with error message and throwable error
+     *
+     * @param errorMessage error message
+     * @param error        error
+     */
+    public ReportExportNotFoundException(String errorMessage, Throwable error) {
+        super(errorMessage, error);
+    }
+}
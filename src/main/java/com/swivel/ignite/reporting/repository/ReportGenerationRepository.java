@@ -0,0 +1,28 @@
+package com.swivel.ignite.reporting.repository;
+
+import com.swivel.ignite.reporting.entity.ReportGeneration;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import javax.persistence.LockModeType;
+import java.util.Optional;
+
+/**
+ * Report Generation Repository
+ */
+@Repository
+public interface ReportGenerationRepository extends JpaRepository<ReportGeneration, String> {
+
+    /**
+     * This method finds a report generation row and locks it until the end of the transaction
+     *
+     * @param id report generation id
+     * @return report generation/ empty
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select g from ReportGeneration g where g.id = :id")
+    Optional<ReportGeneration> findForUpdateById(@Param("id") String id);
+}
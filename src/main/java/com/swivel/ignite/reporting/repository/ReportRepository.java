@@ -2,9 +2,16 @@ package com.swivel.ignite.reporting.repository;
 
 import com.swivel.ignite.reporting.entity.Report;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import javax.persistence.QueryHint;
+import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 /**
  * Report Repository
@@ -13,12 +20,126 @@ import java.util.Optional;
 public interface ReportRepository extends JpaRepository<Report, String> {
 
     /**
-     * This method finds a report by tuition id, month, and isPaid
+     * This method finds a report of the active generation by tuition id, month, and isPaid
      *
      * @param tuitionId tuition id
      * @param month     month
      * @param isPaid    is paid
      * @return Report/ null
      */
-    Optional<Report> findByTuitionIdAndMonthAndIsPaid(String tuitionId, String month, boolean isPaid);
+    @Query("select r from Report r where r.tuitionId = :tuitionId and r.month = :month and r.isPaid = :isPaid " +
+            "and r.generation = (select g.activeGeneration from ReportGeneration g)")
+    Optional<Report> findByTuitionIdAndMonthAndIsPaid(@Param("tuitionId") String tuitionId,
+                                                      @Param("month") String month,
+                                                      @Param("isPaid") boolean isPaid);
+
+    /**
+     * This method finds the paid and unpaid reports of a tuition month in the active generation, together with
+     * their student ids, in a single query
+     *
+     * @param tuitionId tuition id
+     * @param month     month
+     * @return reports of the tuition month
+     */
+    @Query("select distinct r from Report r left join fetch r.studentId where r.tuitionId = :tuitionId " +
+            "and r.month = :month and r.generation = (select g.activeGeneration from ReportGeneration g)")
+    @QueryHints(@QueryHint(name = "hibernate.query.passDistinctThrough", value = "false"))
+    List<Report> findWithStudentIdsByTuitionIdAndMonth(@Param("tuitionId") String tuitionId,
+                                                       @Param("month") String month);
+
+    /**
+     * This method finds the generation and version of the paid and unpaid reports of a tuition month in the
+     * active generation, without their student ids
+     *
+     * @param tuitionId tuition id
+     * @param month     month
+     * @return report versions of the tuition month
+     */
+    @Query("select r.isPaid as paid, r.generation as generation, r.version as version from Report r " +
+            "where r.tuitionId = :tuitionId and r.month = :month " +
+            "and r.generation = (select g.activeGeneration from ReportGeneration g)")
+    List<ReportVersionRow> findVersionsByTuitionIdAndMonth(@Param("tuitionId") String tuitionId,
+                                                           @Param("month") String month);
+
+    /**
+     * This method finds the reports of all months of a tuition in the active generation, together with their
+     * student ids, in a single query
+     *
+     * @param tuitionId tuition id
+     * @return reports of the tuition
+     */
+    @Query("select distinct r from Report r left join fetch r.studentId where r.tuitionId = :tuitionId " +
+            "and r.generation = (select g.activeGeneration from ReportGeneration g)")
+    @QueryHints(@QueryHint(name = "hibernate.query.passDistinctThrough", value = "false"))
+    List<Report> findWithStudentIdsByTuitionId(@Param("tuitionId") String tuitionId);
+
+    /**
+     * This method streams the reports of the active generation, as one row per report and student id ordered
+     * by report id. Rows are fetched from a server side cursor in pages of the fetch size, so the result is
+     * never held in memory as a whole. Must be consumed in a transaction, and closed.
+     *
+     * @return report student id rows
+     */
+    @Query("select r.id as id, r.tuitionId as tuitionId, r.month as month, r.isPaid as paid, " +
+            "r.generation as generation, r.studentBitmap as studentBitmap, s as studentId " +
+            "from Report r left join r.studentId s " +
+            "where r.generation = (select g.activeGeneration from ReportGeneration g) order by r.id")
+    @QueryHints({@QueryHint(name = "org.hibernate.fetchSize", value = "500"),
+            @QueryHint(name = "org.hibernate.readOnly", value = "true")})
+    Stream<ReportStudentIdRow> streamActiveReportStudentIds();
+
+    /**
+     * This method deletes the student ids of all reports of a tuition in a generation in bulk
+     *
+     * @param tuitionId  tuition id
+     * @param generation generation
+     * @return deleted row count
+     */
+    @Modifying
+    @Query(value = "delete from report_student_id where report_id in " +
+            "(select id from report where tuition_id = :tuitionId and generation = :generation)", nativeQuery = true)
+    int deleteStudentIdsByTuitionIdAndGeneration(@Param("tuitionId") String tuitionId,
+                                                 @Param("generation") long generation);
+
+    /**
+     * This method deletes all reports of a tuition in a generation in bulk. The student ids of the reports must
+     * be deleted first.
+     *
+     * @param tuitionId  tuition id
+     * @param generation generation
+     * @return deleted report count
+     */
+    @Modifying
+    @Query("delete from Report r where r.tuitionId = :tuitionId and r.generation = :generation")
+    int deleteByTuitionIdAndGeneration(@Param("tuitionId") String tuitionId, @Param("generation") long generation);
+
+    /**
+     * This method finds the latest report generation written, active or not
+     *
+     * @return latest generation, 0 without reports
+     */
+    @Query("select coalesce(max(r.generation), 0) from Report r")
+    long findMaxGeneration();
+
+    /**
+     * This method deletes the student ids of the reports of all generations older than the given one in bulk
+     *
+     * @param generation oldest generation to keep
+     * @return deleted row count
+     */
+    @Modifying
+    @Query(value = "delete from report_student_id where report_id in " +
+            "(select id from report where generation < :generation)", nativeQuery = true)
+    int deleteStudentIdsOfOlderGenerations(@Param("generation") long generation);
+
+    /**
+     * This method deletes the reports of all generations older than the given one in bulk. The student ids of
+     * the reports must be deleted first.
+     *
+     * @param generation oldest generation to keep
+     * @return deleted report count
+     */
+    @Modifying
+    @Query("delete from Report r where r.generation < :generation")
+    int deleteOlderGenerations(@Param("generation") long generation);
 }
@@ -0,0 +1,22 @@
+package com.swivel.ignite.reporting.repository;
+
+/**
+ * Row of a report joined with one of its student ids, projected for streaming reads.
+ * A report without student ids, or stored in the bitmap format, has a single row with a null student id.
+ */
+public interface ReportStudentIdRow {
+
+    String getId();
+
+    String getTuitionId();
+
+    String getMonth();
+
+    boolean isPaid();
+
+    long getGeneration();
+
+    byte[] getStudentBitmap();
+
+    String getStudentId();
+}
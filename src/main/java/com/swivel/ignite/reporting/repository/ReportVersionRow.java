@@ -0,0 +1,14 @@
+package com.swivel.ignite.reporting.repository;
+
+/**
+ * Generation and version of a report, projected to check whether a client's copy of the report is current
+ * without reading its student ids
+ */
+public interface ReportVersionRow {
+
+    boolean isPaid();
+
+    long getGeneration();
+
+    long getVersion();
+}
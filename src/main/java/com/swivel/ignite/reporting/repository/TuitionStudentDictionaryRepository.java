@@ -0,0 +1,28 @@
+package com.swivel.ignite.reporting.repository;
+
+import com.swivel.ignite.reporting.entity.TuitionStudentDictionary;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import javax.persistence.LockModeType;
+import java.util.Optional;
+
+/**
+ * Tuition Student Dictionary Repository
+ */
+@Repository
+public interface TuitionStudentDictionaryRepository extends JpaRepository<TuitionStudentDictionary, String> {
+
+    /**
+     * This method finds the student dictionary of a tuition and locks it until the end of the transaction
+     *
+     * @param tuitionId tuition id
+     * @return tuition student dictionary/ empty
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select d from TuitionStudentDictionary d where d.tuitionId = :tuitionId")
+    Optional<TuitionStudentDictionary> findForUpdateById(@Param("tuitionId") String tuitionId);
+}
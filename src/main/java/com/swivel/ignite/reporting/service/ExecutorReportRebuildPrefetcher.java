@@ -0,0 +1,77 @@
+package com.swivel.ignite.reporting.service;
+
+import com.swivel.ignite.reporting.dto.response.TuitionResponseDto;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+
+/**
+ * Thread pool based parallel prefetch of the data of a report rebuild.
+ * Tuitions are fetched concurrently on the report rebuild executor, and the paid students of each tuition are
+ * fetched as a year (see {@link PaymentService#getPaidStudentsForYear(String, String)}), whose month calls are
+ * bounded by the payment lookup executor.
+ * A tuition whose data can not be fetched is marked as failed in the rebuild context instead of failing the rebuild.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "report.rebuild.client", havingValue = "blocking", matchIfMissing = true)
+public class ExecutorReportRebuildPrefetcher implements ReportRebuildPrefetcher {
+
+    private final int parallelism;
+    private final Executor reportRebuildExecutor;
+
+    @Autowired
+    public ExecutorReportRebuildPrefetcher(@Value("${report.rebuild.parallelism}") int parallelism,
+                                           @Qualifier("reportRebuildExecutor") Executor reportRebuildExecutor) {
+        this.parallelism = parallelism;
+        this.reportRebuildExecutor = reportRebuildExecutor;
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return parallelism > 1;
+    }
+
+    @Override
+    public void prefetch(List<TuitionResponseDto> tuitionList, ReportRebuildContext context) {
+        long startedOn = System.currentTimeMillis();
+        List<CompletableFuture<Void>> prefetches = new ArrayList<>();
+        for (TuitionResponseDto t : tuitionList) {
+            prefetches.add(CompletableFuture.runAsync(() -> prefetchTuition(t, context),
+                    reportRebuildExecutor).exceptionally(e -> {
+                Throwable error = e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
+                log.error("Failed to prefetch report data of tuition id: {}", t.getTuitionId(), error);
+                context.markFailed(t.getTuitionId(), error);
+                return null;
+            }));
+        }
+        CompletableFuture.allOf(prefetches.toArray(new CompletableFuture[0])).join();
+        log.debug("Prefetched report data. tuitions: {}, failed: {}, parallelism: {}, time: {}ms", tuitionList.size(),
+                context.getFailedTuitions().size(), parallelism, System.currentTimeMillis() - startedOn);
+    }
+
+    /**
+     * This method is used to prefetch the data of a tuition
+     *
+     * @param tuition tuition
+     * @param context rebuild context
+     */
+    private void prefetchTuition(TuitionResponseDto tuition, ReportRebuildContext context) {
+        try {
+            context.getPaidStudentsLookup().getPaidStudentsForYear(tuition.getTuitionId());
+        } catch (IOException e) {
+            throw new CompletionException(e);
+        }
+        context.getTuitionJoinedMonthsLookup().getTuitionJoinedMonths(tuition);
+    }
+}
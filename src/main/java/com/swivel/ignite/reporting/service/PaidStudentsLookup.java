@@ -0,0 +1,138 @@
+package com.swivel.ignite.reporting.service;
+
+import com.swivel.ignite.reporting.enums.Month;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Rebuild scoped lookup of paid students.
+ * Paid students of each (tuitionId, month) are fetched from payment microservice only once per rebuild,
+ * and shared between the paid and unpaid passes. The months of a tuition not fetched yet are fetched together,
+ * as a year, when the whole year of the tuition is looked up.
+ */
+public class PaidStudentsLookup {
+
+    private static final String KEY_SEPARATOR = "|";
+    private final PaymentService paymentService;
+    private final String token;
+    private final Map<String, Set<String>> paidStudents = new ConcurrentHashMap<>();
+    private final AtomicInteger lookupCount = new AtomicInteger();
+    private final AtomicInteger fetchCount = new AtomicInteger();
+
+    public PaidStudentsLookup(PaymentService paymentService, String token) {
+        this.paymentService = paymentService;
+        this.token = token;
+    }
+
+    /**
+     * This method is used to get the paid students of a tuition for a month
+     *
+     * @param tuitionId tuition id
+     * @param month     month
+     * @return paid student ids
+     * @throws IOException
+     */
+    public Set<String> getPaidStudents(String tuitionId, String month) throws IOException {
+        lookupCount.incrementAndGet();
+        String key = tuitionId + KEY_SEPARATOR + month;
+        Set<String> paidStudentIds = paidStudents.get(key);
+        if (paidStudentIds == null) {
+            fetchCount.incrementAndGet();
+            List<String> studentIds = paymentService.getPaidStudents(tuitionId, month, token).getStudentIds();
+            paidStudentIds = studentIds == null ? Collections.emptySet() : new HashSet<>(studentIds);
+            paidStudents.put(key, paidStudentIds);
+        }
+        return paidStudentIds;
+    }
+
+    /**
+     * This method is used to get the paid students of a tuition for every month, in month order. Months not
+     * fetched yet are fetched in one step for the whole year.
+     *
+     * @param tuitionId tuition id
+     * @return paid student ids by month
+     * @throws IOException
+     */
+    public List<Set<String>> getPaidStudentsForYear(String tuitionId) throws IOException {
+        Month[] months = Month.values();
+        lookupCount.addAndGet(months.length);
+        boolean isFetched = true;
+        for (Month m : months) {
+            isFetched &= paidStudents.containsKey(tuitionId + KEY_SEPARATOR + m.getMonthString());
+        }
+        if (!isFetched) {
+            fetchCount.incrementAndGet();
+            Map<String, List<String>> studentIdsByMonth = paymentService.getPaidStudentsForYear(tuitionId, token)
+                    .getStudentIdsByMonth();
+            for (Month m : months) {
+                preload(tuitionId, m.getMonthString(), studentIdsByMonth.get(m.getMonthString()));
+            }
+        }
+        List<Set<String>> paidStudentsByMonth = new ArrayList<>(months.length);
+        for (Month m : months) {
+            paidStudentsByMonth.add(paidStudents.get(tuitionId + KEY_SEPARATOR + m.getMonthString()));
+        }
+        return paidStudentsByMonth;
+    }
+
+    /**
+     * This method is used to put paid students fetched outside the lookup, so that the rebuild does not
+     * fetch them again. The call fetching them is recorded separately (see {@link #recordFetch()}).
+     *
+     * @param tuitionId  tuition id
+     * @param month      month
+     * @param studentIds paid student ids
+     */
+    public void preload(String tuitionId, String month, List<String> studentIds) {
+        paidStudents.put(tuitionId + KEY_SEPARATOR + month,
+                studentIds == null ? Collections.emptySet() : new HashSet<>(studentIds));
+    }
+
+    /**
+     * This method is used to record a call to payment microservice made outside the lookup to preload paid
+     * students, whether it fetched a month or a whole year
+     */
+    public void recordFetch() {
+        fetchCount.incrementAndGet();
+    }
+
+    /**
+     * This method is used to check if a student has paid for a tuition for a month
+     *
+     * @param tuitionId tuition id
+     * @param month     month
+     * @param studentId student id
+     * @return true/ false
+     * @throws IOException
+     */
+    public boolean isPaid(String tuitionId, String month, String studentId) throws IOException {
+        return getPaidStudents(tuitionId, month).contains(studentId);
+    }
+
+    /**
+     * This method is used to get the number of calls made to payment microservice, counting a year fetched in
+     * one call once
+     *
+     * @return fetch count
+     */
+    public int getFetchCount() {
+        return fetchCount.get();
+    }
+
+    /**
+     * This method is used to get the number of payment microservice calls saved by the lookup
+     *
+     * @return saved call count
+     */
+    public int getSavedCallCount() {
+        return lookupCount.get() - fetchCount.get();
+    }
+}
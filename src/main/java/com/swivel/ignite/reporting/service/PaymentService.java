@@ -1,9 +1,14 @@
 package com.swivel.ignite.reporting.service;
 
+import com.swivel.ignite.reporting.dto.DtoLogMessage;
+import com.swivel.ignite.reporting.dto.response.PaidStudentsYearResponseDto;
 import com.swivel.ignite.reporting.dto.response.StudentsIdListResponseDto;
+import com.swivel.ignite.reporting.enums.Month;
 import com.swivel.ignite.reporting.exception.PaymentServiceHttpClientErrorException;
+import com.swivel.ignite.reporting.wrapper.PaidStudentsYearResponseWrapper;
 import com.swivel.ignite.reporting.wrapper.StudentsIdListResponseWrapper;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpEntity;
 import org.springframework.http.HttpHeaders;
@@ -16,9 +21,15 @@ import org.springframework.web.util.UriComponents;
 import org.springframework.web.util.UriComponentsBuilder;
 
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
 
 /**
  * Payment Microservice
@@ -29,14 +40,22 @@ public class PaymentService {
 
     private static final String AUTH_HEADER = "Authorization";
     private static final String FAILED_TO_GET_PAID_STUDENTS_INFO = "Failed to get paid students info";
+    private static final String FAILED_TO_GET_PAID_STUDENTS_YEAR_INFO = "Failed to get paid students info of the year";
     private final RestTemplate restTemplate;
     private final String getPaidStudentsInfoUrl;
+    private final String getPaidStudentsYearInfoUrl;
+    private final Executor paymentLookupExecutor;
 
     public PaymentService(@Value("${payment.baseUrl}") String baseUrl,
                           @Value("${payment.paidStudentsInfoUrl}") String paidStudentsInfoUrl,
-                          RestTemplate restTemplate) {
+                          @Value("${payment.paidStudentsYearInfoUrl:}") String paidStudentsYearInfoUrl,
+                          @Qualifier("paymentRestTemplate") RestTemplate restTemplate,
+                          @Qualifier("paymentLookupExecutor") Executor paymentLookupExecutor) {
         this.getPaidStudentsInfoUrl = baseUrl + paidStudentsInfoUrl;
+        this.getPaidStudentsYearInfoUrl = paidStudentsYearInfoUrl.isEmpty() ? null :
+                baseUrl + paidStudentsYearInfoUrl;
         this.restTemplate = restTemplate;
+        this.paymentLookupExecutor = paymentLookupExecutor;
     }
 
     /**
@@ -59,13 +78,86 @@ public class PaymentService {
             log.debug("Calling payment service to get paid students info. url: {},", getPaidStudentsInfoUrl);
             ResponseEntity<StudentsIdListResponseWrapper> result = restTemplate.exchange(builder.toUriString(), HttpMethod.GET,
                     entity, StudentsIdListResponseWrapper.class, uriParam);
-            String responseBody = Objects.requireNonNull(result.getBody()).getData().toLogJson();
+            StudentsIdListResponseDto paidStudents = Objects.requireNonNull(result.getBody()).getData();
             log.debug("Getting student info by student id was successful. statusCode: {}, response: {}",
-                    result.getStatusCode(), responseBody);
-            return Objects.requireNonNull(result.getBody()).getData();
+                    result.getStatusCode(), DtoLogMessage.of(paidStudents));
+            return paidStudents;
         } catch (HttpClientErrorException e) {
             throw new PaymentServiceHttpClientErrorException(e.getStatusCode(), FAILED_TO_GET_PAID_STUDENTS_INFO,
                     e.getResponseBodyAsString(), e);
         }
     }
+
+    /**
+     * This method is used to get the paid students of every month of a tuition from payment microservice.
+     * The year is fetched with one call to the bulk endpoint, or with bounded parallel month calls when the
+     * payment microservice has no bulk endpoint configured.
+     *
+     * @param tuitionId tuition id
+     * @param token     authorization token
+     * @return paid student ids by month
+     * @throws IOException
+     */
+    public PaidStudentsYearResponseDto getPaidStudentsForYear(String tuitionId, String token) throws IOException {
+        if (getPaidStudentsYearInfoUrl != null)
+            return getPaidStudentsYear(tuitionId, token);
+        Map<String, CompletableFuture<StudentsIdListResponseDto>> calls = new HashMap<>();
+        for (Month m : Month.values()) {
+            calls.put(m.getMonthString(), CompletableFuture.supplyAsync(() -> {
+                try {
+                    return getPaidStudents(tuitionId, m.getMonthString(), token);
+                } catch (IOException e) {
+                    throw new CompletionException(e);
+                }
+            }, paymentLookupExecutor));
+        }
+        Map<String, List<String>> studentIdsByMonth = new HashMap<>();
+        try {
+            for (Map.Entry<String, CompletableFuture<StudentsIdListResponseDto>> call : calls.entrySet()) {
+                List<String> studentIds = call.getValue().join().getStudentIds();
+                studentIdsByMonth.put(call.getKey(), studentIds == null ? Collections.emptyList() : studentIds);
+            }
+        } catch (CompletionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof IOException)
+                throw (IOException) cause;
+            if (cause instanceof RuntimeException)
+                throw (RuntimeException) cause;
+            throw e;
+        }
+        return new PaidStudentsYearResponseDto(tuitionId, studentIdsByMonth);
+    }
+
+    /**
+     * This method is used to get the paid students of every month of a tuition from the bulk endpoint of
+     * payment microservice
+     *
+     * @param tuitionId tuition id
+     * @param token     authorization token
+     * @return paid student ids by month
+     * @throws IOException
+     */
+    private PaidStudentsYearResponseDto getPaidStudentsYear(String tuitionId, String token) throws IOException {
+        Map<String, String> uriParam = new HashMap<>();
+        uriParam.put("tuitionId", tuitionId);
+        UriComponents builder = UriComponentsBuilder.fromHttpUrl(getPaidStudentsYearInfoUrl).build();
+        HttpHeaders headers = new HttpHeaders();
+        headers.set(AUTH_HEADER, token);
+        HttpEntity<String> entity = new HttpEntity<>(null, headers);
+        try {
+            log.debug("Calling payment service to get paid students info of the year. url: {},",
+                    getPaidStudentsYearInfoUrl);
+            ResponseEntity<PaidStudentsYearResponseWrapper> result = restTemplate.exchange(builder.toUriString(),
+                    HttpMethod.GET, entity, PaidStudentsYearResponseWrapper.class, uriParam);
+            PaidStudentsYearResponseDto paidStudents = Objects.requireNonNull(result.getBody()).getData();
+            if (paidStudents.getStudentIdsByMonth() == null)
+                paidStudents.setStudentIdsByMonth(new HashMap<>());
+            log.debug("Getting paid students info of the year was successful. statusCode: {}, response: {}",
+                    result.getStatusCode(), DtoLogMessage.of(paidStudents));
+            return paidStudents;
+        } catch (HttpClientErrorException e) {
+            throw new PaymentServiceHttpClientErrorException(e.getStatusCode(), FAILED_TO_GET_PAID_STUDENTS_YEAR_INFO,
+                    e.getResponseBodyAsString(), e);
+        }
+    }
 }
@@ -0,0 +1,122 @@
+package com.swivel.ignite.reporting.service;
+
+import com.swivel.ignite.reporting.dto.response.PaidStudentsYearResponseDto;
+import com.swivel.ignite.reporting.dto.response.StudentsIdListResponseDto;
+import com.swivel.ignite.reporting.exception.PaymentServiceHttpClientErrorException;
+import com.swivel.ignite.reporting.wrapper.PaidStudentsYearResponseWrapper;
+import com.swivel.ignite.reporting.wrapper.StudentsIdListResponseWrapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Mono;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Objects;
+
+/**
+ * Payment Microservice, reactive client
+ */
+@Slf4j
+@Service
+@ConditionalOnProperty(name = "report.rebuild.client", havingValue = "reactive")
+public class ReactivePaymentService {
+
+    private static final String AUTH_HEADER = "Authorization";
+    private static final String FAILED_TO_GET_PAID_STUDENTS_INFO = "Failed to get paid students info";
+    private static final String FAILED_TO_GET_PAID_STUDENTS_YEAR_INFO = "Failed to get paid students info of the year";
+    private final WebClient webClient;
+    private final String getPaidStudentsInfoUrl;
+    private final String getPaidStudentsYearInfoUrl;
+    private final Duration readTimeout;
+
+    public ReactivePaymentService(@Value("${payment.baseUrl}") String baseUrl,
+                                  @Value("${payment.paidStudentsInfoUrl}") String paidStudentsInfoUrl,
+                                  @Value("${payment.paidStudentsYearInfoUrl:}") String paidStudentsYearInfoUrl,
+                                  @Value("${payment.http.readTimeout}") long readTimeout,
+                                  @Qualifier("paymentWebClient") WebClient webClient) {
+        this.getPaidStudentsInfoUrl = baseUrl + paidStudentsInfoUrl;
+        this.getPaidStudentsYearInfoUrl = paidStudentsYearInfoUrl.isEmpty() ? null :
+                baseUrl + paidStudentsYearInfoUrl;
+        this.readTimeout = Duration.ofMillis(readTimeout);
+        this.webClient = webClient;
+    }
+
+    /**
+     * This method checks if the payment microservice has a bulk endpoint of the paid students of a year
+     *
+     * @return true/ false
+     */
+    public boolean isYearEndpointEnabled() {
+        return getPaidStudentsYearInfoUrl != null;
+    }
+
+    /**
+     * This method is used to get paid students from payment microservice without blocking the caller
+     *
+     * @param tuitionId tuition id
+     * @param month     month
+     * @param token     authorization token
+     * @return students id list
+     */
+    public Mono<StudentsIdListResponseDto> getPaidStudents(String tuitionId, String month, String token) {
+        return webClient.get()
+                .uri(getPaidStudentsInfoUrl, tuitionId, month)
+                .header(AUTH_HEADER, token)
+                .retrieve()
+                .bodyToMono(StudentsIdListResponseWrapper.class)
+                .timeout(readTimeout)
+                .map(result -> Objects.requireNonNull(result.getData()))
+                .doOnNext(result -> log.debug("Getting paid students info was successful. tuitionId: {}, " +
+                        "month: {}, size: {}", tuitionId, month, result.getStudentIds() == null ? 0 :
+                        result.getStudentIds().size()))
+                .onErrorMap(this::isClientError, e -> toClientErrorException((WebClientResponseException) e,
+                        FAILED_TO_GET_PAID_STUDENTS_INFO));
+    }
+
+    /**
+     * This method is used to get the paid students of every month of a tuition from the bulk endpoint of
+     * payment microservice without blocking the caller
+     *
+     * @param tuitionId tuition id
+     * @param token     authorization token
+     * @return paid student ids by month
+     */
+    public Mono<PaidStudentsYearResponseDto> getPaidStudentsForYear(String tuitionId, String token) {
+        return webClient.get()
+                .uri(getPaidStudentsYearInfoUrl, tuitionId)
+                .header(AUTH_HEADER, token)
+                .retrieve()
+                .bodyToMono(PaidStudentsYearResponseWrapper.class)
+                .timeout(readTimeout)
+                .map(result -> {
+                    PaidStudentsYearResponseDto paidStudents = Objects.requireNonNull(result.getData());
+                    if (paidStudents.getStudentIdsByMonth() == null)
+                        paidStudents.setStudentIdsByMonth(new HashMap<>());
+                    return paidStudents;
+                })
+                .doOnNext(result -> log.debug("Getting paid students info of the year was successful. " +
+                        "tuitionId: {}, months: {}", tuitionId, result.getStudentIdsByMonth().size()))
+                .onErrorMap(this::isClientError, e -> toClientErrorException((WebClientResponseException) e,
+                        FAILED_TO_GET_PAID_STUDENTS_YEAR_INFO));
+    }
+
+    private boolean isClientError(Throwable e) {
+        return e instanceof WebClientResponseException &&
+                ((WebClientResponseException) e).getStatusCode().is4xxClientError();
+    }
+
+    private Throwable toClientErrorException(WebClientResponseException e, String message) {
+        try {
+            return new PaymentServiceHttpClientErrorException(e.getStatusCode(), message,
+                    e.getResponseBodyAsString(), e);
+        } catch (IOException ioException) {
+            return ioException;
+        }
+    }
+}
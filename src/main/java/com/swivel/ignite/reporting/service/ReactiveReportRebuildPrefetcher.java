@@ -0,0 +1,175 @@
+package com.swivel.ignite.reporting.service;
+
+import com.swivel.ignite.reporting.dto.response.StudentResponseDto;
+import com.swivel.ignite.reporting.dto.response.TuitionResponseDto;
+import com.swivel.ignite.reporting.enums.Month;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Reactive prefetch of the data of a report rebuild.
+ * All calls of a rebuild are issued on the event loop threads of the web clients, instead of blocking a thread
+ * per call. The number of in-flight calls to each microservice is bounded by the concurrency of the flux, which
+ * only requests further calls as earlier ones complete. Calls of a tuition already marked as failed are skipped.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "report.rebuild.client", havingValue = "reactive")
+public class ReactiveReportRebuildPrefetcher implements ReportRebuildPrefetcher {
+
+    private final ReactivePaymentService reactivePaymentService;
+    private final ReactiveStudentService reactiveStudentService;
+    private final StudentEnrollmentCache studentEnrollmentCache;
+    private final int maxPaymentCalls;
+    private final int maxStudentCalls;
+
+    @Autowired
+    public ReactiveReportRebuildPrefetcher(ReactivePaymentService reactivePaymentService,
+                                           ReactiveStudentService reactiveStudentService,
+                                           StudentEnrollmentCache studentEnrollmentCache,
+                                           @Value("${payment.reactive.maxConcurrentCalls}") int maxPaymentCalls,
+                                           @Value("${student.reactive.maxConcurrentCalls}") int maxStudentCalls) {
+        this.reactivePaymentService = reactivePaymentService;
+        this.reactiveStudentService = reactiveStudentService;
+        this.studentEnrollmentCache = studentEnrollmentCache;
+        this.maxPaymentCalls = maxPaymentCalls;
+        this.maxStudentCalls = maxStudentCalls;
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return true;
+    }
+
+    @Override
+    public void prefetch(List<TuitionResponseDto> tuitionList, ReportRebuildContext context) {
+        long startedOn = System.currentTimeMillis();
+        Mono<Void> paidStudents = prefetchPaidStudents(tuitionList, context);
+        Mono<Void> joinedMonths = prefetchJoinedMonths(tuitionList, context);
+        Mono.when(paidStudents, joinedMonths).block();
+        log.debug("Prefetched report data reactively. tuitions: {}, failed: {}, time: {}ms", tuitionList.size(),
+                context.getFailedTuitions().size(), System.currentTimeMillis() - startedOn);
+    }
+
+    /**
+     * This method is used to prefetch the paid students of every month of the given tuitions, with one call per
+     * tuition when payment microservice has a bulk endpoint of the year, otherwise with one call per month
+     *
+     * @param tuitionList tuition list
+     * @param context     rebuild context
+     * @return completion
+     */
+    private Mono<Void> prefetchPaidStudents(List<TuitionResponseDto> tuitionList, ReportRebuildContext context) {
+        PaidStudentsLookup paidStudentsLookup = context.getPaidStudentsLookup();
+        if (reactivePaymentService.isYearEndpointEnabled())
+            return Flux.fromIterable(tuitionList)
+                    .filter(t -> !context.isFailed(t.getTuitionId()))
+                    .flatMap(t -> reactivePaymentService.getPaidStudentsForYear(t.getTuitionId(), context.getToken())
+                            .doOnSubscribe(subscription -> paidStudentsLookup.recordFetch())
+                            .doOnNext(result -> {
+                                for (Month m : Month.values()) {
+                                    paidStudentsLookup.preload(t.getTuitionId(), m.getMonthString(),
+                                            result.getStudentIdsByMonth().get(m.getMonthString()));
+                                }
+                            })
+                            .then()
+                            .onErrorResume(e -> markFailed(context, t.getTuitionId(), e)), maxPaymentCalls)
+                    .then();
+        return Flux.fromIterable(tuitionList)
+                .concatMap(t -> Flux.fromArray(Month.values()).map(m -> new TuitionCall<>(t, m)))
+                .filter(call -> !context.isFailed(call.getTuitionId()))
+                .flatMap(call -> reactivePaymentService.getPaidStudents(call.getTuitionId(),
+                        call.payload.getMonthString(), context.getToken())
+                        .doOnSubscribe(subscription -> paidStudentsLookup.recordFetch())
+                        .doOnNext(result -> paidStudentsLookup.preload(call.getTuitionId(),
+                                call.payload.getMonthString(), result.getStudentIds()))
+                        .then()
+                        .onErrorResume(e -> markFailed(context, call.getTuitionId(), e)), maxPaymentCalls)
+                .then();
+    }
+
+    /**
+     * This method is used to prefetch the tuition joined months of the students of the given tuitions. Only the
+     * students missing from the {@link StudentEnrollmentCache} are fetched in batches, and cached once fetched.
+     * The joined months of a tuition are put into the lookup once all batches of the tuition are fetched.
+     *
+     * @param tuitionList tuition list
+     * @param context     rebuild context
+     * @return completion
+     */
+    private Mono<Void> prefetchJoinedMonths(List<TuitionResponseDto> tuitionList, ReportRebuildContext context) {
+        int batchSize = reactiveStudentService.getBatchSize();
+        Map<String, List<StudentResponseDto>> studentsByTuition = new ConcurrentHashMap<>();
+        List<TuitionCall<List<String>>> calls = new ArrayList<>();
+        for (TuitionResponseDto t : tuitionList) {
+            List<StudentResponseDto> tuitionStudents = new ArrayList<>(t.getStudentIds().size());
+            List<String> studentIds = new ArrayList<>();
+            for (String studentId : t.getStudentIds()) {
+                StudentResponseDto student = studentEnrollmentCache.get(studentId, t.getTuitionId());
+                if (student == null) {
+                    studentIds.add(studentId);
+                } else {
+                    tuitionStudents.add(student);
+                }
+            }
+            studentsByTuition.put(t.getTuitionId(), tuitionStudents);
+            for (int from = 0; from < studentIds.size(); from += batchSize) {
+                calls.add(new TuitionCall<>(t, studentIds.subList(from,
+                        Math.min(from + batchSize, studentIds.size()))));
+            }
+        }
+        return Flux.fromIterable(calls)
+                .filter(call -> !context.isFailed(call.getTuitionId()))
+                .flatMap(call -> reactiveStudentService.getStudentInfoBatch(call.payload, context.getToken())
+                        .doOnNext(students -> {
+                            students.forEach(studentEnrollmentCache::put);
+                            List<StudentResponseDto> tuitionStudents = studentsByTuition.get(call.getTuitionId());
+                            synchronized (tuitionStudents) {
+                                tuitionStudents.addAll(students);
+                            }
+                        })
+                        .then()
+                        .onErrorResume(e -> markFailed(context, call.getTuitionId(), e)), maxStudentCalls)
+                .then(Mono.fromRunnable(() -> studentsByTuition.forEach((tuitionId, students) -> {
+                    if (!context.isFailed(tuitionId))
+                        context.getTuitionJoinedMonthsLookup().preload(tuitionId, students);
+                })));
+    }
+
+    private Mono<Void> markFailed(ReportRebuildContext context, String tuitionId, Throwable error) {
+        if (!context.isFailed(tuitionId))
+            log.error("Failed to prefetch report data of tuition id: {}", tuitionId, error);
+        context.markFailed(tuitionId, error);
+        return Mono.empty();
+    }
+
+    /**
+     * A call to another microservice made for a tuition
+     *
+     * @param <T> payload of the call
+     */
+    private static class TuitionCall<T> {
+
+        private final TuitionResponseDto tuition;
+        private final T payload;
+
+        private TuitionCall(TuitionResponseDto tuition, T payload) {
+            this.tuition = tuition;
+            this.payload = payload;
+        }
+
+        private String getTuitionId() {
+            return tuition.getTuitionId();
+        }
+    }
+}
@@ -0,0 +1,141 @@
+package com.swivel.ignite.reporting.service;
+
+import com.swivel.ignite.reporting.dto.request.StudentsIdListRequestDto;
+import com.swivel.ignite.reporting.dto.response.StudentResponseDto;
+import com.swivel.ignite.reporting.exception.StudentServiceHttpClientErrorException;
+import com.swivel.ignite.reporting.wrapper.StudentListResponseWrapper;
+import com.swivel.ignite.reporting.wrapper.StudentResponseWrapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Student Microservice, reactive client
+ */
+@Slf4j
+@Service
+@ConditionalOnProperty(name = "report.rebuild.client", havingValue = "reactive")
+public class ReactiveStudentService {
+
+    private static final String AUTH_HEADER = "Authorization";
+    private static final String FAILED_TO_GET_STUDENT_INFO = "Failed to get student info";
+    private static final String FAILED_TO_GET_STUDENT_INFO_LIST = "Failed to get student info list";
+    private final WebClient webClient;
+    private final String getStudentInfoUrl;
+    private final String getStudentInfoBulkUrl;
+    private final int bulkBatchSize;
+    private final Duration readTimeout;
+
+    public ReactiveStudentService(@Value("${student.baseUrl}") String baseUrl,
+                                  @Value("${student.studentInfoUrl}") String studentInfoUrl,
+                                  @Value("${student.studentInfoBulkUrl:}") String studentInfoBulkUrl,
+                                  @Value("${student.bulkBatchSize}") int bulkBatchSize,
+                                  @Value("${student.http.readTimeout}") long readTimeout,
+                                  @Qualifier("studentWebClient") WebClient webClient) {
+        this.getStudentInfoUrl = baseUrl + studentInfoUrl;
+        this.getStudentInfoBulkUrl = studentInfoBulkUrl.isEmpty() ? null : baseUrl + studentInfoBulkUrl;
+        this.bulkBatchSize = bulkBatchSize;
+        this.readTimeout = Duration.ofMillis(readTimeout);
+        this.webClient = webClient;
+    }
+
+    /**
+     * This method is used to get the number of students looked up with one call to student microservice
+     *
+     * @return bulk batch size, or 1 when the student microservice has no bulk endpoint configured
+     */
+    public int getBatchSize() {
+        return getStudentInfoBulkUrl == null ? 1 : bulkBatchSize;
+    }
+
+    /**
+     * This method is used to get student info from student microservice without blocking the caller
+     *
+     * @param studentId student id
+     * @param token     authorization token
+     * @return student response
+     */
+    public Mono<StudentResponseDto> getStudentInfo(String studentId, String token) {
+        return webClient.get()
+                .uri(getStudentInfoUrl, studentId)
+                .header(AUTH_HEADER, token)
+                .retrieve()
+                .bodyToMono(StudentResponseWrapper.class)
+                .timeout(readTimeout)
+                .map(result -> Objects.requireNonNull(result.getData()))
+                .onErrorMap(this::isClientError, e -> toClientErrorException((WebClientResponseException) e,
+                        FAILED_TO_GET_STUDENT_INFO));
+    }
+
+    /**
+     * This method is used to get info of a batch of students from student microservice without blocking the
+     * caller. The batch is fetched with one call to the bulk endpoint, or with single calls when the student
+     * microservice has no bulk endpoint configured.
+     *
+     * @param studentIds student ids, at most {@link #getBatchSize()}
+     * @param token      authorization token
+     * @return student responses
+     */
+    public Mono<List<StudentResponseDto>> getStudentInfoBatch(List<String> studentIds, String token) {
+        if (getStudentInfoBulkUrl == null)
+            return Flux.fromIterable(studentIds).concatMap(studentId -> getStudentInfo(studentId, token))
+                    .collectList();
+        return webClient.post()
+                .uri(getStudentInfoBulkUrl)
+                .header(AUTH_HEADER, token)
+                .bodyValue(new StudentsIdListRequestDto(new ArrayList<>(studentIds)))
+                .retrieve()
+                .bodyToMono(StudentListResponseWrapper.class)
+                .timeout(readTimeout)
+                .map(result -> Objects.requireNonNull(result.getData()).getStudentList())
+                .flatMap(students -> verifyBatch(studentIds, students))
+                .onErrorMap(this::isClientError, e -> toClientErrorException((WebClientResponseException) e,
+                        FAILED_TO_GET_STUDENT_INFO_LIST));
+    }
+
+    /**
+     * This method is used to verify that the bulk endpoint returned all students of the batch
+     *
+     * @param studentIds student ids of the batch
+     * @param students   student responses
+     * @return student responses, or an error for the first missing student
+     */
+    private Mono<List<StudentResponseDto>> verifyBatch(List<String> studentIds, List<StudentResponseDto> students) {
+        Set<String> returnedIds = new HashSet<>();
+        students.forEach(student -> returnedIds.add(student.getStudentId()));
+        for (String studentId : studentIds) {
+            if (!returnedIds.contains(studentId))
+                return Mono.error(new StudentServiceHttpClientErrorException(
+                        FAILED_TO_GET_STUDENT_INFO + " for id: " + studentId));
+        }
+        return Mono.just(students);
+    }
+
+    private boolean isClientError(Throwable e) {
+        return e instanceof WebClientResponseException &&
+                ((WebClientResponseException) e).getStatusCode().is4xxClientError();
+    }
+
+    private Throwable toClientErrorException(WebClientResponseException e, String message) {
+        try {
+            return new StudentServiceHttpClientErrorException(e.getStatusCode(), message,
+                    e.getResponseBodyAsString(), e);
+        } catch (IOException ioException) {
+            return ioException;
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package com.swivel.ignite.reporting.service;
+
+import com.swivel.ignite.reporting.entity.Report;
+import com.swivel.ignite.reporting.enums.ReportStorageFormat;
+import com.swivel.ignite.reporting.repository.ReportRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import java.util.Collection;
+
+/**
+ * Batched writer of reports.
+ * A chunk of reports is written with one flush, so that hibernate sends the report rows and the student id
+ * rows of the chunk as JDBC batches (see spring.jpa.properties.hibernate.jdbc in application.yml). The
+ * persistence context is cleared after each chunk, so that the dirty check of a flush does not grow with
+ * the reports written before it.
+ * The student ids are written in the storage format of report.storage.format.
+ */
+@Slf4j
+@Component
+public class ReportBatchWriter {
+
+    private final ReportRepository reportRepository;
+    private final ReportBitmapCodec reportBitmapCodec;
+    private final ReportStorageFormat storageFormat;
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Autowired
+    public ReportBatchWriter(ReportRepository reportRepository, ReportBitmapCodec reportBitmapCodec,
+                             @Value("${report.storage.format}") ReportStorageFormat storageFormat) {
+        this.reportRepository = reportRepository;
+        this.reportBitmapCodec = reportBitmapCodec;
+        this.storageFormat = storageFormat;
+    }
+
+    /**
+     * This method is used to write a chunk of reports whose student ids are final.
+     * Must be called in a transaction.
+     *
+     * @param reports reports
+     */
+    public void write(Collection<Report> reports) {
+        long startedOn = System.currentTimeMillis();
+        if (storageFormat == ReportStorageFormat.BITMAP) {
+            reportBitmapCodec.encode(reports);
+        } else {
+            reports.forEach(report -> report.setStudentBitmap(null));
+        }
+        reportRepository.saveAll(reports);
+        entityManager.flush();
+        entityManager.clear();
+        log.debug("Wrote report chunk. reports: {}, format: {}, time: {}ms", reports.size(), storageFormat,
+                System.currentTimeMillis() - startedOn);
+    }
+}
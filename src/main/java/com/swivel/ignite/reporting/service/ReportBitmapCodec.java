@@ -0,0 +1,109 @@
+package com.swivel.ignite.reporting.service;
+
+import com.swivel.ignite.reporting.entity.Report;
+import com.swivel.ignite.reporting.entity.TuitionStudentDictionary;
+import com.swivel.ignite.reporting.exception.ReportingServiceException;
+import com.swivel.ignite.reporting.repository.TuitionStudentDictionaryRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.roaringbitmap.RoaringBitmap;
+import org.roaringbitmap.buffer.ImmutableRoaringBitmap;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.nio.ByteBuffer;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Codec of the bitmap storage format of reports.
+ * The student ids of a report are dictionary encoded to the dense ordinals of its tuition, and stored as a
+ * run-length optimized roaring bitmap. Dictionaries are append only, so the dictionary snapshots cached for
+ * reads stay valid until a bitmap refers to an ordinal appended after the snapshot was loaded.
+ */
+@Slf4j
+@Component
+public class ReportBitmapCodec {
+
+    private final TuitionStudentDictionaryRepository tuitionStudentDictionaryRepository;
+    private final Map<String, List<String>> dictionarySnapshots = new ConcurrentHashMap<>();
+
+    @Autowired
+    public ReportBitmapCodec(TuitionStudentDictionaryRepository tuitionStudentDictionaryRepository) {
+        this.tuitionStudentDictionaryRepository = tuitionStudentDictionaryRepository;
+    }
+
+    /**
+     * This method is used to encode the student ids of reports into bitmaps, appending the new students to
+     * the dictionaries of their tuitions. The student id collections of the reports are emptied.
+     * The dictionaries are locked until the end of the transaction, so rebuilds running concurrently on several
+     * instances never append different students at the same ordinals. Must be called in a transaction.
+     *
+     * @param reports reports
+     */
+    public void encode(Collection<Report> reports) {
+        Map<String, TuitionStudentDictionary> dictionaries = new HashMap<>();
+        for (Report report : reports) {
+            TuitionStudentDictionary dictionary = dictionaries.computeIfAbsent(report.getTuitionId(),
+                    tuitionId -> tuitionStudentDictionaryRepository.findForUpdateById(tuitionId)
+                            .orElseGet(() -> new TuitionStudentDictionary(tuitionId)));
+            RoaringBitmap bitmap = new RoaringBitmap();
+            for (String studentId : report.getStudentId()) {
+                bitmap.add(dictionary.getOrAddOrdinal(studentId));
+            }
+            report.setStudentBitmap(toBytes(bitmap));
+            report.getStudentId().clear();
+        }
+        for (TuitionStudentDictionary dictionary : dictionaries.values()) {
+            if (dictionary.updateStudentIds())
+                tuitionStudentDictionaryRepository.save(dictionary);
+        }
+    }
+
+    /**
+     * This method is used to decode a bitmap stored report into a detached copy with its student ids.
+     * Reports stored with the collection format are returned as they are.
+     *
+     * @param report report
+     * @return report with student ids
+     */
+    public Report decode(Report report) {
+        if (report.getStudentBitmap() == null)
+            return report;
+        ImmutableRoaringBitmap bitmap = new ImmutableRoaringBitmap(ByteBuffer.wrap(report.getStudentBitmap()));
+        Set<String> studentIds = new HashSet<>();
+        if (!bitmap.isEmpty()) {
+            List<String> dictionary = getDictionarySnapshot(report.getTuitionId(), bitmap.last());
+            bitmap.forEach((int ordinal) -> studentIds.add(dictionary.get(ordinal)));
+        }
+        return report.detachedCopy(studentIds);
+    }
+
+    /**
+     * This method is used to get a dictionary snapshot of a tuition covering the given ordinal
+     *
+     * @param tuitionId   tuition id
+     * @param lastOrdinal largest ordinal to decode
+     * @return student ids in ordinal order
+     */
+    private List<String> getDictionarySnapshot(String tuitionId, int lastOrdinal) {
+        List<String> snapshot = dictionarySnapshots.get(tuitionId);
+        if (snapshot == null || lastOrdinal >= snapshot.size()) {
+            snapshot = tuitionStudentDictionaryRepository.findById(tuitionId)
+                    .<List<String>>map(dictionary -> new ArrayList<>(dictionary.getStudentIdList()))
+                    .orElseGet(ArrayList::new);
+            if (lastOrdinal >= snapshot.size())
+                throw new ReportingServiceException("Student dictionary of tuition id: " + tuitionId +
+                        " does not cover ordinal: " + lastOrdinal);
+            dictionarySnapshots.put(tuitionId, snapshot);
+            log.debug("Loaded student dictionary of tuition id: {}, size: {}", tuitionId, snapshot.size());
+        }
+        return snapshot;
+    }
+
+    private byte[] toBytes(RoaringBitmap bitmap) {
+        bitmap.runOptimize();
+        ByteBuffer buffer = ByteBuffer.allocate(bitmap.serializedSizeInBytes());
+        bitmap.serialize(buffer);
+        return buffer.array();
+    }
+}
@@ -0,0 +1,212 @@
+package com.swivel.ignite.reporting.service;
+
+import com.swivel.ignite.reporting.entity.Report;
+import com.swivel.ignite.reporting.enums.ReportExportJobStatus;
+import com.swivel.ignite.reporting.exception.ReportExportNotFoundException;
+import com.swivel.ignite.reporting.repository.ReportRepository;
+import com.swivel.ignite.reporting.repository.ReportStudentIdRow;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.stream.Stream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Report CSV export service
+ * Writes the reports of the active generation to a gzip compressed CSV file on a background thread, one line
+ * per report student: tuitionId, month, isPaid, studentId. The file is written under a temporary name and
+ * moved into place once complete, so a download never sees a partial file. Jobs and their files are kept in
+ * memory and on local disk for the retention period, hence a job is only known to the instance it ran on.
+ */
+@Slf4j
+@Service
+public class ReportCsvExportService {
+
+    private static final String FILE_EXTENSION = ".csv.gz";
+    private static final String PARTIAL_FILE_EXTENSION = ".part";
+    private static final String CSV_HEADER = "tuitionId,month,isPaid,studentId\n";
+    private static final int WRITE_BUFFER_SIZE = 64 * 1024;
+    private final ReportRepository reportRepository;
+    private final ReportBitmapCodec reportBitmapCodec;
+    private final TransactionTemplate readOnlyTransactionTemplate;
+    private final Executor reportCsvExportExecutor;
+    private final Path directory;
+    private final long retention;
+    private final Map<String, ReportExportJob> jobs = new ConcurrentHashMap<>();
+
+    @Autowired
+    public ReportCsvExportService(ReportRepository reportRepository, ReportBitmapCodec reportBitmapCodec,
+                                  PlatformTransactionManager transactionManager,
+                                  @Qualifier("reportCsvExportExecutor") Executor reportCsvExportExecutor,
+                                  @Value("${report.csvExport.directory}") String directory,
+                                  @Value("${report.csvExport.retention}") long retention) {
+        this.reportRepository = reportRepository;
+        this.reportBitmapCodec = reportBitmapCodec;
+        this.readOnlyTransactionTemplate = new TransactionTemplate(transactionManager);
+        this.readOnlyTransactionTemplate.setReadOnly(true);
+        this.reportCsvExportExecutor = reportCsvExportExecutor;
+        this.directory = Paths.get(directory);
+        this.retention = retention;
+    }
+
+    /**
+     * This method is used to start an export job on the export executor
+     *
+     * @return export job
+     */
+    public ReportExportJob createExportJob() {
+        ReportExportJob job = new ReportExportJob(directory, FILE_EXTENSION);
+        jobs.put(job.getJobId(), job);
+        reportCsvExportExecutor.execute(() -> runExportJob(job));
+        log.debug("Created report csv export job. jobId: {}", job.getJobId());
+        return job;
+    }
+
+    /**
+     * This method is used to get an export job
+     *
+     * @param jobId job id
+     * @return export job
+     */
+    public ReportExportJob getExportJob(String jobId) {
+        ReportExportJob job = jobs.get(jobId);
+        if (job == null)
+            throw new ReportExportNotFoundException("Report export job not found for job id: " + jobId);
+        return job;
+    }
+
+    /**
+     * This method is used to get the file of a completed export job
+     *
+     * @param jobId job id
+     * @return export file
+     */
+    public Path getExportFile(String jobId) {
+        ReportExportJob job = getExportJob(jobId);
+        if (job.getStatus() != ReportExportJobStatus.COMPLETED || !Files.exists(job.getFile()))
+            throw new ReportExportNotFoundException("Report export file is not ready for job id: " + jobId);
+        return job.getFile();
+    }
+
+    /**
+     * This method is used to delete the jobs and files of the exports finished longer than the retention
+     * period ago
+     */
+    @Scheduled(fixedDelayString = "${report.csvExport.cleanupFixedDelay}")
+    public void purgeExpiredExports() {
+        long expiredBefore = System.currentTimeMillis() - retention;
+        jobs.values().removeIf(job -> {
+            if (!job.isFinished() || job.getCompletedOn().getTime() > expiredBefore)
+                return false;
+            deleteQuietly(job.getFile());
+            log.debug("Purged expired report csv export. jobId: {}", job.getJobId());
+            return true;
+        });
+    }
+
+    /**
+     * This method is used to write the export file of a job
+     *
+     * @param job export job
+     */
+    private void runExportJob(ReportExportJob job) {
+        job.markRunning();
+        Path partialFile = job.getFile().resolveSibling(job.getFile().getFileName() + PARTIAL_FILE_EXTENSION);
+        try {
+            Files.createDirectories(directory);
+            long lineCount;
+            try (Writer writer = new OutputStreamWriter(new GZIPOutputStream(Files.newOutputStream(partialFile),
+                    WRITE_BUFFER_SIZE), StandardCharsets.UTF_8)) {
+                lineCount = readOnlyTransactionTemplate.execute(status -> {
+                    try (Stream<ReportStudentIdRow> rows = reportRepository.streamActiveReportStudentIds()) {
+                        return writeCsv(rows.iterator(), writer);
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+            }
+            Files.move(partialFile, job.getFile(), StandardCopyOption.REPLACE_EXISTING,
+                    StandardCopyOption.ATOMIC_MOVE);
+            job.markCompleted(Files.size(job.getFile()));
+            log.debug("Report csv export finished. jobId: {}, lines: {}, file size: {}", job.getJobId(), lineCount,
+                    job.getFileSize());
+        } catch (IOException | RuntimeException e) {
+            deleteQuietly(partialFile);
+            job.markFailed();
+            log.error("Report csv export failed. jobId: {}", job.getJobId(), e);
+        }
+    }
+
+    /**
+     * This method is used to write one CSV line per report student
+     *
+     * @param rows   report student id rows
+     * @param writer writer
+     * @return written line count
+     * @throws IOException
+     */
+    private long writeCsv(Iterator<ReportStudentIdRow> rows, Writer writer) throws IOException {
+        long lineCount = 0;
+        writer.write(CSV_HEADER);
+        while (rows.hasNext()) {
+            ReportStudentIdRow row = rows.next();
+            if (row.getStudentBitmap() != null) {
+                for (String studentId : decodeStudentIds(row)) {
+                    writeLine(writer, row, studentId);
+                    lineCount++;
+                }
+            } else if (row.getStudentId() != null) {
+                writeLine(writer, row, row.getStudentId());
+                lineCount++;
+            }
+        }
+        return lineCount;
+    }
+
+    private Iterable<String> decodeStudentIds(ReportStudentIdRow row) {
+        Report report = new Report(row.getTuitionId(), row.getMonth(), row.isPaid(), row.getGeneration());
+        report.setStudentBitmap(row.getStudentBitmap());
+        return reportBitmapCodec.decode(report).getStudentId();
+    }
+
+    private void writeLine(Writer writer, ReportStudentIdRow row, String studentId) throws IOException {
+        writer.write(escape(row.getTuitionId()));
+        writer.write(',');
+        writer.write(row.getMonth());
+        writer.write(',');
+        writer.write(Boolean.toString(row.isPaid()));
+        writer.write(',');
+        writer.write(escape(studentId));
+        writer.write('\n');
+    }
+
+    private String escape(String value) {
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0)
+            return value;
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+
+    private void deleteQuietly(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            log.error("Failed to delete report csv export file: {}", file, e);
+        }
+    }
+}
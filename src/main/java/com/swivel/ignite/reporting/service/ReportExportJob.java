@@ -0,0 +1,54 @@
+package com.swivel.ignite.reporting.service;
+
+import com.swivel.ignite.reporting.enums.ReportExportJobStatus;
+import lombok.Getter;
+
+import java.nio.file.Path;
+import java.util.Date;
+import java.util.UUID;
+
+/**
+ * Report export job
+ * State of one background export, shared between the export thread and the status/ download requests.
+ */
+@Getter
+public class ReportExportJob {
+
+    private static final String JOB_ID_PREFIX = "eid-";
+    private final String jobId;
+    private final Date createdOn;
+    private final Path file;
+    private volatile ReportExportJobStatus status = ReportExportJobStatus.PENDING;
+    private volatile Date completedOn;
+    private volatile long fileSize;
+
+    public ReportExportJob(Path directory, String fileExtension) {
+        this.jobId = JOB_ID_PREFIX + UUID.randomUUID();
+        this.createdOn = new Date();
+        this.file = directory.resolve(jobId + fileExtension);
+    }
+
+    void markRunning() {
+        status = ReportExportJobStatus.RUNNING;
+    }
+
+    void markCompleted(long fileSize) {
+        this.fileSize = fileSize;
+        this.completedOn = new Date();
+        this.status = ReportExportJobStatus.COMPLETED;
+    }
+
+    void markFailed() {
+        this.completedOn = new Date();
+        this.status = ReportExportJobStatus.FAILED;
+    }
+
+    /**
+     * This method checks if the job is finished, successfully or not
+     *
+     * @return true/ false
+     */
+    public boolean isFinished() {
+        return status == ReportExportJobStatus.COMPLETED || status == ReportExportJobStatus.FAILED;
+    }
+}
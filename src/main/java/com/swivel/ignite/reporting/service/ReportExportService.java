@@ -0,0 +1,115 @@
+package com.swivel.ignite.reporting.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.swivel.ignite.reporting.entity.Report;
+import com.swivel.ignite.reporting.exception.ReportingServiceException;
+import com.swivel.ignite.reporting.repository.ReportRepository;
+import com.swivel.ignite.reporting.repository.ReportStudentIdRow;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+/**
+ * Report export service
+ * Streams the reports of the active generation as newline delimited JSON, one report per line in the same
+ * shape the report endpoints return. Reports are read from a database cursor and written as they are
+ * assembled, so memory use does not depend on the number of reports.
+ */
+@Slf4j
+@Service
+public class ReportExportService {
+
+    private static final int FLUSH_INTERVAL = 100;
+    private final ReportRepository reportRepository;
+    private final ReportBitmapCodec reportBitmapCodec;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate readOnlyTransactionTemplate;
+
+    @Autowired
+    public ReportExportService(ReportRepository reportRepository, ReportBitmapCodec reportBitmapCodec,
+                               ObjectMapper objectMapper, PlatformTransactionManager transactionManager) {
+        this.reportRepository = reportRepository;
+        this.reportBitmapCodec = reportBitmapCodec;
+        this.objectMapper = objectMapper;
+        this.readOnlyTransactionTemplate = new TransactionTemplate(transactionManager);
+        this.readOnlyTransactionTemplate.setReadOnly(true);
+    }
+
+    /**
+     * This method is used to write all reports of the active generation to an output stream as newline
+     * delimited JSON. The stream is flushed after the first report, and then every few reports.
+     *
+     * @param outputStream output stream
+     * @throws IOException
+     */
+    public void exportReports(OutputStream outputStream) throws IOException {
+        log.debug("Report export started..");
+        try {
+            int exportedCount = readOnlyTransactionTemplate.execute(status -> {
+                try (Stream<ReportStudentIdRow> rows = reportRepository.streamActiveReportStudentIds()) {
+                    return writeReports(rows.iterator(), outputStream);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+            log.debug("Report export finished.. exported reports: {}", exportedCount);
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        } catch (DataAccessException e) {
+            throw new ReportingServiceException("Failed to export reports", e);
+        }
+    }
+
+    /**
+     * This method is used to assemble the reports of consecutive rows and write them
+     *
+     * @param rows         report student id rows ordered by report id
+     * @param outputStream output stream
+     * @return written report count
+     * @throws IOException
+     */
+    private int writeReports(Iterator<ReportStudentIdRow> rows, OutputStream outputStream) throws IOException {
+        JsonGenerator generator = objectMapper.getFactory().createGenerator(outputStream);
+        generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        int count = 0;
+        Report report = null;
+        while (rows.hasNext()) {
+            ReportStudentIdRow row = rows.next();
+            if (report == null || !report.getId().equals(row.getId())) {
+                if (report != null)
+                    writeReport(generator, report, ++count);
+                report = toReport(row);
+            }
+            if (row.getStudentId() != null)
+                report.addStudentId(row.getStudentId());
+        }
+        if (report != null)
+            writeReport(generator, report, ++count);
+        generator.close();
+        return count;
+    }
+
+    private void writeReport(JsonGenerator generator, Report report, int count) throws IOException {
+        generator.writeObject(reportBitmapCodec.decode(report));
+        generator.writeRaw('\n');
+        if (count == 1 || count % FLUSH_INTERVAL == 0)
+            generator.flush();
+    }
+
+    private Report toReport(ReportStudentIdRow row) {
+        Report report = new Report(row.getTuitionId(), row.getMonth(), row.isPaid(), row.getGeneration());
+        report.setId(row.getId());
+        report.setStudentBitmap(row.getStudentBitmap());
+        return report;
+    }
+}
@@ -0,0 +1,83 @@
+package com.swivel.ignite.reporting.service;
+
+import org.springframework.stereotype.Component;
+
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Registry of the fingerprints of the tuitions the current report was built from
+ */
+@Component
+public class ReportFingerprintRegistry {
+
+    private final Map<String, TuitionFingerprint> fingerprints = new ConcurrentHashMap<>();
+
+    /**
+     * This method is used to get the fingerprint of a tuition
+     *
+     * @param tuitionId tuition id
+     * @return tuition fingerprint/ null
+     */
+    public TuitionFingerprint get(String tuitionId) {
+        return fingerprints.get(tuitionId);
+    }
+
+    /**
+     * This method is used to get the ids of the fingerprinted tuitions
+     *
+     * @return tuition ids
+     */
+    public Set<String> getTuitionIds() {
+        return new HashSet<>(fingerprints.keySet());
+    }
+
+    /**
+     * This method is used to check if no tuition is fingerprinted yet
+     *
+     * @return true/ false
+     */
+    public boolean isEmpty() {
+        return fingerprints.isEmpty();
+    }
+
+    /**
+     * This method is used to record the fingerprints of a rebuild, and forget the removed tuitions
+     *
+     * @param updatedFingerprints updated fingerprints by tuition id
+     * @param removedTuitionIds   removed tuition ids
+     */
+    public void update(Map<String, TuitionFingerprint> updatedFingerprints, Set<String> removedTuitionIds) {
+        fingerprints.putAll(updatedFingerprints);
+        removedTuitionIds.forEach(fingerprints::remove);
+    }
+
+    /**
+     * This method is used to replace all fingerprints with the fingerprints of a full rebuild
+     *
+     * @param rebuiltFingerprints fingerprints by tuition id
+     */
+    public void replace(Map<String, TuitionFingerprint> rebuiltFingerprints) {
+        fingerprints.keySet().retainAll(rebuiltFingerprints.keySet());
+        fingerprints.putAll(rebuiltFingerprints);
+    }
+
+    /**
+     * This method is used to forget the fingerprint of a tuition, which forces the next rebuild to rewrite all
+     * months of the tuition
+     *
+     * @param tuitionId tuition id
+     */
+    public void remove(String tuitionId) {
+        fingerprints.remove(tuitionId);
+    }
+
+    /**
+     * This method is used to forget all fingerprints, which forces the next rebuild to be a full rebuild
+     */
+    public void clear() {
+        fingerprints.clear();
+    }
+}
@@ -0,0 +1,195 @@
+package com.swivel.ignite.reporting.service;
+
+import com.swivel.ignite.reporting.dto.response.ReportSnapshotResponseDto;
+import com.swivel.ignite.reporting.exception.ReportingServiceException;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.util.Date;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+/**
+ * Report Materialization Service
+ * Keeps the report snapshot fresh in the background, so that report reads never trigger a rebuild.
+ * Rebuilds are single flight: a refresh requested while a rebuild is running joins it and receives its result,
+ * and a refresh is skipped when the snapshot was materialized within the freshness window. Hence the load on
+ * the downstream microservices does not depend on the number of concurrent refresh requests.
+ */
+@Service
+@Slf4j
+public class ReportMaterializationService {
+
+    private final ReportService reportService;
+    private final ServiceTokenProvider serviceTokenProvider;
+    private final ReportResponseCache reportResponseCache;
+    private final ReportingMetrics reportingMetrics;
+    private final ReportSnapshotStatus reportSnapshotStatus;
+    private final StudentEnrollmentCache studentEnrollmentCache;
+    private final long freshnessWindow;
+    private final Object rebuildLock = new Object();
+    private CompletableFuture<ReportSnapshotResponseDto> inFlightRebuild;
+    private volatile long snapshotVersion;
+    private volatile Date lastMaterializedOn;
+
+    @Autowired
+    public ReportMaterializationService(ReportService reportService, ServiceTokenProvider serviceTokenProvider,
+                                        ReportResponseCache reportResponseCache, ReportingMetrics reportingMetrics,
+                                        ReportSnapshotStatus reportSnapshotStatus,
+                                        StudentEnrollmentCache studentEnrollmentCache,
+                                        @Value("${report.materialization.freshnessWindow}") long freshnessWindow) {
+        this.reportService = reportService;
+        this.serviceTokenProvider = serviceTokenProvider;
+        this.reportResponseCache = reportResponseCache;
+        this.reportingMetrics = reportingMetrics;
+        this.reportSnapshotStatus = reportSnapshotStatus;
+        this.studentEnrollmentCache = studentEnrollmentCache;
+        this.freshnessWindow = freshnessWindow;
+        reportingMetrics.registerSnapshotAge(this::getLastMaterializedOn);
+    }
+
+    /**
+     * This method is used to rebuild the report snapshot periodically.
+     * A failed rebuild keeps the previous snapshot, flagged as stale, and it is retried on the next run. The
+     * cached report responses of the rebuilt snapshot are serialized right after it, off the read path, and the
+     * student enrollments cached by it are saved for the next startup. A failure of these follow up steps does
+     * not fail the rebuild, since the snapshot is already active.
+     */
+    @Scheduled(fixedDelayString = "${report.materialization.fixedDelay}",
+            initialDelayString = "${report.materialization.initialDelay}")
+    public void materializeReport() {
+        try {
+            refreshReport();
+        } catch (ReportingServiceException e) {
+            log.error("Report materialization failed. serving snapshot version: {}", snapshotVersion, e);
+        }
+    }
+
+    /**
+     * This method is used to refresh the report snapshot on demand.
+     * The caller joins the rebuild in flight if there is one, otherwise it starts a rebuild unless the snapshot
+     * is still within the freshness window.
+     *
+     * @return refreshed report snapshot
+     */
+    public ReportSnapshotResponseDto refreshReport() {
+        CompletableFuture<ReportSnapshotResponseDto> rebuild;
+        boolean isLeader = false;
+        synchronized (rebuildLock) {
+            if (inFlightRebuild == null && isFresh()) {
+                log.debug("Report refresh skipped. snapshot version: {} is fresh", snapshotVersion);
+                reportingMetrics.recordRefresh(ReportingMetrics.REFRESH_SKIPPED);
+                return new ReportSnapshotResponseDto(snapshotVersion, lastMaterializedOn);
+            }
+            if (inFlightRebuild == null) {
+                inFlightRebuild = new CompletableFuture<>();
+                isLeader = true;
+            }
+            rebuild = inFlightRebuild;
+        }
+        if (isLeader) {
+            reportingMetrics.recordRefresh(ReportingMetrics.REFRESH_REBUILT);
+            rebuild(rebuild);
+        } else {
+            log.debug("Report refresh joined the rebuild in flight");
+            reportingMetrics.recordRefresh(ReportingMetrics.REFRESH_JOINED);
+        }
+        try {
+            return rebuild.join();
+        } catch (CompletionException e) {
+            throw (ReportingServiceException) e.getCause();
+        }
+    }
+
+    /**
+     * This method is used to rebuild the report snapshot, and to complete the rebuild in flight with its result
+     * once it is no longer joinable
+     *
+     * @param rebuild rebuild in flight
+     */
+    private void rebuild(CompletableFuture<ReportSnapshotResponseDto> rebuild) {
+        log.debug("Report materialization started. current snapshot version: {}", snapshotVersion);
+        ReportSnapshotResponseDto snapshot = null;
+        ReportingServiceException failure = null;
+        try {
+            reportService.updateReport(serviceTokenProvider.getToken());
+            synchronized (rebuildLock) {
+                lastMaterializedOn = new Date();
+                snapshotVersion++;
+                snapshot = new ReportSnapshotResponseDto(snapshotVersion, lastMaterializedOn);
+            }
+            log.debug("Report materialization finished. snapshot version: {}", snapshot.getSnapshotVersion());
+        } catch (IOException | RuntimeException e) {
+            reportSnapshotStatus.markRebuildFailed();
+            failure = e instanceof ReportingServiceException ? (ReportingServiceException) e :
+                    new ReportingServiceException("Failed to materialize report", e);
+        } finally {
+            if (snapshot != null)
+                followUpRebuild();
+            synchronized (rebuildLock) {
+                inFlightRebuild = null;
+            }
+            if (failure == null && snapshot != null) {
+                rebuild.complete(snapshot);
+            } else {
+                rebuild.completeExceptionally(failure != null ? failure :
+                        new ReportingServiceException("Failed to materialize report"));
+            }
+        }
+    }
+
+    /**
+     * This method is used to refresh the cached report responses and to save the cached student enrollments
+     * after a rebuild. Each step is independent of the rebuild and of the other step, and a failed step is only
+     * logged and recorded.
+     */
+    private void followUpRebuild() {
+        try {
+            Timer.Sample refreshSample = reportingMetrics.start();
+            reportResponseCache.refresh();
+            reportingMetrics.recordRebuildPhase(refreshSample, ReportingMetrics.PHASE_RESPONSE_CACHE);
+        } catch (RuntimeException e) {
+            log.error("Failed to refresh report response cache. snapshot version: {}", snapshotVersion, e);
+            reportingMetrics.recordRebuildFollowUpFailure(ReportingMetrics.PHASE_RESPONSE_CACHE);
+        }
+        try {
+            studentEnrollmentCache.persist();
+        } catch (RuntimeException e) {
+            log.error("Failed to save student enrollment cache. snapshot version: {}", snapshotVersion, e);
+            reportingMetrics.recordRebuildFollowUpFailure(ReportingMetrics.PHASE_STUDENT_ENROLLMENT_CACHE);
+        }
+    }
+
+    /**
+     * This method checks if the report snapshot was materialized within the freshness window
+     *
+     * @return true/ false
+     */
+    private boolean isFresh() {
+        Date materializedOn = lastMaterializedOn;
+        return materializedOn != null && System.currentTimeMillis() - materializedOn.getTime() < freshnessWindow;
+    }
+
+    /**
+     * This method is used to get the version of the current report snapshot
+     *
+     * @return snapshot version
+     */
+    public long getSnapshotVersion() {
+        return snapshotVersion;
+    }
+
+    /**
+     * This method is used to get the time the current report snapshot was materialized on
+     *
+     * @return materialized time/ null
+     */
+    public Date getLastMaterializedOn() {
+        return lastMaterializedOn;
+    }
+}
@@ -0,0 +1,47 @@
+package com.swivel.ignite.reporting.service;
+
+import lombok.Getter;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * State of a single report rebuild: the token, the rebuild scoped lookups of the other microservices,
+ * and the tuitions whose data could not be fetched.
+ */
+@Getter
+public class ReportRebuildContext {
+
+    private final String token;
+    private final PaidStudentsLookup paidStudentsLookup;
+    private final TuitionJoinedMonthsLookup tuitionJoinedMonthsLookup;
+    private final Map<String, Throwable> failedTuitions = new ConcurrentHashMap<>();
+
+    public ReportRebuildContext(PaymentService paymentService, StudentService studentService,
+                                StudentEnrollmentCache studentEnrollmentCache, String token) {
+        this.token = token;
+        this.paidStudentsLookup = new PaidStudentsLookup(paymentService, token);
+        this.tuitionJoinedMonthsLookup = new TuitionJoinedMonthsLookup(studentService, studentEnrollmentCache,
+                token);
+    }
+
+    /**
+     * This method is used to mark a tuition as failed, so that the rebuild skips it
+     *
+     * @param tuitionId tuition id
+     * @param error     error
+     */
+    public void markFailed(String tuitionId, Throwable error) {
+        failedTuitions.put(tuitionId, error);
+    }
+
+    /**
+     * This method is used to check if a tuition is marked as failed
+     *
+     * @param tuitionId tuition id
+     * @return true/ false
+     */
+    public boolean isFailed(String tuitionId) {
+        return failedTuitions.containsKey(tuitionId);
+    }
+}
@@ -0,0 +1,31 @@
+package com.swivel.ignite.reporting.service;
+
+import com.swivel.ignite.reporting.dto.response.TuitionResponseDto;
+
+import java.util.List;
+
+/**
+ * Prefetch of the data of a report rebuild from the other microservices.
+ * The implementation is selected with the report.rebuild.client property: blocking calls on bounded thread
+ * pools, or reactive calls multiplexed on the event loop threads of the web client.
+ */
+public interface ReportRebuildPrefetcher {
+
+    /**
+     * This method is used to check if the parallel rebuild mode is enabled
+     *
+     * @return true/ false
+     */
+    boolean isEnabled();
+
+    /**
+     * This method is used to prefetch the data of the given tuitions into the lookups of the rebuild context.
+     * The paid students and the tuition joined months of the students are prefetched, since both are inputs of
+     * the full and the incremental rebuild. A tuition whose data can not be fetched is marked as failed in the
+     * rebuild context.
+     *
+     * @param tuitionList tuition list
+     * @param context     rebuild context
+     */
+    void prefetch(List<TuitionResponseDto> tuitionList, ReportRebuildContext context);
+}
@@ -0,0 +1,128 @@
+package com.swivel.ignite.reporting.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.swivel.ignite.reporting.dto.response.ReportResponseDto;
+import com.swivel.ignite.reporting.enums.ResponseStatusType;
+import com.swivel.ignite.reporting.enums.SuccessResponseStatusType;
+import com.swivel.ignite.reporting.exception.ReportingServiceException;
+import com.swivel.ignite.reporting.wrapper.SuccessResponseWrapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Cache of the serialized success responses of the report reads by tuition id and month
+ * A response is serialized once per entity tag, i.e. per generation and versions of the reports, and is
+ * written to the client as is afterwards. A cached response is only served while its entity tag is the current
+ * one, so it never outlives a rebuild. The least recently read tuition months are evicted beyond the maximum
+ * number of entries, and the entries left are serialized again by the materialization step after each rebuild.
+ */
+@Component
+@Slf4j
+public class ReportResponseCache {
+
+    private static final String KEY_SEPARATOR = "/";
+    private final ReportService reportService;
+    private final ObjectMapper objectMapper;
+    private final ReportingMetrics reportingMetrics;
+    private final Map<String, SerializedReportResponse> responses;
+
+    @Autowired
+    public ReportResponseCache(ReportService reportService, ObjectMapper objectMapper,
+                               ReportingMetrics reportingMetrics,
+                               @Value("${report.responseCache.maxEntries}") int maxEntries) {
+        this.reportService = reportService;
+        this.objectMapper = objectMapper;
+        this.reportingMetrics = reportingMetrics;
+        this.responses = Collections.synchronizedMap(new LinkedHashMap<String, SerializedReportResponse>(16, 0.75f,
+                true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, SerializedReportResponse> eldest) {
+                return size() > maxEntries;
+            }
+        });
+    }
+
+    /**
+     * This method is used to get the serialized report response of a tuition month. The reports are only read
+     * and serialized when no response of the current entity tag is cached.
+     *
+     * @param tuitionId   tuition id
+     * @param month       month
+     * @param currentETag entity tag of the current reports/ null
+     * @return serialized report response
+     */
+    public SerializedReportResponse getReportResponse(String tuitionId, String month, String currentETag) {
+        SerializedReportResponse response = responses.get(toKey(tuitionId, month));
+        boolean isHit = response != null && response.isCurrent(currentETag);
+        reportingMetrics.recordResponseCacheRequest(isHit);
+        return isHit ? response : materialize(tuitionId, month);
+    }
+
+    /**
+     * This method is used to serialize the cached report responses of the tuition months whose reports changed
+     * again, and to forget the ones whose reports no longer exist. Called after each rebuild, so the hot
+     * tuition months are not serialized on the read path.
+     */
+    public void refresh() {
+        List<String> keys;
+        synchronized (responses) {
+            keys = new ArrayList<>(responses.keySet());
+        }
+        int refreshedCount = 0;
+        for (String key : keys) {
+            int separatorIndex = key.lastIndexOf(KEY_SEPARATOR);
+            String tuitionId = key.substring(0, separatorIndex);
+            String month = key.substring(separatorIndex + 1);
+            try {
+                String currentETag = reportService.getReportETag(tuitionId, month);
+                SerializedReportResponse response = responses.get(key);
+                if (currentETag == null) {
+                    responses.remove(key);
+                } else if (response == null || !response.isCurrent(currentETag)) {
+                    materialize(tuitionId, month);
+                    refreshedCount++;
+                }
+            } catch (RuntimeException e) {
+                responses.remove(key);
+                log.error("Failed to refresh report response of tuition id: {}, month: {}", tuitionId, month, e);
+            }
+        }
+        log.debug("Refreshed report responses. cached: {}, refreshed: {}", keys.size(), refreshedCount);
+    }
+
+    /**
+     * This method is used to read and serialize the report response of a tuition month, and to cache it
+     *
+     * @param tuitionId tuition id
+     * @param month     month
+     * @return serialized report response
+     */
+    private SerializedReportResponse materialize(String tuitionId, String month) {
+        ReportResponseDto responseDto = reportService.getByTuitionIdMonth(tuitionId, month);
+        String eTag = reportService.getReportETag(responseDto.getPaidReport(), responseDto.getUnpaidReport());
+        SuccessResponseStatusType status = SuccessResponseStatusType.READ_REPORT;
+        try {
+            byte[] body = objectMapper.writeValueAsBytes(new SuccessResponseWrapper(ResponseStatusType.SUCCESS,
+                    status.getMessage(), responseDto, SuccessResponseWrapper.SUCCESS_DISPLAY_MESSAGE,
+                    status.getCode()));
+            SerializedReportResponse response = new SerializedReportResponse(eTag, body);
+            responses.put(toKey(tuitionId, month), response);
+            return response;
+        } catch (JsonProcessingException e) {
+            throw new ReportingServiceException("Failed to serialize report response", e);
+        }
+    }
+
+    private String toKey(String tuitionId, String month) {
+        return tuitionId + KEY_SEPARATOR + month;
+    }
+}
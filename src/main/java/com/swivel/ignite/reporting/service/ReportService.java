@@ -1,16 +1,23 @@
 package com.swivel.ignite.reporting.service;
 
+import com.swivel.ignite.reporting.dto.response.ReportResponseDto;
+import com.swivel.ignite.reporting.dto.response.ReportYearResponseDto;
 import com.swivel.ignite.reporting.dto.response.TuitionResponseDto;
 import com.swivel.ignite.reporting.entity.Report;
+import com.swivel.ignite.reporting.entity.ReportGeneration;
 import com.swivel.ignite.reporting.enums.Month;
 import com.swivel.ignite.reporting.exception.ReportNotFoundException;
 import com.swivel.ignite.reporting.exception.ReportingServiceException;
+import com.swivel.ignite.reporting.repository.ReportGenerationRepository;
 import com.swivel.ignite.reporting.repository.ReportRepository;
+import com.swivel.ignite.reporting.repository.ReportVersionRow;
+import io.micrometer.core.instrument.Timer;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.dao.DataAccessException;
-import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.io.IOException;
 import java.util.*;
@@ -23,52 +30,254 @@ import java.util.*;
 @Slf4j
 public class ReportService {
 
-    private static final String CRON = "* * * * *";
-
     private final ReportRepository reportRepository;
+    private final ReportGenerationRepository reportGenerationRepository;
     private final StudentService studentService;
     private final TuitionService tuitionService;
     private final PaymentService paymentService;
+    private final ReportFingerprintRegistry reportFingerprintRegistry;
+    private final ReportRebuildPrefetcher reportRebuildPrefetcher;
+    private final ReportBatchWriter reportBatchWriter;
+    private final ReportBitmapCodec reportBitmapCodec;
+    private final TransactionTemplate transactionTemplate;
+    private final ReportingMetrics reportingMetrics;
+    private final ReportSnapshotStatus reportSnapshotStatus;
+    private final StudentEnrollmentCache studentEnrollmentCache;
+    private final boolean incrementalRebuild;
+    private final int writeChunkSize;
 
     @Autowired
-    public ReportService(ReportRepository reportRepository, StudentService studentService, TuitionService tuitionService,
-                         PaymentService paymentService) {
+    public ReportService(ReportRepository reportRepository, ReportGenerationRepository reportGenerationRepository,
+                         StudentService studentService, TuitionService tuitionService,
+                         PaymentService paymentService, ReportFingerprintRegistry reportFingerprintRegistry,
+                         ReportRebuildPrefetcher reportRebuildPrefetcher, ReportBatchWriter reportBatchWriter,
+                         ReportBitmapCodec reportBitmapCodec, TransactionTemplate transactionTemplate,
+                         ReportingMetrics reportingMetrics, ReportSnapshotStatus reportSnapshotStatus,
+                         StudentEnrollmentCache studentEnrollmentCache,
+                         @Value("${report.rebuild.incremental}") boolean incrementalRebuild,
+                         @Value("${report.rebuild.writeChunkSize}") int writeChunkSize) {
         this.reportRepository = reportRepository;
+        this.reportGenerationRepository = reportGenerationRepository;
         this.studentService = studentService;
         this.tuitionService = tuitionService;
         this.paymentService = paymentService;
+        this.reportFingerprintRegistry = reportFingerprintRegistry;
+        this.reportRebuildPrefetcher = reportRebuildPrefetcher;
+        this.reportBatchWriter = reportBatchWriter;
+        this.reportBitmapCodec = reportBitmapCodec;
+        this.transactionTemplate = transactionTemplate;
+        this.reportingMetrics = reportingMetrics;
+        this.reportSnapshotStatus = reportSnapshotStatus;
+        this.studentEnrollmentCache = studentEnrollmentCache;
+        this.incrementalRebuild = incrementalRebuild;
+        this.writeChunkSize = writeChunkSize;
     }
 
 
     /**
-     * This method is used to update the report in DB, every minute
+     * This method is used to update the report in DB.
+     * A full rebuild writes a new report generation in batched chunks of tuitions, each in its own transaction,
+     * and then activates it with a single update of the active generation pointer. Readers only see the active
+     * generation, so they never observe a rebuild in progress, and the old generations are purged in bulk
+     * once the new one is active.
+     * In incremental mode, only the months of the tuitions whose fingerprint changed since the last rebuild are
+     * rewritten, in place in the active generation within one transaction. The fingerprint covers the roster, the
+     * paid students and the joined months of the students, the latter read through the
+     * {@link StudentEnrollmentCache}, so a corrected joined date is picked up once its cache entry expires or is
+     * invalidated. The first rebuild of the application is always a full rebuild.
+     * In parallel mode, the data of all tuitions is prefetched concurrently before writing, and a tuition whose
+     * data can not be fetched is skipped instead of failing the rebuild. Its reports are kept from the previous
+     * snapshot and flagged as stale (see {@link ReportSnapshotStatus}).
+     * No transaction is held open while the other microservices are called.
+     * The duration of the rebuild and of each of its phases is recorded (see {@link ReportingMetrics}).
      *
+     * @param token authorization token for the other microservices
      * @throws IOException
      */
-    @Scheduled(cron = CRON)
     public void updateReport(String token) throws IOException {
         log.debug("Report data update service started..");
+        boolean isIncremental = incrementalRebuild && !reportFingerprintRegistry.isEmpty();
+        Timer.Sample rebuildSample = reportingMetrics.start();
+        String outcome = ReportingMetrics.OUTCOME_FAILURE;
         try {
-            reportRepository.deleteAll();
+            ReportRebuildContext context = new ReportRebuildContext(paymentService, studentService,
+                    studentEnrollmentCache, token);
+            Timer.Sample phaseSample = reportingMetrics.start();
             List<TuitionResponseDto> tuitionList = tuitionService.getTuitionList(token).getTuitionList();
-            for (TuitionResponseDto t : tuitionList) {
-                String tuitionId = t.getTuitionId();
-                List<Report> paidReportList = createPaidReportList(tuitionId);
-                List<Report> unpaidReportList = createUnpaidReportList(tuitionId);
-
-                for (String studentId : t.getStudentIds()) {
-                    updatePaidReportList(tuitionId, studentId, paidReportList, token);
-                    updateUnpaidReportList(tuitionId, studentId, unpaidReportList, token);
-                }
+            reportingMetrics.recordRebuildPhase(phaseSample, ReportingMetrics.PHASE_TUITIONS);
+            if (reportRebuildPrefetcher.isEnabled()) {
+                phaseSample = reportingMetrics.start();
+                reportRebuildPrefetcher.prefetch(tuitionList, context);
+                reportingMetrics.recordRebuildPhase(phaseSample, ReportingMetrics.PHASE_PREFETCH);
+            }
+            if (isIncremental) {
+                updateReportIncrementally(tuitionList, context);
+            } else {
+                rebuildReport(tuitionList, context);
             }
+            outcome = ReportingMetrics.OUTCOME_SUCCESS;
+            reportSnapshotStatus.markRebuilt(context.getFailedTuitions().keySet());
+            reportingMetrics.recordRebuildFailedTuitions(context.getFailedTuitions().size());
+            PaidStudentsLookup paidStudentsLookup = context.getPaidStudentsLookup();
+            log.debug("Report data update service finished.. incremental: {}, failed tuitions: {}, " +
+                            "payment service calls: {}, saved calls: {}", isIncremental,
+                    context.getFailedTuitions().size(), paidStudentsLookup.getFetchCount(),
+                    paidStudentsLookup.getSavedCallCount());
         } catch (DataAccessException e) {
             throw new ReportingServiceException("Failed to update report", e);
+        } finally {
+            reportingMetrics.recordRebuild(rebuildSample, isIncremental ? ReportingMetrics.MODE_INCREMENTAL :
+                    ReportingMetrics.MODE_FULL, outcome);
+        }
+    }
+
+    /**
+     * This method is used to rebuild the report of all tuitions from scratch into a new generation.
+     * The reports of the tuitions whose data could not be fetched are copied from the active generation.
+     *
+     * @param tuitionList tuition list
+     * @param context     rebuild context
+     * @throws IOException
+     */
+    private void rebuildReport(List<TuitionResponseDto> tuitionList, ReportRebuildContext context)
+            throws IOException {
+        Timer.Sample phaseSample = reportingMetrics.start();
+        long generation = allocateGeneration();
+        Map<String, TuitionFingerprint> fingerprints = new HashMap<>();
+        List<Report> reportChunk = new ArrayList<>();
+        int chunkTuitionCount = 0;
+        for (TuitionResponseDto t : tuitionList) {
+            String tuitionId = t.getTuitionId();
+            if (context.isFailed(tuitionId)) {
+                reportChunk.addAll(copyActiveReports(tuitionId, generation));
+            } else {
+                reportChunk.addAll(createReports(t, generation, context, fingerprints));
+            }
+            if (++chunkTuitionCount == writeChunkSize) {
+                writeReports(reportChunk);
+                chunkTuitionCount = 0;
+            }
+        }
+        writeReports(reportChunk);
+        reportingMetrics.recordRebuildPhase(phaseSample, ReportingMetrics.PHASE_WRITE);
+        phaseSample = reportingMetrics.start();
+        long activeGeneration = activateGeneration(generation);
+        reportingMetrics.recordRebuildPhase(phaseSample, ReportingMetrics.PHASE_ACTIVATE);
+        if (incrementalRebuild && activeGeneration == generation)
+            reportFingerprintRegistry.replace(fingerprints);
+        phaseSample = reportingMetrics.start();
+        purgeInactiveGenerations(activeGeneration);
+        reportingMetrics.recordRebuildPhase(phaseSample, ReportingMetrics.PHASE_PURGE);
+    }
+
+    /**
+     * This method is used to create the paid and unpaid reports of all months of a tuition in a new generation,
+     * and to record the fingerprint of the tuition in incremental mode
+     *
+     * @param t            tuition
+     * @param generation   new generation
+     * @param context      rebuild context
+     * @param fingerprints fingerprints of the rebuilt tuitions
+     * @return reports
+     * @throws IOException
+     */
+    private List<Report> createReports(TuitionResponseDto t, long generation, ReportRebuildContext context,
+                                       Map<String, TuitionFingerprint> fingerprints) throws IOException {
+        String tuitionId = t.getTuitionId();
+        List<Set<String>> paidStudentsByMonth;
+        try {
+            paidStudentsByMonth = getPaidStudentsByMonth(t, context.getPaidStudentsLookup());
+        } catch (IOException e) {
+            throw new ReportingServiceException("Failed to update paid report list", e);
+        }
+        Map<String, Integer> joinedMonths = context.getTuitionJoinedMonthsLookup().getTuitionJoinedMonths(t);
+        TuitionPaymentMatrix paymentMatrix = TuitionPaymentMatrix.of(t.getStudentIds(), paidStudentsByMonth,
+                joinedMonths);
+        List<Report> reportList = new ArrayList<>(createPaidReportList(tuitionId, generation, paymentMatrix));
+        reportList.addAll(createUnpaidReportList(tuitionId, generation, paymentMatrix));
+        if (incrementalRebuild)
+            fingerprints.put(tuitionId, TuitionFingerprint.of(t.getStudentIds(), paidStudentsByMonth,
+                    joinedMonths));
+        return reportList;
+    }
+
+    /**
+     * This method is used to copy the reports of a tuition in the active generation into a new generation
+     *
+     * @param tuitionId  tuition id
+     * @param generation new generation
+     * @return report copies
+     */
+    private List<Report> copyActiveReports(String tuitionId, long generation) {
+        try {
+            List<Report> reportCopies = new ArrayList<>();
+            for (Report r : reportRepository.findWithStudentIdsByTuitionId(tuitionId)) {
+                Report reportCopy = new Report(tuitionId, r.getMonth(), r.isPaid(), generation);
+                reportCopy.replaceStudentIds(reportBitmapCodec.decode(r).getStudentId());
+                reportCopies.add(reportCopy);
+            }
+            log.debug("Kept reports of tuition id: {} from the active generation. reports: {}", tuitionId,
+                    reportCopies.size());
+            return reportCopies;
+        } catch (DataAccessException e) {
+            throw new ReportingServiceException("Failed to copy active reports by tuitionId", e);
+        }
+    }
+
+    /**
+     * This method is used to rewrite the report of the tuition months whose fingerprint changed, and to delete
+     * the report of the removed tuitions. A tuition whose data can not be fetched is marked as failed and keeps
+     * its reports and its previous fingerprint, so it is retried by the next rebuild.
+     *
+     * @param tuitionList tuition list
+     * @param context     rebuild context
+     * @throws IOException
+     */
+    private void updateReportIncrementally(List<TuitionResponseDto> tuitionList, ReportRebuildContext context)
+            throws IOException {
+        Timer.Sample phaseSample = reportingMetrics.start();
+        PaidStudentsLookup paidStudentsLookup = context.getPaidStudentsLookup();
+        Map<String, TuitionFingerprint> changedFingerprints = new HashMap<>();
+        Set<String> removedTuitionIds = reportFingerprintRegistry.getTuitionIds();
+        List<MonthRewrite> monthRewrites = new ArrayList<>();
+        for (TuitionResponseDto t : tuitionList) {
+            String tuitionId = t.getTuitionId();
+            removedTuitionIds.remove(tuitionId);
+            if (context.isFailed(tuitionId))
+                continue;
+            List<Set<String>> paidStudentsByMonth;
+            Map<String, Integer> joinedMonths;
+            try {
+                paidStudentsByMonth = getPaidStudentsByMonth(t, paidStudentsLookup);
+                joinedMonths = context.getTuitionJoinedMonthsLookup().getTuitionJoinedMonths(t);
+            } catch (IOException | RuntimeException e) {
+                log.error("Failed to get report data of tuition id: {}, keeping its reports", tuitionId, e);
+                context.markFailed(tuitionId, e);
+                continue;
+            }
+            TuitionFingerprint fingerprint = TuitionFingerprint.of(t.getStudentIds(), paidStudentsByMonth,
+                    joinedMonths);
+            List<Month> changedMonths = fingerprint.getChangedMonths(reportFingerprintRegistry.get(tuitionId));
+            if (changedMonths.isEmpty())
+                continue;
+            TuitionPaymentMatrix paymentMatrix = TuitionPaymentMatrix.of(t.getStudentIds(), paidStudentsByMonth,
+                    joinedMonths);
+            for (Month m : changedMonths) {
+                monthRewrites.add(new MonthRewrite(tuitionId, m, paymentMatrix));
+            }
+            changedFingerprints.put(tuitionId, fingerprint);
         }
-        log.debug("Report data update service finished..");
+        if (!monthRewrites.isEmpty() || !removedTuitionIds.isEmpty())
+            transactionTemplate.executeWithoutResult(status -> rewriteReports(monthRewrites, removedTuitionIds));
+        reportingMetrics.recordRebuildPhase(phaseSample, ReportingMetrics.PHASE_WRITE);
+        log.debug("Report updated incrementally. changed tuitions: {}, changed months: {}, removed tuitions: {}",
+                changedFingerprints.size(), monthRewrites.size(), removedTuitionIds.size());
+        reportFingerprintRegistry.update(changedFingerprints, removedTuitionIds);
     }
 
     /**
-     * This method is used to get report by tuition id, month, isPaid
+     * This method is used to get report by tuition id, month, isPaid from the active report generation.
+     * A bitmap stored report is returned as a decoded copy.
      *
      * @param tuitionId tuition id
      * @param month     month
@@ -80,118 +289,379 @@ public class ReportService {
             Optional<Report> optionalReport = reportRepository.findByTuitionIdAndMonthAndIsPaid(tuitionId, month, isPaid);
             if (!optionalReport.isPresent())
                 throw new ReportNotFoundException("Report not found for getting by tuitionId, month, isPaid");
-            return optionalReport.get();
+            return reportBitmapCodec.decode(optionalReport.get());
         } catch (DataAccessException e) {
             throw new ReportingServiceException("Failed to get report by tuitionId and month", e);
         }
     }
 
     /**
-     * This method is used to create paid report list
+     * This method is used to get the paid and unpaid reports of a tuition month from the active report
+     * generation. Both reports are read with their student ids in one query.
      *
      * @param tuitionId tuition id
-     * @return report list
+     * @param month     month
+     * @return report response
      */
-    private List<Report> createPaidReportList(String tuitionId) {
+    public ReportResponseDto getByTuitionIdMonth(String tuitionId, String month) {
         try {
-            List<Report> paidReportList = new ArrayList<>();
-            for (Month m : Month.values()) {
-                Report paidReport = new Report(tuitionId, m.getMonthString(), true);
-                reportRepository.save(paidReport);
-                paidReportList.add(paidReport);
+            Report paidReport = null;
+            Report unpaidReport = null;
+            for (Report report : reportRepository.findWithStudentIdsByTuitionIdAndMonth(tuitionId, month)) {
+                if (report.isPaid()) {
+                    paidReport = report;
+                } else {
+                    unpaidReport = report;
+                }
             }
-            return paidReportList;
+            if (paidReport == null || unpaidReport == null)
+                throw new ReportNotFoundException("Report not found for getting by tuitionId, month");
+            return new ReportResponseDto(reportBitmapCodec.decode(paidReport), reportBitmapCodec.decode(unpaidReport));
         } catch (DataAccessException e) {
-            throw new ReportingServiceException("Error creating paid report list", e);
+            throw new ReportingServiceException("Failed to get report by tuitionId and month", e);
         }
     }
 
     /**
-     * This method is used to create unpaid report list
+     * This method is used to get the entity tag of the current paid and unpaid reports of a tuition month, to
+     * check a client's copy without reading the student ids
      *
      * @param tuitionId tuition id
-     * @return report list
+     * @param month     month
+     * @return entity tag/ null if the reports do not exist
      */
-    private List<Report> createUnpaidReportList(String tuitionId) {
+    public String getReportETag(String tuitionId, String month) {
         try {
-            List<Report> unpaidReportList = new ArrayList<>();
-            for (Month m : Month.values()) {
-                Report unpaidReport = new Report(tuitionId, m.getMonthString(), false);
-                reportRepository.save(unpaidReport);
-                unpaidReportList.add(unpaidReport);
+            Long paidVersion = null;
+            Long unpaidVersion = null;
+            long generation = 0;
+            for (ReportVersionRow row : reportRepository.findVersionsByTuitionIdAndMonth(tuitionId, month)) {
+                generation = row.getGeneration();
+                if (row.isPaid()) {
+                    paidVersion = row.getVersion();
+                } else {
+                    unpaidVersion = row.getVersion();
+                }
             }
-            return unpaidReportList;
+            if (paidVersion == null || unpaidVersion == null)
+                return null;
+            return toETag(generation, paidVersion, unpaidVersion);
         } catch (DataAccessException e) {
-            throw new ReportingServiceException("Error creating unpaid report list", e);
+            throw new ReportingServiceException("Failed to get report version by tuitionId and month", e);
         }
     }
 
     /**
-     * This method is used to get the student joined month to the tuition
+     * This method is used to get the entity tag of the given paid and unpaid reports of a tuition month
      *
-     * @param studentId student id
-     * @return tuition joined month
+     * @param paidReport   paid report
+     * @param unpaidReport unpaid report
+     * @return entity tag
      */
-    private int studentTuitionJoinedMonth(String studentId, String token) {
+    public String getReportETag(Report paidReport, Report unpaidReport) {
+        return toETag(paidReport.getGeneration(), paidReport.getVersion(), unpaidReport.getVersion());
+    }
+
+    /**
+     * This method is used to get the reports of all months of a tuition from the active report generation,
+     * encoded as a student × month matrix. All reports are read with their student ids in one query.
+     *
+     * @param tuitionId tuition id
+     * @return report year response
+     */
+    public ReportYearResponseDto getYearByTuitionId(String tuitionId) {
         try {
-            Date tuitionJoinedOn = studentService.getStudentInfo(studentId, token).getTuitionJoinedOn();
-            Calendar calendar = Calendar.getInstance();
-            calendar.setTime(tuitionJoinedOn);
-            return calendar.get(Calendar.MONTH);
-        } catch (IOException e) {
-            throw new ReportingServiceException("Failed to get tuition joined month of student for id: " +
-                    studentId, e);
+            List<Report> reports = new ArrayList<>();
+            for (Report report : reportRepository.findWithStudentIdsByTuitionId(tuitionId)) {
+                reports.add(reportBitmapCodec.decode(report));
+            }
+            if (reports.isEmpty())
+                throw new ReportNotFoundException("Report not found for getting by tuitionId");
+            return new ReportYearResponseDto(tuitionId, reports);
+        } catch (DataAccessException e) {
+            throw new ReportingServiceException("Failed to get report by tuitionId", e);
+        }
+    }
+
+    /**
+     * This method is used to invalidate the cached enrollment of a student, e.g. after the student's tuition
+     * joined date was corrected. The fingerprint of the tuition the student was cached for is dropped, so the
+     * next incremental rebuild fetches the student from student microservice and rewrites all months of the
+     * tuition. The tuition of a student not cached is unknown, hence the next rebuild is a full rebuild.
+     *
+     * @param studentId student id
+     */
+    public void invalidateStudentEnrollment(String studentId) {
+        String tuitionId = studentEnrollmentCache.invalidate(studentId);
+        if (tuitionId == null) {
+            reportFingerprintRegistry.clear();
+        } else {
+            reportFingerprintRegistry.remove(tuitionId);
         }
     }
 
     /**
-     * This method is used to update paid report list
+     * This method is used to invalidate all cached student enrollments. The next rebuild is a full rebuild,
+     * which fetches every student from student microservice.
+     */
+    public void invalidateStudentEnrollments() {
+        studentEnrollmentCache.invalidateAll();
+        reportFingerprintRegistry.clear();
+    }
+
+    /**
+     * This method is used to get the active report generation
      *
-     * @param tuitionId      tuition id
-     * @param studentId      student id
-     * @param paidReportList paid report list
+     * @return active generation, 0 before the first rebuild
      */
-    private void updatePaidReportList(String tuitionId, String studentId, List<Report> paidReportList, String token) {
+    public long getActiveGeneration() {
         try {
-            for (Report paidReport : paidReportList) {
-                String month = paidReport.getMonth();
-                List<String> paidStudentIdsForTheMonth = paymentService.getPaidStudents(tuitionId, month, token)
-                        .getStudentIds();
-                if (paidStudentIdsForTheMonth.contains(studentId)) {
-                    paidReport.addStudentId(studentId);
-                    reportRepository.save(paidReport);
-                }
+            return reportGenerationRepository.findById(ReportGeneration.ACTIVE_ID)
+                    .map(ReportGeneration::getActiveGeneration).orElse(0L);
+        } catch (DataAccessException e) {
+            throw new ReportingServiceException("Failed to get active report generation", e);
+        }
+    }
+
+    /**
+     * This method is used to rewrite the changed tuition months and to delete the removed tuitions in the
+     * active generation. Must be called in a transaction.
+     *
+     * @param monthRewrites     month rewrites
+     * @param removedTuitionIds removed tuition ids
+     */
+    private void rewriteReports(List<MonthRewrite> monthRewrites, Set<String> removedTuitionIds) {
+        long generation = getActiveGeneration();
+        List<Report> reportChunk = new ArrayList<>();
+        Set<String> chunkTuitionIds = new HashSet<>();
+        for (MonthRewrite monthRewrite : monthRewrites) {
+            if (chunkTuitionIds.add(monthRewrite.tuitionId) && chunkTuitionIds.size() > writeChunkSize) {
+                writeReportChunk(reportChunk);
+                chunkTuitionIds.clear();
+                chunkTuitionIds.add(monthRewrite.tuitionId);
             }
-        } catch (DataAccessException | IOException e) {
-            throw new ReportingServiceException("Failed to update paid report list", e);
+            reportChunk.addAll(rewriteMonthReports(monthRewrite, generation));
+        }
+        writeReportChunk(reportChunk);
+        for (String tuitionId : removedTuitionIds) {
+            reportRepository.deleteStudentIdsByTuitionIdAndGeneration(tuitionId, generation);
+            reportRepository.deleteByTuitionIdAndGeneration(tuitionId, generation);
         }
     }
 
     /**
-     * This method is used to update unpaid report list
+     * This method is used to rewrite the paid and unpaid reports of a tuition for a month. The reports are
+     * returned to be written with the chunk of the tuition.
      *
-     * @param tuitionId        tuition id
-     * @param studentId        student id
-     * @param unpaidReportList unpaid report list
+     * @param monthRewrite month rewrite
+     * @param generation   active generation
+     * @return paid and unpaid reports
      */
-    private void updateUnpaidReportList(String tuitionId, String studentId, List<Report> unpaidReportList, String token) {
+    private List<Report> rewriteMonthReports(MonthRewrite monthRewrite, long generation) {
         try {
-            for (Report unpaidReport : unpaidReportList) {
-                String month = unpaidReport.getMonth();
-                List<String> paidStudentIdsForTheMonth = paymentService.getPaidStudents(tuitionId, month, token)
-                        .getStudentIds();
-                if (paidStudentIdsForTheMonth.contains(studentId)) {
-                    unpaidReport.removeStudentId(studentId);
-                    reportRepository.save(unpaidReport);
-                }
-                if (!paidStudentIdsForTheMonth.contains(studentId)
-                        && studentTuitionJoinedMonth(studentId, token) <= Month.getMonthInt(month)) {
-                    unpaidReport.addStudentId(studentId);
-                    reportRepository.save(unpaidReport);
-                }
-            }
-        } catch (DataAccessException | IOException e) {
-            throw new ReportingServiceException("Failed to update unpaid report list", e);
+            Report paidReport = getOrCreateReport(monthRewrite.tuitionId, monthRewrite.month, true, generation);
+            paidReport.replaceStudentIds(monthRewrite.paidStudents);
+            Report unpaidReport = getOrCreateReport(monthRewrite.tuitionId, monthRewrite.month, false, generation);
+            unpaidReport.replaceStudentIds(monthRewrite.unpaidStudents);
+            return Arrays.asList(paidReport, unpaidReport);
+        } catch (DataAccessException e) {
+            throw new ReportingServiceException("Failed to rewrite report of tuition id: " + monthRewrite.tuitionId
+                    + ", month: " + monthRewrite.month.getMonthString(), e);
+        }
+    }
+
+    /**
+     * This method is used to write a chunk of reports of a new generation in its own transaction
+     *
+     * @param reportChunk reports
+     */
+    private void writeReports(List<Report> reportChunk) {
+        if (reportChunk.isEmpty())
+            return;
+        transactionTemplate.executeWithoutResult(status -> writeReportChunk(reportChunk));
+    }
+
+    /**
+     * This method is used to write a chunk of reports, and to clear it for the next chunk
+     *
+     * @param reportChunk reports
+     */
+    private void writeReportChunk(List<Report> reportChunk) {
+        if (reportChunk.isEmpty())
+            return;
+        try {
+            Timer.Sample writeSample = reportingMetrics.start();
+            reportBatchWriter.write(reportChunk);
+            reportingMetrics.recordWriteChunk(writeSample, reportChunk.size());
+            reportChunk.clear();
+        } catch (DataAccessException e) {
+            throw new ReportingServiceException("Failed to write report chunk", e);
+        }
+    }
+
+    /**
+     * This method is used to allocate the generation of a full rebuild. The latest allocated generation is
+     * incremented under a lock on the active generation row, so rebuilds running concurrently on several
+     * instances never write the same generation.
+     *
+     * @return allocated generation
+     */
+    private long allocateGeneration() {
+        Long generation = transactionTemplate.execute(status -> {
+            ReportGeneration reportGeneration = findReportGenerationForUpdate();
+            long allocatedGeneration = Math.max(reportGeneration.getLastAllocatedGeneration(),
+                    reportRepository.findMaxGeneration()) + 1;
+            reportGeneration.setLastAllocatedGeneration(allocatedGeneration);
+            reportGenerationRepository.save(reportGeneration);
+            return allocatedGeneration;
+        });
+        log.debug("Allocated report generation: {}", generation);
+        return generation;
+    }
+
+    /**
+     * This method is used to make a report generation the one readers see. The active generation pointer is a
+     * single row, so the switch is atomic. A generation older than the active one was superseded by a rebuild
+     * that finished first, and is not activated.
+     *
+     * @param generation report generation
+     * @return active generation
+     */
+    private long activateGeneration(long generation) {
+        Long activeGeneration = transactionTemplate.execute(status -> {
+            ReportGeneration reportGeneration = findReportGenerationForUpdate();
+            if (reportGeneration.getActiveGeneration() > generation)
+                return reportGeneration.getActiveGeneration();
+            reportGeneration.setActiveGeneration(generation);
+            reportGeneration.setActivatedOn(new Date());
+            reportGenerationRepository.save(reportGeneration);
+            return generation;
+        });
+        log.debug("Activated report generation: {}, active generation: {}", generation, activeGeneration);
+        return activeGeneration;
+    }
+
+    /**
+     * This method is used to find and lock the active generation row. Must be called in a transaction.
+     *
+     * @return report generation/ a new one before the row exists
+     */
+    private ReportGeneration findReportGenerationForUpdate() {
+        return reportGenerationRepository.findForUpdateById(ReportGeneration.ACTIVE_ID)
+                .orElseGet(() -> new ReportGeneration(0, null));
+    }
+
+    /**
+     * This method is used to purge the reports of all generations older than the active one in bulk. The
+     * generations newer than the active one belong to rebuilds still in progress and are kept. A failed purge
+     * does not fail the rebuild, the stale generations are purged by the next full rebuild.
+     *
+     * @param generation active generation
+     */
+    private void purgeInactiveGenerations(long generation) {
+        try {
+            Integer purgedCount = transactionTemplate.execute(status -> {
+                reportRepository.deleteStudentIdsOfOlderGenerations(generation);
+                return reportRepository.deleteOlderGenerations(generation);
+            });
+            log.debug("Purged inactive report generations. reports: {}", purgedCount);
+        } catch (DataAccessException e) {
+            log.error("Failed to purge inactive report generations. active generation: {}", generation, e);
+        }
+    }
+
+    /**
+     * This method is used to get the report of a tuition month, or a new one if it does not exist yet
+     *
+     * @param tuitionId  tuition id
+     * @param month      month
+     * @param isPaid     isPaid
+     * @param generation active generation
+     * @return Report
+     */
+    private Report getOrCreateReport(String tuitionId, Month month, boolean isPaid, long generation) {
+        return reportRepository.findByTuitionIdAndMonthAndIsPaid(tuitionId, month.getMonthString(), isPaid)
+                .orElseGet(() -> new Report(tuitionId, month.getMonthString(), isPaid, generation));
+    }
+
+    /**
+     * This method is used to build a strong entity tag from the generation and versions of reports
+     *
+     * @param generation    report generation
+     * @param paidVersion   paid report version
+     * @param unpaidVersion unpaid report version
+     * @return entity tag
+     */
+    private static String toETag(long generation, long paidVersion, long unpaidVersion) {
+        return "\"" + generation + "-" + paidVersion + "-" + unpaidVersion + "\"";
+    }
+
+    /**
+     * This method is used to get the paid students of a tuition for each month, fetched as a year in one step
+     *
+     * @param tuition            tuition
+     * @param paidStudentsLookup paid students lookup of the rebuild
+     * @return paid student ids by month int
+     * @throws IOException
+     */
+    private List<Set<String>> getPaidStudentsByMonth(TuitionResponseDto tuition,
+                                                     PaidStudentsLookup paidStudentsLookup) throws IOException {
+        return paidStudentsLookup.getPaidStudentsForYear(tuition.getTuitionId());
+    }
+
+    /**
+     * This method is used to create paid report list
+     *
+     * @param tuitionId     tuition id
+     * @param generation    report generation
+     * @param paymentMatrix payment matrix of the tuition
+     * @return report list
+     */
+    private List<Report> createPaidReportList(String tuitionId, long generation,
+                                              TuitionPaymentMatrix paymentMatrix) {
+        List<Report> paidReportList = new ArrayList<>();
+        for (Month m : Month.values()) {
+            Report paidReport = new Report(tuitionId, m.getMonthString(), true, generation);
+            paidReport.replaceStudentIds(paymentMatrix.getPaidStudents(m));
+            paidReportList.add(paidReport);
+        }
+        return paidReportList;
+    }
+
+    /**
+     * This method is used to create unpaid report list
+     *
+     * @param tuitionId     tuition id
+     * @param generation    report generation
+     * @param paymentMatrix payment matrix of the tuition
+     * @return report list
+     */
+    private List<Report> createUnpaidReportList(String tuitionId, long generation,
+                                                TuitionPaymentMatrix paymentMatrix) {
+        List<Report> unpaidReportList = new ArrayList<>();
+        for (Month m : Month.values()) {
+            Report unpaidReport = new Report(tuitionId, m.getMonthString(), false, generation);
+            unpaidReport.replaceStudentIds(paymentMatrix.getUnpaidStudents(m));
+            unpaidReportList.add(unpaidReport);
+        }
+        return unpaidReportList;
+    }
+
+    /**
+     * Paid and unpaid students of a changed tuition month, classified before the rewrite transaction starts
+     */
+    private static class MonthRewrite {
+
+        private final String tuitionId;
+        private final Month month;
+        private final Set<String> paidStudents;
+        private final Set<String> unpaidStudents;
+
+        private MonthRewrite(String tuitionId, Month month, TuitionPaymentMatrix paymentMatrix) {
+            this.tuitionId = tuitionId;
+            this.month = month;
+            this.paidStudents = paymentMatrix.getPaidStudents(month);
+            this.unpaidStudents = paymentMatrix.getUnpaidStudents(month);
         }
     }
 }
@@ -0,0 +1,54 @@
+package com.swivel.ignite.reporting.service;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Staleness of the report snapshot served to readers.
+ * The reports of a tuition are stale when its data could not be fetched by the last rebuild, so they were
+ * kept from the previous snapshot. All reports are stale when the last rebuild failed as a whole.
+ */
+@Component
+public class ReportSnapshotStatus {
+
+    private volatile Set<String> staleTuitionIds = Collections.emptySet();
+    private volatile boolean isRebuildFailed;
+
+    @Autowired
+    public ReportSnapshotStatus(ReportingMetrics reportingMetrics) {
+        reportingMetrics.registerStaleTuitions(() -> staleTuitionIds.size());
+    }
+
+    /**
+     * This method is used to mark the snapshot as rebuilt, with the reports of the given tuitions kept from the
+     * previous snapshot
+     *
+     * @param staleTuitionIds ids of the tuitions whose data could not be fetched
+     */
+    public void markRebuilt(Collection<String> staleTuitionIds) {
+        this.staleTuitionIds = Collections.unmodifiableSet(new HashSet<>(staleTuitionIds));
+        this.isRebuildFailed = false;
+    }
+
+    /**
+     * This method is used to mark the last rebuild as failed, which leaves the whole snapshot stale
+     */
+    public void markRebuildFailed() {
+        this.isRebuildFailed = true;
+    }
+
+    /**
+     * This method checks if the reports of a tuition are stale
+     *
+     * @param tuitionId tuition id
+     * @return true/ false
+     */
+    public boolean isStale(String tuitionId) {
+        return isRebuildFailed || staleTuitionIds.contains(tuitionId);
+    }
+}
@@ -0,0 +1,235 @@
+package com.swivel.ignite.reporting.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Reporting metrics
+ * Names and tags of the metrics of the rebuild pipeline, the downstream calls and the report read path, kept in
+ * one place so dashboards and SLOs can rely on them. Latency timers publish percentiles and a histogram.
+ */
+@Component
+public class ReportingMetrics {
+
+    public static final String MODE_FULL = "full";
+    public static final String MODE_INCREMENTAL = "incremental";
+    public static final String OUTCOME_SUCCESS = "success";
+    public static final String OUTCOME_FAILURE = "failure";
+    public static final String PHASE_TUITIONS = "tuitions";
+    public static final String PHASE_PREFETCH = "prefetch";
+    public static final String PHASE_WRITE = "write";
+    public static final String PHASE_ACTIVATE = "activate";
+    public static final String PHASE_PURGE = "purge";
+    public static final String PHASE_RESPONSE_CACHE = "responseCache";
+    public static final String PHASE_STUDENT_ENROLLMENT_CACHE = "studentEnrollmentCache";
+    public static final String REFRESH_REBUILT = "rebuilt";
+    public static final String REFRESH_JOINED = "joined";
+    public static final String REFRESH_SKIPPED = "skipped";
+    private static final String REBUILD = "report.rebuild";
+    private static final String REBUILD_PHASE = "report.rebuild.phase";
+    private static final String REBUILD_FAILED_TUITIONS = "report.rebuild.failed.tuitions";
+    private static final String REBUILD_FOLLOW_UP_FAILURES = "report.rebuild.followup.failures";
+    private static final String WRITE_CHUNK = "report.write.chunk";
+    private static final String WRITTEN_REPORTS = "report.written.reports";
+    private static final String DOWNSTREAM_REQUESTS = "report.downstream.requests";
+    private static final String RESPONSE_CACHE_REQUESTS = "report.response.cache.requests";
+    private static final String REFRESH_REQUESTS = "report.refresh.requests";
+    private static final String SNAPSHOT_AGE = "report.snapshot.age";
+    private static final String SNAPSHOT_STALE_TUITIONS = "report.snapshot.stale.tuitions";
+    private static final String STUDENT_ENROLLMENT_CACHE = "report.student.enrollment";
+    private static final double[] PERCENTILES = {0.5, 0.95, 0.99};
+    private final MeterRegistry meterRegistry;
+    private final Counter writtenReports;
+    private final Timer writeChunk;
+    private final Counter rebuildFailedTuitions;
+    private final Counter responseCacheHits;
+    private final Counter responseCacheMisses;
+
+    @Autowired
+    public ReportingMetrics(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+        this.writtenReports = Counter.builder(WRITTEN_REPORTS)
+                .description("Reports written to the database by rebuilds")
+                .register(meterRegistry);
+        this.writeChunk = latencyTimer(WRITE_CHUNK)
+                .description("Batched write of a chunk of reports")
+                .register(meterRegistry);
+        this.rebuildFailedTuitions = Counter.builder(REBUILD_FAILED_TUITIONS)
+                .description("Tuitions skipped by rebuilds since their data could not be fetched")
+                .register(meterRegistry);
+        this.responseCacheHits = Counter.builder(RESPONSE_CACHE_REQUESTS)
+                .tag("result", "hit")
+                .register(meterRegistry);
+        this.responseCacheMisses = Counter.builder(RESPONSE_CACHE_REQUESTS)
+                .tag("result", "miss")
+                .register(meterRegistry);
+    }
+
+    /**
+     * This method is used to start timing an operation
+     *
+     * @return timer sample
+     */
+    public Timer.Sample start() {
+        return Timer.start(meterRegistry);
+    }
+
+    /**
+     * This method is used to record the duration of a report rebuild
+     *
+     * @param sample  timer sample started with the rebuild
+     * @param mode    rebuild mode
+     * @param outcome outcome of the rebuild
+     */
+    public void recordRebuild(Timer.Sample sample, String mode, String outcome) {
+        sample.stop(latencyTimer(REBUILD)
+                .description("Report rebuild")
+                .tag("mode", mode)
+                .tag("outcome", outcome)
+                .register(meterRegistry));
+    }
+
+    /**
+     * This method is used to record the duration of a phase of a report rebuild
+     *
+     * @param sample timer sample started with the phase
+     * @param phase  rebuild phase
+     */
+    public void recordRebuildPhase(Timer.Sample sample, String phase) {
+        sample.stop(latencyTimer(REBUILD_PHASE)
+                .description("Phase of a report rebuild")
+                .tag("phase", phase)
+                .register(meterRegistry));
+    }
+
+    /**
+     * This method is used to record the tuitions a rebuild skipped
+     *
+     * @param failedTuitionCount failed tuition count
+     */
+    public void recordRebuildFailedTuitions(int failedTuitionCount) {
+        rebuildFailedTuitions.increment(failedTuitionCount);
+    }
+
+    /**
+     * This method is used to record a failed follow up step of a completed rebuild
+     *
+     * @param phase follow up phase: responseCache or studentEnrollmentCache
+     */
+    public void recordRebuildFollowUpFailure(String phase) {
+        Counter.builder(REBUILD_FOLLOW_UP_FAILURES)
+                .description("Failed follow up steps of completed report rebuilds")
+                .tag("phase", phase)
+                .register(meterRegistry)
+                .increment();
+    }
+
+    /**
+     * This method is used to record a batched write of a chunk of reports
+     *
+     * @param sample      timer sample started with the write
+     * @param reportCount written report count
+     */
+    public void recordWriteChunk(Timer.Sample sample, int reportCount) {
+        sample.stop(writeChunk);
+        writtenReports.increment(reportCount);
+    }
+
+    /**
+     * This method is used to record a call to a downstream microservice
+     *
+     * @param downstream downstream microservice
+     * @param outcome    outcome of the call: success, client_error, server_error or io_error
+     * @param nanos      duration in nanoseconds
+     */
+    public void recordDownstreamRequest(String downstream, String outcome, long nanos) {
+        latencyTimer(DOWNSTREAM_REQUESTS)
+                .description("Call to a downstream microservice")
+                .tag("downstream", downstream)
+                .tag("outcome", outcome)
+                .register(meterRegistry)
+                .record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * This method is used to record a read of the serialized report responses
+     *
+     * @param isHit true if the response was served from the cache
+     */
+    public void recordResponseCacheRequest(boolean isHit) {
+        if (isHit) {
+            responseCacheHits.increment();
+        } else {
+            responseCacheMisses.increment();
+        }
+    }
+
+    /**
+     * This method is used to record a request to refresh the report snapshot
+     *
+     * @param result result of the request: rebuilt, joined or skipped
+     */
+    public void recordRefresh(String result) {
+        Counter.builder(REFRESH_REQUESTS)
+                .description("Requests to refresh the report snapshot, by whether they rebuilt it, joined the "
+                        + "rebuild in flight or were skipped as the snapshot was fresh")
+                .tag("result", result)
+                .register(meterRegistry)
+                .increment();
+    }
+
+    /**
+     * This method is used to register the age of the report snapshot, which is not a number before the first
+     * materialization
+     *
+     * @param lastMaterializedOn supplier of the time the snapshot was materialized on
+     */
+    public void registerSnapshotAge(Supplier<Date> lastMaterializedOn) {
+        Gauge.builder(SNAPSHOT_AGE, () -> {
+                    Date materializedOn = lastMaterializedOn.get();
+                    return materializedOn == null ? Double.NaN :
+                            (System.currentTimeMillis() - materializedOn.getTime()) / 1000d;
+                })
+                .description("Age of the report snapshot served to readers")
+                .baseUnit("seconds")
+                .register(meterRegistry);
+    }
+
+    /**
+     * This method is used to register the number of tuitions whose reports were kept from the previous snapshot
+     * by the last rebuild
+     *
+     * @param staleTuitionCount supplier of the stale tuition count
+     */
+    public void registerStaleTuitions(Supplier<Number> staleTuitionCount) {
+        Gauge.builder(SNAPSHOT_STALE_TUITIONS, staleTuitionCount)
+                .description("Tuitions whose reports were kept from the previous snapshot by the last rebuild")
+                .register(meterRegistry);
+    }
+
+    /**
+     * This method is used to register the size, hits, misses and evictions of the student enrollment cache, as
+     * the cache metrics tagged with the name of the cache
+     *
+     * @param cache student enrollment cache
+     */
+    public void registerStudentEnrollmentCache(Cache<?, ?> cache) {
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, STUDENT_ENROLLMENT_CACHE);
+    }
+
+    private Timer.Builder latencyTimer(String name) {
+        return Timer.builder(name)
+                .publishPercentiles(PERCENTILES)
+                .publishPercentileHistogram();
+    }
+}
@@ -0,0 +1,29 @@
+package com.swivel.ignite.reporting.service;
+
+import lombok.Getter;
+
+/**
+ * Success response of the paid and unpaid reports of a tuition month, serialized to JSON once and tagged with
+ * the entity tag of the reports it was serialized from
+ */
+@Getter
+public class SerializedReportResponse {
+
+    private final String eTag;
+    private final byte[] body;
+
+    public SerializedReportResponse(String eTag, byte[] body) {
+        this.eTag = eTag;
+        this.body = body;
+    }
+
+    /**
+     * This method checks if the response was serialized from the reports of the given entity tag
+     *
+     * @param currentETag entity tag of the current reports/ null
+     * @return true/ false
+     */
+    public boolean isCurrent(String currentETag) {
+        return currentETag != null && currentETag.equals(eTag);
+    }
+}
@@ -0,0 +1,57 @@
+package com.swivel.ignite.reporting.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.oauth2.client.token.DefaultAccessTokenRequest;
+import org.springframework.security.oauth2.client.token.grant.client.ClientCredentialsAccessTokenProvider;
+import org.springframework.security.oauth2.client.token.grant.client.ClientCredentialsResourceDetails;
+import org.springframework.security.oauth2.common.OAuth2AccessToken;
+import org.springframework.stereotype.Service;
+
+/**
+ * Service token provider for background calls to the other microservices
+ */
+@Slf4j
+@Service
+public class ServiceTokenProvider {
+
+    private static final String BEARER_PREFIX = "Bearer ";
+    private static final int EXPIRY_MARGIN_SECONDS = 30;
+    private final ClientCredentialsResourceDetails resourceDetails;
+    private final ClientCredentialsAccessTokenProvider accessTokenProvider;
+    private OAuth2AccessToken accessToken;
+
+    public ServiceTokenProvider(@Value("${oauth.access-token-uri}") String accessTokenUri,
+                                @Value("${security.oauth2.client.client-id}") String clientId,
+                                @Value("${security.oauth2.client.client-secret}") String clientSecret) {
+        this.resourceDetails = new ClientCredentialsResourceDetails();
+        this.resourceDetails.setAccessTokenUri(accessTokenUri);
+        this.resourceDetails.setClientId(clientId);
+        this.resourceDetails.setClientSecret(clientSecret);
+        this.accessTokenProvider = new ClientCredentialsAccessTokenProvider();
+    }
+
+    /**
+     * This method is used to get a bearer token of the reporting service itself. The token is obtained
+     * from the auth service with client credentials and reused until it is about to expire.
+     *
+     * @return bearer token
+     */
+    public synchronized String getToken() {
+        if (isTokenExpiring()) {
+            log.debug("Obtaining service token from auth service. url: {}", resourceDetails.getAccessTokenUri());
+            accessToken = accessTokenProvider.obtainAccessToken(resourceDetails, new DefaultAccessTokenRequest());
+        }
+        return BEARER_PREFIX + accessToken.getValue();
+    }
+
+    /**
+     * This method is used to check if the cached token is missing or about to expire
+     *
+     * @return true/ false
+     */
+    private boolean isTokenExpiring() {
+        return accessToken == null || (accessToken.getExpiration() != null
+                && accessToken.getExpiresIn() <= EXPIRY_MARGIN_SECONDS);
+    }
+}
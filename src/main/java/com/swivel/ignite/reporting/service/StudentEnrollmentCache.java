@@ -0,0 +1,208 @@
+package com.swivel.ignite.reporting.service;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.swivel.ignite.reporting.dto.response.StudentResponseDto;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PreDestroy;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cache of the tuition joined dates of the students, kept across rebuilds.
+ * The joined date of a student hardly ever changes, so the rebuilds only ask student microservice for the
+ * students missing from the cache. Entries expire after the ttl and the least used ones are evicted beyond the
+ * maximum number of entries. A student found enrolled in another tuition than the one looked up is treated as
+ * missing and fetched again. When a persistence file is set the cache is saved after each rebuild and read back
+ * on startup, with the entries keeping their original expiry.
+ */
+@Slf4j
+@Component
+public class StudentEnrollmentCache {
+
+    private static final String PARTIAL_FILE_EXTENSION = ".part";
+    private final ObjectMapper objectMapper;
+    private final long ttl;
+    private final Path persistenceFile;
+    private final Cache<String, StudentEnrollment> enrollments;
+
+    @Autowired
+    public StudentEnrollmentCache(ObjectMapper objectMapper, ReportingMetrics reportingMetrics,
+                                  @Value("${report.studentEnrollmentCache.maxEntries}") long maxEntries,
+                                  @Value("${report.studentEnrollmentCache.ttl}") long ttl,
+                                  @Value("${report.studentEnrollmentCache.persistenceFile:}") String persistenceFile) {
+        this.objectMapper = objectMapper;
+        this.ttl = ttl;
+        this.persistenceFile = persistenceFile.isEmpty() ? null : Paths.get(persistenceFile);
+        this.enrollments = Caffeine.newBuilder()
+                .maximumSize(maxEntries)
+                .expireAfter(new RemainingTtlExpiry())
+                .recordStats()
+                .build();
+        reportingMetrics.registerStudentEnrollmentCache(enrollments);
+        load();
+    }
+
+    /**
+     * This method is used to get the cached enrollment of a student in a tuition
+     *
+     * @param studentId student id
+     * @param tuitionId tuition id
+     * @return student/ null if not cached or enrolled in another tuition
+     */
+    public StudentResponseDto get(String studentId, String tuitionId) {
+        StudentEnrollment enrollment = enrollments.getIfPresent(studentId);
+        if (enrollment == null)
+            return null;
+        if (enrollment.getTuitionId() != null && !enrollment.getTuitionId().equals(tuitionId)) {
+            log.debug("Student id: {} moved from tuition id: {} to tuition id: {}", studentId,
+                    enrollment.getTuitionId(), tuitionId);
+            enrollments.invalidate(studentId);
+            return null;
+        }
+        return new StudentResponseDto(studentId, enrollment.getTuitionId(), enrollment.getTuitionJoinedOn());
+    }
+
+    /**
+     * This method is used to cache the enrollment of a student fetched from student microservice
+     *
+     * @param student student
+     */
+    public void put(StudentResponseDto student) {
+        enrollments.put(student.getStudentId(), new StudentEnrollment(student.getStudentId(), student.getTuitionId(),
+                student.getTuitionJoinedOn(), System.currentTimeMillis()));
+    }
+
+    /**
+     * This method is used to invalidate the cached enrollment of a student
+     *
+     * @param studentId student id
+     * @return tuition id of the invalidated enrollment/ null if not cached
+     */
+    public String invalidate(String studentId) {
+        StudentEnrollment enrollment = enrollments.asMap().remove(studentId);
+        log.debug("Invalidated cached enrollment of student id: {}", studentId);
+        return enrollment == null ? null : enrollment.getTuitionId();
+    }
+
+    /**
+     * This method is used to invalidate all cached enrollments
+     */
+    public void invalidateAll() {
+        enrollments.invalidateAll();
+        log.debug("Invalidated all cached student enrollments");
+    }
+
+    /**
+     * This method is used to get the number of cached enrollments
+     *
+     * @return cached enrollment count
+     */
+    public long size() {
+        enrollments.cleanUp();
+        return enrollments.estimatedSize();
+    }
+
+    /**
+     * This method is used to save the cached enrollments to the persistence file, if one is set. The file is
+     * written under a temporary name and moved into place once complete, so a restart never reads a partial file.
+     */
+    @PreDestroy
+    public void persist() {
+        if (persistenceFile == null)
+            return;
+        List<StudentEnrollment> entries = new ArrayList<>(enrollments.asMap().values());
+        Path partialFile = persistenceFile.resolveSibling(persistenceFile.getFileName() + PARTIAL_FILE_EXTENSION);
+        try {
+            if (persistenceFile.getParent() != null)
+                Files.createDirectories(persistenceFile.getParent());
+            objectMapper.writeValue(partialFile.toFile(), entries);
+            Files.move(partialFile, persistenceFile, StandardCopyOption.REPLACE_EXISTING,
+                    StandardCopyOption.ATOMIC_MOVE);
+            log.debug("Saved student enrollment cache. file: {}, entries: {}", persistenceFile, entries.size());
+        } catch (IOException e) {
+            log.error("Failed to save student enrollment cache. file: {}", persistenceFile, e);
+        }
+    }
+
+    /**
+     * This method is used to read the cached enrollments back from the persistence file, if one is set and
+     * exists. Expired entries are dropped, and an unreadable file leaves the cache empty.
+     */
+    private void load() {
+        if (persistenceFile == null || !Files.exists(persistenceFile))
+            return;
+        try {
+            Collection<StudentEnrollment> entries = objectMapper.readValue(persistenceFile.toFile(),
+                    new TypeReference<List<StudentEnrollment>>() {
+                    });
+            long now = System.currentTimeMillis();
+            for (StudentEnrollment entry : entries) {
+                if (now - entry.getCachedOn() < ttl)
+                    enrollments.put(entry.getStudentId(), entry);
+            }
+            log.debug("Read student enrollment cache. file: {}, entries: {}", persistenceFile,
+                    enrollments.estimatedSize());
+        } catch (IOException e) {
+            log.error("Failed to read student enrollment cache. file: {}", persistenceFile, e);
+        }
+    }
+
+    /**
+     * Expires an enrollment the ttl after it was cached, also when it was cached before a restart
+     */
+    private class RemainingTtlExpiry implements Expiry<String, StudentEnrollment> {
+
+        @Override
+        public long expireAfterCreate(String studentId, StudentEnrollment enrollment, long currentTime) {
+            long remainingTtl = ttl - (System.currentTimeMillis() - enrollment.getCachedOn());
+            return TimeUnit.MILLISECONDS.toNanos(Math.max(0, remainingTtl));
+        }
+
+        @Override
+        public long expireAfterUpdate(String studentId, StudentEnrollment enrollment, long currentTime,
+                                      long currentDuration) {
+            return expireAfterCreate(studentId, enrollment, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(String studentId, StudentEnrollment enrollment, long currentTime,
+                                    long currentDuration) {
+            return currentDuration;
+        }
+    }
+
+    /**
+     * Cached enrollment of a student, as persisted
+     */
+    @Getter
+    @Setter
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class StudentEnrollment {
+
+        private String studentId;
+        private String tuitionId;
+        private Date tuitionJoinedOn;
+        private long cachedOn;
+    }
+}
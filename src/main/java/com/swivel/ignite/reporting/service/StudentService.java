@@ -1,9 +1,13 @@
 package com.swivel.ignite.reporting.service;
 
+import com.swivel.ignite.reporting.dto.DtoLogMessage;
+import com.swivel.ignite.reporting.dto.request.StudentsIdListRequestDto;
 import com.swivel.ignite.reporting.dto.response.StudentResponseDto;
 import com.swivel.ignite.reporting.exception.StudentServiceHttpClientErrorException;
+import com.swivel.ignite.reporting.wrapper.StudentListResponseWrapper;
 import com.swivel.ignite.reporting.wrapper.StudentResponseWrapper;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpEntity;
 import org.springframework.http.HttpHeaders;
@@ -16,9 +20,12 @@ import org.springframework.web.util.UriComponents;
 import org.springframework.web.util.UriComponentsBuilder;
 
 import java.io.IOException;
-import java.util.HashMap;
-import java.util.Map;
-import java.util.Objects;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * Student Microservice
@@ -29,14 +36,30 @@ public class StudentService {
 
     private static final String AUTH_HEADER = "Authorization";
     private static final String FAILED_TO_GET_STUDENT_INFO = "Failed to get student info";
+    private static final String FAILED_TO_GET_STUDENT_INFO_LIST = "Failed to get student info list";
     private final RestTemplate restTemplate;
     private final String getStudentInfoUrl;
+    private final String getStudentInfoBulkUrl;
+    private final int bulkBatchSize;
+    private final long batchWindow;
+    private final Executor studentLookupExecutor;
+    private final Map<String, CompletableFuture<StudentResponseDto>> inFlightLookups = new ConcurrentHashMap<>();
+    private final Map<String, Map<String, CompletableFuture<StudentResponseDto>>> pendingBatches = new HashMap<>();
+    private final AtomicInteger bulkLookupCallers = new AtomicInteger();
 
     public StudentService(@Value("${student.baseUrl}") String baseUrl,
                           @Value("${student.studentInfoUrl}") String studentInfoUrl,
-                          RestTemplate restTemplate) {
+                          @Value("${student.studentInfoBulkUrl:}") String studentInfoBulkUrl,
+                          @Value("${student.bulkBatchSize}") int bulkBatchSize,
+                          @Value("${student.batchWindow}") long batchWindow,
+                          @Qualifier("studentRestTemplate") RestTemplate restTemplate,
+                          @Qualifier("studentLookupExecutor") Executor studentLookupExecutor) {
         this.getStudentInfoUrl = baseUrl + studentInfoUrl;
+        this.getStudentInfoBulkUrl = studentInfoBulkUrl.isEmpty() ? null : baseUrl + studentInfoBulkUrl;
+        this.bulkBatchSize = bulkBatchSize;
+        this.batchWindow = batchWindow;
         this.restTemplate = restTemplate;
+        this.studentLookupExecutor = studentLookupExecutor;
     }
 
     /**
@@ -57,13 +80,209 @@ public class StudentService {
             log.debug("Calling student service to get student info. url: {},", getStudentInfoUrl);
             ResponseEntity<StudentResponseWrapper> result = restTemplate.exchange(builder.toUriString(), HttpMethod.GET,
                     entity, StudentResponseWrapper.class, uriParam);
-            String responseBody = Objects.requireNonNull(result.getBody()).getData().toLogJson();
+            StudentResponseDto student = Objects.requireNonNull(result.getBody()).getData();
             log.debug("Getting student info by student id was successful. statusCode: {}, response: {}",
-                    result.getStatusCode(), responseBody);
-            return Objects.requireNonNull(result.getBody()).getData();
+                    result.getStatusCode(), DtoLogMessage.of(student));
+            return student;
         } catch (HttpClientErrorException e) {
             throw new StudentServiceHttpClientErrorException(e.getStatusCode(), FAILED_TO_GET_STUDENT_INFO,
                     e.getResponseBodyAsString(), e);
         }
     }
+
+    /**
+     * This method is used to get info of several students from student microservice.
+     * Repeated ids are looked up once, and ids already being looked up by a concurrent caller are joined
+     * instead of fetched again. The remaining ids are fetched in batches from the bulk endpoint, or with
+     * bounded parallel single calls when the student microservice has no bulk endpoint configured. With the bulk
+     * endpoint, the ids of callers arriving within the batch window are merged and fetched together, while a
+     * caller with no other caller in flight fetches its ids right away.
+     *
+     * @param studentIds student ids
+     * @param token      authorization token
+     * @return student responses by student id
+     * @throws IOException
+     */
+    public Map<String, StudentResponseDto> getStudentInfos(Collection<String> studentIds, String token)
+            throws IOException {
+        Map<String, CompletableFuture<StudentResponseDto>> lookups = new LinkedHashMap<>();
+        Map<String, CompletableFuture<StudentResponseDto>> ownLookups = new LinkedHashMap<>();
+        for (String studentId : studentIds) {
+            if (lookups.containsKey(studentId))
+                continue;
+            CompletableFuture<StudentResponseDto> lookup = new CompletableFuture<>();
+            CompletableFuture<StudentResponseDto> inFlightLookup = inFlightLookups.putIfAbsent(studentId, lookup);
+            if (inFlightLookup == null) {
+                ownLookups.put(studentId, lookup);
+                lookups.put(studentId, lookup);
+            } else {
+                lookups.put(studentId, inFlightLookup);
+            }
+        }
+        log.debug("Getting student info list. requested: {}, unique: {}, joined in-flight: {}", studentIds.size(),
+                lookups.size(), lookups.size() - ownLookups.size());
+        Map<String, CompletableFuture<StudentResponseDto>> fetchedLookups = ownLookups;
+        try {
+            if (getStudentInfoBulkUrl != null) {
+                bulkLookupCallers.incrementAndGet();
+                try {
+                    fetchedLookups = collectBatch(ownLookups, token);
+                    fetchStudentInfosInBatches(fetchedLookups, token);
+                } finally {
+                    bulkLookupCallers.decrementAndGet();
+                }
+            } else {
+                fetchStudentInfosInParallel(ownLookups, token);
+            }
+        } finally {
+            fetchedLookups.forEach((studentId, lookup) -> {
+                if (!lookup.isDone())
+                    lookup.completeExceptionally(new StudentServiceHttpClientErrorException(
+                            FAILED_TO_GET_STUDENT_INFO + " for id: " + studentId));
+                inFlightLookups.remove(studentId, lookup);
+            });
+        }
+        return joinLookups(lookups);
+    }
+
+    /**
+     * This method is used to merge the given lookups into the batch collected for the token. The first caller
+     * of a batch waits for the batch window and then takes the whole batch to fetch it, while later callers hand
+     * their lookups over to it and only wait for the results. The batch window is skipped when no other caller
+     * is in flight, as there is nothing to merge with a sequential caller.
+     *
+     * @param lookups student lookups by student id
+     * @param token   authorization token
+     * @return lookups to fetch by the caller/ empty if handed over to another caller
+     */
+    private Map<String, CompletableFuture<StudentResponseDto>> collectBatch(
+            Map<String, CompletableFuture<StudentResponseDto>> lookups, String token) {
+        if (batchWindow <= 0 || lookups.isEmpty() || bulkLookupCallers.get() <= 1)
+            return lookups;
+        Map<String, CompletableFuture<StudentResponseDto>> batch;
+        synchronized (pendingBatches) {
+            batch = pendingBatches.get(token);
+            if (batch != null) {
+                batch.putAll(lookups);
+                return Collections.emptyMap();
+            }
+            batch = new LinkedHashMap<>(lookups);
+            pendingBatches.put(token, batch);
+        }
+        try {
+            Thread.sleep(batchWindow);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        synchronized (pendingBatches) {
+            pendingBatches.remove(token);
+        }
+        log.debug("Collected student info batch. own: {}, merged: {}", lookups.size(), batch.size() - lookups.size());
+        return batch;
+    }
+
+    /**
+     * This method is used to complete the given lookups with batched calls to the bulk endpoint
+     *
+     * @param lookups student lookups by student id
+     * @param token   authorization token
+     */
+    private void fetchStudentInfosInBatches(Map<String, CompletableFuture<StudentResponseDto>> lookups,
+                                            String token) {
+        List<String> studentIds = new ArrayList<>(lookups.keySet());
+        for (int from = 0; from < studentIds.size(); from += bulkBatchSize) {
+            List<String> batch = studentIds.subList(from, Math.min(from + bulkBatchSize, studentIds.size()));
+            try {
+                Map<String, StudentResponseDto> students = getStudentInfoBatch(batch, token);
+                for (String studentId : batch) {
+                    StudentResponseDto student = students.get(studentId);
+                    if (student == null) {
+                        lookups.get(studentId).completeExceptionally(new StudentServiceHttpClientErrorException(
+                                FAILED_TO_GET_STUDENT_INFO + " for id: " + studentId));
+                    } else {
+                        lookups.get(studentId).complete(student);
+                    }
+                }
+            } catch (IOException | RuntimeException e) {
+                batch.forEach(studentId -> lookups.get(studentId).completeExceptionally(e));
+            }
+        }
+    }
+
+    /**
+     * This method is used to complete the given lookups with parallel single calls. Parallelism is bounded by
+     * the student lookup executor.
+     *
+     * @param lookups student lookups by student id
+     * @param token   authorization token
+     */
+    private void fetchStudentInfosInParallel(Map<String, CompletableFuture<StudentResponseDto>> lookups,
+                                             String token) {
+        List<CompletableFuture<Void>> calls = new ArrayList<>();
+        lookups.forEach((studentId, lookup) -> calls.add(CompletableFuture.runAsync(() -> {
+            try {
+                lookup.complete(getStudentInfo(studentId, token));
+            } catch (IOException | RuntimeException e) {
+                lookup.completeExceptionally(e);
+            }
+        }, studentLookupExecutor)));
+        CompletableFuture.allOf(calls.toArray(new CompletableFuture[0])).join();
+    }
+
+    /**
+     * This method is used to get info of a batch of students from the bulk endpoint of student microservice
+     *
+     * @param studentIds student ids
+     * @param token      authorization token
+     * @return student responses by student id
+     * @throws IOException
+     */
+    private Map<String, StudentResponseDto> getStudentInfoBatch(List<String> studentIds, String token)
+            throws IOException {
+        HttpHeaders headers = new HttpHeaders();
+        headers.set(AUTH_HEADER, token);
+        HttpEntity<StudentsIdListRequestDto> entity = new HttpEntity<>(
+                new StudentsIdListRequestDto(new ArrayList<>(studentIds)), headers);
+        try {
+            log.debug("Calling student service to get student info list. url: {}, size: {}", getStudentInfoBulkUrl,
+                    studentIds.size());
+            ResponseEntity<StudentListResponseWrapper> result = restTemplate.exchange(getStudentInfoBulkUrl,
+                    HttpMethod.POST, entity, StudentListResponseWrapper.class);
+            Map<String, StudentResponseDto> students = new HashMap<>();
+            for (StudentResponseDto student : Objects.requireNonNull(result.getBody()).getData().getStudentList()) {
+                students.put(student.getStudentId(), student);
+            }
+            log.debug("Getting student info list was successful. statusCode: {}, size: {}", result.getStatusCode(),
+                    students.size());
+            return students;
+        } catch (HttpClientErrorException e) {
+            throw new StudentServiceHttpClientErrorException(e.getStatusCode(), FAILED_TO_GET_STUDENT_INFO_LIST,
+                    e.getResponseBodyAsString(), e);
+        }
+    }
+
+    /**
+     * This method is used to wait for the given lookups and collect their results
+     *
+     * @param lookups student lookups by student id
+     * @return student responses by student id
+     * @throws IOException
+     */
+    private Map<String, StudentResponseDto> joinLookups(Map<String, CompletableFuture<StudentResponseDto>> lookups)
+            throws IOException {
+        Map<String, StudentResponseDto> students = new HashMap<>();
+        try {
+            for (Map.Entry<String, CompletableFuture<StudentResponseDto>> lookup : lookups.entrySet()) {
+                students.put(lookup.getKey(), lookup.getValue().join());
+            }
+            return students;
+        } catch (CompletionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof IOException)
+                throw (IOException) cause;
+            if (cause instanceof RuntimeException)
+                throw (RuntimeException) cause;
+            throw e;
+        }
+    }
 }
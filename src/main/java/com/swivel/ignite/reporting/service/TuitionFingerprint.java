@@ -0,0 +1,85 @@
+package com.swivel.ignite.reporting.service;
+
+import com.swivel.ignite.reporting.enums.Month;
+
+import java.util.*;
+
+/**
+ * Content fingerprint of a tuition's report inputs.
+ * Holds a hash of the tuition's student roster, a hash of the months the students joined the tuition, and a
+ * hash of the paid student list of each month.
+ */
+public class TuitionFingerprint {
+
+    private static final long FNV_OFFSET_BASIS = 0xcbf29ce484222325L;
+    private static final long FNV_PRIME = 0x100000001b3L;
+    private static final char ID_SEPARATOR = '\n';
+    private static final char JOINED_MONTH_SEPARATOR = '=';
+    private final long rosterHash;
+    private final long joinedMonthsHash;
+    private final long[] monthHashes;
+
+    private TuitionFingerprint(long rosterHash, long joinedMonthsHash, long[] monthHashes) {
+        this.rosterHash = rosterHash;
+        this.joinedMonthsHash = joinedMonthsHash;
+        this.monthHashes = monthHashes;
+    }
+
+    /**
+     * This method is used to create the fingerprint of a tuition
+     *
+     * @param studentIds          student ids of the tuition
+     * @param paidStudentsByMonth paid student ids by month int
+     * @param joinedMonths        tuition joined month by student id
+     * @return tuition fingerprint
+     */
+    public static TuitionFingerprint of(Collection<String> studentIds, List<? extends Collection<String>>
+            paidStudentsByMonth, Map<String, Integer> joinedMonths) {
+        long[] monthHashes = new long[Month.values().length];
+        for (Month m : Month.values()) {
+            monthHashes[m.getMonthInt()] = hash(paidStudentsByMonth.get(m.getMonthInt()));
+        }
+        List<String> joinedMonthEntries = new ArrayList<>(joinedMonths.size());
+        joinedMonths.forEach((studentId, joinedMonth) ->
+                joinedMonthEntries.add(studentId + JOINED_MONTH_SEPARATOR + joinedMonth));
+        return new TuitionFingerprint(hash(studentIds), hash(joinedMonthEntries), monthHashes);
+    }
+
+    /**
+     * This method is used to get the months whose fingerprint changed since the given fingerprint.
+     * All months are changed when the roster or the joined months of the students changed, since they decide
+     * the unpaid students of every month, or when there is no previous fingerprint.
+     *
+     * @param previous previous fingerprint/ null
+     * @return changed months
+     */
+    public List<Month> getChangedMonths(TuitionFingerprint previous) {
+        if (previous == null || previous.rosterHash != rosterHash || previous.joinedMonthsHash != joinedMonthsHash)
+            return Arrays.asList(Month.values());
+        List<Month> changedMonths = new ArrayList<>();
+        for (Month m : Month.values()) {
+            if (previous.monthHashes[m.getMonthInt()] != monthHashes[m.getMonthInt()])
+                changedMonths.add(m);
+        }
+        return changedMonths;
+    }
+
+    /**
+     * This method is used to hash a collection of ids regardless of its order (64 bit FNV-1a of the sorted ids)
+     *
+     * @param ids ids
+     * @return hash
+     */
+    static long hash(Collection<String> ids) {
+        List<String> sortedIds = new ArrayList<>(ids);
+        Collections.sort(sortedIds);
+        long hash = FNV_OFFSET_BASIS;
+        for (String id : sortedIds) {
+            for (int i = 0; i < id.length(); i++) {
+                hash = (hash ^ id.charAt(i)) * FNV_PRIME;
+            }
+            hash = (hash ^ ID_SEPARATOR) * FNV_PRIME;
+        }
+        return hash;
+    }
+}
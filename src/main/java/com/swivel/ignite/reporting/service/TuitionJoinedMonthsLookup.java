@@ -0,0 +1,100 @@
+package com.swivel.ignite.reporting.service;
+
+import com.swivel.ignite.reporting.dto.response.StudentResponseDto;
+import com.swivel.ignite.reporting.dto.response.TuitionResponseDto;
+import com.swivel.ignite.reporting.exception.ReportingServiceException;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Calendar;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Rebuild scoped lookup of the months the students of a tuition joined the tuition.
+ * The students of a tuition missing from the {@link StudentEnrollmentCache} are looked up with one bulk call to
+ * student microservice, once per rebuild, and cached for the next rebuilds.
+ */
+public class TuitionJoinedMonthsLookup {
+
+    private final StudentService studentService;
+    private final StudentEnrollmentCache studentEnrollmentCache;
+    private final String token;
+    private final Map<String, Map<String, Integer>> tuitionJoinedMonths = new ConcurrentHashMap<>();
+
+    public TuitionJoinedMonthsLookup(StudentService studentService, StudentEnrollmentCache studentEnrollmentCache,
+                                     String token) {
+        this.studentService = studentService;
+        this.studentEnrollmentCache = studentEnrollmentCache;
+        this.token = token;
+    }
+
+    /**
+     * This method is used to get the months the students of a tuition joined the tuition
+     *
+     * @param tuition tuition
+     * @return tuition joined month by student id
+     */
+    public Map<String, Integer> getTuitionJoinedMonths(TuitionResponseDto tuition) {
+        Map<String, Integer> joinedMonths = tuitionJoinedMonths.get(tuition.getTuitionId());
+        if (joinedMonths == null) {
+            joinedMonths = fetchTuitionJoinedMonths(tuition);
+            tuitionJoinedMonths.put(tuition.getTuitionId(), joinedMonths);
+        }
+        return joinedMonths;
+    }
+
+    /**
+     * This method is used to put the students of a tuition fetched outside the lookup, so that the rebuild does
+     * not fetch them again
+     *
+     * @param tuitionId tuition id
+     * @param students  students of the tuition
+     */
+    public void preload(String tuitionId, Collection<StudentResponseDto> students) {
+        Map<String, Integer> joinedMonths = new HashMap<>();
+        students.forEach(student -> joinedMonths.put(student.getStudentId(), getJoinedMonth(student)));
+        tuitionJoinedMonths.put(tuitionId, joinedMonths);
+    }
+
+    /**
+     * This method is used to fetch the months the students of a tuition joined the tuition, asking student
+     * microservice only for the students that are not cached
+     *
+     * @param tuition tuition
+     * @return tuition joined month by student id
+     */
+    private Map<String, Integer> fetchTuitionJoinedMonths(TuitionResponseDto tuition) {
+        try {
+            Map<String, Integer> joinedMonths = new HashMap<>();
+            List<String> uncachedStudentIds = new ArrayList<>();
+            for (String studentId : tuition.getStudentIds()) {
+                StudentResponseDto student = studentEnrollmentCache.get(studentId, tuition.getTuitionId());
+                if (student == null) {
+                    uncachedStudentIds.add(studentId);
+                } else {
+                    joinedMonths.put(studentId, getJoinedMonth(student));
+                }
+            }
+            if (uncachedStudentIds.isEmpty())
+                return joinedMonths;
+            studentService.getStudentInfos(uncachedStudentIds, token).forEach((studentId, student) -> {
+                studentEnrollmentCache.put(student);
+                joinedMonths.put(studentId, getJoinedMonth(student));
+            });
+            return joinedMonths;
+        } catch (IOException e) {
+            throw new ReportingServiceException("Failed to get tuition joined months of students for tuition id: " +
+                    tuition.getTuitionId(), e);
+        }
+    }
+
+    private int getJoinedMonth(StudentResponseDto student) {
+        Calendar calendar = Calendar.getInstance();
+        calendar.setTime(student.getTuitionJoinedOn());
+        return calendar.get(Calendar.MONTH);
+    }
+}
@@ -0,0 +1,132 @@
+package com.swivel.ignite.reporting.service;
+
+import com.swivel.ignite.reporting.enums.Month;
+
+import java.util.*;
+
+/**
+ * Student × month payment matrix of a tuition, the compute kernel of the paid/ unpaid classification.
+ * The students of the roster get dense ordinals, and each month is a bitset over the ordinals:
+ * paid(m) = roster ∩ paid students of m, and unpaid(m) = joined by m ∖ paid(m), where joined by m holds the
+ * students whose tuition joined month is not after m. Joined masks are built once per tuition as a running
+ * union of the students who joined in each month, and every set operation works on whole 64 bit words.
+ * A student without a known joined month is never unpaid.
+ */
+public class TuitionPaymentMatrix {
+
+    private static final int MONTH_COUNT = Month.values().length;
+    private final String[] studentIds;
+    private final BitSet[] paid;
+    private final BitSet[] unpaid;
+
+    private TuitionPaymentMatrix(String[] studentIds, BitSet[] paid, BitSet[] unpaid) {
+        this.studentIds = studentIds;
+        this.paid = paid;
+        this.unpaid = unpaid;
+    }
+
+    /**
+     * This method is used to build the payment matrix of a tuition
+     *
+     * @param studentIds          student ids of the tuition
+     * @param paidStudentsByMonth paid student ids by month int
+     * @param joinedMonths        tuition joined month int by student id
+     * @return payment matrix
+     */
+    public static TuitionPaymentMatrix of(Collection<String> studentIds,
+                                          List<? extends Collection<String>> paidStudentsByMonth,
+                                          Map<String, Integer> joinedMonths) {
+        Map<String, Integer> ordinals = new HashMap<>();
+        List<String> orderedStudentIds = new ArrayList<>();
+        BitSet[] joinedIn = newBitSets();
+        for (String studentId : studentIds) {
+            if (ordinals.putIfAbsent(studentId, orderedStudentIds.size()) != null)
+                continue;
+            Integer joinedMonth = joinedMonths.get(studentId);
+            if (joinedMonth != null && joinedMonth >= 0 && joinedMonth < MONTH_COUNT)
+                joinedIn[joinedMonth].set(orderedStudentIds.size());
+            orderedStudentIds.add(studentId);
+        }
+        BitSet[] paid = newBitSets();
+        BitSet[] unpaid = newBitSets();
+        BitSet joinedBy = new BitSet(orderedStudentIds.size());
+        for (int m = 0; m < MONTH_COUNT; m++) {
+            for (String studentId : paidStudentsByMonth.get(m)) {
+                Integer ordinal = ordinals.get(studentId);
+                if (ordinal != null)
+                    paid[m].set(ordinal);
+            }
+            joinedBy.or(joinedIn[m]);
+            unpaid[m].or(joinedBy);
+            unpaid[m].andNot(paid[m]);
+        }
+        return new TuitionPaymentMatrix(orderedStudentIds.toArray(new String[0]), paid, unpaid);
+    }
+
+    /**
+     * This method is used to get the paid students of a month
+     *
+     * @param month month
+     * @return paid student ids
+     */
+    public Set<String> getPaidStudents(Month month) {
+        return toStudentIds(paid[month.getMonthInt()]);
+    }
+
+    /**
+     * This method is used to get the unpaid students of a month
+     *
+     * @param month month
+     * @return unpaid student ids
+     */
+    public Set<String> getUnpaidStudents(Month month) {
+        return toStudentIds(unpaid[month.getMonthInt()]);
+    }
+
+    /**
+     * This method is used to get the student ids of the matrix in ordinal order
+     *
+     * @return student ids
+     */
+    public List<String> getStudentIds() {
+        return Collections.unmodifiableList(Arrays.asList(studentIds));
+    }
+
+    /**
+     * This method is used to check if the student of an ordinal paid for a month
+     *
+     * @param ordinal student ordinal
+     * @param month   month
+     * @return true/ false
+     */
+    public boolean isPaid(int ordinal, Month month) {
+        return paid[month.getMonthInt()].get(ordinal);
+    }
+
+    /**
+     * This method is used to check if the student of an ordinal is unpaid for a month
+     *
+     * @param ordinal student ordinal
+     * @param month   month
+     * @return true/ false
+     */
+    public boolean isUnpaid(int ordinal, Month month) {
+        return unpaid[month.getMonthInt()].get(ordinal);
+    }
+
+    private Set<String> toStudentIds(BitSet students) {
+        Set<String> result = new HashSet<>(students.cardinality() * 4 / 3 + 1);
+        for (int i = students.nextSetBit(0); i >= 0; i = students.nextSetBit(i + 1)) {
+            result.add(studentIds[i]);
+        }
+        return result;
+    }
+
+    private static BitSet[] newBitSets() {
+        BitSet[] bitSets = new BitSet[MONTH_COUNT];
+        for (int m = 0; m < MONTH_COUNT; m++) {
+            bitSets[m] = new BitSet();
+        }
+        return bitSets;
+    }
+}
@@ -1,9 +1,11 @@
 package com.swivel.ignite.reporting.service;
 
+import com.swivel.ignite.reporting.dto.DtoLogMessage;
 import com.swivel.ignite.reporting.dto.response.TuitionListResponseDto;
 import com.swivel.ignite.reporting.exception.TuitionServiceHttpClientErrorException;
 import com.swivel.ignite.reporting.wrapper.TuitionListResponseWrapper;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpEntity;
 import org.springframework.http.HttpHeaders;
@@ -30,7 +32,7 @@ public class TuitionService {
 
     public TuitionService(@Value("${tuition.baseUrl}") String baseUrl,
                           @Value("${tuition.tuitionListUrl}") String tuitionListUrl,
-                          RestTemplate restTemplate) {
+                          @Qualifier("tuitionRestTemplate") RestTemplate restTemplate) {
         this.getTuitionListUrl = baseUrl + tuitionListUrl;
         this.restTemplate = restTemplate;
     }
@@ -49,10 +51,10 @@ public class TuitionService {
             log.debug("Calling tuition service to get tuition list. url: {},", getTuitionListUrl);
             ResponseEntity<TuitionListResponseWrapper> result = restTemplate.exchange(getTuitionListUrl, HttpMethod.GET,
                     entity, TuitionListResponseWrapper.class);
-            String responseBody = Objects.requireNonNull(result.getBody()).getData().toLogJson();
+            TuitionListResponseDto tuitionList = Objects.requireNonNull(result.getBody()).getData();
             log.debug("Getting tuition list was successful. statusCode: {}, response: {}",
-                    result.getStatusCode(), responseBody);
-            return Objects.requireNonNull(result.getBody()).getData();
+                    result.getStatusCode(), DtoLogMessage.of(tuitionList));
+            return tuitionList;
         } catch (HttpClientErrorException e) {
             throw new TuitionServiceHttpClientErrorException(e.getStatusCode(), FAILED_TO_GET_TUITION_LIST,
                     e.getResponseBodyAsString(), e);
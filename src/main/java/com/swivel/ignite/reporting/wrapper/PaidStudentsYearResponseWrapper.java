@@ -0,0 +1,25 @@
+package com.swivel.ignite.reporting.wrapper;
+
+import com.swivel.ignite.reporting.dto.BaseDto;
+import com.swivel.ignite.reporting.dto.response.PaidStudentsYearResponseDto;
+import com.swivel.ignite.reporting.enums.ResponseStatusType;
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * Paid students of a year response wrapper
+ */
+@Getter
+@Setter
+public class PaidStudentsYearResponseWrapper implements BaseDto {
+
+    private ResponseStatusType status;
+    private String message;
+    private PaidStudentsYearResponseDto data;
+    private String displayMessage;
+
+    @Override
+    public String toLogJson() {
+        return toJson();
+    }
+}
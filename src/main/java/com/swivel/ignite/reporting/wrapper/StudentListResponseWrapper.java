@@ -0,0 +1,25 @@
+package com.swivel.ignite.reporting.wrapper;
+
+import com.swivel.ignite.reporting.dto.BaseDto;
+import com.swivel.ignite.reporting.dto.response.StudentListResponseDto;
+import com.swivel.ignite.reporting.enums.ResponseStatusType;
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * Student list response wrapper
+ */
+@Getter
+@Setter
+public class StudentListResponseWrapper implements BaseDto {
+
+    private ResponseStatusType status;
+    private String message;
+    private StudentListResponseDto data;
+    private String displayMessage;
+
+    @Override
+    public String toLogJson() {
+        return toJson();
+    }
+}
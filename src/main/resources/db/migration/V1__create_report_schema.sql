@@ -0,0 +1,17 @@
+-- Report schema as created by hibernate ddl-auto before the schema was managed by migrations. Existing
+-- databases are baselined at version 0 and already have these tables, so this only creates them on a new
+-- database. Everything added to the schema since is added by the later migrations.
+
+create table if not exists report (
+    id varchar(255) not null,
+    tuition_id varchar(255) not null,
+    month varchar(255) not null,
+    is_paid bit not null,
+    primary key (id)
+);
+
+create table if not exists report_student_id (
+    report_id varchar(255) not null,
+    student_id varchar(255),
+    constraint fk_report_student_id_report foreign key (report_id) references report (id)
+);
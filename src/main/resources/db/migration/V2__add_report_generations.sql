@@ -0,0 +1,24 @@
+-- Generations of the reports. A rebuild writes its reports under a new generation and activates it once
+-- complete. The reports existing before generations were introduced become generation 1, which is seeded
+-- as the active one.
+
+alter table report add column generation bigint not null default 0;
+
+alter table report add column student_bitmap longblob;
+
+update report set generation = 1;
+
+create table report_generation (
+    id varchar(255) not null,
+    active_generation bigint not null,
+    activated_on datetime,
+    primary key (id)
+);
+
+insert into report_generation (id, active_generation, activated_on) values ('active', 1, current_timestamp);
+
+create table tuition_student_dictionary (
+    tuition_id varchar(255) not null,
+    student_ids longtext not null,
+    primary key (tuition_id)
+);
@@ -0,0 +1,7 @@
+-- Indexes of the report read path: the lookup of the reports of a tuition month in a generation, and the
+-- join from a report to its student ids.
+
+create unique index ux_report_tuition_id_month_is_paid_generation
+    on report (tuition_id, month, is_paid, generation);
+
+create index ix_report_student_id_report_id on report_student_id (report_id);
@@ -0,0 +1,4 @@
+-- Version of a report, incremented whenever its student ids are rewritten. Identifies the content of a
+-- report in the entity tags of the report endpoints.
+
+alter table report add column version bigint not null default 0;
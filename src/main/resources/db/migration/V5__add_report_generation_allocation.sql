@@ -0,0 +1,6 @@
+-- Latest report generation allocated to a full rebuild. Rebuilds allocate their generation by incrementing it
+-- under a lock on the active generation row, so rebuilds running on several instances never share one.
+
+alter table report_generation add column last_allocated_generation bigint not null default 0;
+
+update report_generation set last_allocated_generation = active_generation;
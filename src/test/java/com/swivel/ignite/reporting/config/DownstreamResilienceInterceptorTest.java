@@ -0,0 +1,108 @@
+package com.swivel.ignite.reporting.config;
+
+import io.github.resilience4j.core.IntervalFunction;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
+import org.springframework.mock.env.MockEnvironment;
+import org.springframework.test.web.client.MockRestServiceServer;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.HttpServerErrorException;
+import org.springframework.web.client.ResourceAccessException;
+import org.springframework.web.client.RestTemplate;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.method;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.requestTo;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.*;
+
+/**
+ * This class tests {@link DownstreamResilienceInterceptor} class
+ */
+class DownstreamResilienceInterceptorTest {
+
+    private static final String DOWNSTREAM = "payment";
+    private static final String URL = "http://localhost/payment";
+    private static final String BODY = "{}";
+    private RestTemplate restTemplate;
+    private MockRestServiceServer server;
+
+    @BeforeEach
+    void setUp() {
+        MockEnvironment environment = new MockEnvironment()
+                .withProperty("payment.resilience.failureRateThreshold", "50")
+                .withProperty("payment.resilience.slidingWindowSize", "2")
+                .withProperty("payment.resilience.minimumNumberOfCalls", "2")
+                .withProperty("payment.resilience.waitDurationInOpenState", "60000")
+                .withProperty("payment.resilience.maxConcurrentCalls", "1")
+                .withProperty("payment.resilience.maxWaitDuration", "0")
+                .withProperty("payment.resilience.maxAttempts", "2")
+                .withProperty("payment.resilience.initialBackoff", "1")
+                .withProperty("payment.resilience.maxBackoff", "2");
+        DownstreamResilienceRegistry registry = new DownstreamResilienceRegistry(environment,
+                new SimpleMeterRegistry());
+        restTemplate = new RestTemplate();
+        restTemplate.getInterceptors().add(registry.getInterceptor(DOWNSTREAM));
+        server = MockRestServiceServer.bindTo(restTemplate).build();
+    }
+
+    /**
+     * Start of tests for intercept method
+     */
+    @Test
+    void Should_RetryCall_When_DownstreamReturnsServerError() {
+        server.expect(requestTo(URL)).andExpect(method(HttpMethod.GET)).andRespond(withServerError());
+        server.expect(requestTo(URL)).andExpect(method(HttpMethod.GET))
+                .andRespond(withSuccess(BODY, MediaType.APPLICATION_JSON));
+
+        assertEquals(BODY, restTemplate.getForObject(URL, String.class));
+        server.verify();
+    }
+
+    @Test
+    void Should_NotRetryCall_When_DownstreamReturnsClientError() {
+        server.expect(requestTo(URL)).andRespond(withBadRequest());
+
+        assertThrows(HttpClientErrorException.class, () -> restTemplate.getForObject(URL, String.class));
+        server.verify();
+    }
+
+    @Test
+    void Should_ReturnServerError_When_RetriesAreExhausted() {
+        server.expect(requestTo(URL)).andRespond(withServerError());
+        server.expect(requestTo(URL)).andRespond(withServerError());
+
+        assertThrows(HttpServerErrorException.class, () -> restTemplate.getForObject(URL, String.class));
+        server.verify();
+    }
+
+    @Test
+    void Should_FailFast_When_CircuitIsOpen() {
+        server.expect(requestTo(URL)).andRespond(withServerError());
+        server.expect(requestTo(URL)).andRespond(withServerError());
+        assertThrows(HttpServerErrorException.class, () -> restTemplate.getForObject(URL, String.class));
+
+        ResourceAccessException exception = assertThrows(ResourceAccessException.class, () ->
+                restTemplate.getForObject(URL, String.class));
+        assertTrue(exception.getMessage().contains("Call to payment service was rejected"));
+        server.verify();
+    }
+
+    /**
+     * Start of tests for getJitteredBackoff method
+     */
+    @Test
+    void Should_ReturnCappedJitteredBackoff_When_GettingBackoffOfAttempt() {
+        IntervalFunction backoff = DownstreamResilienceRegistry.getJitteredBackoff(200, 2000);
+        for (int i = 0; i < 100; i++) {
+            long first = backoff.apply(1);
+            long third = backoff.apply(3);
+            long tenth = backoff.apply(10);
+            assertTrue(first >= 100 && first <= 200);
+            assertTrue(third >= 400 && third <= 800);
+            assertTrue(tenth >= 1000 && tenth <= 2000);
+        }
+    }
+}
@@ -1,20 +1,37 @@
 package com.swivel.ignite.reporting.controller;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.swivel.ignite.reporting.dto.response.ReportResponseDto;
+import com.swivel.ignite.reporting.dto.response.ReportYearResponseDto;
 import com.swivel.ignite.reporting.entity.Report;
 import com.swivel.ignite.reporting.enums.ErrorResponseStatusType;
 import com.swivel.ignite.reporting.enums.Month;
 import com.swivel.ignite.reporting.enums.SuccessResponseStatusType;
 import com.swivel.ignite.reporting.exception.*;
+import com.swivel.ignite.reporting.dto.response.ReportSnapshotResponseDto;
+import com.swivel.ignite.reporting.service.ReportExportService;
+import com.swivel.ignite.reporting.service.ReportMaterializationService;
+import com.swivel.ignite.reporting.service.ReportResponseCache;
 import com.swivel.ignite.reporting.service.ReportService;
+import com.swivel.ignite.reporting.service.ReportSnapshotStatus;
+import com.swivel.ignite.reporting.service.ReportingMetrics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mock;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 
-import static org.mockito.ArgumentMatchers.anyBoolean;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.Date;
+
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.*;
 import static org.mockito.MockitoAnnotations.initMocks;
@@ -28,6 +45,7 @@ class ReportControllerTest {
     private static final String AUTH_HEADER = "Authorization";
     private static final String TOKEN = "Bearer 123456789";
     private static final String TUITION_ID = "tid-123456789";
+    private static final String STUDENT_ID = "sid-123456789";
     private static final Month MONTH_JANUARY = Month.JANUARY;
     private static final String MONTH_INVALID = "INVALID_MONTH";
     private static final String SUCCESS_STATUS = "SUCCESS";
@@ -36,14 +54,35 @@ class ReportControllerTest {
     private static final String ERROR_MESSAGE = "Oops!! Something went wrong. Please try again.";
     private static final String ERROR = "ERROR";
     private static final String GET_REPORT_BY_TUITION_ID_MONTH_URI = "/api/v1/report/get/{tuitionId}/{month}";
+    private static final String GET_REPORT_YEAR_BY_TUITION_ID_URI = "/api/v1/report/get/year/{tuitionId}";
+    private static final String EXPORT_REPORTS_URI = "/api/v1/report/export";
+    private static final String REFRESH_REPORT_URI = "/api/v1/report/refresh";
+    private static final String INVALIDATE_STUDENT_ENROLLMENT_URI = "/api/v1/report/cache/student/{studentId}";
+    private static final String INVALIDATE_STUDENT_ENROLLMENTS_URI = "/api/v1/report/cache/student";
+    private static final String NDJSON_MEDIA_TYPE = "application/x-ndjson";
+    private static final long MATERIALIZATION_FIXED_DELAY = 60000;
+    private static final int RESPONSE_CACHE_MAX_ENTRIES = 10;
+    private static final String E_TAG = "\"3-1-2\"";
+    private static final String STALE_WARNING = "110 - \"Response is Stale\"";
     private MockMvc mockMvc;
+    private ReportSnapshotStatus reportSnapshotStatus;
     @Mock
     private ReportService reportService;
+    @Mock
+    private ReportExportService reportExportService;
+    @Mock
+    private ReportMaterializationService reportMaterializationService;
 
     @BeforeEach
     void setUp() {
         initMocks(this);
-        ReportController reportController = new ReportController(reportService);
+        ReportingMetrics reportingMetrics = new ReportingMetrics(new SimpleMeterRegistry());
+        ReportResponseCache reportResponseCache = new ReportResponseCache(reportService, new ObjectMapper(),
+                reportingMetrics, RESPONSE_CACHE_MAX_ENTRIES);
+        reportSnapshotStatus = new ReportSnapshotStatus(reportingMetrics);
+        ReportController reportController = new ReportController(reportService, reportExportService,
+                reportResponseCache, reportSnapshotStatus, reportMaterializationService,
+                MATERIALIZATION_FIXED_DELAY);
         mockMvc = MockMvcBuilders.standaloneSetup(reportController)
                 .setControllerAdvice(new CustomizedExceptionHandling())
                 .build();
@@ -55,9 +94,7 @@ class ReportControllerTest {
      */
     @Test
     void Should_ReturnOk_When_GettingReportByTuitionIdMonthIsSuccessful() throws Exception {
-        doNothing().when(reportService).updateReport(anyString());
-        when(reportService.getByTuitionIdMonthPaid(anyString(), anyString(), anyBoolean()))
-                .thenReturn(getSampleReport());
+        when(reportService.getByTuitionIdMonth(anyString(), anyString())).thenReturn(getSampleReportResponseDto());
 
         String uri = GET_REPORT_BY_TUITION_ID_MONTH_URI.replace("{tuitionId}", TUITION_ID)
                 .replace("{month}", MONTH_JANUARY.getMonthString());
@@ -71,6 +108,98 @@ class ReportControllerTest {
                 .andExpect(jsonPath("$.statusCode").value(SuccessResponseStatusType.READ_REPORT.getCode()))
                 .andExpect(jsonPath("$.data.tuitionId").value(TUITION_ID))
                 .andExpect(jsonPath("$.displayMessage").value(SUCCESS_MESSAGE));
+        verify(reportService, never()).updateReport(anyString());
+    }
+
+    @Test
+    void Should_ReturnETagAndCacheControl_When_GettingReportByTuitionIdMonthIsSuccessful() throws Exception {
+        when(reportService.getReportETag(anyString(), anyString())).thenReturn(E_TAG);
+        when(reportService.getByTuitionIdMonth(anyString(), anyString())).thenReturn(getSampleReportResponseDto());
+        when(reportService.getReportETag(any(Report.class), any(Report.class))).thenReturn(E_TAG);
+
+        String uri = GET_REPORT_BY_TUITION_ID_MONTH_URI.replace("{tuitionId}", TUITION_ID)
+                .replace("{month}", MONTH_JANUARY.getMonthString());
+        mockMvc.perform(MockMvcRequestBuilders.get(uri)
+                        .header(AUTH_HEADER, TOKEN)
+                        .contentType(MediaType.APPLICATION_JSON).accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, E_TAG))
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "max-age=60, must-revalidate"))
+                .andExpect(header().doesNotExist(HttpHeaders.WARNING))
+                .andExpect(jsonPath("$.data.tuitionId").value(TUITION_ID));
+    }
+
+    @Test
+    void Should_ReturnStaleWarning_When_GettingReportByTuitionIdMonthForStaleReports() throws Exception {
+        reportSnapshotStatus.markRebuilt(Collections.singleton(TUITION_ID));
+        when(reportService.getReportETag(anyString(), anyString())).thenReturn(E_TAG);
+        when(reportService.getByTuitionIdMonth(anyString(), anyString())).thenReturn(getSampleReportResponseDto());
+        when(reportService.getReportETag(any(Report.class), any(Report.class))).thenReturn(E_TAG);
+
+        String uri = GET_REPORT_BY_TUITION_ID_MONTH_URI.replace("{tuitionId}", TUITION_ID)
+                .replace("{month}", MONTH_JANUARY.getMonthString());
+        mockMvc.perform(MockMvcRequestBuilders.get(uri)
+                        .header(AUTH_HEADER, TOKEN)
+                        .contentType(MediaType.APPLICATION_JSON).accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.WARNING, STALE_WARNING))
+                .andExpect(header().string(HttpHeaders.ETAG, E_TAG))
+                .andExpect(jsonPath("$.data.tuitionId").value(TUITION_ID));
+    }
+
+    @Test
+    void Should_ReturnCachedResponse_When_GettingReportByTuitionIdMonthForUnchangedETag() throws Exception {
+        when(reportService.getReportETag(anyString(), anyString())).thenReturn(E_TAG);
+        when(reportService.getByTuitionIdMonth(anyString(), anyString())).thenReturn(getSampleReportResponseDto());
+        when(reportService.getReportETag(any(Report.class), any(Report.class))).thenReturn(E_TAG);
+
+        String uri = GET_REPORT_BY_TUITION_ID_MONTH_URI.replace("{tuitionId}", TUITION_ID)
+                .replace("{month}", MONTH_JANUARY.getMonthString());
+        String firstResponse = mockMvc.perform(MockMvcRequestBuilders.get(uri)
+                        .header(AUTH_HEADER, TOKEN)
+                        .contentType(MediaType.APPLICATION_JSON).accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        mockMvc.perform(MockMvcRequestBuilders.get(uri)
+                        .header(AUTH_HEADER, TOKEN)
+                        .contentType(MediaType.APPLICATION_JSON).accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, E_TAG))
+                .andExpect(content().string(firstResponse));
+        verify(reportService, times(1)).getByTuitionIdMonth(TUITION_ID, MONTH_JANUARY.getMonthString());
+    }
+
+    @Test
+    void Should_ReturnNotModified_When_GettingReportByTuitionIdMonthForCurrentETag() throws Exception {
+        when(reportService.getReportETag(anyString(), anyString())).thenReturn(E_TAG);
+
+        String uri = GET_REPORT_BY_TUITION_ID_MONTH_URI.replace("{tuitionId}", TUITION_ID)
+                .replace("{month}", MONTH_JANUARY.getMonthString());
+        mockMvc.perform(MockMvcRequestBuilders.get(uri)
+                        .header(AUTH_HEADER, TOKEN)
+                        .header(HttpHeaders.IF_NONE_MATCH, "\"2-0-0\", " + E_TAG)
+                        .contentType(MediaType.APPLICATION_JSON).accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, E_TAG))
+                .andExpect(content().string(""));
+        verify(reportService, never()).getByTuitionIdMonth(anyString(), anyString());
+    }
+
+    @Test
+    void Should_ReturnOk_When_GettingReportByTuitionIdMonthForOutdatedETag() throws Exception {
+        when(reportService.getReportETag(anyString(), anyString())).thenReturn(E_TAG);
+        when(reportService.getByTuitionIdMonth(anyString(), anyString())).thenReturn(getSampleReportResponseDto());
+        when(reportService.getReportETag(any(Report.class), any(Report.class))).thenReturn(E_TAG);
+
+        String uri = GET_REPORT_BY_TUITION_ID_MONTH_URI.replace("{tuitionId}", TUITION_ID)
+                .replace("{month}", MONTH_JANUARY.getMonthString());
+        mockMvc.perform(MockMvcRequestBuilders.get(uri)
+                        .header(AUTH_HEADER, TOKEN)
+                        .header(HttpHeaders.IF_NONE_MATCH, "\"2-0-0\"")
+                        .contentType(MediaType.APPLICATION_JSON).accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, E_TAG))
+                .andExpect(jsonPath("$.data.tuitionId").value(TUITION_ID));
     }
 
     @Test
@@ -90,8 +219,7 @@ class ReportControllerTest {
 
     @Test
     void Should_ReturnBadRequest_When_GettingReportByTuitionIdMonthForReportNotFound() throws Exception {
-        doNothing().when(reportService).updateReport(anyString());
-        when(reportService.getByTuitionIdMonthPaid(anyString(), anyString(), anyBoolean()))
+        when(reportService.getByTuitionIdMonth(anyString(), anyString()))
                 .thenThrow(new ReportNotFoundException(ERROR));
 
         String uri = GET_REPORT_BY_TUITION_ID_MONTH_URI.replace("{tuitionId}", TUITION_ID)
@@ -108,9 +236,9 @@ class ReportControllerTest {
     }
 
     @Test
-    void Should_ReturnStudentInternalServerError_When_GettingReportByTuitionIdMonthForFailedToGetStudentInfoFromStudentMicroservice()
-            throws Exception {
-        doThrow(new StudentServiceHttpClientErrorException(ERROR)).when(reportService).updateReport(anyString());
+    void Should_ReturnInternalServerError_When_GettingReportByTuitionIdMonthIsFailed() throws Exception {
+        when(reportService.getByTuitionIdMonth(anyString(), anyString()))
+                .thenThrow(new ReportingServiceException(ERROR));
 
         String uri = GET_REPORT_BY_TUITION_ID_MONTH_URI.replace("{tuitionId}", TUITION_ID)
                 .replace("{month}", MONTH_JANUARY.getMonthString());
@@ -120,54 +248,170 @@ class ReportControllerTest {
                 .andExpect(status().isInternalServerError())
                 .andExpect(content().contentType(MediaType.APPLICATION_JSON_VALUE))
                 .andExpect(jsonPath("$.status").value(ERROR_STATUS))
-                .andExpect(jsonPath("$.message").value(ErrorResponseStatusType.STUDENT_INTERNAL_SERVER_ERROR
+                .andExpect(jsonPath("$.message").value(ErrorResponseStatusType.INTERNAL_SERVER_ERROR
                         .getMessage()))
-                .andExpect(jsonPath("$.errorCode").value(ErrorResponseStatusType.STUDENT_INTERNAL_SERVER_ERROR
+                .andExpect(jsonPath("$.errorCode").value(ErrorResponseStatusType.INTERNAL_SERVER_ERROR
                         .getCode()))
                 .andExpect(jsonPath("$.displayMessage").value(ERROR_MESSAGE));
     }
 
+    /**
+     * Start of tests for get report year by tuition id
+     * Api context: /api/v1/report/get/year/{tuitionId}
+     */
     @Test
-    void Should_ReturnTuitionInternalServerError_When_GettingReportByTuitionIdMonthForFailedToGetTuitionListFromTuitionMicroservice()
-            throws Exception {
-        doThrow(new TuitionServiceHttpClientErrorException(ERROR)).when(reportService).updateReport(anyString());
+    void Should_ReturnOk_When_GettingReportYearByTuitionIdIsSuccessful() throws Exception {
+        Report report = getSampleReport();
+        report.setMonth(MONTH_JANUARY.getMonthString());
+        report.setPaid(true);
+        report.addStudentId(STUDENT_ID);
+        when(reportService.getYearByTuitionId(anyString()))
+                .thenReturn(new ReportYearResponseDto(TUITION_ID, Collections.singletonList(report)));
 
-        String uri = GET_REPORT_BY_TUITION_ID_MONTH_URI.replace("{tuitionId}", TUITION_ID)
-                .replace("{month}", MONTH_JANUARY.getMonthString());
+        String uri = GET_REPORT_YEAR_BY_TUITION_ID_URI.replace("{tuitionId}", TUITION_ID);
         mockMvc.perform(MockMvcRequestBuilders.get(uri)
                         .header(AUTH_HEADER, TOKEN)
                         .contentType(MediaType.APPLICATION_JSON).accept(MediaType.APPLICATION_JSON))
-                .andExpect(status().isInternalServerError())
+                .andExpect(status().isOk())
                 .andExpect(content().contentType(MediaType.APPLICATION_JSON_VALUE))
-                .andExpect(jsonPath("$.status").value(ERROR_STATUS))
-                .andExpect(jsonPath("$.message").value(ErrorResponseStatusType.TUITION_INTERNAL_SERVER_ERROR
-                        .getMessage()))
-                .andExpect(jsonPath("$.errorCode").value(ErrorResponseStatusType.TUITION_INTERNAL_SERVER_ERROR
-                        .getCode()))
-                .andExpect(jsonPath("$.displayMessage").value(ERROR_MESSAGE));
+                .andExpect(jsonPath("$.status").value(SUCCESS_STATUS))
+                .andExpect(jsonPath("$.message").value(SuccessResponseStatusType.READ_REPORT_YEAR.getMessage()))
+                .andExpect(jsonPath("$.data.tuitionId").value(TUITION_ID))
+                .andExpect(jsonPath("$.data.studentIds[0]").value(STUDENT_ID))
+                .andExpect(jsonPath("$.data.paymentStatuses[0]").value("P-----------"))
+                .andExpect(jsonPath("$.displayMessage").value(SUCCESS_MESSAGE))
+                .andExpect(header().doesNotExist(HttpHeaders.WARNING));
     }
 
     @Test
-    void Should_ReturnInternalServerError_When_GettingReportByTuitionIdMonthIsFailed() throws Exception {
-        doNothing().when(reportService).updateReport(anyString());
-        when(reportService.getByTuitionIdMonthPaid(anyString(), anyString(), anyBoolean()))
-                .thenThrow(new ReportingServiceException(ERROR));
+    void Should_ReturnStaleWarning_When_GettingReportYearByTuitionIdAfterFailedRebuild() throws Exception {
+        reportSnapshotStatus.markRebuildFailed();
+        Report report = getSampleReport();
+        report.setMonth(MONTH_JANUARY.getMonthString());
+        when(reportService.getYearByTuitionId(anyString()))
+                .thenReturn(new ReportYearResponseDto(TUITION_ID, Collections.singletonList(report)));
 
-        String uri = GET_REPORT_BY_TUITION_ID_MONTH_URI.replace("{tuitionId}", TUITION_ID)
-                .replace("{month}", MONTH_JANUARY.getMonthString());
+        String uri = GET_REPORT_YEAR_BY_TUITION_ID_URI.replace("{tuitionId}", TUITION_ID);
         mockMvc.perform(MockMvcRequestBuilders.get(uri)
                         .header(AUTH_HEADER, TOKEN)
                         .contentType(MediaType.APPLICATION_JSON).accept(MediaType.APPLICATION_JSON))
-                .andExpect(status().isInternalServerError())
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.WARNING, STALE_WARNING))
+                .andExpect(jsonPath("$.data.tuitionId").value(TUITION_ID));
+    }
+
+    @Test
+    void Should_ReturnBadRequest_When_GettingReportYearByTuitionIdForReportNotFound() throws Exception {
+        when(reportService.getYearByTuitionId(anyString())).thenThrow(new ReportNotFoundException(ERROR));
+
+        String uri = GET_REPORT_YEAR_BY_TUITION_ID_URI.replace("{tuitionId}", TUITION_ID);
+        mockMvc.perform(MockMvcRequestBuilders.get(uri)
+                        .header(AUTH_HEADER, TOKEN)
+                        .contentType(MediaType.APPLICATION_JSON).accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isBadRequest())
                 .andExpect(content().contentType(MediaType.APPLICATION_JSON_VALUE))
                 .andExpect(jsonPath("$.status").value(ERROR_STATUS))
-                .andExpect(jsonPath("$.message").value(ErrorResponseStatusType.INTERNAL_SERVER_ERROR
-                        .getMessage()))
-                .andExpect(jsonPath("$.errorCode").value(ErrorResponseStatusType.INTERNAL_SERVER_ERROR
-                        .getCode()))
+                .andExpect(jsonPath("$.message").value(ErrorResponseStatusType.REPORT_NOT_FOUND.getMessage()))
+                .andExpect(jsonPath("$.errorCode").value(ErrorResponseStatusType.REPORT_NOT_FOUND.getCode()))
                 .andExpect(jsonPath("$.displayMessage").value(ERROR_MESSAGE));
     }
 
+    /**
+     * Start of tests for refresh report
+     * Api context: /api/v1/report/refresh
+     */
+    @Test
+    void Should_ReturnOk_When_RefreshingReportIsSuccessful() throws Exception {
+        when(reportMaterializationService.refreshReport()).thenReturn(new ReportSnapshotResponseDto(3, new Date()));
+
+        mockMvc.perform(MockMvcRequestBuilders.post(REFRESH_REPORT_URI)
+                        .header(AUTH_HEADER, TOKEN)
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.status").value(SUCCESS_STATUS))
+                .andExpect(jsonPath("$.message").value(SuccessResponseStatusType.REFRESHED_REPORT.getMessage()))
+                .andExpect(jsonPath("$.data.snapshotVersion").value(3));
+    }
+
+    @Test
+    void Should_ReturnInternalServerError_When_RefreshingReportIsFailed() throws Exception {
+        when(reportMaterializationService.refreshReport()).thenThrow(new ReportingServiceException(ERROR));
+
+        mockMvc.perform(MockMvcRequestBuilders.post(REFRESH_REPORT_URI)
+                        .header(AUTH_HEADER, TOKEN)
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isInternalServerError())
+                .andExpect(jsonPath("$.status").value(ERROR_STATUS))
+                .andExpect(jsonPath("$.errorCode").value(ErrorResponseStatusType.INTERNAL_SERVER_ERROR
+                        .getCode()));
+    }
+
+    /**
+     * Start of tests for invalidate student enrollment
+     * Api context: /api/v1/report/cache/student/{studentId}
+     */
+    @Test
+    void Should_ReturnOk_When_InvalidatingStudentEnrollmentIsSuccessful() throws Exception {
+        String uri = INVALIDATE_STUDENT_ENROLLMENT_URI.replace("{studentId}", STUDENT_ID);
+        mockMvc.perform(MockMvcRequestBuilders.delete(uri)
+                        .header(AUTH_HEADER, TOKEN)
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.status").value(SUCCESS_STATUS))
+                .andExpect(jsonPath("$.message").value(SuccessResponseStatusType
+                        .INVALIDATED_STUDENT_ENROLLMENT_CACHE.getMessage()));
+        verify(reportService, times(1)).invalidateStudentEnrollment(STUDENT_ID);
+    }
+
+    /**
+     * Start of tests for invalidate student enrollments
+     * Api context: /api/v1/report/cache/student
+     */
+    @Test
+    void Should_ReturnOk_When_InvalidatingStudentEnrollmentsIsSuccessful() throws Exception {
+        mockMvc.perform(MockMvcRequestBuilders.delete(INVALIDATE_STUDENT_ENROLLMENTS_URI)
+                        .header(AUTH_HEADER, TOKEN)
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.status").value(SUCCESS_STATUS))
+                .andExpect(jsonPath("$.message").value(SuccessResponseStatusType
+                        .INVALIDATED_STUDENT_ENROLLMENT_CACHE.getMessage()));
+        verify(reportService, times(1)).invalidateStudentEnrollments();
+    }
+
+    /**
+     * Start of tests for export reports
+     * Api context: /api/v1/report/export
+     */
+    @Test
+    void Should_StreamReports_When_ExportingReports() throws Exception {
+        String exported = "{\"id\":\"rid-1\"}\n{\"id\":\"rid-2\"}\n";
+        doAnswer(invocation -> {
+            OutputStream outputStream = invocation.getArgument(0);
+            outputStream.write(exported.getBytes(StandardCharsets.UTF_8));
+            return null;
+        }).when(reportExportService).exportReports(any(OutputStream.class));
+
+        MvcResult mvcResult = mockMvc.perform(MockMvcRequestBuilders.get(EXPORT_REPORTS_URI)
+                        .header(AUTH_HEADER, TOKEN))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        mockMvc.perform(MockMvcRequestBuilders.asyncDispatch(mvcResult))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(NDJSON_MEDIA_TYPE))
+                .andExpect(content().string(exported));
+        verify(reportExportService, times(1)).exportReports(any(OutputStream.class));
+    }
+
+    /**
+     * This method returns a sample report response dto
+     *
+     * @return ReportResponseDto
+     */
+    private ReportResponseDto getSampleReportResponseDto() {
+        return new ReportResponseDto(getSampleReport(), getSampleReport());
+    }
+
     /**
      * This method returns a sample report
      *
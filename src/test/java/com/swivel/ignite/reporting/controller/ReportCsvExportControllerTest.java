@@ -0,0 +1,146 @@
+package com.swivel.ignite.reporting.controller;
+
+import com.swivel.ignite.reporting.enums.ErrorResponseStatusType;
+import com.swivel.ignite.reporting.enums.SuccessResponseStatusType;
+import com.swivel.ignite.reporting.exception.CustomizedExceptionHandling;
+import com.swivel.ignite.reporting.exception.ReportExportNotFoundException;
+import com.swivel.ignite.reporting.service.ReportCsvExportService;
+import com.swivel.ignite.reporting.service.ReportExportJob;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.when;
+import static org.mockito.MockitoAnnotations.initMocks;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * This class tests {@link ReportCsvExportController} class
+ */
+class ReportCsvExportControllerTest {
+
+    private static final String AUTH_HEADER = "Authorization";
+    private static final String TOKEN = "Bearer 123456789";
+    private static final String JOB_ID = "eid-123456789";
+    private static final String SUCCESS_STATUS = "SUCCESS";
+    private static final String ERROR_STATUS = "ERROR";
+    private static final String ERROR = "ERROR";
+    private static final String FILE_CONTENT = "0123456789";
+    private static final String EXPORT_CSV_URI = "/api/v1/report/export/csv";
+    private static final String GET_EXPORT_JOB_URI = "/api/v1/report/export/csv/{jobId}";
+    private static final String DOWNLOAD_EXPORT_URI = "/api/v1/report/export/csv/{jobId}/download";
+    @TempDir
+    Path directory;
+    private MockMvc mockMvc;
+    private Path file;
+    @Mock
+    private ReportCsvExportService reportCsvExportService;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        initMocks(this);
+        ReportCsvExportController reportCsvExportController = new ReportCsvExportController(reportCsvExportService);
+        mockMvc = MockMvcBuilders.standaloneSetup(reportCsvExportController)
+                .setControllerAdvice(new CustomizedExceptionHandling())
+                .build();
+        file = Files.write(directory.resolve(JOB_ID + ".csv.gz"), FILE_CONTENT.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Start of tests for create export job
+     * Api context: /api/v1/report/export/csv
+     */
+    @Test
+    void Should_ReturnOk_When_CreatingExportJobIsSuccessful() throws Exception {
+        ReportExportJob job = new ReportExportJob(directory, ".csv.gz");
+        when(reportCsvExportService.createExportJob()).thenReturn(job);
+
+        mockMvc.perform(MockMvcRequestBuilders.post(EXPORT_CSV_URI)
+                        .header(AUTH_HEADER, TOKEN)
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.status").value(SUCCESS_STATUS))
+                .andExpect(jsonPath("$.message").value(SuccessResponseStatusType.CREATED_REPORT_EXPORT.getMessage()))
+                .andExpect(jsonPath("$.data.jobId").value(job.getJobId()))
+                .andExpect(jsonPath("$.data.status").value("PENDING"));
+    }
+
+    /**
+     * Start of tests for get export job
+     * Api context: /api/v1/report/export/csv/{jobId}
+     */
+    @Test
+    void Should_ReturnNotFound_When_GettingExportJobForUnknownJob() throws Exception {
+        when(reportCsvExportService.getExportJob(anyString())).thenThrow(new ReportExportNotFoundException(ERROR));
+
+        mockMvc.perform(MockMvcRequestBuilders.get(GET_EXPORT_JOB_URI.replace("{jobId}", JOB_ID))
+                        .header(AUTH_HEADER, TOKEN)
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isNotFound())
+                .andExpect(jsonPath("$.status").value(ERROR_STATUS))
+                .andExpect(jsonPath("$.errorCode").value(ErrorResponseStatusType.REPORT_EXPORT_NOT_FOUND.getCode()));
+    }
+
+    /**
+     * Start of tests for download export
+     * Api context: /api/v1/report/export/csv/{jobId}/download
+     */
+    @Test
+    void Should_ReturnWholeFile_When_DownloadingExportWithoutRange() throws Exception {
+        when(reportCsvExportService.getExportFile(anyString())).thenReturn(file);
+
+        mockMvc.perform(MockMvcRequestBuilders.get(DOWNLOAD_EXPORT_URI.replace("{jobId}", JOB_ID))
+                        .header(AUTH_HEADER, TOKEN))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ACCEPT_RANGES, "bytes"))
+                .andExpect(header().longValue(HttpHeaders.CONTENT_LENGTH, FILE_CONTENT.length()))
+                .andExpect(content().contentType("application/gzip"))
+                .andExpect(content().string(FILE_CONTENT));
+    }
+
+    @Test
+    void Should_ReturnPartialContent_When_DownloadingExportWithRange() throws Exception {
+        when(reportCsvExportService.getExportFile(anyString())).thenReturn(file);
+
+        mockMvc.perform(MockMvcRequestBuilders.get(DOWNLOAD_EXPORT_URI.replace("{jobId}", JOB_ID))
+                        .header(AUTH_HEADER, TOKEN)
+                        .header(HttpHeaders.RANGE, "bytes=4-"))
+                .andExpect(status().isPartialContent())
+                .andExpect(header().string(HttpHeaders.CONTENT_RANGE, "bytes 4-9/10"))
+                .andExpect(header().longValue(HttpHeaders.CONTENT_LENGTH, 6))
+                .andExpect(content().string("456789"));
+    }
+
+    @Test
+    void Should_ReturnRangeNotSatisfiable_When_DownloadingExportWithRangeBeyondFile() throws Exception {
+        when(reportCsvExportService.getExportFile(anyString())).thenReturn(file);
+
+        mockMvc.perform(MockMvcRequestBuilders.get(DOWNLOAD_EXPORT_URI.replace("{jobId}", JOB_ID))
+                        .header(AUTH_HEADER, TOKEN)
+                        .header(HttpHeaders.RANGE, "bytes=10-"))
+                .andExpect(status().isRequestedRangeNotSatisfiable())
+                .andExpect(header().string(HttpHeaders.CONTENT_RANGE, "bytes */10"));
+    }
+
+    @Test
+    void Should_ReturnNotFound_When_DownloadingExportIsNotReady() throws Exception {
+        when(reportCsvExportService.getExportFile(anyString())).thenThrow(new ReportExportNotFoundException(ERROR));
+
+        mockMvc.perform(MockMvcRequestBuilders.get(DOWNLOAD_EXPORT_URI.replace("{jobId}", JOB_ID))
+                        .header(AUTH_HEADER, TOKEN))
+                .andExpect(status().isNotFound())
+                .andExpect(jsonPath("$.errorCode").value(ErrorResponseStatusType.REPORT_EXPORT_NOT_FOUND.getCode()));
+    }
+}
@@ -0,0 +1,46 @@
+package com.swivel.ignite.reporting.dto;
+
+import com.swivel.ignite.reporting.dto.response.StudentsIdListResponseDto;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * This class tests {@link DtoJsonWriter} class
+ */
+class DtoJsonWriterTest {
+
+    private static final String STUDENT_ID = "sid-123456789";
+    private static final String STUDENT_1_ID = "sid-987654321";
+    private static final String JSON = "{\"studentIds\":[\"sid-123456789\",\"sid-987654321\"]}";
+
+    /**
+     * Start of tests for toJson method
+     */
+    @Test
+    void Should_ReturnJson_When_ConvertingToJson() {
+        assertEquals(JSON, DtoJsonWriter.toJson(getSampleStudentsIdListResponseDto()));
+    }
+
+    @Test
+    void Should_ReturnWholeJson_When_ConvertingToJsonWithinMaxLength() {
+        assertEquals(JSON, DtoJsonWriter.toJson(getSampleStudentsIdListResponseDto(), JSON.length()));
+    }
+
+    @Test
+    void Should_ReturnTruncatedJson_When_ConvertingToJsonBeyondMaxLength() {
+        assertEquals(JSON.substring(0, 20) + DtoJsonWriter.TRUNCATED_SUFFIX,
+                DtoJsonWriter.toJson(getSampleStudentsIdListResponseDto(), 20));
+    }
+
+    /**
+     * This method returns a sample StudentsIdListResponseDto
+     *
+     * @return StudentsIdListResponseDto
+     */
+    private StudentsIdListResponseDto getSampleStudentsIdListResponseDto() {
+        return new StudentsIdListResponseDto(Arrays.asList(STUDENT_ID, STUDENT_1_ID));
+    }
+}
@@ -0,0 +1,122 @@
+package com.swivel.ignite.reporting.dto;
+
+import ch.qos.logback.classic.Level;
+import com.swivel.ignite.reporting.dto.response.StudentsIdListResponseDto;
+import com.swivel.ignite.reporting.wrapper.StudentsIdListResponseWrapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * This class tests {@link DtoLogMessage} class
+ */
+class DtoLogMessageTest {
+
+    private static final int STUDENT_COUNT = 20000;
+    private static final int ITERATIONS = 20;
+    private static final Logger log = LoggerFactory.getLogger(DtoLogMessageTest.class);
+    private final com.sun.management.ThreadMXBean threadMXBean =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+    private Level level;
+
+    @BeforeEach
+    void setUp() {
+        level = getLogbackLogger().getLevel();
+        getLogbackLogger().setLevel(Level.INFO);
+    }
+
+    @AfterEach
+    void tearDown() {
+        getLogbackLogger().setLevel(level);
+    }
+
+    /**
+     * Start of tests for toString method
+     */
+    @Test
+    void Should_NotConvertDto_When_LoggingBelowLogLevel() {
+        BaseDto dto = spy(getSampleStudentsIdListResponseDto());
+        log.debug("response: {}", DtoLogMessage.of(dto));
+        verify(dto, never()).toLogJson(anyInt());
+        verify(dto, never()).toLogJson();
+    }
+
+    @Test
+    void Should_ReturnTruncatedLogJson_When_ConvertingLargeDto() {
+        String logJson = DtoLogMessage.of(getSampleStudentsIdListResponseDto()).toString();
+        assertEquals(DtoLogMessage.MAX_LOG_JSON_LENGTH + DtoJsonWriter.TRUNCATED_SUFFIX.length(), logJson.length());
+        assertTrue(logJson.endsWith(DtoJsonWriter.TRUNCATED_SUFFIX));
+    }
+
+    @Test
+    void Should_NotConvertWholeDto_When_ConvertingLargeResponseWrapper() {
+        StudentsIdListResponseWrapper wrapper = spy(new StudentsIdListResponseWrapper());
+        wrapper.setData(getSampleStudentsIdListResponseDto());
+        String logJson = DtoLogMessage.of(wrapper).toString();
+        assertEquals(DtoLogMessage.MAX_LOG_JSON_LENGTH + DtoJsonWriter.TRUNCATED_SUFFIX.length(), logJson.length());
+        verify(wrapper, never()).toLogJson();
+        verify(wrapper, never()).toJson();
+    }
+
+    @Test
+    void Should_ReturnNull_When_ConvertingNullDto() {
+        assertEquals("null", DtoLogMessage.of(null).toString());
+    }
+
+    /**
+     * Allocation benchmark of debug logging a tuition sized payload while debug logging is disabled: the eager
+     * log json of the payload against the lazy log message.
+     */
+    @Test
+    void Should_AllocateFarLessThanEagerLogJson_When_LoggingBelowLogLevel() {
+        StudentsIdListResponseDto dto = getSampleStudentsIdListResponseDto();
+        long eagerBytes = 0;
+        long lazyBytes = 0;
+        for (int i = 0; i < 2; i++) {
+            eagerBytes = measureAllocatedBytes(() -> {
+                String responseBody = dto.toLogJson();
+                log.debug("response: {}", responseBody);
+            });
+            lazyBytes = measureAllocatedBytes(() -> log.debug("response: {}", DtoLogMessage.of(dto)));
+        }
+        log.info("Debug logging allocation per call. eager: {} bytes, lazy: {} bytes", eagerBytes / ITERATIONS,
+                lazyBytes / ITERATIONS);
+        assertTrue(eagerBytes / ITERATIONS > STUDENT_COUNT * 10L);
+        assertTrue(lazyBytes * 1000 < eagerBytes);
+    }
+
+    private long measureAllocatedBytes(Runnable logCall) {
+        long threadId = Thread.currentThread().getId();
+        long allocatedBytes = threadMXBean.getThreadAllocatedBytes(threadId);
+        for (int i = 0; i < ITERATIONS; i++) {
+            logCall.run();
+        }
+        return threadMXBean.getThreadAllocatedBytes(threadId) - allocatedBytes;
+    }
+
+    private ch.qos.logback.classic.Logger getLogbackLogger() {
+        return (ch.qos.logback.classic.Logger) log;
+    }
+
+    /**
+     * This method returns a sample StudentsIdListResponseDto of a large tuition
+     *
+     * @return StudentsIdListResponseDto
+     */
+    private StudentsIdListResponseDto getSampleStudentsIdListResponseDto() {
+        List<String> studentIds = new ArrayList<>();
+        for (int i = 0; i < STUDENT_COUNT; i++) {
+            studentIds.add("sid-" + i);
+        }
+        return new StudentsIdListResponseDto(studentIds);
+    }
+}
@@ -0,0 +1,65 @@
+package com.swivel.ignite.reporting.dto.response;
+
+import com.swivel.ignite.reporting.entity.Report;
+import com.swivel.ignite.reporting.enums.Month;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * This class test {@link ReportYearResponseDto} class
+ */
+class ReportYearResponseDtoTest {
+
+    private static final String TUITION_ID = "tid-123456789";
+    private static final String STUDENT_ID = "sid-123456789";
+    private static final String STUDENT_1_ID = "sid-987654321";
+    private static final long GENERATION = 1;
+
+    /**
+     * Start of tests for constructor
+     */
+    @Test
+    void Should_EncodeReportsAsStudentMonthMatrix_When_CreatingReportYearResponseDto() {
+        Report januaryPaid = getSampleReport(Month.JANUARY, true, STUDENT_ID);
+        Report januaryUnpaid = getSampleReport(Month.JANUARY, false);
+        Report marchPaid = getSampleReport(Month.MARCH, true, STUDENT_1_ID);
+        Report marchUnpaid = getSampleReport(Month.MARCH, false, STUDENT_ID);
+        ReportYearResponseDto responseDto = new ReportYearResponseDto(TUITION_ID,
+                Arrays.asList(januaryPaid, januaryUnpaid, marchPaid, marchUnpaid));
+
+        assertEquals(TUITION_ID, responseDto.getTuitionId());
+        assertEquals(Month.values().length, responseDto.getMonths().size());
+        assertEquals(Month.JANUARY.getMonthString(), responseDto.getMonths().get(0));
+        assertEquals(Arrays.asList(STUDENT_ID, STUDENT_1_ID), responseDto.getStudentIds());
+        assertEquals(Arrays.asList("P-U---------", "--P---------"), responseDto.getPaymentStatuses());
+    }
+
+    @Test
+    void Should_ReturnEmptyMatrix_When_CreatingReportYearResponseDtoWithoutStudents() {
+        ReportYearResponseDto responseDto = new ReportYearResponseDto(TUITION_ID,
+                Collections.singletonList(getSampleReport(Month.MAY, true)));
+
+        assertTrue(responseDto.getStudentIds().isEmpty());
+        assertTrue(responseDto.getPaymentStatuses().isEmpty());
+    }
+
+    /**
+     * This method returns a sample report
+     *
+     * @param month      month
+     * @param isPaid     isPaid
+     * @param studentIds student ids
+     * @return Report
+     */
+    private Report getSampleReport(Month month, boolean isPaid, String... studentIds) {
+        Report report = new Report(TUITION_ID, month.getMonthString(), isPaid, GENERATION);
+        for (String studentId : studentIds) {
+            report.addStudentId(studentId);
+        }
+        return report;
+    }
+}
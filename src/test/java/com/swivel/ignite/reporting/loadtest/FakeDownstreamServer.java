@@ -0,0 +1,242 @@
+package com.swivel.ignite.reporting.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+import com.sun.net.httpserver.HttpServer;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.util.*;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * In-process stand-in of the tuition, student and payment microservices and of the auth service, serving a
+ * {@link LoadTestDataSet} over http on a local port. Calls to the microservices are delayed by the injected
+ * latency and fail with internal server errors at the injected error rate. Any bearer token is accepted.
+ */
+@Slf4j
+public class FakeDownstreamServer {
+
+    public static final String TUITION_PATH = "/tuition";
+    public static final String STUDENT_PATH = "/student";
+    public static final String PAYMENT_PATH = "/payment";
+    public static final String AUTH_PATH = "/auth";
+    private static final String TUITION_LIST_URL = TUITION_PATH + "/api/v1/tuition/get/all";
+    private static final String STUDENT_INFO_URL = STUDENT_PATH + "/api/v1/student/get/";
+    private static final String PAID_STUDENTS_URL = PAYMENT_PATH + "/api/v1/payment/get/all/";
+    private static final String ACCESS_TOKEN_URL = AUTH_PATH + "/oauth/token";
+    private static final String CHECK_TOKEN_URL = AUTH_PATH + "/oauth/check_token";
+    private static final String ACCESS_TOKEN = "load-test-token";
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final LoadTestDataSet dataSet;
+    private final long latencyMillis;
+    private final double errorRate;
+    private final String resourceId;
+    private final HttpServer server;
+    private final ExecutorService executor;
+    private final Map<String, AtomicLong> callCounts = new TreeMap<>();
+
+    private FakeDownstreamServer(LoadTestDataSet dataSet, long latencyMillis, double errorRate, String resourceId,
+                                 int threadCount) throws IOException {
+        this.dataSet = dataSet;
+        this.latencyMillis = latencyMillis;
+        this.errorRate = errorRate;
+        this.resourceId = resourceId;
+        this.server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        this.executor = Executors.newFixedThreadPool(threadCount);
+        server.setExecutor(executor);
+        server.createContext(TUITION_LIST_URL, downstream(TUITION_PATH, this::getTuitionList));
+        server.createContext(STUDENT_INFO_URL, downstream(STUDENT_PATH, this::getStudentInfo));
+        server.createContext(PAID_STUDENTS_URL, downstream(PAYMENT_PATH, this::getPaidStudents));
+        server.createContext(ACCESS_TOKEN_URL, this::getAccessToken);
+        server.createContext(CHECK_TOKEN_URL, this::checkToken);
+    }
+
+    /**
+     * This method is used to start a fake downstream server on a free local port
+     *
+     * @param dataSet       data set to serve
+     * @param latencyMillis latency injected into each microservice call
+     * @param errorRate     rate of microservice calls failed with internal server errors, 0 to 1
+     * @param resourceId    resource id of the reporting service, granted by the checked tokens
+     * @param threadCount   number of threads serving the calls
+     * @return started server
+     * @throws IOException
+     */
+    public static FakeDownstreamServer start(LoadTestDataSet dataSet, long latencyMillis, double errorRate,
+                                             String resourceId, int threadCount) throws IOException {
+        FakeDownstreamServer fakeDownstreamServer = new FakeDownstreamServer(dataSet, latencyMillis, errorRate,
+                resourceId, threadCount);
+        fakeDownstreamServer.server.start();
+        log.info("Fake downstream server started. url: {}", fakeDownstreamServer.getBaseUrl());
+        return fakeDownstreamServer;
+    }
+
+    /**
+     * This method is used to stop the server
+     */
+    public void stop() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+
+    /**
+     * This method is used to get the base url of the server, the base urls of the fake services are the base
+     * url followed by their path
+     *
+     * @return base url
+     */
+    public String getBaseUrl() {
+        return "http://localhost:" + server.getAddress().getPort();
+    }
+
+    /**
+     * This method is used to get the number of calls received by each fake microservice
+     *
+     * @return call count by microservice path
+     */
+    public Map<String, Long> getCallCounts() {
+        Map<String, Long> counts = new TreeMap<>();
+        synchronized (callCounts) {
+            callCounts.forEach((path, count) -> counts.put(path, count.get()));
+        }
+        return counts;
+    }
+
+    private HttpHandler downstream(String path, DownstreamHandler handler) {
+        AtomicLong callCount = new AtomicLong();
+        synchronized (callCounts) {
+            callCounts.put(path, callCount);
+        }
+        return exchange -> {
+            try {
+                callCount.incrementAndGet();
+                if (latencyMillis > 0)
+                    Thread.sleep(latencyMillis);
+                if (ThreadLocalRandom.current().nextDouble() < errorRate) {
+                    send(exchange, 500, error("Injected error"));
+                    return;
+                }
+                String pathParams = exchange.getRequestURI().getPath().substring(
+                        exchange.getHttpContext().getPath().length());
+                Object data = handler.handle(pathParams.isEmpty() ? new String[0] : pathParams.split("/"));
+                if (data == null) {
+                    send(exchange, 400, error("Not found"));
+                } else {
+                    send(exchange, 200, success(data));
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } finally {
+                exchange.close();
+            }
+        };
+    }
+
+    private Object getTuitionList(String[] pathParams) {
+        List<Map<String, Object>> tuitionList = new ArrayList<>();
+        for (String tuitionId : dataSet.getTuitionIds()) {
+            Map<String, Object> tuition = new HashMap<>();
+            tuition.put("tuitionId", tuitionId);
+            tuition.put("name", tuitionId);
+            tuition.put("studentIds", dataSet.getStudentIdsByTuitionId().get(tuitionId));
+            tuitionList.add(tuition);
+        }
+        return Collections.singletonMap("tuitionList", tuitionList);
+    }
+
+    private Object getStudentInfo(String[] pathParams) {
+        if (pathParams.length != 1 || !dataSet.getTuitionIdByStudentId().containsKey(pathParams[0]))
+            return null;
+        Map<String, Object> student = new HashMap<>();
+        student.put("studentId", pathParams[0]);
+        student.put("tuitionId", dataSet.getTuitionIdByStudentId().get(pathParams[0]));
+        student.put("tuitionJoinedOn", dataSet.getTuitionJoinedOnByStudentId().get(pathParams[0]).getTime());
+        return student;
+    }
+
+    private Object getPaidStudents(String[] pathParams) {
+        if (pathParams.length != 2)
+            return null;
+        List<String> paidStudentIds = dataSet.getPaidStudentIds(pathParams[0], pathParams[1]);
+        return paidStudentIds == null ? null : Collections.singletonMap("studentIds", paidStudentIds);
+    }
+
+    private void getAccessToken(HttpExchange exchange) throws IOException {
+        try {
+            drain(exchange.getRequestBody());
+            Map<String, Object> token = new HashMap<>();
+            token.put("access_token", ACCESS_TOKEN);
+            token.put("token_type", "bearer");
+            token.put("expires_in", 3600);
+            send(exchange, 200, token);
+        } finally {
+            exchange.close();
+        }
+    }
+
+    private void checkToken(HttpExchange exchange) throws IOException {
+        try {
+            drain(exchange.getRequestBody());
+            Map<String, Object> tokenInfo = new HashMap<>();
+            tokenInfo.put("active", true);
+            tokenInfo.put("client_id", "ignite-client");
+            tokenInfo.put("user_name", "load-test");
+            tokenInfo.put("scope", Collections.singletonList("read"));
+            tokenInfo.put("aud", Collections.singletonList(resourceId));
+            tokenInfo.put("authorities", Arrays.asList("ADMIN", "STUDENT"));
+            send(exchange, 200, tokenInfo);
+        } finally {
+            exchange.close();
+        }
+    }
+
+    private Map<String, Object> success(Object data) {
+        Map<String, Object> response = new HashMap<>();
+        response.put("status", "SUCCESS");
+        response.put("message", "Successfully returned the data.");
+        response.put("data", data);
+        response.put("displayMessage", "Successfully returned the data.");
+        return response;
+    }
+
+    private Map<String, Object> error(String message) {
+        Map<String, Object> response = new HashMap<>();
+        response.put("status", "ERROR");
+        response.put("message", message);
+        response.put("displayMessage", message);
+        return response;
+    }
+
+    private void send(HttpExchange exchange, int statusCode, Object body) throws IOException {
+        byte[] bytes = objectMapper.writeValueAsBytes(body);
+        exchange.getResponseHeaders().set("Content-Type", "application/json");
+        exchange.sendResponseHeaders(statusCode, bytes.length);
+        try (OutputStream os = exchange.getResponseBody()) {
+            os.write(bytes);
+        }
+    }
+
+    private void drain(InputStream is) throws IOException {
+        byte[] buffer = new byte[1024];
+        while (is.read(buffer) != -1) {
+            // request parameters are not checked
+        }
+    }
+
+    /**
+     * Handler of a fake microservice endpoint, returning the data of the response/ null if not found
+     */
+    @FunctionalInterface
+    private interface DownstreamHandler {
+
+        Object handle(String[] pathParams);
+    }
+}
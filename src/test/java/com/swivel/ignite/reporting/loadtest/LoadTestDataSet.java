@@ -0,0 +1,65 @@
+package com.swivel.ignite.reporting.loadtest;
+
+import com.swivel.ignite.reporting.enums.Month;
+import lombok.Getter;
+
+import java.util.*;
+
+/**
+ * Synthetic data of the tuition, student and payment microservices for load tests: tuitions × students per
+ * tuition, each student joining the tuition in a random month of the year and paying each month from then on
+ * with the given payment density. The data set is generated from a seed, so runs are repeatable.
+ */
+@Getter
+public class LoadTestDataSet {
+
+    private static final int MONTH_COUNT = Month.values().length;
+    private final List<String> tuitionIds = new ArrayList<>();
+    private final Map<String, List<String>> studentIdsByTuitionId = new HashMap<>();
+    private final Map<String, Date> tuitionJoinedOnByStudentId = new HashMap<>();
+    private final Map<String, String> tuitionIdByStudentId = new HashMap<>();
+    private final Map<String, List<List<String>>> paidStudentIdsByTuitionId = new HashMap<>();
+
+    public LoadTestDataSet(int tuitionCount, int studentsPerTuition, double paymentDensity, long seed) {
+        Random random = new Random(seed);
+        Calendar calendar = Calendar.getInstance();
+        calendar.set(Calendar.DAY_OF_MONTH, 1);
+        for (int t = 0; t < tuitionCount; t++) {
+            String tuitionId = "tid-" + t;
+            List<String> studentIds = new ArrayList<>();
+            List<List<String>> paidStudentIdsByMonth = new ArrayList<>();
+            for (int m = 0; m < MONTH_COUNT; m++) {
+                paidStudentIdsByMonth.add(new ArrayList<>());
+            }
+            for (int s = 0; s < studentsPerTuition; s++) {
+                String studentId = "sid-" + t + "-" + s;
+                int joinedMonth = random.nextInt(MONTH_COUNT);
+                calendar.set(Calendar.MONTH, joinedMonth);
+                studentIds.add(studentId);
+                tuitionIdByStudentId.put(studentId, tuitionId);
+                tuitionJoinedOnByStudentId.put(studentId, calendar.getTime());
+                for (int m = joinedMonth; m < MONTH_COUNT; m++) {
+                    if (random.nextDouble() < paymentDensity)
+                        paidStudentIdsByMonth.get(m).add(studentId);
+                }
+            }
+            tuitionIds.add(tuitionId);
+            studentIdsByTuitionId.put(tuitionId, studentIds);
+            paidStudentIdsByTuitionId.put(tuitionId, paidStudentIdsByMonth);
+        }
+    }
+
+    /**
+     * This method is used to get the ids of the students who paid for a tuition month
+     *
+     * @param tuitionId tuition id
+     * @param month     month
+     * @return paid student ids/ null for an unknown tuition or month
+     */
+    public List<String> getPaidStudentIds(String tuitionId, String month) {
+        List<List<String>> paidStudentIdsByMonth = paidStudentIdsByTuitionId.get(tuitionId);
+        if (paidStudentIdsByMonth == null || !Month.isMonthValid(month))
+            return null;
+        return paidStudentIdsByMonth.get(Month.getMonthInt(month));
+    }
+}
@@ -0,0 +1,97 @@
+package com.swivel.ignite.reporting.loadtest;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Closed loop load driver: a fixed number of concurrent clients each send a request as soon as their previous
+ * one is answered, until the requested number of requests is sent. The latency of each request is measured
+ * from sending it to reading its whole response.
+ */
+public class LoadTestDriver {
+
+    private static final String AUTH_HEADER = "Authorization";
+    private final HttpClient httpClient;
+    private final String token;
+    private final int concurrency;
+    private final Duration requestTimeout;
+
+    public LoadTestDriver(String token, int concurrency, Duration requestTimeout) {
+        this.token = token;
+        this.concurrency = concurrency;
+        this.requestTimeout = requestTimeout;
+        this.httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(requestTimeout)
+                .build();
+    }
+
+    /**
+     * This method is used to send the given number of GET requests concurrently
+     *
+     * @param requestCount number of requests
+     * @param uriSupplier  supplier of the uri of each request, called concurrently
+     * @return result of the requests
+     * @throws InterruptedException
+     */
+    public LoadTestResult run(int requestCount, Supplier<URI> uriSupplier) throws InterruptedException {
+        long[] latencyNanos = new long[requestCount];
+        AtomicInteger nextRequest = new AtomicInteger();
+        AtomicLong failureCount = new AtomicLong();
+        Map<Integer, AtomicLong> statusCounts = new ConcurrentHashMap<>();
+        ExecutorService executor = Executors.newFixedThreadPool(concurrency);
+        List<Future<?>> clients = new ArrayList<>();
+        long startedAt = System.nanoTime();
+        for (int c = 0; c < concurrency; c++) {
+            clients.add(executor.submit(() -> {
+                int i;
+                while ((i = nextRequest.getAndIncrement()) < requestCount) {
+                    HttpRequest request = HttpRequest.newBuilder(uriSupplier.get())
+                            .header(AUTH_HEADER, token)
+                            .timeout(requestTimeout)
+                            .GET()
+                            .build();
+                    long sentAt = System.nanoTime();
+                    try {
+                        HttpResponse<byte[]> response = httpClient.send(request,
+                                HttpResponse.BodyHandlers.ofByteArray());
+                        statusCounts.computeIfAbsent(response.statusCode(), status -> new AtomicLong())
+                                .incrementAndGet();
+                    } catch (IOException e) {
+                        failureCount.incrementAndGet();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        return;
+                    }
+                    latencyNanos[i] = System.nanoTime() - sentAt;
+                }
+            }));
+        }
+        executor.shutdown();
+        try {
+            for (Future<?> client : clients) {
+                client.get();
+            }
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Load test client failed", e.getCause());
+        } finally {
+            executor.shutdownNow();
+        }
+        long elapsedNanos = System.nanoTime() - startedAt;
+        Map<Integer, Long> counts = new HashMap<>();
+        statusCounts.forEach((status, count) -> counts.put(status, count.get()));
+        return new LoadTestResult(latencyNanos, counts, failureCount.get(), elapsedNanos);
+    }
+}
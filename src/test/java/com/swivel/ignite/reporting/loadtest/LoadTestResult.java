@@ -0,0 +1,77 @@
+package com.swivel.ignite.reporting.loadtest;
+
+import lombok.Getter;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Result of a load test run: the response status counts, the throughput and the latency percentiles of the
+ * measured requests
+ */
+@Getter
+public class LoadTestResult {
+
+    private final long[] latencyNanos;
+    private final Map<Integer, Long> statusCounts;
+    private final long failureCount;
+    private final long elapsedNanos;
+
+    public LoadTestResult(long[] latencyNanos, Map<Integer, Long> statusCounts, long failureCount,
+                          long elapsedNanos) {
+        this.latencyNanos = latencyNanos.clone();
+        Arrays.sort(this.latencyNanos);
+        this.statusCounts = new TreeMap<>(statusCounts);
+        this.failureCount = failureCount;
+        this.elapsedNanos = elapsedNanos;
+    }
+
+    /**
+     * This method is used to get the number of measured requests
+     *
+     * @return request count
+     */
+    public int getRequestCount() {
+        return latencyNanos.length;
+    }
+
+    /**
+     * This method is used to get the number of requests which did not get an ok response
+     *
+     * @return error count
+     */
+    public long getErrorCount() {
+        return getRequestCount() - statusCounts.getOrDefault(200, 0L);
+    }
+
+    /**
+     * This method is used to get the throughput of the measured requests
+     *
+     * @return requests per second
+     */
+    public double getThroughput() {
+        return elapsedNanos == 0 ? 0 : getRequestCount() * 1e9 / elapsedNanos;
+    }
+
+    /**
+     * This method is used to get a latency percentile of the measured requests
+     *
+     * @param percentile percentile, 0 to 1
+     * @return latency in milliseconds
+     */
+    public double getLatencyMillis(double percentile) {
+        if (latencyNanos.length == 0)
+            return 0;
+        int index = (int) Math.ceil(percentile * latencyNanos.length) - 1;
+        return latencyNanos[Math.max(0, Math.min(index, latencyNanos.length - 1))] / 1e6;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("requests: %d, errors: %d, failures: %d, statuses: %s, throughput: %.1f req/s, " +
+                        "latency p50: %.2f ms, p99: %.2f ms, p999: %.2f ms, max: %.2f ms", getRequestCount(),
+                getErrorCount(), failureCount, statusCounts, getThroughput(), getLatencyMillis(0.5),
+                getLatencyMillis(0.99), getLatencyMillis(0.999), getLatencyMillis(1));
+    }
+}
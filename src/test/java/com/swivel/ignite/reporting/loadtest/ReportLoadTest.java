@@ -0,0 +1,137 @@
+package com.swivel.ignite.reporting.loadtest;
+
+import com.swivel.ignite.reporting.enums.Month;
+import com.swivel.ignite.reporting.service.ReportMaterializationService;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.web.server.LocalServerPort;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Load test of the report read path, run end to end against fake tuition, student and payment microservices
+ * and an in-memory H2 database, so it runs offline. Excluded from the default build, run it with
+ * mvn -Pload-test test, and size it with system properties, e.g. -DloadTest.tuitions=500
+ * -DloadTest.studentsPerTuition=200 -DloadTest.downstreamLatency=20 -DloadTest.concurrency=64
+ */
+@Slf4j
+@Tag("load")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "spring.datasource.url=jdbc:h2:mem:reporting_db;MODE=MySQL;DB_CLOSE_DELAY=-1",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+        "eureka.client.enabled=false",
+        "logging.level.com.swivel.ignite.reporting=INFO",
+        "logging.file.path=target/load-test-logs"
+})
+class ReportLoadTest {
+
+    private static final String RESOURCE_ID = "ignite_report";
+    private static final String TOKEN = "Bearer load-test-token";
+    private static final String GET_REPORT_URI = "/api/v1/report/get/";
+    private static final int TUITION_COUNT = Integer.getInteger("loadTest.tuitions", 50);
+    private static final int STUDENTS_PER_TUITION = Integer.getInteger("loadTest.studentsPerTuition", 100);
+    private static final double PAYMENT_DENSITY = Double.parseDouble(
+            System.getProperty("loadTest.paymentDensity", "0.8"));
+    private static final long SEED = Long.getLong("loadTest.seed", 42);
+    private static final long DOWNSTREAM_LATENCY = Long.getLong("loadTest.downstreamLatency", 5);
+    private static final double DOWNSTREAM_ERROR_RATE = Double.parseDouble(
+            System.getProperty("loadTest.downstreamErrorRate", "0"));
+    private static final int DOWNSTREAM_THREADS = Integer.getInteger("loadTest.downstreamThreads", 32);
+    private static final int CONCURRENCY = Integer.getInteger("loadTest.concurrency", 16);
+    private static final int WARMUP_REQUESTS = Integer.getInteger("loadTest.warmupRequests", 2000);
+    private static final int REQUESTS = Integer.getInteger("loadTest.requests", 20000);
+    private static final Duration MATERIALIZATION_TIMEOUT = Duration.ofSeconds(
+            Long.getLong("loadTest.materializationTimeout", 300));
+    private static final LoadTestDataSet DATA_SET = new LoadTestDataSet(TUITION_COUNT, STUDENTS_PER_TUITION,
+            PAYMENT_DENSITY, SEED);
+    private static final FakeDownstreamServer DOWNSTREAM = startDownstream();
+    @LocalServerPort
+    private int port;
+    @Autowired
+    private ReportMaterializationService reportMaterializationService;
+
+    @DynamicPropertySource
+    static void downstreamProperties(DynamicPropertyRegistry registry) {
+        String baseUrl = DOWNSTREAM.getBaseUrl();
+        registry.add("tuition.baseUrl", () -> baseUrl + FakeDownstreamServer.TUITION_PATH);
+        registry.add("student.baseUrl", () -> baseUrl + FakeDownstreamServer.STUDENT_PATH);
+        registry.add("payment.baseUrl", () -> baseUrl + FakeDownstreamServer.PAYMENT_PATH);
+        registry.add("oauth.access-token-uri", () -> baseUrl + FakeDownstreamServer.AUTH_PATH + "/oauth/token");
+        registry.add("security.oauth2.resource.token-info-uri",
+                () -> baseUrl + FakeDownstreamServer.AUTH_PATH + "/oauth/check_token");
+        registry.add("oauth.resource-id", () -> RESOURCE_ID);
+    }
+
+    @AfterAll
+    static void tearDown() {
+        DOWNSTREAM.stop();
+    }
+
+    @Test
+    void Should_ServeReportsUnderConcurrentLoad_When_GettingReportsByTuitionIdAndMonth() throws Exception {
+        long materializationStartedAt = System.nanoTime();
+        awaitMaterialization();
+        log.info("Load test report materialized. tuitions: {}, students per tuition: {}, took: {} ms, " +
+                        "downstream calls: {}", TUITION_COUNT, STUDENTS_PER_TUITION,
+                (System.nanoTime() - materializationStartedAt) / 1_000_000, DOWNSTREAM.getCallCounts());
+
+        LoadTestDriver driver = new LoadTestDriver(TOKEN, CONCURRENCY, Duration.ofSeconds(30));
+        driver.run(WARMUP_REQUESTS, this::getRandomReportUri);
+        LoadTestResult result = driver.run(REQUESTS, this::getRandomReportUri);
+        log.info("Load test finished. concurrency: {}, {}", CONCURRENCY, result);
+
+        assertEquals(REQUESTS, result.getRequestCount());
+        assertEquals(0, result.getFailureCount());
+        if (DOWNSTREAM_ERROR_RATE == 0)
+            assertEquals(0, result.getErrorCount());
+    }
+
+    /**
+     * This method waits for the first report materialization, which starts with the application
+     */
+    private void awaitMaterialization() throws InterruptedException {
+        long deadline = System.nanoTime() + MATERIALIZATION_TIMEOUT.toNanos();
+        while (reportMaterializationService.getLastMaterializedOn() == null) {
+            assertTrue(System.nanoTime() < deadline, "Report was not materialized in " + MATERIALIZATION_TIMEOUT);
+            Thread.sleep(100);
+        }
+    }
+
+    /**
+     * This method returns the report uri of a random tuition month of the data set
+     *
+     * @return report uri
+     */
+    private URI getRandomReportUri() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        List<String> tuitionIds = DATA_SET.getTuitionIds();
+        String tuitionId = tuitionIds.get(random.nextInt(tuitionIds.size()));
+        Month month = Month.values()[random.nextInt(Month.values().length)];
+        return URI.create("http://localhost:" + port + GET_REPORT_URI + tuitionId + "/" + month.getMonthString());
+    }
+
+    private static FakeDownstreamServer startDownstream() {
+        try {
+            return FakeDownstreamServer.start(DATA_SET, DOWNSTREAM_LATENCY, DOWNSTREAM_ERROR_RATE, RESOURCE_ID,
+                    DOWNSTREAM_THREADS);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to start fake downstream server", e);
+        }
+    }
+}
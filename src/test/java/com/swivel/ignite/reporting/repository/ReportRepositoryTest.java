@@ -0,0 +1,154 @@
+package com.swivel.ignite.reporting.repository;
+
+import com.swivel.ignite.reporting.entity.Report;
+import com.swivel.ignite.reporting.entity.ReportGeneration;
+import com.swivel.ignite.reporting.enums.Month;
+import org.hibernate.Hibernate;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.test.context.TestPropertySource;
+
+import javax.persistence.PersistenceException;
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * This class tests {@link ReportRepository} class against the migrated schema
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@TestPropertySource(properties = {
+        "spring.datasource.url=jdbc:h2:mem:reporting_db;MODE=MySQL;DB_CLOSE_DELAY=-1",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+class ReportRepositoryTest {
+
+    private static final String TUITION_ID = "tid-123456789";
+    private static final String STUDENT_ID = "sid-123456789";
+    private static final String STUDENT_1_ID = "sid-987654321";
+    private static final String STUDENT_2_ID = "sid-555555555";
+    private static final long ACTIVE_GENERATION = 2;
+    private static final String MONTH = Month.MARCH.getMonthString();
+    @Autowired
+    private ReportRepository reportRepository;
+    @Autowired
+    private TestEntityManager testEntityManager;
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        statistics = testEntityManager.getEntityManager().getEntityManagerFactory().unwrap(SessionFactory.class)
+                .getStatistics();
+        testEntityManager.merge(new ReportGeneration(ACTIVE_GENERATION, new Date()));
+        testEntityManager.persist(getSampleReport(MONTH, true, ACTIVE_GENERATION, STUDENT_ID, STUDENT_1_ID));
+        testEntityManager.persist(getSampleReport(MONTH, false, ACTIVE_GENERATION, STUDENT_2_ID));
+        testEntityManager.persist(getSampleReport(MONTH, true, ACTIVE_GENERATION - 1, STUDENT_2_ID));
+        testEntityManager.persist(getSampleReport(Month.APRIL.getMonthString(), true, ACTIVE_GENERATION - 1,
+                STUDENT_ID));
+        testEntityManager.flush();
+        testEntityManager.clear();
+        statistics.clear();
+    }
+
+    /**
+     * Start of tests for findWithStudentIdsByTuitionIdAndMonth method
+     */
+    @Test
+    void Should_FetchReportsWithStudentIdsInOneQuery_When_FindingWithStudentIdsByTuitionIdAndMonth() {
+        List<Report> reports = reportRepository.findWithStudentIdsByTuitionIdAndMonth(TUITION_ID, MONTH);
+
+        assertEquals(2, reports.size());
+        for (Report report : reports) {
+            assertTrue(Hibernate.isInitialized(report.getStudentId()));
+            assertEquals(ACTIVE_GENERATION, report.getGeneration());
+            if (report.isPaid()) {
+                assertEquals(new HashSet<>(Arrays.asList(STUDENT_ID, STUDENT_1_ID)), report.getStudentId());
+            } else {
+                assertEquals(Collections.singleton(STUDENT_2_ID), report.getStudentId());
+            }
+        }
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void Should_ReturnEmptyList_When_FindingWithStudentIdsByTuitionIdAndMonthOfInactiveGenerationOnly() {
+        assertTrue(reportRepository.findWithStudentIdsByTuitionIdAndMonth(TUITION_ID, Month.APRIL.getMonthString())
+                .isEmpty());
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    /**
+     * Start of tests for findWithStudentIdsByTuitionId method
+     */
+    @Test
+    void Should_FetchActiveReportsWithStudentIdsInOneQuery_When_FindingWithStudentIdsByTuitionId() {
+        List<Report> reports = reportRepository.findWithStudentIdsByTuitionId(TUITION_ID);
+
+        assertEquals(2, reports.size());
+        for (Report report : reports) {
+            assertTrue(Hibernate.isInitialized(report.getStudentId()));
+            assertEquals(MONTH, report.getMonth());
+        }
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    /**
+     * Start of tests for deleteStudentIdsByTuitionIdAndGeneration and deleteByTuitionIdAndGeneration methods
+     */
+    @Test
+    void Should_KeepOtherGenerations_When_DeletingByTuitionIdAndGeneration() {
+        assertEquals(3, reportRepository.deleteStudentIdsByTuitionIdAndGeneration(TUITION_ID, ACTIVE_GENERATION));
+        assertEquals(2, reportRepository.deleteByTuitionIdAndGeneration(TUITION_ID, ACTIVE_GENERATION));
+        assertEquals(2, reportRepository.count());
+        assertEquals(ACTIVE_GENERATION - 1, reportRepository.findMaxGeneration());
+    }
+
+    /**
+     * Start of tests for deleteStudentIdsOfOlderGenerations and deleteOlderGenerations methods
+     */
+    @Test
+    void Should_KeepActiveAndNewerGenerations_When_DeletingOlderGenerations() {
+        testEntityManager.persistAndFlush(getSampleReport(MONTH, true, ACTIVE_GENERATION + 1, STUDENT_ID));
+        testEntityManager.clear();
+
+        assertEquals(2, reportRepository.deleteStudentIdsOfOlderGenerations(ACTIVE_GENERATION));
+        assertEquals(2, reportRepository.deleteOlderGenerations(ACTIVE_GENERATION));
+        assertEquals(3, reportRepository.count());
+        assertEquals(ACTIVE_GENERATION + 1, reportRepository.findMaxGeneration());
+    }
+
+    /**
+     * Start of tests for the unique index of reports
+     */
+    @Test
+    void Should_RejectDuplicateReport_When_SavingReportOfSameTuitionMonthPaidAndGeneration() {
+        Report duplicate = getSampleReport(MONTH, true, ACTIVE_GENERATION, STUDENT_ID);
+        assertThrows(PersistenceException.class, () -> testEntityManager.persistAndFlush(duplicate));
+    }
+
+    /**
+     * This method returns a sample report
+     *
+     * @param month      month
+     * @param isPaid     isPaid
+     * @param generation generation
+     * @param studentIds student ids
+     * @return Report
+     */
+    private Report getSampleReport(String month, boolean isPaid, long generation, String... studentIds) {
+        Report report = new Report(TUITION_ID, month, isPaid, generation);
+        report.replaceStudentIds(new HashSet<>(Arrays.asList(studentIds)));
+        return report;
+    }
+}
@@ -0,0 +1,83 @@
+package com.swivel.ignite.reporting.repository;
+
+import org.flywaydb.core.Flyway;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * This class tests the migrations in db/migration against the schema created by hibernate ddl-auto before the
+ * schema was managed by migrations, and against a new database
+ */
+class ReportSchemaMigrationTest {
+
+    private static final String REPORT_ID = "rid-123456789";
+    private static final String TUITION_ID = "tid-123456789";
+    private static final String STUDENT_ID = "sid-123456789";
+    private JdbcDataSource dataSource;
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        dataSource = new JdbcDataSource();
+        dataSource.setURL("jdbc:h2:mem:" + UUID.randomUUID() + ";MODE=MySQL;DB_CLOSE_DELAY=-1");
+        dataSource.setUser("sa");
+        jdbcTemplate = new JdbcTemplate(dataSource);
+    }
+
+    @Test
+    void Should_AddGenerationsAndKeepReports_When_MigratingBaselineSchema() {
+        jdbcTemplate.execute("create table report (id varchar(255) not null, is_paid bit not null, " +
+                "month varchar(255) not null, tuition_id varchar(255) not null, primary key (id))");
+        jdbcTemplate.execute("create table report_student_id (report_id varchar(255) not null, " +
+                "student_id varchar(255))");
+        jdbcTemplate.execute("alter table report_student_id add constraint fk_baseline foreign key (report_id) " +
+                "references report (id)");
+        jdbcTemplate.update("insert into report (id, is_paid, month, tuition_id) values (?, true, 'MARCH', ?)",
+                REPORT_ID, TUITION_ID);
+        jdbcTemplate.update("insert into report_student_id (report_id, student_id) values (?, ?)", REPORT_ID,
+                STUDENT_ID);
+
+        migrate();
+
+        Map<String, Object> report = jdbcTemplate.queryForMap("select generation, student_bitmap, version " +
+                "from report where id = ?", REPORT_ID);
+        assertEquals(1L, ((Number) report.get("generation")).longValue());
+        assertNull(report.get("student_bitmap"));
+        assertEquals(0L, ((Number) report.get("version")).longValue());
+        assertEquals(STUDENT_ID, jdbcTemplate.queryForObject("select student_id from report_student_id " +
+                "where report_id = ?", String.class, REPORT_ID));
+        assertEquals(1L, jdbcTemplate.queryForObject("select active_generation from report_generation " +
+                "where id = 'active'", Long.class));
+        assertEquals(0, jdbcTemplate.queryForObject("select count(*) from tuition_student_dictionary",
+                Integer.class));
+    }
+
+    @Test
+    void Should_CreateSchema_When_MigratingNewDatabase() {
+        migrate();
+
+        assertEquals(0, jdbcTemplate.queryForObject("select count(*) from report", Integer.class));
+        assertEquals(1L, jdbcTemplate.queryForObject("select active_generation from report_generation " +
+                "where id = 'active'", Long.class));
+    }
+
+    /**
+     * This method migrates the database as configured in application.yml
+     */
+    private void migrate() {
+        Flyway.configure()
+                .dataSource(dataSource)
+                .locations("classpath:db/migration")
+                .baselineOnMigrate(true)
+                .baselineVersion("0")
+                .load()
+                .migrate();
+    }
+}
@@ -0,0 +1,111 @@
+package com.swivel.ignite.reporting.service;
+
+import com.swivel.ignite.reporting.dto.response.PaidStudentsYearResponseDto;
+import com.swivel.ignite.reporting.dto.response.TuitionResponseDto;
+import com.swivel.ignite.reporting.enums.Month;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Collections;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+import static org.mockito.MockitoAnnotations.initMocks;
+
+/**
+ * This class tests {@link ExecutorReportRebuildPrefetcher} class
+ */
+class ExecutorReportRebuildPrefetcherTest {
+
+    private static final String STUDENT_ID = "sid-123456789";
+    private static final String TUITION_ID = "tid-123456789";
+    private static final String TUITION_1_ID = "tid-987654321";
+    private static final String TOKEN = "Bearer 123456789";
+    private ExecutorReportRebuildPrefetcher reportRebuildPrefetcher;
+    private ReportRebuildContext context;
+    @Mock
+    private PaymentService paymentService;
+    @Mock
+    private StudentService studentService;
+    @Mock
+    private StudentEnrollmentCache studentEnrollmentCache;
+
+    @BeforeEach
+    void setUp() {
+        initMocks(this);
+        reportRebuildPrefetcher = new ExecutorReportRebuildPrefetcher(4, Runnable::run);
+        context = new ReportRebuildContext(paymentService, studentService, studentEnrollmentCache, TOKEN);
+    }
+
+    /**
+     * Start of tests for isEnabled method
+     */
+    @Test
+    void Should_ReturnFalse_When_ParallelismIsOne() {
+        assertFalse(new ExecutorReportRebuildPrefetcher(1, Runnable::run).isEnabled());
+        assertTrue(reportRebuildPrefetcher.isEnabled());
+    }
+
+    /**
+     * Start of tests for prefetch method
+     */
+    @Test
+    void Should_FetchYearOfEachTuition_When_Prefetching() throws IOException {
+        when(paymentService.getPaidStudentsForYear(anyString(), anyString()))
+                .thenAnswer(invocation -> getSamplePaidStudentsYear(invocation.getArgument(0)));
+        reportRebuildPrefetcher.prefetch(Arrays.asList(getSampleTuition(TUITION_ID), getSampleTuition(TUITION_1_ID)),
+                context);
+        verify(paymentService, times(2)).getPaidStudentsForYear(anyString(), eq(TOKEN));
+        verify(studentService, times(2)).getStudentInfos(anyCollection(), anyString());
+        assertTrue(context.getPaidStudentsLookup().isPaid(TUITION_ID, Month.MAY.getMonthString(), STUDENT_ID));
+        assertEquals(2, context.getPaidStudentsLookup().getFetchCount());
+        assertTrue(context.getFailedTuitions().isEmpty());
+    }
+
+    @Test
+    void Should_MarkTuitionAsFailed_When_PrefetchingTuitionIsFailed() throws IOException {
+        when(paymentService.getPaidStudentsForYear(eq(TUITION_ID), anyString()))
+                .thenReturn(getSamplePaidStudentsYear(TUITION_ID));
+        when(paymentService.getPaidStudentsForYear(eq(TUITION_1_ID), anyString())).thenThrow(new IOException());
+        reportRebuildPrefetcher.prefetch(Arrays.asList(getSampleTuition(TUITION_ID), getSampleTuition(TUITION_1_ID)),
+                context);
+        assertFalse(context.isFailed(TUITION_ID));
+        assertTrue(context.isFailed(TUITION_1_ID));
+        assertTrue(context.getFailedTuitions().get(TUITION_1_ID) instanceof IOException);
+        verify(studentService, times(1)).getStudentInfos(anyCollection(), anyString());
+    }
+
+    /**
+     * This method returns a sample PaidStudentsYearResponseDto with the student paid for every month
+     *
+     * @param tuitionId tuition id
+     * @return PaidStudentsYearResponseDto
+     */
+    private PaidStudentsYearResponseDto getSamplePaidStudentsYear(String tuitionId) {
+        PaidStudentsYearResponseDto dto = new PaidStudentsYearResponseDto();
+        dto.setTuitionId(tuitionId);
+        for (Month m : Month.values()) {
+            dto.getStudentIdsByMonth().put(m.getMonthString(), Collections.singletonList(STUDENT_ID));
+        }
+        return dto;
+    }
+
+    /**
+     * This method returns a sample TuitionResponseDto
+     *
+     * @param tuitionId tuition id
+     * @return TuitionResponseDto
+     */
+    private TuitionResponseDto getSampleTuition(String tuitionId) {
+        TuitionResponseDto dto = new TuitionResponseDto();
+        dto.setTuitionId(tuitionId);
+        dto.getStudentIds().add(STUDENT_ID);
+        return dto;
+    }
+}
@@ -0,0 +1,93 @@
+package com.swivel.ignite.reporting.service;
+
+import com.swivel.ignite.reporting.dto.response.PaidStudentsYearResponseDto;
+import com.swivel.ignite.reporting.dto.response.StudentsIdListResponseDto;
+import com.swivel.ignite.reporting.enums.Month;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+
+import java.io.IOException;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+import static org.mockito.MockitoAnnotations.initMocks;
+
+/**
+ * This class tests {@link PaidStudentsLookup} class
+ */
+class PaidStudentsLookupTest {
+
+    private static final String STUDENT_ID = "sid-123456789";
+    private static final String STUDENT_1_ID = "sid-987654321";
+    private static final String TUITION_ID = "tid-123456789";
+    private static final String TOKEN = "Bearer 123456789";
+    private PaidStudentsLookup paidStudentsLookup;
+    @Mock
+    private PaymentService paymentService;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        initMocks(this);
+        paidStudentsLookup = new PaidStudentsLookup(paymentService, TOKEN);
+        when(paymentService.getPaidStudents(anyString(), anyString(), anyString()))
+                .thenReturn(new StudentsIdListResponseDto(Collections.singletonList(STUDENT_ID)));
+    }
+
+    /**
+     * Start of tests for isPaid method
+     */
+    @Test
+    void Should_FetchPaidStudentsOnce_When_LookingUpSameTuitionMonthRepeatedly() throws IOException {
+        String month = Month.MAY.getMonthString();
+        assertTrue(paidStudentsLookup.isPaid(TUITION_ID, month, STUDENT_ID));
+        assertFalse(paidStudentsLookup.isPaid(TUITION_ID, month, STUDENT_1_ID));
+        assertTrue(paidStudentsLookup.isPaid(TUITION_ID, month, STUDENT_ID));
+        verify(paymentService, times(1)).getPaidStudents(TUITION_ID, month, TOKEN);
+        assertEquals(1, paidStudentsLookup.getFetchCount());
+        assertEquals(2, paidStudentsLookup.getSavedCallCount());
+    }
+
+    @Test
+    void Should_FetchPaidStudentsPerMonth_When_LookingUpDifferentMonths() throws IOException {
+        paidStudentsLookup.isPaid(TUITION_ID, Month.MAY.getMonthString(), STUDENT_ID);
+        paidStudentsLookup.isPaid(TUITION_ID, Month.JUNE.getMonthString(), STUDENT_ID);
+        assertEquals(2, paidStudentsLookup.getFetchCount());
+        assertEquals(0, paidStudentsLookup.getSavedCallCount());
+    }
+
+    /**
+     * Start of tests for getPaidStudentsForYear method
+     */
+    @Test
+    void Should_FetchYearOnce_When_LookingUpYearRepeatedly() throws IOException {
+        when(paymentService.getPaidStudentsForYear(anyString(), anyString()))
+                .thenReturn(new PaidStudentsYearResponseDto(TUITION_ID, Collections.singletonMap(
+                        Month.MAY.getMonthString(), Collections.singletonList(STUDENT_ID))));
+        List<Set<String>> paidStudentsByMonth = paidStudentsLookup.getPaidStudentsForYear(TUITION_ID);
+        assertEquals(Month.values().length, paidStudentsByMonth.size());
+        assertEquals(Collections.singleton(STUDENT_ID), paidStudentsByMonth.get(Month.MAY.ordinal()));
+        assertTrue(paidStudentsByMonth.get(Month.JUNE.ordinal()).isEmpty());
+        assertTrue(paidStudentsLookup.isPaid(TUITION_ID, Month.MAY.getMonthString(), STUDENT_ID));
+        paidStudentsLookup.getPaidStudentsForYear(TUITION_ID);
+        verify(paymentService, times(1)).getPaidStudentsForYear(TUITION_ID, TOKEN);
+        verify(paymentService, never()).getPaidStudents(anyString(), anyString(), anyString());
+        assertEquals(1, paidStudentsLookup.getFetchCount());
+        assertEquals(24, paidStudentsLookup.getSavedCallCount());
+    }
+
+    @Test
+    void Should_NotFetchYear_When_LookingUpYearOfPreloadedMonths() throws IOException {
+        for (Month m : Month.values()) {
+            paidStudentsLookup.preload(TUITION_ID, m.getMonthString(), Collections.singletonList(STUDENT_ID));
+        }
+        assertTrue(paidStudentsLookup.getPaidStudentsForYear(TUITION_ID).get(Month.MAY.ordinal())
+                .contains(STUDENT_ID));
+        verify(paymentService, never()).getPaidStudentsForYear(anyString(), anyString());
+        assertEquals(0, paidStudentsLookup.getFetchCount());
+    }
+}
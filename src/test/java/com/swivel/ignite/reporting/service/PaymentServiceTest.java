@@ -1,8 +1,10 @@
 package com.swivel.ignite.reporting.service;
 
+import com.swivel.ignite.reporting.dto.response.PaidStudentsYearResponseDto;
 import com.swivel.ignite.reporting.dto.response.StudentsIdListResponseDto;
 import com.swivel.ignite.reporting.enums.Month;
 import com.swivel.ignite.reporting.exception.PaymentServiceHttpClientErrorException;
+import com.swivel.ignite.reporting.wrapper.PaidStudentsYearResponseWrapper;
 import com.swivel.ignite.reporting.wrapper.StudentsIdListResponseWrapper;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -16,11 +18,14 @@ import org.springframework.web.client.RestTemplate;
 
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.mockito.MockitoAnnotations.initMocks;
 
@@ -34,6 +39,7 @@ class PaymentServiceTest {
     private static final String TOKEN = "Bearer 123456789";
     private static final String BASE_URL = "http://localhost:8083/ignite-payment-service";
     private static final String PAID_STUDENTS_INFO_URL = "/api/v1/payment/get/all/{tuitionId}/{month}";
+    private static final String PAID_STUDENTS_YEAR_INFO_URL = "/api/v1/payment/get/year/{tuitionId}";
     private PaymentService paymentService;
     @Mock
     private RestTemplate restTemplate;
@@ -41,7 +47,7 @@ class PaymentServiceTest {
     @BeforeEach
     void setUp() {
         initMocks(this);
-        paymentService = new PaymentService(BASE_URL, PAID_STUDENTS_INFO_URL, restTemplate);
+        paymentService = new PaymentService(BASE_URL, PAID_STUDENTS_INFO_URL, "", restTemplate, Runnable::run);
     }
 
     /**
@@ -67,6 +73,57 @@ class PaymentServiceTest {
                 exception.getMessage());
     }
 
+    /**
+     * Start of tests for getPaidStudentsForYear method
+     */
+    @Test
+    void Should_CallEveryMonth_When_GettingPaidStudentsForYearWithoutYearEndpoint() throws IOException {
+        when(restTemplate.exchange(anyString(), any(HttpMethod.class), any(HttpEntity.class),
+                eq(StudentsIdListResponseWrapper.class), anyMap())).thenReturn(getSampleStudentsIdListResponseEntity());
+        PaidStudentsYearResponseDto paidStudents = paymentService.getPaidStudentsForYear(TUITION_ID, TOKEN);
+        assertEquals(Month.values().length, paidStudents.getStudentIdsByMonth().size());
+        assertEquals(STUDENT_ID, paidStudents.getStudentIdsByMonth().get(Month.MAY.getMonthString()).get(0));
+        verify(restTemplate, times(12)).exchange(anyString(), any(HttpMethod.class), any(HttpEntity.class),
+                eq(StudentsIdListResponseWrapper.class), anyMap());
+    }
+
+    @Test
+    void Should_ThrowPaymentServiceHttpClientErrorException_When_GettingPaidStudentsForYearByMonthIsFailed() {
+        when(restTemplate.exchange(anyString(), any(HttpMethod.class), any(HttpEntity.class),
+                eq(StudentsIdListResponseWrapper.class), anyMap()))
+                .thenThrow(new HttpClientErrorException(HttpStatus.BAD_REQUEST));
+        assertThrows(PaymentServiceHttpClientErrorException.class, () ->
+                paymentService.getPaidStudentsForYear(TUITION_ID, TOKEN));
+    }
+
+    @Test
+    void Should_CallYearEndpointOnce_When_GettingPaidStudentsForYearWithYearEndpoint() throws IOException {
+        paymentService = new PaymentService(BASE_URL, PAID_STUDENTS_INFO_URL, PAID_STUDENTS_YEAR_INFO_URL,
+                restTemplate, Runnable::run);
+        PaidStudentsYearResponseWrapper responseWrapper = new PaidStudentsYearResponseWrapper();
+        responseWrapper.setData(new PaidStudentsYearResponseDto(TUITION_ID, Collections.singletonMap(
+                Month.MAY.getMonthString(), Collections.singletonList(STUDENT_ID))));
+        when(restTemplate.exchange(eq(BASE_URL + PAID_STUDENTS_YEAR_INFO_URL), any(HttpMethod.class),
+                any(HttpEntity.class), eq(PaidStudentsYearResponseWrapper.class), anyMap()))
+                .thenReturn(new ResponseEntity<>(responseWrapper, HttpStatus.OK));
+        PaidStudentsYearResponseDto paidStudents = paymentService.getPaidStudentsForYear(TUITION_ID, TOKEN);
+        assertEquals(STUDENT_ID, paidStudents.getStudentIdsByMonth().get(Month.MAY.getMonthString()).get(0));
+        verify(restTemplate, times(1)).exchange(anyString(), any(HttpMethod.class), any(HttpEntity.class),
+                any(Class.class), anyMap());
+    }
+
+    @Test
+    void Should_ThrowPaymentServiceHttpClientErrorException_When_GettingPaidStudentsForYearIsFailed() {
+        paymentService = new PaymentService(BASE_URL, PAID_STUDENTS_INFO_URL, PAID_STUDENTS_YEAR_INFO_URL,
+                restTemplate, Runnable::run);
+        when(restTemplate.exchange(anyString(), any(HttpMethod.class), any(HttpEntity.class), any(Class.class),
+                anyMap())).thenThrow(new HttpClientErrorException(HttpStatus.NOT_FOUND));
+        PaymentServiceHttpClientErrorException exception = assertThrows(PaymentServiceHttpClientErrorException.class,
+                () -> paymentService.getPaidStudentsForYear(TUITION_ID, TOKEN));
+        assertEquals(HttpStatus.NOT_FOUND.value() + " Failed to get paid students info of the year",
+                exception.getMessage());
+    }
+
     /**
      * This method returns a sample StudentsIdListResponseEntity
      *
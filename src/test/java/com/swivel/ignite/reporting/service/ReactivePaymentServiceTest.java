@@ -0,0 +1,104 @@
+package com.swivel.ignite.reporting.service;
+
+import com.swivel.ignite.reporting.enums.Month;
+import com.swivel.ignite.reporting.exception.PaymentServiceHttpClientErrorException;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * This class tests {@link ReactivePaymentService} class
+ */
+class ReactivePaymentServiceTest {
+
+    private static final String STUDENT_ID = "sid-123456789";
+    private static final String TUITION_ID = "tid-123456789";
+    private static final String TOKEN = "Bearer 123456789";
+    private static final String BASE_URL = "http://localhost:8083/ignite-payment-service";
+    private static final String PAID_STUDENTS_INFO_URL = "/api/v1/payment/get/all/{tuitionId}/{month}";
+    private static final String PAID_STUDENTS_YEAR_INFO_URL = "/api/v1/payment/get/year/{tuitionId}";
+    private static final long READ_TIMEOUT = 5000;
+
+    /**
+     * Start of tests for getPaidStudents method
+     */
+    @Test
+    void Should_ReturnStudentsIdListResponseDto_When_GettingPaidStudentsIsSuccessful() {
+        AtomicReference<ClientRequest> request = new AtomicReference<>();
+        ReactivePaymentService reactivePaymentService = getReactivePaymentService(HttpStatus.OK,
+                "{\"status\":\"SUCCESS\",\"data\":{\"studentIds\":[\"" + STUDENT_ID + "\"]}}", request);
+        assertEquals(STUDENT_ID, reactivePaymentService.getPaidStudents(TUITION_ID, Month.MAY.getMonthString(), TOKEN)
+                .block().getStudentIds().get(0));
+        assertEquals(BASE_URL + "/api/v1/payment/get/all/" + TUITION_ID + "/" + Month.MAY.getMonthString(),
+                request.get().url().toString());
+        assertEquals(TOKEN, request.get().headers().getFirst(HttpHeaders.AUTHORIZATION));
+    }
+
+    @Test
+    void Should_ThrowPaymentServiceHttpClientErrorException_When_GettingPaidStudentsIsFailed() {
+        ReactivePaymentService reactivePaymentService = getReactivePaymentService(HttpStatus.BAD_REQUEST,
+                "{\"status\":\"ERROR\"}", new AtomicReference<>());
+        Mono<?> paidStudents = reactivePaymentService.getPaidStudents(TUITION_ID, Month.MAY.getMonthString(), TOKEN);
+        PaymentServiceHttpClientErrorException exception = assertThrows(PaymentServiceHttpClientErrorException.class,
+                paidStudents::block);
+        assertEquals(HttpStatus.BAD_REQUEST.value() + " Failed to get paid students info", exception.getMessage());
+    }
+
+    /**
+     * Start of tests for getPaidStudentsForYear method
+     */
+    @Test
+    void Should_ReturnPaidStudentsYearResponseDto_When_GettingPaidStudentsForYearIsSuccessful() {
+        AtomicReference<ClientRequest> request = new AtomicReference<>();
+        ReactivePaymentService reactivePaymentService = getReactivePaymentService(HttpStatus.OK,
+                "{\"status\":\"SUCCESS\",\"data\":{\"tuitionId\":\"" + TUITION_ID + "\",\"studentIdsByMonth\":{\""
+                        + Month.MAY.getMonthString() + "\":[\"" + STUDENT_ID + "\"]}}}", request);
+        assertTrue(reactivePaymentService.isYearEndpointEnabled());
+        assertEquals(STUDENT_ID, reactivePaymentService.getPaidStudentsForYear(TUITION_ID, TOKEN).block()
+                .getStudentIdsByMonth().get(Month.MAY.getMonthString()).get(0));
+        assertEquals(BASE_URL + "/api/v1/payment/get/year/" + TUITION_ID, request.get().url().toString());
+    }
+
+    @Test
+    void Should_ThrowPaymentServiceHttpClientErrorException_When_GettingPaidStudentsForYearIsFailed() {
+        ReactivePaymentService reactivePaymentService = getReactivePaymentService(HttpStatus.NOT_FOUND,
+                "{\"status\":\"ERROR\"}", new AtomicReference<>());
+        Mono<?> paidStudents = reactivePaymentService.getPaidStudentsForYear(TUITION_ID, TOKEN);
+        PaymentServiceHttpClientErrorException exception = assertThrows(PaymentServiceHttpClientErrorException.class,
+                paidStudents::block);
+        assertEquals(HttpStatus.NOT_FOUND.value() + " Failed to get paid students info of the year",
+                exception.getMessage());
+    }
+
+    /**
+     * This method returns a ReactivePaymentService whose web client answers every request with the given response
+     *
+     * @param status  response status
+     * @param body    response body
+     * @param request reference the request is captured into
+     * @return ReactivePaymentService
+     */
+    private ReactivePaymentService getReactivePaymentService(HttpStatus status, String body,
+                                                             AtomicReference<ClientRequest> request) {
+        WebClient webClient = WebClient.builder().exchangeFunction(clientRequest -> {
+            request.set(clientRequest);
+            return Mono.just(ClientResponse.create(status)
+                    .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                    .body(body)
+                    .build());
+        }).build();
+        return new ReactivePaymentService(BASE_URL, PAID_STUDENTS_INFO_URL, PAID_STUDENTS_YEAR_INFO_URL, READ_TIMEOUT,
+                webClient);
+    }
+}
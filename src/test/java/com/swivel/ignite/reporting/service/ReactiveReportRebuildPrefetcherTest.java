@@ -0,0 +1,150 @@
+package com.swivel.ignite.reporting.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.swivel.ignite.reporting.dto.response.PaidStudentsYearResponseDto;
+import com.swivel.ignite.reporting.dto.response.StudentResponseDto;
+import com.swivel.ignite.reporting.dto.response.StudentsIdListResponseDto;
+import com.swivel.ignite.reporting.dto.response.TuitionResponseDto;
+import com.swivel.ignite.reporting.enums.Month;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import reactor.core.publisher.Mono;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Date;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+import static org.mockito.MockitoAnnotations.initMocks;
+
+/**
+ * This class tests {@link ReactiveReportRebuildPrefetcher} class
+ */
+class ReactiveReportRebuildPrefetcherTest {
+
+    private static final String STUDENT_ID = "sid-123456789";
+    private static final String TUITION_ID = "tid-123456789";
+    private static final String TUITION_1_ID = "tid-987654321";
+    private static final String TOKEN = "Bearer 123456789";
+    private static final long CACHE_MAX_ENTRIES = 100;
+    private static final long CACHE_TTL = 60000;
+    private ReactiveReportRebuildPrefetcher reportRebuildPrefetcher;
+    private ReportRebuildContext context;
+    private StudentEnrollmentCache studentEnrollmentCache;
+    @Mock
+    private ReactivePaymentService reactivePaymentService;
+    @Mock
+    private ReactiveStudentService reactiveStudentService;
+    @Mock
+    private PaymentService paymentService;
+    @Mock
+    private StudentService studentService;
+
+    @BeforeEach
+    void setUp() {
+        initMocks(this);
+        studentEnrollmentCache = new StudentEnrollmentCache(new ObjectMapper(),
+                new ReportingMetrics(new SimpleMeterRegistry()), CACHE_MAX_ENTRIES, CACHE_TTL, "");
+        reportRebuildPrefetcher = new ReactiveReportRebuildPrefetcher(reactivePaymentService, reactiveStudentService,
+                studentEnrollmentCache, 16, 16);
+        context = new ReportRebuildContext(paymentService, studentService, studentEnrollmentCache, TOKEN);
+        when(reactiveStudentService.getBatchSize()).thenReturn(1);
+        when(reactiveStudentService.getStudentInfoBatch(anyList(), anyString()))
+                .thenReturn(Mono.just(Collections.singletonList(getSampleStudentResponseDto())));
+    }
+
+    /**
+     * Start of tests for prefetch method
+     */
+    @Test
+    void Should_PreloadLookups_When_Prefetching() throws IOException {
+        when(reactivePaymentService.getPaidStudents(anyString(), anyString(), anyString()))
+                .thenReturn(Mono.just(new StudentsIdListResponseDto(Collections.singletonList(STUDENT_ID))));
+        reportRebuildPrefetcher.prefetch(Arrays.asList(getSampleTuition(TUITION_ID), getSampleTuition(TUITION_1_ID)),
+                context);
+        verify(reactivePaymentService, times(24)).getPaidStudents(anyString(), anyString(), eq(TOKEN));
+        verify(reactiveStudentService, times(2)).getStudentInfoBatch(anyList(), eq(TOKEN));
+        assertTrue(context.getPaidStudentsLookup().isPaid(TUITION_ID, Month.MAY.getMonthString(), STUDENT_ID));
+        assertEquals(24, context.getPaidStudentsLookup().getFetchCount());
+        assertEquals(Integer.valueOf(Month.APRIL.getMonthInt()), context.getTuitionJoinedMonthsLookup()
+                .getTuitionJoinedMonths(getSampleTuition(TUITION_1_ID)).get(STUDENT_ID));
+        verify(paymentService, never()).getPaidStudents(anyString(), anyString(), anyString());
+        verify(studentService, never()).getStudentInfos(anyList(), anyString());
+        assertTrue(context.getFailedTuitions().isEmpty());
+    }
+
+    @Test
+    void Should_NotFetchCachedStudents_When_Prefetching() {
+        when(reactivePaymentService.getPaidStudents(anyString(), anyString(), anyString()))
+                .thenReturn(Mono.just(new StudentsIdListResponseDto(Collections.singletonList(STUDENT_ID))));
+        reportRebuildPrefetcher.prefetch(Collections.singletonList(getSampleTuition(TUITION_ID)), context);
+
+        ReportRebuildContext nextContext = new ReportRebuildContext(paymentService, studentService,
+                studentEnrollmentCache, TOKEN);
+        reportRebuildPrefetcher.prefetch(Collections.singletonList(getSampleTuition(TUITION_ID)), nextContext);
+        verify(reactiveStudentService, times(1)).getStudentInfoBatch(anyList(), eq(TOKEN));
+        assertEquals(Integer.valueOf(Month.APRIL.getMonthInt()), nextContext.getTuitionJoinedMonthsLookup()
+                .getTuitionJoinedMonths(getSampleTuition(TUITION_ID)).get(STUDENT_ID));
+    }
+
+    @Test
+    void Should_PreloadYearOfEachTuition_When_PrefetchingWithYearEndpoint() throws IOException {
+        when(reactivePaymentService.isYearEndpointEnabled()).thenReturn(true);
+        when(reactivePaymentService.getPaidStudentsForYear(anyString(), anyString()))
+                .thenReturn(Mono.just(new PaidStudentsYearResponseDto(TUITION_ID, Collections.singletonMap(
+                        Month.MAY.getMonthString(), Collections.singletonList(STUDENT_ID)))));
+        reportRebuildPrefetcher.prefetch(Arrays.asList(getSampleTuition(TUITION_ID), getSampleTuition(TUITION_1_ID)),
+                context);
+        verify(reactivePaymentService, times(2)).getPaidStudentsForYear(anyString(), eq(TOKEN));
+        verify(reactivePaymentService, never()).getPaidStudents(anyString(), anyString(), anyString());
+        assertTrue(context.getPaidStudentsLookup().isPaid(TUITION_ID, Month.MAY.getMonthString(), STUDENT_ID));
+        assertFalse(context.getPaidStudentsLookup().isPaid(TUITION_ID, Month.JUNE.getMonthString(), STUDENT_ID));
+        assertEquals(2, context.getPaidStudentsLookup().getFetchCount());
+        verify(paymentService, never()).getPaidStudentsForYear(anyString(), anyString());
+    }
+
+    @Test
+    void Should_MarkTuitionAsFailed_When_PrefetchingTuitionIsFailed() {
+        when(reactivePaymentService.getPaidStudents(eq(TUITION_ID), anyString(), anyString()))
+                .thenReturn(Mono.just(new StudentsIdListResponseDto(Collections.singletonList(STUDENT_ID))));
+        when(reactivePaymentService.getPaidStudents(eq(TUITION_1_ID), anyString(), anyString()))
+                .thenReturn(Mono.error(new IOException()));
+        reportRebuildPrefetcher.prefetch(Arrays.asList(getSampleTuition(TUITION_ID), getSampleTuition(TUITION_1_ID)),
+                context);
+        assertFalse(context.isFailed(TUITION_ID));
+        assertTrue(context.isFailed(TUITION_1_ID));
+        assertTrue(context.getFailedTuitions().get(TUITION_1_ID) instanceof IOException);
+    }
+
+    /**
+     * This method returns a sample TuitionResponseDto
+     *
+     * @param tuitionId tuition id
+     * @return TuitionResponseDto
+     */
+    private TuitionResponseDto getSampleTuition(String tuitionId) {
+        TuitionResponseDto dto = new TuitionResponseDto();
+        dto.setTuitionId(tuitionId);
+        dto.getStudentIds().add(STUDENT_ID);
+        return dto;
+    }
+
+    /**
+     * This method returns a sample StudentResponseDto who joined the tuition in April
+     *
+     * @return StudentResponseDto
+     */
+    private StudentResponseDto getSampleStudentResponseDto() {
+        StudentResponseDto responseDto = new StudentResponseDto();
+        responseDto.setStudentId(STUDENT_ID);
+        responseDto.setTuitionJoinedOn(new Date(1680497462842L));
+        return responseDto;
+    }
+}
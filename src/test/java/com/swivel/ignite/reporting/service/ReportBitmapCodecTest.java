@@ -0,0 +1,132 @@
+package com.swivel.ignite.reporting.service;
+
+import com.swivel.ignite.reporting.entity.Report;
+import com.swivel.ignite.reporting.entity.TuitionStudentDictionary;
+import com.swivel.ignite.reporting.enums.Month;
+import com.swivel.ignite.reporting.exception.ReportingServiceException;
+import com.swivel.ignite.reporting.repository.TuitionStudentDictionaryRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+import static org.mockito.MockitoAnnotations.initMocks;
+
+/**
+ * This class tests {@link ReportBitmapCodec} class
+ */
+class ReportBitmapCodecTest {
+
+    private static final String STUDENT_ID = "sid-123456789";
+    private static final String STUDENT_1_ID = "sid-987654321";
+    private static final String STUDENT_2_ID = "sid-555555555";
+    private static final String TUITION_ID = "tid-123456789";
+    private ReportBitmapCodec reportBitmapCodec;
+    private TuitionStudentDictionary dictionary;
+    @Mock
+    private TuitionStudentDictionaryRepository tuitionStudentDictionaryRepository;
+
+    @BeforeEach
+    void setUp() {
+        initMocks(this);
+        reportBitmapCodec = new ReportBitmapCodec(tuitionStudentDictionaryRepository);
+        when(tuitionStudentDictionaryRepository.findById(anyString())).thenAnswer(invocation ->
+                Optional.ofNullable(dictionary));
+        when(tuitionStudentDictionaryRepository.findForUpdateById(anyString())).thenAnswer(invocation ->
+                Optional.ofNullable(dictionary));
+        when(tuitionStudentDictionaryRepository.save(any(TuitionStudentDictionary.class))).thenAnswer(invocation -> {
+            dictionary = invocation.getArgument(0);
+            return dictionary;
+        });
+    }
+
+    /**
+     * Start of tests for encode method
+     */
+    @Test
+    void Should_EncodeStudentIdsAsBitmap_When_Encoding() {
+        Report report = getSampleReport(STUDENT_ID, STUDENT_1_ID);
+        reportBitmapCodec.encode(Collections.singletonList(report));
+        assertNotNull(report.getStudentBitmap());
+        assertTrue(report.getStudentId().isEmpty());
+        assertEquals(2, dictionary.size());
+        verify(tuitionStudentDictionaryRepository, times(1)).save(any(TuitionStudentDictionary.class));
+    }
+
+    @Test
+    void Should_LockDictionary_When_Encoding() {
+        reportBitmapCodec.encode(Collections.singletonList(getSampleReport(STUDENT_ID)));
+        verify(tuitionStudentDictionaryRepository, times(1)).findForUpdateById(TUITION_ID);
+        verify(tuitionStudentDictionaryRepository, never()).findById(anyString());
+    }
+
+    @Test
+    void Should_KeepOrdinalsOfKnownStudents_When_EncodingNewStudents() {
+        reportBitmapCodec.encode(Collections.singletonList(getSampleReport(STUDENT_ID, STUDENT_1_ID)));
+        String firstStudentId = dictionary.getStudentId(0);
+        reportBitmapCodec.encode(Collections.singletonList(getSampleReport(STUDENT_2_ID, STUDENT_1_ID)));
+        assertEquals(3, dictionary.size());
+        assertEquals(firstStudentId, dictionary.getStudentId(0));
+        assertEquals(STUDENT_2_ID, dictionary.getStudentId(2));
+    }
+
+    @Test
+    void Should_NotSaveDictionary_When_EncodingKnownStudents() {
+        reportBitmapCodec.encode(Collections.singletonList(getSampleReport(STUDENT_ID, STUDENT_1_ID)));
+        clearInvocations(tuitionStudentDictionaryRepository);
+        reportBitmapCodec.encode(Collections.singletonList(getSampleReport(STUDENT_1_ID)));
+        verify(tuitionStudentDictionaryRepository, never()).save(any(TuitionStudentDictionary.class));
+    }
+
+    /**
+     * Start of tests for decode method
+     */
+    @Test
+    void Should_ReturnStudentIds_When_DecodingEncodedReport() {
+        Report report = getSampleReport(STUDENT_ID, STUDENT_1_ID);
+        Report emptyReport = getSampleReport();
+        reportBitmapCodec.encode(Arrays.asList(report, emptyReport));
+        Report decoded = reportBitmapCodec.decode(report);
+        assertEquals(new HashSet<>(Arrays.asList(STUDENT_ID, STUDENT_1_ID)), decoded.getStudentId());
+        assertEquals(report.getId(), decoded.getId());
+        assertNull(decoded.getStudentBitmap());
+        assertTrue(reportBitmapCodec.decode(emptyReport).getStudentId().isEmpty());
+    }
+
+    @Test
+    void Should_ReturnSameReport_When_DecodingCollectionStoredReport() {
+        Report report = getSampleReport(STUDENT_ID);
+        assertSame(report, reportBitmapCodec.decode(report));
+    }
+
+    @Test
+    void Should_ThrowReportingServiceException_When_DictionaryDoesNotCoverBitmap() {
+        Report report = getSampleReport(STUDENT_ID, STUDENT_1_ID);
+        reportBitmapCodec.encode(Collections.singletonList(report));
+        dictionary = new TuitionStudentDictionary(TUITION_ID);
+        ReportingServiceException exception = assertThrows(ReportingServiceException.class, () ->
+                reportBitmapCodec.decode(report));
+        assertEquals("Student dictionary of tuition id: " + TUITION_ID + " does not cover ordinal: 1",
+                exception.getMessage());
+    }
+
+    /**
+     * This method returns a sample Report with the given students
+     *
+     * @param studentIds student ids
+     * @return Report
+     */
+    private Report getSampleReport(String... studentIds) {
+        Report report = new Report(TUITION_ID, Month.MAY.getMonthString(), true, 1);
+        report.getStudentId().addAll(Arrays.asList(studentIds));
+        return report;
+    }
+}
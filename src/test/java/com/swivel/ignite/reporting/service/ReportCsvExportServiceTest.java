@@ -0,0 +1,204 @@
+package com.swivel.ignite.reporting.service;
+
+import com.swivel.ignite.reporting.enums.Month;
+import com.swivel.ignite.reporting.enums.ReportExportJobStatus;
+import com.swivel.ignite.reporting.exception.ReportExportNotFoundException;
+import com.swivel.ignite.reporting.repository.ReportRepository;
+import com.swivel.ignite.reporting.repository.ReportStudentIdRow;
+import com.swivel.ignite.reporting.repository.TuitionStudentDictionaryRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.springframework.core.task.SyncTaskExecutor;
+import org.springframework.dao.DataAccessException;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.when;
+import static org.mockito.MockitoAnnotations.initMocks;
+
+/**
+ * This class tests {@link ReportCsvExportService} class
+ */
+class ReportCsvExportServiceTest {
+
+    private static final String REPORT_ID = "rid-123456789";
+    private static final String REPORT_1_ID = "rid-987654321";
+    private static final String TUITION_ID = "tid-123456789";
+    private static final String STUDENT_ID = "sid-123456789";
+    private static final String STUDENT_1_ID = "sid-987654321";
+    private static final String JOB_ID = "eid-123456789";
+    private static final String ERROR = "ERROR";
+    private static final String MONTH = Month.JANUARY.getMonthString();
+    private static final long RETENTION = 60000;
+    @TempDir
+    Path directory;
+    private ReportCsvExportService reportCsvExportService;
+    @Mock
+    private ReportRepository reportRepository;
+    @Mock
+    private TuitionStudentDictionaryRepository tuitionStudentDictionaryRepository;
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @BeforeEach
+    void setUp() {
+        initMocks(this);
+        reportCsvExportService = getReportCsvExportService(RETENTION);
+    }
+
+    /**
+     * Start of tests for createExportJob method
+     */
+    @Test
+    void Should_WriteGzipCsvFile_When_CreatingExportJob() throws IOException {
+        when(reportRepository.streamActiveReportStudentIds()).thenReturn(Stream.of(
+                getSampleRow(REPORT_ID, true, STUDENT_ID),
+                getSampleRow(REPORT_ID, true, STUDENT_1_ID),
+                getSampleRow(REPORT_1_ID, false, null)));
+        ReportExportJob job = reportCsvExportService.createExportJob();
+
+        assertEquals(ReportExportJobStatus.COMPLETED, job.getStatus());
+        Path file = reportCsvExportService.getExportFile(job.getJobId());
+        assertEquals(Files.size(file), job.getFileSize());
+        List<String> lines = readGzipLines(file);
+        assertEquals(3, lines.size());
+        assertEquals("tuitionId,month,isPaid,studentId", lines.get(0));
+        assertEquals(TUITION_ID + "," + MONTH + ",true," + STUDENT_ID, lines.get(1));
+        assertEquals(TUITION_ID + "," + MONTH + ",true," + STUDENT_1_ID, lines.get(2));
+    }
+
+    @Test
+    void Should_MarkJobFailedWithoutFile_When_CreatingExportJobIsFailed() throws IOException {
+        when(reportRepository.streamActiveReportStudentIds()).thenThrow(new DataAccessException(ERROR) {
+        });
+        ReportExportJob job = reportCsvExportService.createExportJob();
+
+        assertEquals(ReportExportJobStatus.FAILED, job.getStatus());
+        try (Stream<Path> files = Files.list(directory)) {
+            assertEquals(0, files.count());
+        }
+        String jobId = job.getJobId();
+        assertThrows(ReportExportNotFoundException.class, () -> reportCsvExportService.getExportFile(jobId));
+    }
+
+    /**
+     * Start of tests for getExportJob method
+     */
+    @Test
+    void Should_ThrowReportExportNotFoundException_When_GettingUnknownExportJob() {
+        ReportExportNotFoundException exception = assertThrows(ReportExportNotFoundException.class, () ->
+                reportCsvExportService.getExportJob(JOB_ID));
+        assertEquals("Report export job not found for job id: " + JOB_ID, exception.getMessage());
+    }
+
+    /**
+     * Start of tests for purgeExpiredExports method
+     */
+    @Test
+    void Should_DeleteExpiredExport_When_PurgingExpiredExports() {
+        reportCsvExportService = getReportCsvExportService(-1);
+        when(reportRepository.streamActiveReportStudentIds()).thenReturn(Stream.empty());
+        ReportExportJob job = reportCsvExportService.createExportJob();
+        assertTrue(Files.exists(job.getFile()));
+
+        reportCsvExportService.purgeExpiredExports();
+        assertFalse(Files.exists(job.getFile()));
+        String jobId = job.getJobId();
+        assertThrows(ReportExportNotFoundException.class, () -> reportCsvExportService.getExportJob(jobId));
+    }
+
+    @Test
+    void Should_KeepExport_When_PurgingExpiredExportsWithinRetention() {
+        when(reportRepository.streamActiveReportStudentIds()).thenReturn(Stream.empty());
+        ReportExportJob job = reportCsvExportService.createExportJob();
+
+        reportCsvExportService.purgeExpiredExports();
+        assertTrue(Files.exists(job.getFile()));
+        assertEquals(job, reportCsvExportService.getExportJob(job.getJobId()));
+    }
+
+    /**
+     * This method returns a ReportCsvExportService running its jobs on the calling thread
+     *
+     * @param retention retention of the exports
+     * @return ReportCsvExportService
+     */
+    private ReportCsvExportService getReportCsvExportService(long retention) {
+        return new ReportCsvExportService(reportRepository, new ReportBitmapCodec(tuitionStudentDictionaryRepository),
+                transactionManager, new SyncTaskExecutor(), directory.toString(), retention);
+    }
+
+    /**
+     * This method reads the lines of a gzip compressed file
+     *
+     * @param file file
+     * @return lines
+     * @throws IOException
+     */
+    private List<String> readGzipLines(Path file) throws IOException {
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(
+                new GZIPInputStream(Files.newInputStream(file)), StandardCharsets.UTF_8))) {
+            return reader.lines().collect(Collectors.toList());
+        }
+    }
+
+    /**
+     * This method returns a sample report student id row
+     *
+     * @param id        report id
+     * @param isPaid    isPaid
+     * @param studentId student id/ null
+     * @return ReportStudentIdRow
+     */
+    private ReportStudentIdRow getSampleRow(String id, boolean isPaid, String studentId) {
+        return new ReportStudentIdRow() {
+            @Override
+            public String getId() {
+                return id;
+            }
+
+            @Override
+            public String getTuitionId() {
+                return TUITION_ID;
+            }
+
+            @Override
+            public String getMonth() {
+                return MONTH;
+            }
+
+            @Override
+            public boolean isPaid() {
+                return isPaid;
+            }
+
+            @Override
+            public long getGeneration() {
+                return 1;
+            }
+
+            @Override
+            public byte[] getStudentBitmap() {
+                return null;
+            }
+
+            @Override
+            public String getStudentId() {
+                return studentId;
+            }
+        };
+    }
+}
@@ -0,0 +1,148 @@
+package com.swivel.ignite.reporting.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.swivel.ignite.reporting.enums.Month;
+import com.swivel.ignite.reporting.exception.ReportingServiceException;
+import com.swivel.ignite.reporting.repository.ReportRepository;
+import com.swivel.ignite.reporting.repository.ReportStudentIdRow;
+import com.swivel.ignite.reporting.repository.TuitionStudentDictionaryRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.springframework.dao.DataAccessException;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.when;
+import static org.mockito.MockitoAnnotations.initMocks;
+
+/**
+ * This class tests {@link ReportExportService} class
+ */
+class ReportExportServiceTest {
+
+    private static final String REPORT_ID = "rid-123456789";
+    private static final String REPORT_1_ID = "rid-987654321";
+    private static final String TUITION_ID = "tid-123456789";
+    private static final String STUDENT_ID = "sid-123456789";
+    private static final String STUDENT_1_ID = "sid-987654321";
+    private static final String ERROR = "ERROR";
+    private static final String MONTH = Month.JANUARY.getMonthString();
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private ReportExportService reportExportService;
+    @Mock
+    private ReportRepository reportRepository;
+    @Mock
+    private TuitionStudentDictionaryRepository tuitionStudentDictionaryRepository;
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @BeforeEach
+    void setUp() {
+        initMocks(this);
+        reportExportService = new ReportExportService(reportRepository,
+                new ReportBitmapCodec(tuitionStudentDictionaryRepository), objectMapper, transactionManager);
+    }
+
+    /**
+     * Start of tests for exportReports method
+     */
+    @Test
+    void Should_WriteOneLinePerReport_When_ExportingReports() throws IOException {
+        AtomicBoolean isClosed = new AtomicBoolean();
+        when(reportRepository.streamActiveReportStudentIds()).thenReturn(Stream.<ReportStudentIdRow>of(
+                        new SampleRow(REPORT_ID, true, STUDENT_ID),
+                        new SampleRow(REPORT_ID, true, STUDENT_1_ID),
+                        new SampleRow(REPORT_1_ID, false, null))
+                .onClose(() -> isClosed.set(true)));
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        reportExportService.exportReports(outputStream);
+
+        String[] lines = outputStream.toString(StandardCharsets.UTF_8.name()).split("\n");
+        assertEquals(2, lines.length);
+        JsonNode paidReport = objectMapper.readTree(lines[0]);
+        assertEquals(REPORT_ID, paidReport.get("id").asText());
+        assertEquals(TUITION_ID, paidReport.get("tuitionId").asText());
+        assertEquals(MONTH, paidReport.get("month").asText());
+        assertEquals(2, paidReport.get("studentId").size());
+        JsonNode unpaidReport = objectMapper.readTree(lines[1]);
+        assertEquals(REPORT_1_ID, unpaidReport.get("id").asText());
+        assertEquals(0, unpaidReport.get("studentId").size());
+        assertTrue(isClosed.get());
+    }
+
+    @Test
+    void Should_WriteNothing_When_ExportingReportsWithoutReports() throws IOException {
+        when(reportRepository.streamActiveReportStudentIds()).thenReturn(Stream.empty());
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        reportExportService.exportReports(outputStream);
+        assertEquals(0, outputStream.size());
+    }
+
+    @Test
+    void Should_ThrowReportingServiceException_When_ExportingReportsIsFailed() {
+        when(reportRepository.streamActiveReportStudentIds()).thenThrow(new DataAccessException(ERROR) {
+        });
+        ReportingServiceException exception = assertThrows(ReportingServiceException.class, () ->
+                reportExportService.exportReports(new ByteArrayOutputStream()));
+        assertEquals("Failed to export reports", exception.getMessage());
+    }
+
+    /**
+     * Sample report student id row
+     */
+    private static class SampleRow implements ReportStudentIdRow {
+
+        private final String id;
+        private final boolean isPaid;
+        private final String studentId;
+
+        private SampleRow(String id, boolean isPaid, String studentId) {
+            this.id = id;
+            this.isPaid = isPaid;
+            this.studentId = studentId;
+        }
+
+        @Override
+        public String getId() {
+            return id;
+        }
+
+        @Override
+        public String getTuitionId() {
+            return TUITION_ID;
+        }
+
+        @Override
+        public String getMonth() {
+            return MONTH;
+        }
+
+        @Override
+        public boolean isPaid() {
+            return isPaid;
+        }
+
+        @Override
+        public long getGeneration() {
+            return 1;
+        }
+
+        @Override
+        public byte[] getStudentBitmap() {
+            return null;
+        }
+
+        @Override
+        public String getStudentId() {
+            return studentId;
+        }
+    }
+}
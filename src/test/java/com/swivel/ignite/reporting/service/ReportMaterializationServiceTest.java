@@ -0,0 +1,178 @@
+package com.swivel.ignite.reporting.service;
+
+import com.swivel.ignite.reporting.dto.response.ReportSnapshotResponseDto;
+import com.swivel.ignite.reporting.exception.ReportingServiceException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+import static org.mockito.MockitoAnnotations.initMocks;
+
+/**
+ * This class tests {@link ReportMaterializationService} class
+ */
+class ReportMaterializationServiceTest {
+
+    private static final String TOKEN = "Bearer 123456789";
+    private static final String ERROR = "ERROR";
+    private static final long FRESHNESS_WINDOW = 60000;
+    private static final int CONCURRENT_REFRESHES = 8;
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private ReportMaterializationService reportMaterializationService;
+    @Mock
+    private ReportService reportService;
+    @Mock
+    private ServiceTokenProvider serviceTokenProvider;
+    @Mock
+    private ReportResponseCache reportResponseCache;
+    @Mock
+    private ReportSnapshotStatus reportSnapshotStatus;
+    @Mock
+    private StudentEnrollmentCache studentEnrollmentCache;
+
+    @BeforeEach
+    void setUp() {
+        initMocks(this);
+        reportMaterializationService = getReportMaterializationService(FRESHNESS_WINDOW);
+        when(serviceTokenProvider.getToken()).thenReturn(TOKEN);
+    }
+
+    /**
+     * Start of tests for materializeReport method
+     */
+    @Test
+    void Should_IncrementSnapshotVersion_When_MaterializingReportIsSuccessful() throws IOException {
+        doNothing().when(reportService).updateReport(anyString());
+        reportMaterializationService.materializeReport();
+        verify(reportService, times(1)).updateReport(TOKEN);
+        verify(reportResponseCache, times(1)).refresh();
+        verify(studentEnrollmentCache, times(1)).persist();
+        assertEquals(1, reportMaterializationService.getSnapshotVersion());
+        assertNotNull(reportMaterializationService.getLastMaterializedOn());
+        assertTrue(meterRegistry.get("report.snapshot.age").gauge().value() >= 0);
+        verify(reportSnapshotStatus, never()).markRebuildFailed();
+    }
+
+    @Test
+    void Should_KeepSnapshotVersion_When_MaterializingReportIsFailed() throws IOException {
+        doThrow(new ReportingServiceException(ERROR)).when(reportService).updateReport(anyString());
+        reportMaterializationService.materializeReport();
+        assertEquals(0, reportMaterializationService.getSnapshotVersion());
+        assertNull(reportMaterializationService.getLastMaterializedOn());
+        verify(reportResponseCache, never()).refresh();
+        verify(studentEnrollmentCache, never()).persist();
+        verify(reportSnapshotStatus, times(1)).markRebuildFailed();
+        assertTrue(Double.isNaN(meterRegistry.get("report.snapshot.age").gauge().value()));
+    }
+
+    @Test
+    void Should_KeepSnapshot_When_RefreshingResponseCacheAfterMaterializingIsFailed() throws IOException {
+        doThrow(new IllegalStateException(ERROR)).when(reportResponseCache).refresh();
+        ReportSnapshotResponseDto snapshot = reportMaterializationService.refreshReport();
+        assertEquals(1, snapshot.getSnapshotVersion());
+        verify(studentEnrollmentCache, times(1)).persist();
+        verify(reportSnapshotStatus, never()).markRebuildFailed();
+        assertEquals(1, meterRegistry.get("report.rebuild.followup.failures").tag("phase", "responseCache")
+                .counter().count());
+    }
+
+    @Test
+    void Should_KeepSnapshot_When_SavingStudentEnrollmentCacheAfterMaterializingIsFailed() throws IOException {
+        doThrow(new IllegalStateException(ERROR)).when(studentEnrollmentCache).persist();
+        ReportSnapshotResponseDto snapshot = reportMaterializationService.refreshReport();
+        assertEquals(1, snapshot.getSnapshotVersion());
+        verify(reportSnapshotStatus, never()).markRebuildFailed();
+        assertEquals(1, meterRegistry.get("report.rebuild.followup.failures").tag("phase", "studentEnrollmentCache")
+                .counter().count());
+    }
+
+    /**
+     * Start of tests for refreshReport method
+     */
+    @Test
+    void Should_SkipRebuild_When_RefreshingFreshSnapshot() throws IOException {
+        reportMaterializationService.materializeReport();
+        ReportSnapshotResponseDto snapshot = reportMaterializationService.refreshReport();
+        assertEquals(1, snapshot.getSnapshotVersion());
+        assertEquals(reportMaterializationService.getLastMaterializedOn(), snapshot.getMaterializedOn());
+        verify(reportService, times(1)).updateReport(TOKEN);
+        assertEquals(1, meterRegistry.get("report.refresh.requests").tag("result", "skipped").counter().count());
+    }
+
+    @Test
+    void Should_RebuildAgain_When_RefreshingSnapshotBeyondFreshnessWindow() throws IOException {
+        reportMaterializationService = getReportMaterializationService(0);
+        reportMaterializationService.materializeReport();
+        assertEquals(2, reportMaterializationService.refreshReport().getSnapshotVersion());
+        verify(reportService, times(2)).updateReport(TOKEN);
+    }
+
+    @Test
+    void Should_JoinRebuildInFlight_When_RefreshingConcurrently() throws Exception {
+        CountDownLatch rebuildStarted = new CountDownLatch(1);
+        CountDownLatch rebuildReleased = new CountDownLatch(1);
+        doAnswer(invocation -> {
+            rebuildStarted.countDown();
+            rebuildReleased.await();
+            return null;
+        }).when(reportService).updateReport(anyString());
+        ExecutorService executor = Executors.newFixedThreadPool(CONCURRENT_REFRESHES);
+        try {
+            List<Future<ReportSnapshotResponseDto>> refreshes = new ArrayList<>();
+            refreshes.add(executor.submit(reportMaterializationService::refreshReport));
+            assertTrue(rebuildStarted.await(5, TimeUnit.SECONDS));
+            for (int i = 1; i < CONCURRENT_REFRESHES; i++)
+                refreshes.add(executor.submit(reportMaterializationService::refreshReport));
+            while (getRefreshCount("joined") < CONCURRENT_REFRESHES - 1)
+                Thread.sleep(10);
+            rebuildReleased.countDown();
+            for (Future<ReportSnapshotResponseDto> refresh : refreshes)
+                assertEquals(1, refresh.get(5, TimeUnit.SECONDS).getSnapshotVersion());
+        } finally {
+            executor.shutdownNow();
+        }
+        verify(reportService, times(1)).updateReport(TOKEN);
+        assertEquals(1, getRefreshCount("rebuilt"));
+    }
+
+    @Test
+    void Should_ThrowReportingServiceException_When_RefreshingReportIsFailed() throws IOException {
+        doThrow(new IOException(ERROR)).when(reportService).updateReport(anyString());
+        ReportingServiceException exception = assertThrows(ReportingServiceException.class, () ->
+                reportMaterializationService.refreshReport());
+        assertEquals("Failed to materialize report", exception.getMessage());
+        verify(reportSnapshotStatus, times(1)).markRebuildFailed();
+        assertEquals(0, reportMaterializationService.getSnapshotVersion());
+    }
+
+    /**
+     * This method returns a report materialization service with the given freshness window
+     *
+     * @param freshnessWindow freshness window in milliseconds
+     * @return ReportMaterializationService
+     */
+    private ReportMaterializationService getReportMaterializationService(long freshnessWindow) {
+        return new ReportMaterializationService(reportService, serviceTokenProvider, reportResponseCache,
+                new ReportingMetrics(meterRegistry), reportSnapshotStatus, studentEnrollmentCache, freshnessWindow);
+    }
+
+    private double getRefreshCount(String result) {
+        return meterRegistry.find("report.refresh.requests").tag("result", result).counters().stream()
+                .mapToDouble(Counter::count).sum();
+    }
+}
@@ -0,0 +1,148 @@
+package com.swivel.ignite.reporting.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.swivel.ignite.reporting.dto.response.ReportResponseDto;
+import com.swivel.ignite.reporting.entity.Report;
+import com.swivel.ignite.reporting.enums.Month;
+import com.swivel.ignite.reporting.enums.SuccessResponseStatusType;
+import com.swivel.ignite.reporting.exception.ReportingServiceException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+
+import java.io.IOException;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+import static org.mockito.MockitoAnnotations.initMocks;
+
+/**
+ * This class tests {@link ReportResponseCache} class
+ */
+class ReportResponseCacheTest {
+
+    private static final String TUITION_ID = "tid-123456789";
+    private static final String TUITION_1_ID = "tid-987654321";
+    private static final String STUDENT_ID = "sid-123456789";
+    private static final String MONTH = Month.JANUARY.getMonthString();
+    private static final String E_TAG = "\"1-0-0\"";
+    private static final String E_TAG_1 = "\"1-1-0\"";
+    private static final String ERROR = "ERROR";
+    private static final int MAX_ENTRIES = 1;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private ReportResponseCache reportResponseCache;
+    @Mock
+    private ReportService reportService;
+
+    @BeforeEach
+    void setUp() {
+        initMocks(this);
+        reportResponseCache = new ReportResponseCache(reportService, objectMapper,
+                new ReportingMetrics(meterRegistry), MAX_ENTRIES);
+        when(reportService.getByTuitionIdMonth(anyString(), anyString())).thenReturn(getSampleReportResponseDto());
+        when(reportService.getReportETag(any(Report.class), any(Report.class))).thenReturn(E_TAG);
+    }
+
+    /**
+     * Start of tests for getReportResponse method
+     */
+    @Test
+    void Should_ReturnSerializedSuccessResponse_When_GettingReportResponse() throws IOException {
+        SerializedReportResponse response = reportResponseCache.getReportResponse(TUITION_ID, MONTH, E_TAG);
+
+        assertEquals(E_TAG, response.getETag());
+        JsonNode body = objectMapper.readTree(response.getBody());
+        assertEquals("SUCCESS", body.get("status").asText());
+        assertEquals(SuccessResponseStatusType.READ_REPORT.getCode(), body.get("statusCode").asInt());
+        assertEquals(TUITION_ID, body.get("data").get("tuitionId").asText());
+        assertEquals(STUDENT_ID, body.get("data").get("paidReport").get("studentId").get(0).asText());
+    }
+
+    @Test
+    void Should_NotReadReports_When_GettingReportResponseForCurrentETag() {
+        SerializedReportResponse response = reportResponseCache.getReportResponse(TUITION_ID, MONTH, E_TAG);
+
+        assertSame(response, reportResponseCache.getReportResponse(TUITION_ID, MONTH, E_TAG));
+        verify(reportService, times(1)).getByTuitionIdMonth(TUITION_ID, MONTH);
+        assertEquals(1, meterRegistry.get("report.response.cache.requests").tag("result", "hit").counter().count());
+        assertEquals(1, meterRegistry.get("report.response.cache.requests").tag("result", "miss").counter().count());
+    }
+
+    @Test
+    void Should_ReadReportsAgain_When_GettingReportResponseForChangedETag() {
+        reportResponseCache.getReportResponse(TUITION_ID, MONTH, E_TAG);
+        when(reportService.getReportETag(any(Report.class), any(Report.class))).thenReturn(E_TAG_1);
+
+        assertEquals(E_TAG_1, reportResponseCache.getReportResponse(TUITION_ID, MONTH, E_TAG_1).getETag());
+        verify(reportService, times(2)).getByTuitionIdMonth(TUITION_ID, MONTH);
+    }
+
+    @Test
+    void Should_EvictLeastRecentlyReadResponse_When_GettingReportResponseBeyondMaxEntries() {
+        reportResponseCache.getReportResponse(TUITION_ID, MONTH, E_TAG);
+        reportResponseCache.getReportResponse(TUITION_1_ID, MONTH, E_TAG);
+        reportResponseCache.getReportResponse(TUITION_ID, MONTH, E_TAG);
+
+        verify(reportService, times(2)).getByTuitionIdMonth(TUITION_ID, MONTH);
+    }
+
+    @Test
+    void Should_ThrowReportingServiceException_When_GettingReportResponseIsFailed() {
+        when(reportService.getByTuitionIdMonth(anyString(), anyString())).thenThrow(new ReportingServiceException(ERROR));
+
+        assertThrows(ReportingServiceException.class, () ->
+                reportResponseCache.getReportResponse(TUITION_ID, MONTH, E_TAG));
+    }
+
+    /**
+     * Start of tests for refresh method
+     */
+    @Test
+    void Should_SerializeChangedResponse_When_Refreshing() {
+        reportResponseCache.getReportResponse(TUITION_ID, MONTH, E_TAG);
+        when(reportService.getReportETag(TUITION_ID, MONTH)).thenReturn(E_TAG_1);
+        when(reportService.getReportETag(any(Report.class), any(Report.class))).thenReturn(E_TAG_1);
+
+        reportResponseCache.refresh();
+        verify(reportService, times(2)).getByTuitionIdMonth(TUITION_ID, MONTH);
+        reportResponseCache.getReportResponse(TUITION_ID, MONTH, E_TAG_1);
+        verify(reportService, times(2)).getByTuitionIdMonth(TUITION_ID, MONTH);
+    }
+
+    @Test
+    void Should_KeepUnchangedResponse_When_Refreshing() {
+        reportResponseCache.getReportResponse(TUITION_ID, MONTH, E_TAG);
+        when(reportService.getReportETag(TUITION_ID, MONTH)).thenReturn(E_TAG);
+
+        reportResponseCache.refresh();
+        verify(reportService, times(1)).getByTuitionIdMonth(TUITION_ID, MONTH);
+    }
+
+    @Test
+    void Should_ForgetResponse_When_RefreshingForRemovedReports() {
+        reportResponseCache.getReportResponse(TUITION_ID, MONTH, E_TAG);
+        when(reportService.getReportETag(TUITION_ID, MONTH)).thenReturn(null);
+
+        reportResponseCache.refresh();
+        reportResponseCache.getReportResponse(TUITION_ID, MONTH, E_TAG);
+        verify(reportService, times(2)).getByTuitionIdMonth(TUITION_ID, MONTH);
+    }
+
+    /**
+     * This method returns a sample ReportResponseDto
+     *
+     * @return ReportResponseDto
+     */
+    private ReportResponseDto getSampleReportResponseDto() {
+        Report paidReport = new Report(TUITION_ID, MONTH, true, 1);
+        paidReport.addStudentId(STUDENT_ID);
+        Report unpaidReport = new Report(TUITION_ID, MONTH, false, 1);
+        return new ReportResponseDto(paidReport, unpaidReport);
+    }
+}
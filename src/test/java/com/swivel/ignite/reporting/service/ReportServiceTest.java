@@ -1,28 +1,43 @@
 package com.swivel.ignite.reporting.service;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.swivel.ignite.reporting.dto.response.PaidStudentsYearResponseDto;
+import com.swivel.ignite.reporting.dto.response.ReportResponseDto;
+import com.swivel.ignite.reporting.dto.response.ReportYearResponseDto;
 import com.swivel.ignite.reporting.dto.response.StudentResponseDto;
 import com.swivel.ignite.reporting.dto.response.StudentsIdListResponseDto;
 import com.swivel.ignite.reporting.dto.response.TuitionListResponseDto;
 import com.swivel.ignite.reporting.dto.response.TuitionResponseDto;
 import com.swivel.ignite.reporting.entity.Report;
+import com.swivel.ignite.reporting.entity.ReportGeneration;
 import com.swivel.ignite.reporting.enums.Month;
 import com.swivel.ignite.reporting.exception.ReportNotFoundException;
 import com.swivel.ignite.reporting.exception.ReportingServiceException;
+import com.swivel.ignite.reporting.repository.ReportGenerationRepository;
 import com.swivel.ignite.reporting.repository.ReportRepository;
+import com.swivel.ignite.reporting.repository.ReportVersionRow;
+import com.swivel.ignite.reporting.repository.TuitionStudentDictionaryRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mock;
 import org.springframework.dao.DataAccessException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.io.IOException;
-import java.util.ArrayList;
-import java.util.Date;
-import java.util.List;
-import java.util.Optional;
+import java.util.*;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyCollection;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 import static org.mockito.MockitoAnnotations.initMocks;
 
@@ -34,23 +49,47 @@ class ReportServiceTest {
     private static final String STUDENT_ID = "sid-123456789";
     private static final String STUDENT_1_ID = "sid-987654321";
     private static final String TUITION_ID = "tid-123456789";
+    private static final String TUITION_1_ID = "tid-987654321";
     private static final String REPORT_ID = "rid-123456789";
     private static final String TOKEN = "Bearer 123456789";
     private static final String ERROR = "ERROR";
+    private static final int WRITE_CHUNK_SIZE = 50;
+    private final List<Integer> writtenChunkSizes = new ArrayList<>();
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
     private ReportService reportService;
+    private ReportSnapshotStatus reportSnapshotStatus;
     @Mock
     private ReportRepository reportRepository;
     @Mock
+    private ReportGenerationRepository reportGenerationRepository;
+    @Mock
+    private TuitionStudentDictionaryRepository tuitionStudentDictionaryRepository;
+    @Mock
+    private PlatformTransactionManager transactionManager;
+    @Mock
     private StudentService studentService;
     @Mock
     private TuitionService tuitionService;
     @Mock
     private PaymentService paymentService;
+    @Mock
+    private ReportRebuildPrefetcher reportRebuildPrefetcher;
+    @Mock
+    private ReportBatchWriter reportBatchWriter;
+    @Mock
+    private StudentEnrollmentCache studentEnrollmentCache;
 
     @BeforeEach
-    void setUp() {
+    void setUp() throws IOException {
         initMocks(this);
-        reportService = new ReportService(reportRepository, studentService, tuitionService, paymentService);
+        reportService = getReportService(reportRebuildPrefetcher, WRITE_CHUNK_SIZE);
+        writtenChunkSizes.clear();
+        doAnswer(invocation -> {
+            writtenChunkSizes.add(invocation.<Collection<?>>getArgument(0).size());
+            return null;
+        }).when(reportBatchWriter).write(anyCollection());
+        when(paymentService.getPaidStudentsForYear(anyString(), anyString()))
+                .thenAnswer(invocation -> getPaidStudentsYear(invocation.getArgument(0), invocation.getArgument(1)));
     }
 
     /**
@@ -58,49 +97,413 @@ class ReportServiceTest {
      */
     @Test
     void Should_UpdateReport() throws IOException {
-        doNothing().when(reportRepository).deleteAll();
         when(tuitionService.getTuitionList(anyString())).thenReturn(getSampleTuitionListResponseDto());
         when(paymentService.getPaidStudents(anyString(), anyString(), anyString()))
                 .thenReturn(getSampleStudents1IdListResponseDto());
-        when(studentService.getStudentInfo(anyString(), anyString())).thenReturn(getSampleStudentResponseDto());
+        when(studentService.getStudentInfos(anyCollection(), anyString())).thenReturn(getSampleStudentResponseDtoMap());
+        reportService.updateReport(TOKEN);
+        assertEquals(Collections.singletonList(24), writtenChunkSizes);
+        verify(reportRepository, never()).save(any(Report.class));
+        verify(reportRepository, never()).deleteAll();
+        verify(reportGenerationRepository, times(1)).save(argThat((ReportGeneration g) -> g.getActiveGeneration() == 1));
+        verify(reportRepository, times(1)).deleteStudentIdsOfOlderGenerations(1);
+        verify(reportRepository, times(1)).deleteOlderGenerations(1);
+        assertEquals(1, meterRegistry.get("report.rebuild").tag("mode", ReportingMetrics.MODE_FULL)
+                .tag("outcome", ReportingMetrics.OUTCOME_SUCCESS).timer().count());
+        assertEquals(1, meterRegistry.get("report.rebuild.phase").tag("phase", ReportingMetrics.PHASE_ACTIVATE)
+                .timer().count());
+        assertEquals(24, meterRegistry.get("report.written.reports").counter().count());
+    }
+
+    @Test
+    void Should_CacheFetchedStudents_When_UpdatingReport() throws IOException {
+        when(tuitionService.getTuitionList(anyString())).thenReturn(getSampleTuitionListResponseDto());
+        when(paymentService.getPaidStudents(anyString(), anyString(), anyString()))
+                .thenReturn(getSampleStudents1IdListResponseDto());
+        when(studentService.getStudentInfos(anyCollection(), anyString())).thenReturn(getSampleStudentResponseDtoMap());
+        reportService.updateReport(TOKEN);
+        verify(studentService, times(1)).getStudentInfos(Collections.singletonList(STUDENT_ID), TOKEN);
+        verify(studentEnrollmentCache, times(2)).put(any(StudentResponseDto.class));
+    }
+
+    @Test
+    void Should_NotFetchCachedStudents_When_UpdatingReport() throws IOException {
+        when(tuitionService.getTuitionList(anyString())).thenReturn(getSampleTuitionListResponseDto());
+        when(paymentService.getPaidStudents(anyString(), anyString(), anyString()))
+                .thenReturn(getSampleStudents1IdListResponseDto());
+        when(studentEnrollmentCache.get(STUDENT_ID, TUITION_ID)).thenReturn(getSampleStudentResponseDto());
+        reportService.updateReport(TOKEN);
+        verify(studentService, never()).getStudentInfos(anyCollection(), anyString());
+        assertEquals(Collections.singletonList(24), writtenChunkSizes);
+    }
+
+    @Test
+    void Should_WriteNextGeneration_When_UpdatingReport() throws IOException {
+        when(reportRepository.findMaxGeneration()).thenReturn(7L);
+        when(tuitionService.getTuitionList(anyString())).thenReturn(getSampleTuitionListResponseDto());
+        when(paymentService.getPaidStudents(anyString(), anyString(), anyString()))
+                .thenReturn(getSampleStudents1IdListResponseDto());
+        when(studentService.getStudentInfos(anyCollection(), anyString())).thenReturn(getSampleStudentResponseDtoMap());
+        doAnswer(invocation -> {
+            for (Report report : invocation.<Collection<Report>>getArgument(0)) {
+                assertEquals(8, report.getGeneration());
+            }
+            return null;
+        }).when(reportBatchWriter).write(anyCollection());
+        reportService.updateReport(TOKEN);
+        verify(reportGenerationRepository, times(1)).save(argThat((ReportGeneration g) -> g.getActiveGeneration() == 8));
+        verify(reportRepository, times(1)).deleteOlderGenerations(8);
+    }
+
+    @Test
+    void Should_WriteGenerationAfterLastAllocated_When_UpdatingReportWhileAnotherRebuildIsInProgress()
+            throws IOException {
+        ReportGeneration reportGeneration = new ReportGeneration(7, new Date());
+        reportGeneration.setLastAllocatedGeneration(8);
+        when(reportGenerationRepository.findForUpdateById(ReportGeneration.ACTIVE_ID))
+                .thenReturn(Optional.of(reportGeneration));
+        when(reportRepository.findMaxGeneration()).thenReturn(8L);
+        when(tuitionService.getTuitionList(anyString())).thenReturn(getSampleTuitionListResponseDto());
+        when(paymentService.getPaidStudents(anyString(), anyString(), anyString()))
+                .thenReturn(getSampleStudents1IdListResponseDto());
+        when(studentService.getStudentInfos(anyCollection(), anyString())).thenReturn(getSampleStudentResponseDtoMap());
+        doAnswer(invocation -> {
+            for (Report report : invocation.<Collection<Report>>getArgument(0)) {
+                assertEquals(9, report.getGeneration());
+            }
+            return null;
+        }).when(reportBatchWriter).write(anyCollection());
         reportService.updateReport(TOKEN);
-        verify(reportRepository, times(33)).save(any(Report.class));
+        assertEquals(9, reportGeneration.getActiveGeneration());
+        assertEquals(9, reportGeneration.getLastAllocatedGeneration());
+        verify(reportRepository, times(1)).deleteOlderGenerations(9);
     }
 
     @Test
-    void Should_ThrowReportingServiceException_When_UpdatingReportForErrorCreatingPaidReportList() throws IOException {
-        doNothing().when(reportRepository).deleteAll();
+    void Should_KeepNewerActiveGeneration_When_UpdatingReportIsSuperseded() throws IOException {
+        ReportGeneration reportGeneration = new ReportGeneration(7, new Date());
+        when(reportGenerationRepository.findForUpdateById(ReportGeneration.ACTIVE_ID))
+                .thenReturn(Optional.of(reportGeneration));
+        when(reportRepository.findMaxGeneration()).thenReturn(7L);
         when(tuitionService.getTuitionList(anyString())).thenReturn(getSampleTuitionListResponseDto());
+        when(paymentService.getPaidStudents(anyString(), anyString(), anyString()))
+                .thenReturn(getSampleStudents1IdListResponseDto());
+        when(studentService.getStudentInfos(anyCollection(), anyString())).thenReturn(getSampleStudentResponseDtoMap());
+        doAnswer(invocation -> {
+            reportGeneration.setActiveGeneration(9);
+            return null;
+        }).when(reportBatchWriter).write(anyCollection());
+        reportService.updateReport(TOKEN);
+        assertEquals(9, reportGeneration.getActiveGeneration());
+        verify(reportRepository, times(1)).deleteOlderGenerations(9);
+        verify(reportRepository, never()).deleteOlderGenerations(8);
+    }
+
+    @Test
+    void Should_KeepActiveGeneration_When_WritingReportChunkIsFailed() throws IOException {
+        when(tuitionService.getTuitionList(anyString())).thenReturn(getSampleTuitionListResponseDto());
+        when(paymentService.getPaidStudents(anyString(), anyString(), anyString()))
+                .thenReturn(getSampleStudents1IdListResponseDto());
+        when(studentService.getStudentInfos(anyCollection(), anyString())).thenReturn(getSampleStudentResponseDtoMap());
         doThrow(new DataAccessException(ERROR) {
-        }).when(reportRepository).save(any(Report.class));
-        ReportingServiceException exception = assertThrows(ReportingServiceException.class, () ->
-                reportService.updateReport(TOKEN));
-        assertEquals("Error creating paid report list", exception.getMessage());
+        }).when(reportBatchWriter).write(anyCollection());
+        assertThrows(ReportingServiceException.class, () -> reportService.updateReport(TOKEN));
+        verify(reportGenerationRepository, never()).save(argThat((ReportGeneration g) -> g.getActiveGeneration() > 0));
+        verify(reportRepository, never()).deleteOlderGenerations(anyLong());
+        assertEquals(1, meterRegistry.get("report.rebuild").tag("outcome", ReportingMetrics.OUTCOME_FAILURE)
+                .timer().count());
+    }
+
+    @Test
+    void Should_WriteReportInChunksOfTuitions_When_UpdatingReport() throws IOException {
+        reportService = getReportService(reportRebuildPrefetcher, 1);
+        TuitionListResponseDto tuitionListResponseDto = getSampleTuitionListResponseDto();
+        TuitionResponseDto tuition = new TuitionResponseDto();
+        tuition.setTuitionId(TUITION_1_ID);
+        tuition.getStudentIds().add(STUDENT_1_ID);
+        tuitionListResponseDto.getTuitionList().add(tuition);
+        when(tuitionService.getTuitionList(anyString())).thenReturn(tuitionListResponseDto);
+        when(paymentService.getPaidStudents(anyString(), anyString(), anyString()))
+                .thenReturn(getSampleStudents1IdListResponseDto());
+        when(studentService.getStudentInfos(anyCollection(), anyString())).thenReturn(getSampleStudentResponseDtoMap());
+        reportService.updateReport(TOKEN);
+        assertEquals(Arrays.asList(24, 24), writtenChunkSizes);
+    }
+
+    @Test
+    void Should_GetPaidStudentsOncePerMonth_When_UpdatingReport() throws IOException {
+        TuitionListResponseDto tuitionListResponseDto = getSampleTuitionListResponseDto();
+        tuitionListResponseDto.getTuitionList().get(0).getStudentIds().add(STUDENT_1_ID);
+        when(tuitionService.getTuitionList(anyString())).thenReturn(tuitionListResponseDto);
+        when(paymentService.getPaidStudents(anyString(), anyString(), anyString()))
+                .thenReturn(getSampleStudents1IdListResponseDto());
+        when(studentService.getStudentInfos(anyCollection(), anyString())).thenReturn(getSampleStudentResponseDtoMap());
+        reportService.updateReport(TOKEN);
+        verify(paymentService, times(12)).getPaidStudents(anyString(), anyString(), anyString());
     }
 
     @Test
-    void Should_ThrowReportingServiceException_When_UpdatingReportForErrorCreatingUnPaidReportList() throws IOException {
-        Report r = new Report();
-        doNothing().when(reportRepository).deleteAll();
+    void Should_RewriteNothing_When_UpdatingReportIncrementallyWithoutChanges() throws IOException {
         when(tuitionService.getTuitionList(anyString())).thenReturn(getSampleTuitionListResponseDto());
-        when(reportRepository.save(any(Report.class))).thenReturn(r, r, r, r, r, r, r, r, r, r, r, r)
-                .thenThrow(new DataAccessException(ERROR) {
-                });
+        when(paymentService.getPaidStudents(anyString(), anyString(), anyString()))
+                .thenReturn(getSampleStudents1IdListResponseDto());
+        when(studentService.getStudentInfos(anyCollection(), anyString())).thenReturn(getSampleStudentResponseDtoMap());
+        reportService.updateReport(TOKEN);
+        clearInvocations(reportRepository, reportGenerationRepository, studentService);
+        writtenChunkSizes.clear();
+
+        reportService.updateReport(TOKEN);
+        verify(reportRepository, never()).findMaxGeneration();
+        verify(reportGenerationRepository, never()).save(any(ReportGeneration.class));
+        assertTrue(writtenChunkSizes.isEmpty());
+    }
+
+    @Test
+    void Should_RewriteAllMonths_When_UpdatingReportIncrementallyWithChangedJoinedMonth() throws IOException {
+        when(tuitionService.getTuitionList(anyString())).thenReturn(getSampleTuitionListResponseDto());
+        when(paymentService.getPaidStudents(anyString(), anyString(), anyString()))
+                .thenReturn(getSampleStudents1IdListResponseDto());
+        when(studentService.getStudentInfos(anyCollection(), anyString())).thenReturn(getSampleStudentResponseDtoMap());
+        reportService.updateReport(TOKEN);
+        clearInvocations(reportRepository);
+        writtenChunkSizes.clear();
+
+        StudentResponseDto student = getSampleStudentResponseDto();
+        student.setTuitionJoinedOn(new Date(1673000000000L));
+        when(studentService.getStudentInfos(anyCollection(), anyString()))
+                .thenReturn(Collections.singletonMap(STUDENT_ID, student));
+        when(reportRepository.findByTuitionIdAndMonthAndIsPaid(anyString(), anyString(), anyBoolean()))
+                .thenReturn(Optional.of(getSampleReport()));
+        reportService.updateReport(TOKEN);
+        verify(reportRepository, never()).findMaxGeneration();
+        verify(reportRepository, times(12)).findByTuitionIdAndMonthAndIsPaid(eq(TUITION_ID), anyString(), eq(false));
+        assertEquals(Collections.singletonList(24), writtenChunkSizes);
+    }
+
+    @Test
+    void Should_RewriteUnpaidReport_When_UpdatingReportIncrementallyAfterInvalidatingStudentEnrollment()
+            throws IOException {
+        studentEnrollmentCache = new StudentEnrollmentCache(new ObjectMapper(), new ReportingMetrics(meterRegistry),
+                10, 60000, "");
+        reportService = getReportService(reportRebuildPrefetcher, WRITE_CHUNK_SIZE);
+        TuitionListResponseDto tuitionListResponseDto = getSampleTuitionListResponseDto();
+        TuitionResponseDto otherTuition = new TuitionResponseDto();
+        otherTuition.setTuitionId(TUITION_1_ID);
+        tuitionListResponseDto.getTuitionList().add(otherTuition);
+        when(tuitionService.getTuitionList(anyString())).thenReturn(tuitionListResponseDto);
+        when(paymentService.getPaidStudents(anyString(), anyString(), anyString()))
+                .thenReturn(getSampleStudents1IdListResponseDto());
+        when(studentService.getStudentInfos(anyCollection(), anyString()))
+                .thenReturn(getEnrolledStudentResponseDtoMap(new Date(1680497462842L)));
+        reportService.updateReport(TOKEN);
+        List<Report> writtenReports = new ArrayList<>();
+        doAnswer(invocation -> {
+            writtenReports.addAll(invocation.<Collection<Report>>getArgument(0));
+            return null;
+        }).when(reportBatchWriter).write(anyCollection());
+
+        when(studentService.getStudentInfos(anyCollection(), anyString()))
+                .thenReturn(getEnrolledStudentResponseDtoMap(new Date(1673000000000L)));
+        reportService.updateReport(TOKEN);
+        assertTrue(writtenReports.isEmpty());
+
+        reportService.invalidateStudentEnrollment(STUDENT_ID);
+        reportService.updateReport(TOKEN);
+        verify(reportRepository, times(1)).findMaxGeneration();
+        assertEquals(24, writtenReports.size());
+        Report unpaidReport = writtenReports.stream().filter(r -> TUITION_ID.equals(r.getTuitionId()) &&
+                !r.isPaid() && Month.JANUARY.getMonthString().equals(r.getMonth())).findFirst().orElseThrow();
+        assertEquals(Collections.singleton(STUDENT_ID), unpaidReport.getStudentId());
+    }
+
+    @Test
+    void Should_RebuildFully_When_UpdatingReportAfterInvalidatingStudentNotCached() throws IOException {
+        when(tuitionService.getTuitionList(anyString())).thenReturn(getSampleTuitionListResponseDto());
+        when(paymentService.getPaidStudents(anyString(), anyString(), anyString()))
+                .thenReturn(getSampleStudents1IdListResponseDto());
+        when(studentService.getStudentInfos(anyCollection(), anyString())).thenReturn(getSampleStudentResponseDtoMap());
+        reportService.updateReport(TOKEN);
+
+        reportService.invalidateStudentEnrollment(STUDENT_ID);
+        reportService.updateReport(TOKEN);
+        verify(studentEnrollmentCache, times(1)).invalidate(STUDENT_ID);
+        verify(reportRepository, times(2)).findMaxGeneration();
+    }
+
+    @Test
+    void Should_RewriteChangedMonthOnly_When_UpdatingReportIncrementally() throws IOException {
+        String month = Month.MAY.getMonthString();
+        when(tuitionService.getTuitionList(anyString())).thenReturn(getSampleTuitionListResponseDto());
+        when(paymentService.getPaidStudents(anyString(), anyString(), anyString()))
+                .thenReturn(getSampleStudents1IdListResponseDto());
+        when(studentService.getStudentInfos(anyCollection(), anyString())).thenReturn(getSampleStudentResponseDtoMap());
+        reportService.updateReport(TOKEN);
+        clearInvocations(reportRepository);
+        writtenChunkSizes.clear();
+
+        when(paymentService.getPaidStudents(anyString(), eq(month), anyString()))
+                .thenReturn(getSampleStudentsIdListResponseDto());
+        when(reportRepository.findByTuitionIdAndMonthAndIsPaid(anyString(), anyString(), anyBoolean()))
+                .thenReturn(Optional.of(getSampleReport()));
+        reportService.updateReport(TOKEN);
+        verify(reportRepository, never()).findMaxGeneration();
+        verify(reportRepository, times(1)).findByTuitionIdAndMonthAndIsPaid(TUITION_ID, month, true);
+        verify(reportRepository, times(1)).findByTuitionIdAndMonthAndIsPaid(TUITION_ID, month, false);
+        assertEquals(Collections.singletonList(2), writtenChunkSizes);
+    }
+
+    @Test
+    void Should_DeleteReportOfRemovedTuition_When_UpdatingReportIncrementally() throws IOException {
+        when(tuitionService.getTuitionList(anyString())).thenReturn(getSampleTuitionListResponseDto());
+        when(paymentService.getPaidStudents(anyString(), anyString(), anyString()))
+                .thenReturn(getSampleStudents1IdListResponseDto());
+        when(studentService.getStudentInfos(anyCollection(), anyString())).thenReturn(getSampleStudentResponseDtoMap());
+        reportService.updateReport(TOKEN);
+        clearInvocations(reportRepository);
+        writtenChunkSizes.clear();
+
+        when(tuitionService.getTuitionList(anyString())).thenReturn(new TuitionListResponseDto());
+        when(reportGenerationRepository.findById(ReportGeneration.ACTIVE_ID))
+                .thenReturn(Optional.of(new ReportGeneration(3, new Date())));
+        reportService.updateReport(TOKEN);
+        verify(reportRepository, times(1)).deleteStudentIdsByTuitionIdAndGeneration(TUITION_ID, 3);
+        verify(reportRepository, times(1)).deleteByTuitionIdAndGeneration(TUITION_ID, 3);
+        assertTrue(writtenChunkSizes.isEmpty());
+    }
+
+    @Test
+    void Should_KeepReportsOfFailedTuition_When_UpdatingReportIncrementally() throws IOException {
+        String month = Month.MAY.getMonthString();
+        TuitionListResponseDto tuitionListResponseDto = getSampleTuitionListResponseDto();
+        TuitionResponseDto failingTuition = new TuitionResponseDto();
+        failingTuition.setTuitionId(TUITION_1_ID);
+        failingTuition.getStudentIds().add(STUDENT_1_ID);
+        tuitionListResponseDto.getTuitionList().add(failingTuition);
+        when(tuitionService.getTuitionList(anyString())).thenReturn(tuitionListResponseDto);
+        when(paymentService.getPaidStudents(anyString(), anyString(), anyString()))
+                .thenReturn(getSampleStudents1IdListResponseDto());
+        when(studentService.getStudentInfos(anyCollection(), anyString())).thenReturn(getSampleStudentResponseDtoMap());
+        when(reportRepository.findByTuitionIdAndMonthAndIsPaid(anyString(), anyString(), anyBoolean()))
+                .thenReturn(Optional.of(getSampleReport()));
+        reportService.updateReport(TOKEN);
+        clearInvocations(reportRepository);
+        writtenChunkSizes.clear();
+
+        doThrow(new IOException()).when(paymentService).getPaidStudents(eq(TUITION_1_ID), anyString(), anyString());
+        doReturn(getSampleStudentsIdListResponseDto()).when(paymentService)
+                .getPaidStudents(eq(TUITION_ID), eq(month), anyString());
+        reportService.updateReport(TOKEN);
+        assertEquals(Collections.singletonList(2), writtenChunkSizes);
+        verify(reportRepository, never()).deleteByTuitionIdAndGeneration(anyString(), anyLong());
+        verify(reportRepository, never()).findByTuitionIdAndMonthAndIsPaid(eq(TUITION_1_ID), anyString(),
+                anyBoolean());
+        assertTrue(reportSnapshotStatus.isStale(TUITION_1_ID));
+        assertFalse(reportSnapshotStatus.isStale(TUITION_ID));
+        clearInvocations(reportRepository);
+        writtenChunkSizes.clear();
+
+        doReturn(getSampleStudents1IdListResponseDto()).when(paymentService)
+                .getPaidStudents(eq(TUITION_1_ID), anyString(), anyString());
+        doReturn(getSampleStudentsIdListResponseDto()).when(paymentService)
+                .getPaidStudents(eq(TUITION_1_ID), eq(month), anyString());
+        reportService.updateReport(TOKEN);
+        verify(reportRepository, times(1)).findByTuitionIdAndMonthAndIsPaid(TUITION_1_ID, month, true);
+        verify(reportRepository, never()).findByTuitionIdAndMonthAndIsPaid(eq(TUITION_ID), anyString(),
+                anyBoolean());
+        assertFalse(reportSnapshotStatus.isStale(TUITION_1_ID));
+    }
+
+    @Test
+    void Should_SkipFailedTuition_When_UpdatingReportInParallel() throws IOException {
+        reportService = getReportService(new ExecutorReportRebuildPrefetcher(2, Runnable::run),
+                WRITE_CHUNK_SIZE);
+        TuitionListResponseDto tuitionListResponseDto = getSampleTuitionListResponseDto();
+        TuitionResponseDto failingTuition = new TuitionResponseDto();
+        failingTuition.setTuitionId(TUITION_1_ID);
+        failingTuition.getStudentIds().add(STUDENT_1_ID);
+        tuitionListResponseDto.getTuitionList().add(failingTuition);
+        when(tuitionService.getTuitionList(anyString())).thenReturn(tuitionListResponseDto);
+        when(paymentService.getPaidStudents(eq(TUITION_ID), anyString(), anyString()))
+                .thenReturn(getSampleStudents1IdListResponseDto());
+        when(paymentService.getPaidStudents(eq(TUITION_1_ID), anyString(), anyString())).thenThrow(new IOException());
+        when(studentService.getStudentInfos(anyCollection(), anyString())).thenReturn(getSampleStudentResponseDtoMap());
+        reportService.updateReport(TOKEN);
+        assertEquals(Collections.singletonList(24), writtenChunkSizes);
+    }
+
+    @Test
+    void Should_KeepActiveReportsOfFailedTuition_When_UpdatingReportInParallel() throws IOException {
+        reportService = getReportService(new ExecutorReportRebuildPrefetcher(2, Runnable::run),
+                WRITE_CHUNK_SIZE);
+        TuitionListResponseDto tuitionListResponseDto = getSampleTuitionListResponseDto();
+        TuitionResponseDto failingTuition = new TuitionResponseDto();
+        failingTuition.setTuitionId(TUITION_1_ID);
+        failingTuition.getStudentIds().add(STUDENT_1_ID);
+        tuitionListResponseDto.getTuitionList().add(failingTuition);
+        Report activeReport = new Report(TUITION_1_ID, Month.JANUARY.getMonthString(), true, 1);
+        activeReport.addStudentId(STUDENT_1_ID);
+        when(reportRepository.findMaxGeneration()).thenReturn(1L);
+        when(reportRepository.findWithStudentIdsByTuitionId(TUITION_1_ID))
+                .thenReturn(Collections.singletonList(activeReport));
+        when(tuitionService.getTuitionList(anyString())).thenReturn(tuitionListResponseDto);
+        when(paymentService.getPaidStudents(eq(TUITION_ID), anyString(), anyString()))
+                .thenReturn(getSampleStudents1IdListResponseDto());
+        when(paymentService.getPaidStudents(eq(TUITION_1_ID), anyString(), anyString())).thenThrow(new IOException());
+        when(studentService.getStudentInfos(anyCollection(), anyString())).thenReturn(getSampleStudentResponseDtoMap());
+        List<Report> writtenReports = new ArrayList<>();
+        doAnswer(invocation -> {
+            writtenReports.addAll(invocation.<Collection<Report>>getArgument(0));
+            return null;
+        }).when(reportBatchWriter).write(anyCollection());
+        reportService.updateReport(TOKEN);
+        assertEquals(25, writtenReports.size());
+        Report reportCopy = writtenReports.stream().filter(r -> TUITION_1_ID.equals(r.getTuitionId()))
+                .findFirst().orElseThrow();
+        assertEquals(2, reportCopy.getGeneration());
+        assertEquals(Collections.singleton(STUDENT_1_ID), reportCopy.getStudentId());
+        assertTrue(reportSnapshotStatus.isStale(TUITION_1_ID));
+        assertFalse(reportSnapshotStatus.isStale(TUITION_ID));
+    }
+
+    @Test
+    void Should_CountFailedTuitionInChunk_When_UpdatingReportInParallel() throws IOException {
+        reportService = getReportService(new ExecutorReportRebuildPrefetcher(2, Runnable::run), 1);
+        TuitionListResponseDto tuitionListResponseDto = getSampleTuitionListResponseDto();
+        TuitionResponseDto failingTuition = new TuitionResponseDto();
+        failingTuition.setTuitionId(TUITION_1_ID);
+        failingTuition.getStudentIds().add(STUDENT_1_ID);
+        tuitionListResponseDto.getTuitionList().add(0, failingTuition);
+        Report activeReport = new Report(TUITION_1_ID, Month.JANUARY.getMonthString(), true, 1);
+        activeReport.addStudentId(STUDENT_1_ID);
+        when(reportRepository.findWithStudentIdsByTuitionId(TUITION_1_ID))
+                .thenReturn(Collections.singletonList(activeReport));
+        when(tuitionService.getTuitionList(anyString())).thenReturn(tuitionListResponseDto);
+        when(paymentService.getPaidStudents(eq(TUITION_ID), anyString(), anyString()))
+                .thenReturn(getSampleStudents1IdListResponseDto());
+        when(paymentService.getPaidStudents(eq(TUITION_1_ID), anyString(), anyString())).thenThrow(new IOException());
+        when(studentService.getStudentInfos(anyCollection(), anyString())).thenReturn(getSampleStudentResponseDtoMap());
+        reportService.updateReport(TOKEN);
+        assertEquals(Arrays.asList(1, 24), writtenChunkSizes);
+    }
+
+    @Test
+    void Should_ThrowReportingServiceException_When_UpdatingReportForFailedToWriteReportChunk() throws IOException {
+        when(tuitionService.getTuitionList(anyString())).thenReturn(getSampleTuitionListResponseDto());
+        when(paymentService.getPaidStudents(anyString(), anyString(), anyString()))
+                .thenReturn(getSampleStudentsIdListResponseDto());
+        when(studentService.getStudentInfos(anyCollection(), anyString())).thenReturn(getSampleStudentResponseDtoMap());
+        doThrow(new DataAccessException(ERROR) {
+        }).when(reportBatchWriter).write(anyCollection());
         ReportingServiceException exception = assertThrows(ReportingServiceException.class, () ->
                 reportService.updateReport(TOKEN));
-        assertEquals("Error creating unpaid report list", exception.getMessage());
+        assertEquals("Failed to write report chunk", exception.getMessage());
     }
 
     @Test
     void Should_ThrowReportingServiceException_When_UpdatingReportForFailedToUpdatePaidReportList() throws IOException {
-        Report r = new Report();
-        doNothing().when(reportRepository).deleteAll();
         when(tuitionService.getTuitionList(anyString())).thenReturn(getSampleTuitionListResponseDto());
-        when(paymentService.getPaidStudents(anyString(), anyString(), anyString()))
-                .thenReturn(getSampleStudentsIdListResponseDto());
-        when(reportRepository.save(any(Report.class))).thenReturn(r, r, r, r, r, r, r, r, r, r, r, r, r, r, r, r, r, r,
-                r, r, r, r, r, r).thenThrow(new DataAccessException(ERROR) {
-        });
+        when(studentService.getStudentInfos(anyCollection(), anyString())).thenReturn(getSampleStudentResponseDtoMap());
+        when(paymentService.getPaidStudents(anyString(), anyString(), anyString())).thenThrow(new IOException());
         ReportingServiceException exception = assertThrows(ReportingServiceException.class, () ->
                 reportService.updateReport(TOKEN));
         assertEquals("Failed to update paid report list", exception.getMessage());
@@ -109,39 +512,130 @@ class ReportServiceTest {
     @Test
     void Should_ThrowReportingServiceException_When_UpdatingReportForFailedToGetTuitionJoinedMonthOfStudent()
             throws IOException {
-        doNothing().when(reportRepository).deleteAll();
         when(tuitionService.getTuitionList(anyString())).thenReturn(getSampleTuitionListResponseDto());
         when(paymentService.getPaidStudents(anyString(), anyString(), anyString()))
                 .thenReturn(getSampleStudents1IdListResponseDto());
-        when(studentService.getStudentInfo(anyString(), anyString())).thenThrow(new IOException());
+        when(studentService.getStudentInfos(anyCollection(), anyString())).thenThrow(new IOException());
         ReportingServiceException exception = assertThrows(ReportingServiceException.class, () ->
                 reportService.updateReport(TOKEN));
-        assertEquals("Failed to get tuition joined month of student for id: " + STUDENT_ID,
+        assertEquals("Failed to get tuition joined months of students for tuition id: " + TUITION_ID,
                 exception.getMessage());
     }
 
     @Test
-    void Should_ThrowReportingServiceException_When_UpdatingReportForFailedToUpdateUnPaidReportList() throws IOException {
-        Report r = new Report();
-        doNothing().when(reportRepository).deleteAll();
+    void Should_ThrowReportingServiceException_When_UpdatingReportIsFailed() throws IOException {
         when(tuitionService.getTuitionList(anyString())).thenReturn(getSampleTuitionListResponseDto());
-        when(paymentService.getPaidStudents(anyString(), anyString(), anyString()))
-                .thenReturn(getSampleStudentsIdListResponseDto());
-        when(reportRepository.save(any(Report.class))).thenReturn(r, r, r, r, r, r, r, r, r, r, r, r, r, r, r, r, r, r,
-                r, r, r, r, r, r, r, r, r, r, r, r, r, r, r, r, r, r).thenThrow(new DataAccessException(ERROR) {
+        when(reportRepository.findMaxGeneration()).thenThrow(new DataAccessException(ERROR) {
         });
         ReportingServiceException exception = assertThrows(ReportingServiceException.class, () ->
                 reportService.updateReport(TOKEN));
-        assertEquals("Failed to update unpaid report list", exception.getMessage());
+        assertEquals("Failed to update report", exception.getMessage());
     }
 
+    /**
+     * Start of tests for getByTuitionIdMonth method
+     */
     @Test
-    void Should_ThrowReportingServiceException_When_UpdatingReportIsFailed() {
-        doThrow(new DataAccessException(ERROR) {
-        }).when(reportRepository).deleteAll();
+    void Should_ReturnPaidAndUnpaidReports_When_GettingByTuitionIdMonthIsSuccessful() {
+        Report paidReport = getSampleReport();
+        paidReport.setTuitionId(TUITION_ID);
+        paidReport.setPaid(true);
+        Report unpaidReport = getSampleReport();
+        unpaidReport.setTuitionId(TUITION_ID);
+        when(reportRepository.findWithStudentIdsByTuitionIdAndMonth(anyString(), anyString()))
+                .thenReturn(Arrays.asList(unpaidReport, paidReport));
+        ReportResponseDto responseDto = reportService.getByTuitionIdMonth(TUITION_ID, Month.MARCH.getMonthString());
+        assertSame(paidReport, responseDto.getPaidReport());
+        assertSame(unpaidReport, responseDto.getUnpaidReport());
+        verify(reportRepository, never()).findByTuitionIdAndMonthAndIsPaid(anyString(), anyString(), anyBoolean());
+    }
+
+    @Test
+    void Should_ThrowReportNotFoundException_When_GettingByTuitionIdMonthForMissingUnpaidReport() {
+        String month = Month.MAY.getMonthString();
+        Report paidReport = getSampleReport();
+        paidReport.setPaid(true);
+        when(reportRepository.findWithStudentIdsByTuitionIdAndMonth(anyString(), anyString()))
+                .thenReturn(Collections.singletonList(paidReport));
+        ReportNotFoundException exception = assertThrows(ReportNotFoundException.class, () ->
+                reportService.getByTuitionIdMonth(TUITION_ID, month));
+        assertEquals("Report not found for getting by tuitionId, month", exception.getMessage());
+    }
+
+    @Test
+    void Should_ThrowReportingServiceException_When_GettingByTuitionIdMonthIsFailed() {
+        String month = Month.MAY.getMonthString();
+        when(reportRepository.findWithStudentIdsByTuitionIdAndMonth(anyString(), anyString()))
+                .thenThrow(new DataAccessException(ERROR) {
+                });
         ReportingServiceException exception = assertThrows(ReportingServiceException.class, () ->
-                reportService.updateReport(TOKEN));
-        assertEquals("Failed to update report", exception.getMessage());
+                reportService.getByTuitionIdMonth(TUITION_ID, month));
+        assertEquals("Failed to get report by tuitionId and month", exception.getMessage());
+    }
+
+    /**
+     * Start of tests for getReportETag method
+     */
+    @Test
+    void Should_ReturnETag_When_GettingReportETagByTuitionIdMonth() {
+        when(reportRepository.findVersionsByTuitionIdAndMonth(anyString(), anyString()))
+                .thenReturn(Arrays.asList(getSampleVersionRow(false, 2), getSampleVersionRow(true, 1)));
+        assertEquals("\"3-1-2\"", reportService.getReportETag(TUITION_ID, Month.JANUARY.getMonthString()));
+    }
+
+    @Test
+    void Should_ReturnNull_When_GettingReportETagByTuitionIdMonthForMissingReport() {
+        when(reportRepository.findVersionsByTuitionIdAndMonth(anyString(), anyString()))
+                .thenReturn(Collections.singletonList(getSampleVersionRow(true, 1)));
+        assertNull(reportService.getReportETag(TUITION_ID, Month.JANUARY.getMonthString()));
+    }
+
+    @Test
+    void Should_ThrowReportingServiceException_When_GettingReportETagByTuitionIdMonthIsFailed() {
+        when(reportRepository.findVersionsByTuitionIdAndMonth(anyString(), anyString()))
+                .thenThrow(new DataAccessException(ERROR) {
+                });
+        String month = Month.JANUARY.getMonthString();
+        ReportingServiceException exception = assertThrows(ReportingServiceException.class, () ->
+                reportService.getReportETag(TUITION_ID, month));
+        assertEquals("Failed to get report version by tuitionId and month", exception.getMessage());
+    }
+
+    /**
+     * Start of tests for getYearByTuitionId method
+     */
+    @Test
+    void Should_ReturnReportYear_When_GettingYearByTuitionIdIsSuccessful() {
+        Report paidReport = getSampleReport();
+        paidReport.setMonth(Month.MARCH.getMonthString());
+        paidReport.setPaid(true);
+        paidReport.addStudentId(STUDENT_ID);
+        Report unpaidReport = getSampleReport();
+        unpaidReport.setMonth(Month.MARCH.getMonthString());
+        unpaidReport.addStudentId(STUDENT_1_ID);
+        when(reportRepository.findWithStudentIdsByTuitionId(anyString()))
+                .thenReturn(Arrays.asList(paidReport, unpaidReport));
+        ReportYearResponseDto responseDto = reportService.getYearByTuitionId(TUITION_ID);
+        assertEquals(TUITION_ID, responseDto.getTuitionId());
+        assertEquals(2, responseDto.getStudentIds().size());
+        verify(reportRepository, times(1)).findWithStudentIdsByTuitionId(TUITION_ID);
+    }
+
+    @Test
+    void Should_ThrowReportNotFoundException_When_GettingYearByTuitionIdForReportNotFound() {
+        when(reportRepository.findWithStudentIdsByTuitionId(anyString())).thenReturn(Collections.emptyList());
+        ReportNotFoundException exception = assertThrows(ReportNotFoundException.class, () ->
+                reportService.getYearByTuitionId(TUITION_ID));
+        assertEquals("Report not found for getting by tuitionId", exception.getMessage());
+    }
+
+    @Test
+    void Should_ThrowReportingServiceException_When_GettingYearByTuitionIdIsFailed() {
+        when(reportRepository.findWithStudentIdsByTuitionId(anyString())).thenThrow(new DataAccessException(ERROR) {
+        });
+        ReportingServiceException exception = assertThrows(ReportingServiceException.class, () ->
+                reportService.getYearByTuitionId(TUITION_ID));
+        assertEquals("Failed to get report by tuitionId", exception.getMessage());
     }
 
     /**
@@ -176,6 +670,68 @@ class ReportServiceTest {
         assertEquals("Failed to get report by tuitionId and month", exception.getMessage());
     }
 
+    /**
+     * This method returns a ReportService with the mocks of the test
+     *
+     * @param reportRebuildPrefetcher report rebuild prefetcher
+     * @param writeChunkSize          write chunk size
+     * @return ReportService
+     */
+    /**
+     * This method assembles the paid students of a year from the month calls stubbed on the payment service
+     *
+     * @param tuitionId tuition id
+     * @param token     authorization token
+     * @return PaidStudentsYearResponseDto
+     * @throws IOException
+     */
+    private PaidStudentsYearResponseDto getPaidStudentsYear(String tuitionId, String token) throws IOException {
+        PaidStudentsYearResponseDto dto = new PaidStudentsYearResponseDto();
+        dto.setTuitionId(tuitionId);
+        for (Month m : Month.values()) {
+            StudentsIdListResponseDto paidStudents = paymentService.getPaidStudents(tuitionId, m.getMonthString(),
+                    token);
+            dto.getStudentIdsByMonth().put(m.getMonthString(), paidStudents == null ? null :
+                    paidStudents.getStudentIds());
+        }
+        return dto;
+    }
+
+    private ReportService getReportService(ReportRebuildPrefetcher reportRebuildPrefetcher, int writeChunkSize) {
+        ReportingMetrics reportingMetrics = new ReportingMetrics(meterRegistry);
+        reportSnapshotStatus = new ReportSnapshotStatus(reportingMetrics);
+        return new ReportService(reportRepository, reportGenerationRepository, studentService, tuitionService,
+                paymentService, new ReportFingerprintRegistry(), reportRebuildPrefetcher, reportBatchWriter,
+                new ReportBitmapCodec(tuitionStudentDictionaryRepository), new TransactionTemplate(transactionManager),
+                reportingMetrics, reportSnapshotStatus, studentEnrollmentCache, true, writeChunkSize);
+    }
+
+    /**
+     * This method returns a sample report version row of generation 3
+     *
+     * @param isPaid  isPaid
+     * @param version version
+     * @return ReportVersionRow
+     */
+    private ReportVersionRow getSampleVersionRow(boolean isPaid, long version) {
+        return new ReportVersionRow() {
+            @Override
+            public boolean isPaid() {
+                return isPaid;
+            }
+
+            @Override
+            public long getGeneration() {
+                return 3;
+            }
+
+            @Override
+            public long getVersion() {
+                return version;
+            }
+        };
+    }
+
     /**
      * This method returns a sample TuitionListResponseDto
      *
@@ -232,6 +788,28 @@ class ReportServiceTest {
         return report;
     }
 
+    /**
+     * This method returns a sample StudentResponseDto map
+     *
+     * @return StudentResponseDto map
+     */
+    private Map<String, StudentResponseDto> getSampleStudentResponseDtoMap() {
+        Map<String, StudentResponseDto> students = new HashMap<>();
+        students.put(STUDENT_ID, getSampleStudentResponseDto());
+        students.put(STUDENT_1_ID, getSampleStudentResponseDto());
+        return students;
+    }
+
+    /**
+     * This method returns sample students enrolled in the sample tuition
+     *
+     * @param tuitionJoinedOn tuition joined date
+     * @return StudentResponseDto map
+     */
+    private Map<String, StudentResponseDto> getEnrolledStudentResponseDtoMap(Date tuitionJoinedOn) {
+        return Collections.singletonMap(STUDENT_ID, new StudentResponseDto(STUDENT_ID, TUITION_ID, tuitionJoinedOn));
+    }
+
     /**
      * This method returns a sample StudentResponseDto
      *
@@ -0,0 +1,59 @@
+package com.swivel.ignite.reporting.service;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * This class tests {@link ReportSnapshotStatus} class
+ */
+class ReportSnapshotStatusTest {
+
+    private static final String TUITION_ID = "tid-123456789";
+    private static final String TUITION_1_ID = "tid-987654321";
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private ReportSnapshotStatus reportSnapshotStatus;
+
+    @BeforeEach
+    void setUp() {
+        reportSnapshotStatus = new ReportSnapshotStatus(new ReportingMetrics(meterRegistry));
+    }
+
+    /**
+     * Start of tests for isStale method
+     */
+    @Test
+    void Should_ReturnFalse_When_CheckingStaleBeforeFirstRebuild() {
+        assertFalse(reportSnapshotStatus.isStale(TUITION_ID));
+        assertEquals(0, meterRegistry.get("report.snapshot.stale.tuitions").gauge().value());
+    }
+
+    @Test
+    void Should_ReturnTrueForFailedTuitionsOnly_When_CheckingStaleAfterRebuild() {
+        reportSnapshotStatus.markRebuilt(Collections.singleton(TUITION_1_ID));
+        assertTrue(reportSnapshotStatus.isStale(TUITION_1_ID));
+        assertFalse(reportSnapshotStatus.isStale(TUITION_ID));
+        assertEquals(1, meterRegistry.get("report.snapshot.stale.tuitions").gauge().value());
+    }
+
+    @Test
+    void Should_ReturnTrue_When_CheckingStaleAfterFailedRebuild() {
+        reportSnapshotStatus.markRebuilt(Collections.emptySet());
+        reportSnapshotStatus.markRebuildFailed();
+        assertTrue(reportSnapshotStatus.isStale(TUITION_ID));
+    }
+
+    @Test
+    void Should_ReturnFalse_When_CheckingStaleAfterRebuildFollowingFailedRebuild() {
+        reportSnapshotStatus.markRebuildFailed();
+        reportSnapshotStatus.markRebuilt(Arrays.asList(TUITION_1_ID, TUITION_1_ID));
+        assertFalse(reportSnapshotStatus.isStale(TUITION_ID));
+        assertEquals(1, meterRegistry.get("report.snapshot.stale.tuitions").gauge().value());
+    }
+}
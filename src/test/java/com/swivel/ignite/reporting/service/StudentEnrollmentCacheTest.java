@@ -0,0 +1,183 @@
+package com.swivel.ignite.reporting.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.swivel.ignite.reporting.dto.response.StudentResponseDto;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.Date;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * This class tests {@link StudentEnrollmentCache} class
+ */
+class StudentEnrollmentCacheTest {
+
+    private static final String STUDENT_ID = "sid-123456789";
+    private static final String STUDENT_1_ID = "sid-987654321";
+    private static final String TUITION_ID = "tid-123456789";
+    private static final String TUITION_1_ID = "tid-987654321";
+    private static final String CACHE_NAME = "report.student.enrollment";
+    private static final long MAX_ENTRIES = 10;
+    private static final long TTL = 60000;
+    private static final Date TUITION_JOINED_ON = new Date(1680497462842L);
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private MeterRegistry meterRegistry;
+    private StudentEnrollmentCache studentEnrollmentCache;
+    @TempDir
+    Path tempDir;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        studentEnrollmentCache = getStudentEnrollmentCache(MAX_ENTRIES, TTL, "");
+    }
+
+    /**
+     * Start of tests for get method
+     */
+    @Test
+    void Should_ReturnCachedStudent_When_GettingCachedStudent() {
+        studentEnrollmentCache.put(getSampleStudentResponseDto(STUDENT_ID));
+
+        StudentResponseDto student = studentEnrollmentCache.get(STUDENT_ID, TUITION_ID);
+        assertEquals(STUDENT_ID, student.getStudentId());
+        assertEquals(TUITION_ID, student.getTuitionId());
+        assertEquals(TUITION_JOINED_ON, student.getTuitionJoinedOn());
+    }
+
+    @Test
+    void Should_RecordHitsAndMisses_When_GettingStudents() {
+        assertNull(studentEnrollmentCache.get(STUDENT_ID, TUITION_ID));
+        studentEnrollmentCache.put(getSampleStudentResponseDto(STUDENT_ID));
+        studentEnrollmentCache.get(STUDENT_ID, TUITION_ID);
+
+        assertEquals(1, meterRegistry.get("cache.gets").tag("cache", CACHE_NAME).tag("result", "hit")
+                .functionCounter().count());
+        assertEquals(1, meterRegistry.get("cache.gets").tag("cache", CACHE_NAME).tag("result", "miss")
+                .functionCounter().count());
+    }
+
+    @Test
+    void Should_InvalidateStudent_When_GettingStudentOfAnotherTuition() {
+        studentEnrollmentCache.put(getSampleStudentResponseDto(STUDENT_ID));
+
+        assertNull(studentEnrollmentCache.get(STUDENT_ID, TUITION_1_ID));
+        assertNull(studentEnrollmentCache.get(STUDENT_ID, TUITION_ID));
+    }
+
+    @Test
+    void Should_ReturnNull_When_GettingExpiredStudent() {
+        studentEnrollmentCache = getStudentEnrollmentCache(MAX_ENTRIES, 0, "");
+        studentEnrollmentCache.put(getSampleStudentResponseDto(STUDENT_ID));
+
+        assertNull(studentEnrollmentCache.get(STUDENT_ID, TUITION_ID));
+    }
+
+    /**
+     * Start of tests for put method
+     */
+    @Test
+    void Should_EvictStudents_When_PuttingStudentsBeyondMaxEntries() {
+        studentEnrollmentCache = getStudentEnrollmentCache(1, TTL, "");
+        studentEnrollmentCache.put(getSampleStudentResponseDto(STUDENT_ID));
+        studentEnrollmentCache.put(getSampleStudentResponseDto(STUDENT_1_ID));
+
+        assertEquals(1, studentEnrollmentCache.size());
+    }
+
+    /**
+     * Start of tests for invalidate and invalidateAll methods
+     */
+    @Test
+    void Should_ForgetStudent_When_InvalidatingStudent() {
+        studentEnrollmentCache.put(getSampleStudentResponseDto(STUDENT_ID));
+        studentEnrollmentCache.put(getSampleStudentResponseDto(STUDENT_1_ID));
+
+        assertEquals(TUITION_ID, studentEnrollmentCache.invalidate(STUDENT_ID));
+        assertNull(studentEnrollmentCache.get(STUDENT_ID, TUITION_ID));
+        assertNotNull(studentEnrollmentCache.get(STUDENT_1_ID, TUITION_ID));
+    }
+
+    @Test
+    void Should_ReturnNull_When_InvalidatingStudentNotCached() {
+        assertNull(studentEnrollmentCache.invalidate(STUDENT_ID));
+    }
+
+    @Test
+    void Should_ForgetAllStudents_When_InvalidatingAllStudents() {
+        studentEnrollmentCache.put(getSampleStudentResponseDto(STUDENT_ID));
+        studentEnrollmentCache.put(getSampleStudentResponseDto(STUDENT_1_ID));
+        studentEnrollmentCache.invalidateAll();
+
+        assertEquals(0, studentEnrollmentCache.size());
+    }
+
+    /**
+     * Start of tests for persist method
+     */
+    @Test
+    void Should_ReadBackStudents_When_StartingWithPersistedCache() {
+        String persistenceFile = tempDir.resolve("cache").resolve("student-enrollments.json").toString();
+        studentEnrollmentCache = getStudentEnrollmentCache(MAX_ENTRIES, TTL, persistenceFile);
+        studentEnrollmentCache.put(getSampleStudentResponseDto(STUDENT_ID));
+        studentEnrollmentCache.persist();
+
+        StudentEnrollmentCache restartedCache = getStudentEnrollmentCache(MAX_ENTRIES, TTL, persistenceFile);
+        StudentResponseDto student = restartedCache.get(STUDENT_ID, TUITION_ID);
+        assertEquals(TUITION_JOINED_ON, student.getTuitionJoinedOn());
+        assertFalse(Files.exists(tempDir.resolve("cache").resolve("student-enrollments.json.part")));
+    }
+
+    @Test
+    void Should_DropExpiredStudents_When_StartingWithPersistedCache() throws IOException {
+        Path persistenceFile = tempDir.resolve("student-enrollments.json");
+        objectMapper.writeValue(persistenceFile.toFile(), Collections.singletonList(
+                new StudentEnrollmentCache.StudentEnrollment(STUDENT_ID, TUITION_ID, TUITION_JOINED_ON,
+                        System.currentTimeMillis() - TTL)));
+
+        studentEnrollmentCache = getStudentEnrollmentCache(MAX_ENTRIES, TTL, persistenceFile.toString());
+        assertEquals(0, studentEnrollmentCache.size());
+    }
+
+    @Test
+    void Should_StartEmpty_When_PersistedCacheIsUnreadable() throws IOException {
+        Path persistenceFile = tempDir.resolve("student-enrollments.json");
+        Files.write(persistenceFile, "{".getBytes(StandardCharsets.UTF_8));
+
+        studentEnrollmentCache = getStudentEnrollmentCache(MAX_ENTRIES, TTL, persistenceFile.toString());
+        assertEquals(0, studentEnrollmentCache.size());
+    }
+
+    /**
+     * This method returns a student enrollment cache
+     *
+     * @param maxEntries      max entries
+     * @param ttl             ttl in milliseconds
+     * @param persistenceFile persistence file/ empty
+     * @return StudentEnrollmentCache
+     */
+    private StudentEnrollmentCache getStudentEnrollmentCache(long maxEntries, long ttl, String persistenceFile) {
+        return new StudentEnrollmentCache(objectMapper, new ReportingMetrics(meterRegistry), maxEntries, ttl,
+                persistenceFile);
+    }
+
+    /**
+     * This method returns a sample StudentResponseDto
+     *
+     * @param studentId student id
+     * @return StudentResponseDto
+     */
+    private StudentResponseDto getSampleStudentResponseDto(String studentId) {
+        return new StudentResponseDto(studentId, TUITION_ID, TUITION_JOINED_ON);
+    }
+}
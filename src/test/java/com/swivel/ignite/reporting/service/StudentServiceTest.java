@@ -1,7 +1,10 @@
 package com.swivel.ignite.reporting.service;
 
+import com.swivel.ignite.reporting.dto.request.StudentsIdListRequestDto;
+import com.swivel.ignite.reporting.dto.response.StudentListResponseDto;
 import com.swivel.ignite.reporting.dto.response.StudentResponseDto;
 import com.swivel.ignite.reporting.exception.StudentServiceHttpClientErrorException;
+import com.swivel.ignite.reporting.wrapper.StudentListResponseWrapper;
 import com.swivel.ignite.reporting.wrapper.StudentResponseWrapper;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -14,11 +17,20 @@ import org.springframework.web.client.HttpClientErrorException;
 import org.springframework.web.client.RestTemplate;
 
 import java.io.IOException;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.*;
-import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.*;
 import static org.mockito.MockitoAnnotations.initMocks;
 
 /**
@@ -27,8 +39,13 @@ import static org.mockito.MockitoAnnotations.initMocks;
 class StudentServiceTest {
 
     private static final String STUDENT_ID = "sid-123456789";
+    private static final String STUDENT_1_ID = "sid-987654321";
+    private static final String STUDENT_2_ID = "sid-555555555";
     private static final String BASE_URL = "http://localhost:8080/ignite-student-service";
     private static final String STUDENT_INFO_URL = "/api/v1/student/get/{studentId}";
+    private static final String STUDENT_INFO_BULK_URL = "/api/v1/student/get/all";
+    private static final int BULK_BATCH_SIZE = 100;
+    private static final long BATCH_WINDOW = 500;
     private static final String TOKEN = "Bearer 123456789";
     private StudentService studentService;
     @Mock
@@ -37,7 +54,8 @@ class StudentServiceTest {
     @BeforeEach
     void setUp() {
         initMocks(this);
-        studentService = new StudentService(BASE_URL, STUDENT_INFO_URL, restTemplate);
+        studentService = new StudentService(BASE_URL, STUDENT_INFO_URL, "", BULK_BATCH_SIZE, 0, restTemplate,
+                Runnable::run);
     }
 
     /**
@@ -61,6 +79,126 @@ class StudentServiceTest {
                 exception.getMessage());
     }
 
+    /**
+     * Start of tests for getStudentInfos method
+     */
+    @Test
+    void Should_GetEachStudentOnce_When_GettingStudentInfosWithoutBulkEndpoint() throws IOException {
+        when(restTemplate.exchange(anyString(), any(HttpMethod.class), any(HttpEntity.class), any(Class.class),
+                anyMap())).thenReturn(getSampleResponseEntity());
+        Map<String, StudentResponseDto> students = studentService.getStudentInfos(Arrays.asList(STUDENT_ID,
+                STUDENT_ID, STUDENT_1_ID, STUDENT_ID), TOKEN);
+        assertEquals(2, students.size());
+        verify(restTemplate, times(2)).exchange(anyString(), any(HttpMethod.class), any(HttpEntity.class),
+                any(Class.class), anyMap());
+    }
+
+    @Test
+    void Should_GetStudentsInOneCall_When_GettingStudentInfosWithBulkEndpoint() throws IOException {
+        studentService = new StudentService(BASE_URL, STUDENT_INFO_URL, STUDENT_INFO_BULK_URL, BULK_BATCH_SIZE, 0,
+                restTemplate, Runnable::run);
+        when(restTemplate.exchange(anyString(), eq(HttpMethod.POST), any(HttpEntity.class), any(Class.class)))
+                .thenReturn(getSampleStudentListResponseEntity());
+        Map<String, StudentResponseDto> students = studentService.getStudentInfos(Arrays.asList(STUDENT_ID,
+                STUDENT_ID), TOKEN);
+        assertEquals(STUDENT_ID, students.get(STUDENT_ID).getStudentId());
+        verify(restTemplate, times(1)).exchange(anyString(), eq(HttpMethod.POST), any(HttpEntity.class),
+                any(Class.class));
+    }
+
+    @Test
+    void Should_SkipBatchWindow_When_GettingStudentInfosWithoutConcurrentCaller() throws IOException {
+        studentService = new StudentService(BASE_URL, STUDENT_INFO_URL, STUDENT_INFO_BULK_URL, BULK_BATCH_SIZE,
+                BATCH_WINDOW, restTemplate, Runnable::run);
+        when(restTemplate.exchange(anyString(), eq(HttpMethod.POST), any(HttpEntity.class), any(Class.class)))
+                .thenReturn(getSampleStudentListResponseEntity());
+        long startedOn = System.nanoTime();
+        studentService.getStudentInfos(Collections.singletonList(STUDENT_ID), TOKEN);
+        assertTrue(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startedOn) < BATCH_WINDOW);
+    }
+
+    @Test
+    void Should_MergeConcurrentLookupsIntoOneCall_When_GettingStudentInfosWithinBatchWindow() throws Exception {
+        studentService = new StudentService(BASE_URL, STUDENT_INFO_URL, STUDENT_INFO_BULK_URL, BULK_BATCH_SIZE,
+                BATCH_WINDOW, restTemplate, Runnable::run);
+        StudentListResponseWrapper responseWrapper = getSampleStudentListResponseEntity().getBody();
+        for (String studentId : Arrays.asList(STUDENT_1_ID, STUDENT_2_ID)) {
+            StudentResponseDto student = new StudentResponseDto();
+            student.setStudentId(studentId);
+            responseWrapper.getData().getStudentList().add(student);
+        }
+        CountDownLatch inFlightStarted = new CountDownLatch(1);
+        CountDownLatch inFlightReleased = new CountDownLatch(1);
+        when(restTemplate.exchange(anyString(), eq(HttpMethod.POST), any(HttpEntity.class), any(Class.class)))
+                .thenAnswer(invocation -> {
+                    HttpEntity<StudentsIdListRequestDto> entity = invocation.getArgument(2);
+                    if (entity.getBody().getStudentIds().contains(STUDENT_2_ID)) {
+                        inFlightStarted.countDown();
+                        inFlightReleased.await();
+                    }
+                    return new ResponseEntity<>(responseWrapper, HttpStatus.OK);
+                });
+        ExecutorService executor = Executors.newFixedThreadPool(3);
+        try {
+            CompletableFuture<Map<String, StudentResponseDto>> inFlightLookup = CompletableFuture.supplyAsync(() ->
+                    getStudentInfos(STUDENT_2_ID), executor);
+            assertTrue(inFlightStarted.await(5, TimeUnit.SECONDS));
+            CompletableFuture<Map<String, StudentResponseDto>> lookup = CompletableFuture.supplyAsync(() ->
+                    getStudentInfos(STUDENT_ID), executor);
+            CompletableFuture<Map<String, StudentResponseDto>> lookup1 = CompletableFuture.supplyAsync(() ->
+                    getStudentInfos(STUDENT_1_ID), executor);
+            assertEquals(STUDENT_ID, lookup.get(5, TimeUnit.SECONDS).get(STUDENT_ID).getStudentId());
+            assertEquals(STUDENT_1_ID, lookup1.get(5, TimeUnit.SECONDS).get(STUDENT_1_ID).getStudentId());
+            inFlightReleased.countDown();
+            assertEquals(STUDENT_2_ID, inFlightLookup.get(5, TimeUnit.SECONDS).get(STUDENT_2_ID).getStudentId());
+        } finally {
+            inFlightReleased.countDown();
+            executor.shutdownNow();
+        }
+        verify(restTemplate, times(2)).exchange(anyString(), eq(HttpMethod.POST), any(HttpEntity.class),
+                any(Class.class));
+        verify(restTemplate, times(1)).exchange(anyString(), eq(HttpMethod.POST),
+                argThat((HttpEntity<StudentsIdListRequestDto> entity) -> entity.getBody().getStudentIds().size() == 2),
+                any(Class.class));
+    }
+
+    @Test
+    void Should_ThrowStudentServiceHttpClientErrorException_When_GettingStudentInfosForMissingStudent() {
+        studentService = new StudentService(BASE_URL, STUDENT_INFO_URL, STUDENT_INFO_BULK_URL, BULK_BATCH_SIZE, 0,
+                restTemplate, Runnable::run);
+        when(restTemplate.exchange(anyString(), eq(HttpMethod.POST), any(HttpEntity.class), any(Class.class)))
+                .thenReturn(getSampleStudentListResponseEntity());
+        assertThrows(StudentServiceHttpClientErrorException.class, () -> studentService
+                .getStudentInfos(Arrays.asList(STUDENT_ID, STUDENT_1_ID), TOKEN));
+    }
+
+    /**
+     * This method is used to get the info of a student with the student service under test
+     *
+     * @param studentId student id
+     * @return student responses by student id
+     */
+    private Map<String, StudentResponseDto> getStudentInfos(String studentId) {
+        try {
+            return studentService.getStudentInfos(Collections.singletonList(studentId), TOKEN);
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * This method returns a sample student list ResponseEntity
+     *
+     * @return ResponseEntity
+     */
+    private ResponseEntity<StudentListResponseWrapper> getSampleStudentListResponseEntity() {
+        StudentListResponseWrapper responseWrapper = new StudentListResponseWrapper();
+        StudentListResponseDto responseDto = new StudentListResponseDto();
+        responseDto.getStudentList().add(getSampleStudentResponseDto());
+        responseWrapper.setData(responseDto);
+        return new ResponseEntity<>(responseWrapper, HttpStatus.OK);
+    }
+
     /**
      * This method returns a sample ResponseEntity
      *
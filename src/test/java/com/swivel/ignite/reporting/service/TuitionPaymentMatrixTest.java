@@ -0,0 +1,137 @@
+package com.swivel.ignite.reporting.service;
+
+import com.swivel.ignite.reporting.enums.Month;
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * This class tests {@link TuitionPaymentMatrix} class
+ */
+class TuitionPaymentMatrixTest {
+
+    private static final String STUDENT_ID = "sid-123456789";
+    private static final String STUDENT_1_ID = "sid-987654321";
+    private static final String STUDENT_2_ID = "sid-555555555";
+    private static final String OTHER_STUDENT_ID = "sid-000000000";
+    private static final int MONTH_COUNT = Month.values().length;
+
+    /**
+     * Start of tests for of method
+     */
+    @Test
+    void Should_ClassifyStudentsByJoinedMonth_When_BuildingMatrix() {
+        Map<String, Integer> joinedMonths = new HashMap<>();
+        joinedMonths.put(STUDENT_ID, Month.JANUARY.getMonthInt());
+        joinedMonths.put(STUDENT_1_ID, Month.APRIL.getMonthInt());
+        joinedMonths.put(STUDENT_2_ID, Month.DECEMBER.getMonthInt());
+        List<Set<String>> paidStudentsByMonth = getEmptyPaidStudentsByMonth();
+        paidStudentsByMonth.get(Month.APRIL.getMonthInt()).add(STUDENT_ID);
+        TuitionPaymentMatrix matrix = TuitionPaymentMatrix.of(Arrays.asList(STUDENT_ID, STUDENT_1_ID, STUDENT_2_ID),
+                paidStudentsByMonth, joinedMonths);
+
+        assertEquals(Collections.singleton(STUDENT_ID), matrix.getUnpaidStudents(Month.MARCH));
+        assertEquals(new HashSet<>(Collections.singletonList(STUDENT_1_ID)),
+                matrix.getUnpaidStudents(Month.APRIL));
+        assertEquals(Collections.singleton(STUDENT_ID), matrix.getPaidStudents(Month.APRIL));
+        assertEquals(new HashSet<>(Arrays.asList(STUDENT_ID, STUDENT_1_ID, STUDENT_2_ID)),
+                matrix.getUnpaidStudents(Month.DECEMBER));
+        assertTrue(matrix.getPaidStudents(Month.DECEMBER).isEmpty());
+    }
+
+    @Test
+    void Should_ListPaidStudentBeforeJoinedMonth_When_BuildingMatrix() {
+        List<Set<String>> paidStudentsByMonth = getEmptyPaidStudentsByMonth();
+        paidStudentsByMonth.get(Month.FEBRUARY.getMonthInt()).add(STUDENT_ID);
+        TuitionPaymentMatrix matrix = TuitionPaymentMatrix.of(Collections.singletonList(STUDENT_ID),
+                paidStudentsByMonth, Collections.singletonMap(STUDENT_ID, Month.JUNE.getMonthInt()));
+
+        assertEquals(Collections.singleton(STUDENT_ID), matrix.getPaidStudents(Month.FEBRUARY));
+        assertTrue(matrix.getUnpaidStudents(Month.FEBRUARY).isEmpty());
+        assertTrue(matrix.getUnpaidStudents(Month.MAY).isEmpty());
+        assertEquals(Collections.singleton(STUDENT_ID), matrix.getUnpaidStudents(Month.JUNE));
+    }
+
+    @Test
+    void Should_IgnorePaidStudentsOutsideRoster_When_BuildingMatrix() {
+        List<Set<String>> paidStudentsByMonth = getEmptyPaidStudentsByMonth();
+        paidStudentsByMonth.get(Month.MAY.getMonthInt()).add(OTHER_STUDENT_ID);
+        TuitionPaymentMatrix matrix = TuitionPaymentMatrix.of(Collections.singletonList(STUDENT_ID),
+                paidStudentsByMonth, Collections.singletonMap(STUDENT_ID, Month.JANUARY.getMonthInt()));
+
+        assertTrue(matrix.getPaidStudents(Month.MAY).isEmpty());
+        assertEquals(Collections.singleton(STUDENT_ID), matrix.getUnpaidStudents(Month.MAY));
+    }
+
+    @Test
+    void Should_AssignOneOrdinalPerStudent_When_RosterHasDuplicateIds() {
+        TuitionPaymentMatrix matrix = TuitionPaymentMatrix.of(Arrays.asList(STUDENT_ID, STUDENT_1_ID, STUDENT_ID),
+                getEmptyPaidStudentsByMonth(), Collections.singletonMap(STUDENT_ID, Month.JANUARY.getMonthInt()));
+
+        assertEquals(Arrays.asList(STUDENT_ID, STUDENT_1_ID), matrix.getStudentIds());
+        assertTrue(matrix.isUnpaid(0, Month.JANUARY));
+        assertFalse(matrix.isPaid(0, Month.JANUARY));
+    }
+
+    @Test
+    void Should_NeverListStudentAsUnpaid_When_JoinedMonthIsUnknown() {
+        TuitionPaymentMatrix matrix = TuitionPaymentMatrix.of(Collections.singletonList(STUDENT_ID),
+                getEmptyPaidStudentsByMonth(), Collections.emptyMap());
+
+        for (Month m : Month.values()) {
+            assertTrue(matrix.getUnpaidStudents(m).isEmpty());
+        }
+    }
+
+    @Test
+    void Should_MatchPerStudentClassification_When_BuildingMatrixOfRandomTuitions() {
+        Random random = new Random(42);
+        for (int tuition = 0; tuition < 50; tuition++) {
+            int studentCount = random.nextInt(200);
+            List<String> studentIds = new ArrayList<>();
+            Map<String, Integer> joinedMonths = new HashMap<>();
+            for (int i = 0; i < studentCount; i++) {
+                String studentId = "sid-" + i;
+                studentIds.add(studentId);
+                joinedMonths.put(studentId, random.nextInt(MONTH_COUNT));
+            }
+            List<Set<String>> paidStudentsByMonth = getEmptyPaidStudentsByMonth();
+            for (Set<String> paidStudents : paidStudentsByMonth) {
+                for (int i = 0; i < studentCount + 5; i++) {
+                    if (random.nextInt(3) == 0)
+                        paidStudents.add("sid-" + i);
+                }
+            }
+            TuitionPaymentMatrix matrix = TuitionPaymentMatrix.of(studentIds, paidStudentsByMonth, joinedMonths);
+
+            for (Month m : Month.values()) {
+                Set<String> expectedPaid = new HashSet<>();
+                Set<String> expectedUnpaid = new HashSet<>();
+                for (String studentId : studentIds) {
+                    if (paidStudentsByMonth.get(m.getMonthInt()).contains(studentId)) {
+                        expectedPaid.add(studentId);
+                    } else if (joinedMonths.get(studentId) <= m.getMonthInt()) {
+                        expectedUnpaid.add(studentId);
+                    }
+                }
+                assertEquals(expectedPaid, matrix.getPaidStudents(m));
+                assertEquals(expectedUnpaid, matrix.getUnpaidStudents(m));
+            }
+        }
+    }
+
+    /**
+     * This method returns an empty paid student set for each month
+     *
+     * @return paid students by month
+     */
+    private List<Set<String>> getEmptyPaidStudentsByMonth() {
+        List<Set<String>> paidStudentsByMonth = new ArrayList<>();
+        for (int m = 0; m < MONTH_COUNT; m++) {
+            paidStudentsByMonth.add(new HashSet<>());
+        }
+        return paidStudentsByMonth;
+    }
+}